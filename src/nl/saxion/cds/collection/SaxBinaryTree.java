@@ -3,11 +3,12 @@ package nl.saxion.cds.collection;
 /**
  * A binary tree interface for implementing a map (dictionary) based on a binary search tree,
  * in which a value is connected to a key, used to store and retrieve that value.
+ * Iterating over the tree returns its entries in ascending order of the keys.
  *
  * @param <K> the key, which implements Comparable
  * @param <V> the value to store
  */
-public interface SaxBinaryTree<K extends Comparable<K>, V> extends SaxCollection<V> {
+public interface SaxBinaryTree<K extends Comparable<K>, V> extends SaxCollection<V>, Iterable<SaxBinaryTree.Entry<K, V>> {
     /**
      * Check if the key is part of this map.
      * Uses K.equals() to check for equality.
@@ -45,4 +46,16 @@ public interface SaxBinaryTree<K extends Comparable<K>, V> extends SaxCollection
     V remove(K key) throws KeyNotFoundException;
 
     SaxList<K> getKeys();
+
+    /**
+     * A key-value pair stored in the tree.
+     *
+     * @param <K> the key
+     * @param <V> the value
+     */
+    interface Entry<K, V> {
+        K getKey();
+
+        V getValue();
+    }
 }
@@ -48,6 +48,58 @@ public interface SaxGraph<V> extends SaxCollection<V>, Iterable<V> {
      */
     SaxGraph<V> shortestPathsDijkstra(V startNode);
 
+    /**
+     * Execute the Dijkstra algorithm like shortestPathsDijkstra, but only record the distance and the last edge
+     * of the shortest path of every reached node; paths (and a graph) are built from them on request.
+     *
+     * @param startNode the node to start searching from
+     * @return the shortest path tree
+     * @throws KeyNotFoundException if the start node is not part of this graph
+     */
+    ShortestPathTree<V> shortestPathTree(V startNode) throws KeyNotFoundException;
+
+    /**
+     * Execute the Dijkstra algorithm and pass every node to the visitor as soon as it is settled, in order of
+     * distance; the search stops when the visitor returns false, so it only explores what the visitor needs.
+     *
+     * @param startNode the node to start searching from
+     * @param visitor   receives the settled nodes with their distances
+     * @throws KeyNotFoundException if the start node is not part of this graph
+     */
+    void visitSettled(V startNode, SettledVisitor<V> visitor) throws KeyNotFoundException;
+
+    /**
+     * Execute the Dijkstra algorithm until the end node is settled.
+     *
+     * @param startNode the node to start searching from
+     * @param endNode   the target node
+     * @return the total weight of the shortest path, Double.POSITIVE_INFINITY if there is no path
+     * @throws KeyNotFoundException if startNode or endNode is not part of this graph
+     */
+    double shortestDistance(V startNode, V endNode) throws KeyNotFoundException;
+
+    /**
+     * Execute the Dijkstra algorithm until the distance exceeds a budget (an isochrone).
+     *
+     * @param startNode   the node to start searching from
+     * @param maxDistance the largest distance to include
+     * @return the shortest path tree of the nodes within maxDistance; other nodes are unreachable in it
+     * @throws KeyNotFoundException     if the start node is not part of this graph
+     * @throws IllegalArgumentException if maxDistance is negative or not a number
+     */
+    ShortestPathTree<V> shortestPathTreeWithin(V startNode, double maxDistance) throws KeyNotFoundException;
+
+    /**
+     * Execute the Dijkstra algorithm until a number of nodes (including the start node) is settled.
+     *
+     * @param startNode the node to start searching from
+     * @param count     the number of nodes
+     * @return the shortest path tree of the count nearest nodes; other nodes are unreachable in it
+     * @throws KeyNotFoundException     if the start node is not part of this graph
+     * @throws IllegalArgumentException if count is smaller than 1
+     */
+    ShortestPathTree<V> nearestNodes(V startNode, int count) throws KeyNotFoundException;
+
     /**
      * Execute the A* algorithm to determine the shortest path from startNode to endNode.
      *
@@ -58,6 +110,31 @@ public interface SaxGraph<V> extends SaxCollection<V>, Iterable<V> {
      */
     SaxList<DirectedEdge<V>> shortestPathAStar(V startNode, V endNode, Estimator<V> estimator);
 
+    /**
+     * Execute a bidirectional Dijkstra search to determine the shortest path from startNode to endNode:
+     * a forward search from startNode and a backward search (over the reversed edges) from endNode take
+     * turns, until the sum of their smallest queued distances is at least the shortest path found so far.
+     *
+     * @param startNode the node to start searching
+     * @param endNode   the target node
+     * @return a list of edges (from start to end) which comprise the shortest path from startNode to endNode,
+     * or null if there is no path
+     * @throws KeyNotFoundException if startNode or endNode is not part of this graph
+     */
+    SaxList<DirectedEdge<V>> shortestPathBidirectional(V startNode, V endNode) throws KeyNotFoundException;
+
+    /**
+     * Determine the distances (total weights of the shortest paths) from every source to every target, with one
+     * Dijkstra search per source which stops when all targets are settled; the searches run in parallel.
+     *
+     * @param sources the nodes to start from
+     * @param targets the nodes to reach
+     * @return a flat matrix: the distance from sources.get(i) to targets.get(j) is at index
+     * i * targets.size() + j, Double.POSITIVE_INFINITY if there is no path
+     * @throws KeyNotFoundException if a source or target is not part of this graph
+     */
+    double[] distanceMatrix(SaxList<V> sources, SaxList<V> targets) throws KeyNotFoundException;
+
     /**
      * Determine the minimal cost (total weight) of edges which are necessary to connect all nodes.
      * A disconnected graph will still be disconnected, but all edges will be examined;
@@ -67,6 +144,60 @@ public interface SaxGraph<V> extends SaxCollection<V>, Iterable<V> {
      */
     SaxGraph<V> minimumCostSpanningTree();
 
+    /**
+     * The result of a single-source shortest path search.
+     *
+     * @param <T> node type
+     */
+    public interface ShortestPathTree<T> {
+        /**
+         * @return the node the paths start from
+         */
+        T getRoot();
+
+        /**
+         * @return the number of reached nodes, including the root
+         */
+        int size();
+
+        /**
+         * @param node a node of the graph
+         * @return the total weight of the shortest path from the root, Double.POSITIVE_INFINITY if it is unreachable
+         * @throws KeyNotFoundException if the node is not part of the graph
+         */
+        double distanceTo(T node) throws KeyNotFoundException;
+
+        /**
+         * Builds the shortest path from the root to a node by following the last edges back to the root.
+         *
+         * @param node a node of the graph
+         * @return a list of edges (from root to node), empty for the root, or null if the node is unreachable
+         * @throws KeyNotFoundException if the node is not part of the graph
+         */
+        SaxList<DirectedEdge<T>> pathTo(T node) throws KeyNotFoundException;
+
+        /**
+         * @return the graph (a tree!) which only contains the reached nodes and the edges of their shortest
+         * paths, as returned by shortestPathsDijkstra (a copy)
+         */
+        SaxGraph<T> toGraph();
+    }
+
+    /**
+     * Receives the nodes of a Dijkstra search in the order they are settled.
+     *
+     * @param <T> node type
+     */
+    @FunctionalInterface
+    public interface SettledVisitor<T> {
+        /**
+         * @param node     the settled node
+         * @param distance the total weight of its shortest path from the start node
+         * @return true to continue the search, false to stop it
+         */
+        boolean visit(T node, double distance);
+    }
+
     @FunctionalInterface
     public interface Estimator<T> {
         double estimate(T current, T target);
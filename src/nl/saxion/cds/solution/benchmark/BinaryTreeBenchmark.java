@@ -0,0 +1,106 @@
+package nl.saxion.cds.solution.benchmark;
+
+import nl.saxion.cds.collection.SaxBinaryTree;
+import nl.saxion.cds.solution.util.MyBPlusTree;
+import nl.saxion.cds.solution.util.MyBinaryTree;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares the AVL tree (MyBinaryTree) with the B+tree (MyBPlusTree): memory per entry, random lookup latency
+ * and the time of a full range scan. The number of keys can be passed as arguments (default 1M); large sizes
+ * (e.g. 100M) need a big heap, e.g. -Xmx32g.
+ */
+public class BinaryTreeBenchmark {
+    private static final int LOOKUPS = 1_000_000;
+    // Results are written here, so the JIT can not remove the measured work
+    private static volatile long sink;
+
+    /**
+     * Runs the benchmark for every given number of keys.
+     *
+     * @param args numbers of keys, default 1000000
+     */
+    public static void main(String[] args) {
+        String[] sizes = (args.length == 0) ? new String[]{"1000000"} : args;
+        System.out.printf("%12s %-12s %14s %14s %14s%n", "keys", "tree", "bytes/entry", "lookup ns", "scan ms");
+        for (String argument : sizes) {
+            int size = Integer.parseInt(argument);
+            Integer[] keys = randomKeys(size);
+            run(size, keys, "AVL", MyBinaryTree::new);
+            run(size, keys, "B+tree(64)", () -> new MyBPlusTree<>(64));
+            run(size, keys, "B+tree(128)", () -> new MyBPlusTree<>(128));
+        }
+    }
+
+    /**
+     * Measures one tree implementation.
+     *
+     * @param size    number of keys
+     * @param keys    the (unique) keys to add, shared between all trees so they are not counted as tree memory
+     * @param name    name to print
+     * @param factory creates the tree
+     */
+    private static void run(int size, Integer[] keys, String name, Supplier<SaxBinaryTree<Integer, Integer>> factory) {
+        long before = usedMemory();
+        SaxBinaryTree<Integer, Integer> tree = factory.get();
+        for (Integer key : keys) {
+            tree.add(key, key);
+        }
+        long bytesPerEntry = (usedMemory() - before) / size;
+
+        Random random = new Random(1);
+        long checksum = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; ++i) {
+            checksum += tree.get(keys[random.nextInt(size)]);
+        }
+        double lookupNanos = (double) (System.nanoTime() - start) / LOOKUPS;
+
+        start = System.nanoTime();
+        if (tree instanceof MyBinaryTree<Integer, Integer> avl) {
+            for (SaxBinaryTree.Entry<Integer, Integer> entry : avl.range(Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+                checksum += entry.getValue();
+            }
+        } else if (tree instanceof MyBPlusTree<Integer, Integer> bPlusTree) {
+            for (SaxBinaryTree.Entry<Integer, Integer> entry : bPlusTree.range(Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+                checksum += entry.getValue();
+            }
+        }
+        long scanMillis = (System.nanoTime() - start) / 1_000_000;
+
+        sink = checksum;
+        System.out.printf("%12d %-12s %14d %14.1f %14d%n", size, name, bytesPerEntry, lookupNanos, scanMillis);
+    }
+
+    /**
+     * @param size number of keys
+     * @return distinct keys in random order (without Integer.MAX_VALUE, which is the exclusive scan bound)
+     */
+    private static Integer[] randomKeys(int size) {
+        Integer[] keys = new Integer[size];
+        for (int i = 0; i < size; ++i) {
+            keys[i] = i * 2;
+        }
+        Random random = new Random(42);
+        for (int i = size - 1; i > 0; --i) {
+            int j = random.nextInt(i + 1);
+            Integer temp = keys[i];
+            keys[i] = keys[j];
+            keys[j] = temp;
+        }
+        return keys;
+    }
+
+    /**
+     * @return the used heap memory after a garbage collection
+     */
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; ++i) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
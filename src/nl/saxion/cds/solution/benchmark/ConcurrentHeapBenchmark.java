@@ -0,0 +1,119 @@
+package nl.saxion.cds.solution.benchmark;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import nl.saxion.cds.collection.SaxHeap;
+import nl.saxion.cds.solution.util.MyConcurrentHeap;
+import nl.saxion.cds.solution.util.MyHeap;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Scalability benchmark of MyConcurrentHeap (strict and relaxed) against a MyHeap guarded by one lock.
+ * Every thread executes a 50/50 mix of enqueue and dequeue on a pre-filled heap; the benchmark reports
+ * the throughput for 1 to 32 threads.
+ */
+public class ConcurrentHeapBenchmark {
+    private static final int PREFILL = 100_000;
+    private static final int OPERATIONS_PER_THREAD = 200_000;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32};
+
+    /**
+     * Runs the benchmark and prints the throughput in million operations per second.
+     *
+     * @param args command-line arguments (not used)
+     */
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%8s %14s %14s %14s%n", "threads", "locked MyHeap", "strict", "relaxed");
+        for (int threads : THREAD_COUNTS) {
+            final int count = threads;
+            double locked = run(threads, LockedHeap::new);
+            double strict = run(threads, () -> new MyConcurrentHeap<>(MyConcurrentHeap.Mode.STRICT, count));
+            double relaxed = run(threads, () -> new MyConcurrentHeap<>(MyConcurrentHeap.Mode.RELAXED, count));
+            System.out.printf("%8d %14.2f %14.2f %14.2f%n", threads, locked, strict, relaxed);
+        }
+    }
+
+    /**
+     * Runs the mixed workload on a new heap.
+     *
+     * @param threads number of threads
+     * @param factory creates the heap to test
+     * @return the throughput in million operations per second
+     */
+    private static double run(int threads, Supplier<SaxHeap<Integer>> factory) throws InterruptedException {
+        SaxHeap<Integer> heap = factory.get();
+        for (int i = 0; i < PREFILL; ++i) {
+            heap.enqueue(ThreadLocalRandom.current().nextInt());
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; ++t) {
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; ++i) {
+                        if (random.nextBoolean()) {
+                            heap.enqueue(random.nextInt());
+                        } else {
+                            try {
+                                heap.dequeue();
+                            } catch (EmptyCollectionException ignored) {
+                                // an empty heap is a valid outcome of the random mix
+                            }
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        return (double) threads * OPERATIONS_PER_THREAD / elapsed * 1_000;
+    }
+
+    /**
+     * The baseline: a MyHeap of which every operation is serialized by a single lock.
+     */
+    private static class LockedHeap implements SaxHeap<Integer> {
+        private final MyHeap<Integer> heap = new MyHeap<>();
+
+        @Override
+        public synchronized void enqueue(Integer value) {
+            heap.enqueue(value);
+        }
+
+        @Override
+        public synchronized Integer dequeue() throws EmptyCollectionException {
+            return heap.dequeue();
+        }
+
+        @Override
+        public synchronized Integer peek() throws EmptyCollectionException {
+            return heap.peek();
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return heap.isEmpty();
+        }
+
+        @Override
+        public synchronized int size() {
+            return heap.size();
+        }
+
+        @Override
+        public synchronized String graphViz(String name) {
+            return heap.graphViz(name);
+        }
+    }
+}
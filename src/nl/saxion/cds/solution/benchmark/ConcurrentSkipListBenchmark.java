@@ -0,0 +1,140 @@
+package nl.saxion.cds.solution.benchmark;
+
+import nl.saxion.cds.collection.DuplicateKeyException;
+import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.SaxBinaryTree;
+import nl.saxion.cds.collection.SaxList;
+import nl.saxion.cds.solution.util.MyBinaryTree;
+import nl.saxion.cds.solution.util.MyConcurrentSkipList;
+
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Scalability benchmark of MyConcurrentSkipList against a MyBinaryTree guarded by one lock.
+ * Every thread executes a mix of 90% get, 5% add and 5% remove on random keys of a pre-filled map; the
+ * benchmark reports the throughput for 1 to 32 threads.
+ */
+public class ConcurrentSkipListBenchmark {
+    private static final int KEY_RANGE = 200_000;
+    private static final int OPERATIONS_PER_THREAD = 500_000;
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32};
+
+    /**
+     * Runs the benchmark and prints the throughput in million operations per second.
+     *
+     * @param args command-line arguments (not used)
+     */
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%8s %16s %16s%n", "threads", "locked AVL", "skip list");
+        for (int threads : THREAD_COUNTS) {
+            double locked = run(threads, LockedTree::new);
+            double skipList = run(threads, MyConcurrentSkipList::new);
+            System.out.printf("%8d %16.2f %16.2f%n", threads, locked, skipList);
+        }
+    }
+
+    /**
+     * Runs the mixed workload on a new map, filled with half of the key range.
+     *
+     * @param threads number of threads
+     * @param factory creates the map to test
+     * @return the throughput in million operations per second
+     */
+    private static double run(int threads, Supplier<SaxBinaryTree<Integer, Integer>> factory) throws InterruptedException {
+        SaxBinaryTree<Integer, Integer> map = factory.get();
+        for (int i = 0; i < KEY_RANGE; i += 2) {
+            map.add(i, i);
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int t = 0; t < threads; ++t) {
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; ++i) {
+                        int key = random.nextInt(KEY_RANGE);
+                        int operation = random.nextInt(100);
+                        try {
+                            if (operation < 5) {
+                                map.add(key, key);
+                            } else if (operation < 10) {
+                                map.remove(key);
+                            } else {
+                                map.get(key);
+                            }
+                        } catch (DuplicateKeyException | KeyNotFoundException ignored) {
+                            // an existing or missing key is a valid outcome of the random mix
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        return (double) threads * OPERATIONS_PER_THREAD / elapsed * 1_000;
+    }
+
+    /**
+     * The baseline: a MyBinaryTree of which every operation is serialized by a single lock.
+     */
+    private static class LockedTree implements SaxBinaryTree<Integer, Integer> {
+        private final MyBinaryTree<Integer, Integer> tree = new MyBinaryTree<>();
+
+        @Override
+        public synchronized boolean contains(Integer key) {
+            return tree.contains(key);
+        }
+
+        @Override
+        public synchronized Integer get(Integer key) {
+            return tree.get(key);
+        }
+
+        @Override
+        public synchronized void add(Integer key, Integer value) throws DuplicateKeyException {
+            tree.add(key, value);
+        }
+
+        @Override
+        public synchronized Integer remove(Integer key) throws KeyNotFoundException {
+            return tree.remove(key);
+        }
+
+        @Override
+        public synchronized SaxList<Integer> getKeys() {
+            return tree.getKeys();
+        }
+
+        @Override
+        public synchronized Iterator<Entry<Integer, Integer>> iterator() {
+            // the tree's iterator fails fast; it is only safe while no other thread changes the tree
+            return tree.iterator();
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return tree.isEmpty();
+        }
+
+        @Override
+        public synchronized int size() {
+            return tree.size();
+        }
+
+        @Override
+        public synchronized String graphViz(String name) {
+            return tree.graphViz(name);
+        }
+    }
+}
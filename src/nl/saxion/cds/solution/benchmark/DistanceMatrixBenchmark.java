@@ -0,0 +1,101 @@
+package nl.saxion.cds.solution.benchmark;
+
+import nl.saxion.cds.collection.SaxGraph;
+import nl.saxion.cds.solution.model.Station;
+import nl.saxion.cds.solution.tools.CSVReader;
+import nl.saxion.cds.solution.util.MyArrayList;
+import nl.saxion.cds.solution.util.MyFrozenGraph;
+import nl.saxion.cds.solution.util.MyGraph;
+import nl.saxion.cds.solution.util.MyHashMap;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures distance tables on the station network from resources: intercity stations (intercity, knooppunt
+ * intercity and mega stations) x intercity stations, and all stations x all stations. Compares one
+ * shortestPathsDijkstra per source on MyGraph (which builds a result graph per source) with distanceMatrix on
+ * the frozen graph, run in fork/join pools of 1, 2, 4, ... threads up to the number of processors.
+ * The number of repetitions can be passed as argument (default 20).
+ */
+public class DistanceMatrixBenchmark {
+    // Results are written here, so the JIT can not remove the measured work
+    private static volatile long sink;
+
+    /**
+     * Runs the benchmark and prints the time per table in milliseconds.
+     *
+     * @param args number of repetitions, default 20
+     * @throws ExecutionException   if a table fails
+     * @throws InterruptedException if interrupted while waiting for a table
+     */
+    public static void main(String[] args) throws ExecutionException, InterruptedException {
+        int repetitions = (args.length == 0) ? 20 : Integer.parseInt(args[0]);
+        CSVReader reader = new CSVReader();
+        MyHashMap<String, Station> stations = reader.loadStations("resources/stations.csv");
+        MyGraph<Station> graph = reader.loadTracks("resources/tracks.csv", stations);
+        MyFrozenGraph<Station> frozen = graph.freeze();
+        MyArrayList<Station> intercity = new MyArrayList<>();
+        MyArrayList<Station> all = new MyArrayList<>();
+        for (int id = 0; id < frozen.size(); ++id) {
+            Station station = frozen.vertexAt(id);
+            all.addLast(station);
+            if (station.type().contains("ntercity") || station.type().equals("megastation")) {
+                intercity.addLast(station);
+            }
+        }
+        System.out.printf("%d stations, %d intercity stations, %d processors%n", all.size(), intercity.size(),
+                Runtime.getRuntime().availableProcessors());
+        System.out.printf("%-24s %-16s %12s%n", "table", "method", "ms");
+        for (int round = 0; round < 2; ++round) {
+            boolean print = (round == 1); // the first round warms up the JIT
+            perSource(print, "intercity x intercity", graph, intercity, repetitions);
+            matrix(print, "intercity x intercity", frozen, intercity, repetitions);
+            matrix(print, "all x all", frozen, all, repetitions);
+        }
+    }
+
+    /**
+     * Measures one shortestPathsDijkstra per source on MyGraph, reading the distances from the result trees.
+     */
+    private static void perSource(boolean print, String table, MyGraph<Station> graph, MyArrayList<Station> stations,
+                                  int repetitions) {
+        long start = System.nanoTime();
+        long checksum = 0;
+        for (int repetition = 0; repetition < repetitions; ++repetition) {
+            for (Station source : stations) {
+                SaxGraph<Station> tree = graph.shortestPathsDijkstra(source);
+                checksum += tree.size();
+            }
+        }
+        sink = checksum;
+        if (print) {
+            System.out.printf("%-24s %-16s %12.2f%n", table, "per source", (System.nanoTime() - start) / 1e6 / repetitions);
+        }
+    }
+
+    /**
+     * Measures distanceMatrix in pools with 1, 2, 4, ... threads.
+     */
+    private static void matrix(boolean print, String table, MyFrozenGraph<Station> frozen, MyArrayList<Station> stations,
+                               int repetitions) throws ExecutionException, InterruptedException {
+        for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                long start = System.nanoTime();
+                long checksum = 0;
+                for (int repetition = 0; repetition < repetitions; ++repetition) {
+                    double[] matrix = pool.submit(() -> frozen.distanceMatrix(stations, stations)).get();
+                    checksum += (long) matrix[matrix.length - 1];
+                }
+                sink = checksum;
+                if (print) {
+                    System.out.printf("%-24s %-16s %12.2f%n", table, "matrix x" + threads,
+                            (System.nanoTime() - start) / 1e6 / repetitions);
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package nl.saxion.cds.solution.benchmark;
+
+import nl.saxion.cds.solution.model.Station;
+import nl.saxion.cds.solution.tools.CSVReader;
+import nl.saxion.cds.solution.util.MyContractionHierarchy;
+import nl.saxion.cds.solution.util.MyFrozenGraph;
+import nl.saxion.cds.solution.util.MyGraph;
+import nl.saxion.cds.solution.util.MyHashMap;
+import nl.saxion.cds.solution.util.MyHubLabels;
+import nl.saxion.cds.solution.util.MyPartitionOverlay;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Measures station-to-station distance queries on the station network from resources: hub labels ordered by
+ * degree and by contraction hierarchy rank (build time, label sizes, serialized size, time per query), compared
+ * with distance queries on the contraction hierarchy itself, a partition overlay (cells by country, then
+ * geometric bisection) and Dijkstra on the frozen graph. For the overlay, it also measures re-customization
+ * after closing 1% of the tracks, which is what a maintenance update costs instead of a new hierarchy.
+ * Argument: the number of queries (default 1000000).
+ */
+public class DistanceOracleBenchmark {
+    private static final int OVERLAY_CELL_SIZE = 32;
+    private static final int OVERLAY_LEVELS = 2;
+    private static final int CUSTOMIZATIONS = 20;
+    // Results are written here, so the JIT can not remove the measured work
+    private static volatile long sink;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args number of queries (default 1000000)
+     * @throws IOException never, the labels are serialized to memory
+     */
+    public static void main(String[] args) throws IOException {
+        int queries = (args.length > 0) ? Integer.parseInt(args[0]) : 1_000_000;
+
+        CSVReader reader = new CSVReader();
+        MyHashMap<String, Station> stations = reader.loadStations("resources/stations.csv");
+        MyGraph<Station> rail = reader.loadTracks("resources/tracks.csv", stations);
+        MyFrozenGraph<Station> frozen = rail.freeze();
+        System.out.printf("Rail network: %d stations, %d edges%n", frozen.size(), frozen.edgeCount());
+
+        long start = System.nanoTime();
+        MyContractionHierarchy<Station> hierarchy = new MyContractionHierarchy<>(frozen);
+        System.out.printf("Contraction hierarchy: %d ms preprocessing%n", (System.nanoTime() - start) / 1_000_000);
+        start = System.nanoTime();
+        MyHubLabels<Station> byDegree = new MyHubLabels<>(frozen);
+        long degreeMillis = (System.nanoTime() - start) / 1_000_000;
+        start = System.nanoTime();
+        MyHubLabels<Station> byRank = new MyHubLabels<>(hierarchy);
+        long rankMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("%-16s %10s %10s %10s %10s %10s%n", "labels", "build ms", "entries", "avg size", "max size", "bytes");
+        printLabels("degree order", degreeMillis, byDegree);
+        printLabels("ch rank order", rankMillis, byRank);
+
+        start = System.nanoTime();
+        MyPartitionOverlay<Station> overlay = new MyPartitionOverlay<>(frozen, station -> station.coordinate().longitude(),
+                station -> station.coordinate().latitude(), Station::country, OVERLAY_CELL_SIZE, OVERLAY_LEVELS);
+        long overlayMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.printf("%-16s %10s %10s%n", "overlay level", "cells", "boundary");
+        for (int level = 0; level < overlay.levelCount(); ++level) {
+            System.out.printf("%-16d %10d %10d%n", level, overlay.cellCount(level), overlay.boundaryCount(level));
+        }
+        Random random = new Random(1);
+        double[] closed = new double[frozen.edgeCount()];
+        for (int edge = 0; edge < closed.length; ++edge) {
+            closed[edge] = (random.nextInt(100) == 0) ? Double.POSITIVE_INFINITY : frozen.edgeWeight(edge);
+        }
+        long customizeNanos = 0;
+        for (int round = 0; round < CUSTOMIZATIONS; ++round) {
+            start = System.nanoTime();
+            overlay.customize((round % 2 == 0) ? edge -> closed[edge] : frozen::edgeWeight);
+            customizeNanos += System.nanoTime() - start;
+        }
+        System.out.printf("Overlay: %d ms partition and first customization, %.2f ms per re-customization%n",
+                overlayMillis, customizeNanos / 1e6 / CUSTOMIZATIONS);
+
+        int[] sources = new int[queries];
+        int[] targets = new int[queries];
+        for (int i = 0; i < queries; ++i) {
+            sources[i] = random.nextInt(frozen.size());
+            targets[i] = random.nextInt(frozen.size());
+        }
+        System.out.printf("%-16s %10s%n", "query", "avg ns");
+        for (int round = 0; round < 2; ++round) {
+            boolean print = (round == 1); // the first round warms up the JIT
+            run(print, "hub labels", sources, targets, queries, (from, to) -> (int) byRank.distanceById(from, to));
+            run(print, "overlay", sources, targets, queries / 10, (from, to) -> (int) overlay.distanceById(from, to));
+            run(print, "ch", sources, targets, queries / 10, (from, to) -> (int) hierarchy.distanceById(from, to));
+            run(print, "dijkstra", sources, targets, queries / 1000, (from, to) -> (int) frozen.distances(from)[to]);
+        }
+    }
+
+    private static void printLabels(String name, long millis, MyHubLabels<?> labels) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        labels.save(bytes);
+        System.out.printf("%-16s %10d %10d %10.1f %10d %10d%n", name, millis, labels.labelEntries(),
+                labels.averageLabelSize(), labels.maximumLabelSize(), bytes.size());
+    }
+
+    private static void run(boolean print, String name, int[] sources, int[] targets, int queries,
+                            IntBinaryOperator query) {
+        long total = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < queries; ++i) {
+            total += query.applyAsInt(sources[i], targets[i]);
+        }
+        long nanos = System.nanoTime() - start;
+        sink += total;
+        if (print) System.out.printf("%-16s %10.1f%n", name, (double) nanos / Math.max(1, queries));
+    }
+}
@@ -0,0 +1,105 @@
+package nl.saxion.cds.solution.benchmark;
+
+import nl.saxion.cds.collection.SaxGraph;
+import nl.saxion.cds.collection.SaxList;
+import nl.saxion.cds.solution.model.Coordinate;
+import nl.saxion.cds.solution.model.Station;
+import nl.saxion.cds.solution.tools.CSVReader;
+import nl.saxion.cds.solution.util.MyFrozenGraph;
+import nl.saxion.cds.solution.util.MyGraph;
+import nl.saxion.cds.solution.util.MyHashMap;
+
+import java.util.Random;
+
+/**
+ * Compares the searches of MyGraph with those of the frozen (CSR) graph on the station network from
+ * resources: Dijkstra from random stations to all stations, as a copied graph (shortestPathsDijkstra) and as
+ * a shortest path tree (shortestPathTree, reading one distance), and A* between random pairs of stations.
+ * The early terminating searches are measured too: all stations within 50 km (shortestPathTreeWithin), the 20
+ * nearest stations (nearestNodes) and the distance between random pairs (shortestDistance).
+ * The number of queries can be passed as argument (default 2000).
+ */
+public class GraphBenchmark {
+    // Results are written here, so the JIT can not remove the measured work
+    private static volatile long sink;
+
+    /**
+     * Runs the benchmark and prints the time of every workload in milliseconds.
+     *
+     * @param args number of queries, default 2000
+     */
+    public static void main(String[] args) {
+        int queries = (args.length == 0) ? 2_000 : Integer.parseInt(args[0]);
+        CSVReader reader = new CSVReader();
+        MyHashMap<String, Station> stations = reader.loadStations("resources/stations.csv");
+        MyGraph<Station> graph = reader.loadTracks("resources/tracks.csv", stations);
+        MyFrozenGraph<Station> frozen = graph.freeze();
+        System.out.printf("%d stations, %d edges%n", frozen.size(), frozen.edgeCount());
+        System.out.printf("%-10s %10s %10s %10s %10s %10s %10s%n", "graph", "dijkstra", "tree", "a*", "50 km",
+                "nearest", "distance");
+        for (int round = 0; round < 3; ++round) {
+            run("MyGraph", graph, frozen, queries);
+            run("frozen", frozen, frozen, queries);
+        }
+    }
+
+    /**
+     * Measures one graph implementation; the random stations are the same for every implementation.
+     *
+     * @param name    name to print
+     * @param graph   the graph to search
+     * @param frozen  the frozen graph, used to pick stations by id
+     * @param queries number of queries per workload
+     */
+    private static void run(String name, SaxGraph<Station> graph, MyFrozenGraph<Station> frozen, int queries) {
+        SaxGraph.Estimator<Station> estimator = (from, to) ->
+                Coordinate.haversineDistance(from.coordinate(), to.coordinate());
+        long checksum = 0;
+        Random random = new Random(1);
+        long start = System.nanoTime();
+        for (int i = 0; i < queries; ++i) {
+            checksum += graph.shortestPathsDijkstra(frozen.vertexAt(random.nextInt(frozen.size()))).size();
+        }
+        long dijkstra = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < queries; ++i) {
+            SaxGraph.ShortestPathTree<Station> tree = graph.shortestPathTree(frozen.vertexAt(random.nextInt(frozen.size())));
+            checksum += tree.size() + (long) tree.distanceTo(frozen.vertexAt(random.nextInt(frozen.size())));
+        }
+        long tree = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < queries; ++i) {
+            Station from = frozen.vertexAt(random.nextInt(frozen.size()));
+            Station to = frozen.vertexAt(random.nextInt(frozen.size()));
+            SaxList<SaxGraph.DirectedEdge<Station>> path = graph.shortestPathAStar(from, to, estimator);
+            checksum += (path == null) ? -1 : path.size();
+        }
+        long aStar = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < queries; ++i) {
+            checksum += graph.shortestPathTreeWithin(frozen.vertexAt(random.nextInt(frozen.size())), 50).size();
+        }
+        long within = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < queries; ++i) {
+            checksum += graph.nearestNodes(frozen.vertexAt(random.nextInt(frozen.size())), 20).size();
+        }
+        long nearest = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < queries; ++i) {
+            Station from = frozen.vertexAt(random.nextInt(frozen.size()));
+            Station to = frozen.vertexAt(random.nextInt(frozen.size()));
+            checksum += (long) graph.shortestDistance(from, to);
+        }
+        long distance = System.nanoTime() - start;
+
+        sink = checksum;
+        System.out.printf("%-10s %10d %10d %10d %10d %10d %10d%n", name, dijkstra / 1_000_000, tree / 1_000_000,
+                aStar / 1_000_000, within / 1_000_000, nearest / 1_000_000, distance / 1_000_000);
+    }
+}
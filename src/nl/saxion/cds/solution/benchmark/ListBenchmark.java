@@ -0,0 +1,82 @@
+package nl.saxion.cds.solution.benchmark;
+
+import nl.saxion.cds.collection.SaxList;
+import nl.saxion.cds.solution.util.DLinkedList;
+import nl.saxion.cds.solution.util.MyArrayList;
+import nl.saxion.cds.solution.util.MyUnrolledLinkedList;
+
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares MyArrayList, DLinkedList and MyUnrolledLinkedList on mixed workloads: appending, a sequential
+ * indexed loop, iteration, random indexed reads and random inserts/removals in the middle.
+ * The number of elements can be passed as argument (default 100000).
+ */
+public class ListBenchmark {
+    private static final int RANDOM_OPERATIONS = 20_000;
+    // Results are written here, so the JIT can not remove the measured work
+    private static volatile long sink;
+
+    /**
+     * Runs the benchmark and prints the time of every workload in milliseconds.
+     *
+     * @param args number of elements, default 100000
+     */
+    public static void main(String[] args) {
+        int size = (args.length == 0) ? 100_000 : Integer.parseInt(args[0]);
+        System.out.printf("%-14s %10s %10s %10s %10s %14s%n", "list", "append", "get(i)", "iterate", "random get", "insert/remove");
+        for (int round = 0; round < 2; ++round) {
+            run("MyArrayList", size, MyArrayList::new);
+            run("DLinkedList", size, DLinkedList::new);
+            run("Unrolled(64)", size, MyUnrolledLinkedList::new);
+        }
+    }
+
+    /**
+     * Measures one list implementation.
+     *
+     * @param name    name to print
+     * @param size    number of elements
+     * @param factory creates the list
+     */
+    private static void run(String name, int size, Supplier<SaxList<Integer>> factory) {
+        long checksum = 0;
+        long start = System.nanoTime();
+        SaxList<Integer> list = factory.get();
+        for (int i = 0; i < size; ++i) {
+            list.addLast(i);
+        }
+        long append = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < size; ++i) {
+            checksum += list.get(i);
+        }
+        long sequential = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (Integer value : list) {
+            checksum += value;
+        }
+        long iterate = System.nanoTime() - start;
+
+        Random random = new Random(1);
+        start = System.nanoTime();
+        for (int i = 0; i < RANDOM_OPERATIONS; ++i) {
+            checksum += list.get(random.nextInt(size));
+        }
+        long randomGet = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < RANDOM_OPERATIONS; ++i) {
+            list.addAt(random.nextInt(list.size() + 1), i);
+            checksum += list.removeAt(random.nextInt(list.size()));
+        }
+        long insertRemove = System.nanoTime() - start;
+
+        sink = checksum;
+        System.out.printf("%-14s %10d %10d %10d %10d %14d%n", name, append / 1_000_000, sequential / 1_000_000,
+                iterate / 1_000_000, randomGet / 1_000_000, insertRemove / 1_000_000);
+    }
+}
@@ -0,0 +1,133 @@
+package nl.saxion.cds.solution.benchmark;
+
+import nl.saxion.cds.solution.util.MyArrayQueue;
+import nl.saxion.cds.solution.util.MyMpmcQueue;
+import nl.saxion.cds.solution.util.MySpscQueue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Throughput benchmark of the bounded concurrent queues with varying numbers of producers and consumers:
+ * MySpscQueue (only for one producer and one consumer), MyMpmcQueue and, as baseline, a MyArrayQueue guarded
+ * by one lock. Producers spin (yielding) while the queue is full, consumers while it is empty.
+ */
+public class QueueBenchmark {
+    private static final int CAPACITY = 1024;
+    private static final int TRANSFERS = 2_000_000;
+    private static final int[][] CONFIGURATIONS = {{1, 1}, {1, 4}, {4, 1}, {2, 2}, {4, 4}, {8, 8}};
+    // Sent to every consumer when all producers are done
+    private static final Integer STOP = Integer.MIN_VALUE;
+
+    /**
+     * Runs the benchmark and prints the throughput in million transfers per second.
+     *
+     * @param args command-line arguments (not used)
+     */
+    public static void main(String[] args) throws InterruptedException {
+        System.out.printf("%10s %10s %12s %12s %12s%n", "producers", "consumers", "locked", "MPMC", "SPSC");
+        for (int[] configuration : CONFIGURATIONS) {
+            int producers = configuration[0];
+            int consumers = configuration[1];
+            LockedQueue locked = new LockedQueue();
+            double lockedResult = run(producers, consumers, new Channel(locked::offer, locked::poll));
+            MyMpmcQueue<Integer> mpmc = new MyMpmcQueue<>(CAPACITY);
+            double mpmcResult = run(producers, consumers, new Channel(mpmc::offer, mpmc::poll));
+            String spscResult = "-";
+            if (producers == 1 && consumers == 1) {
+                MySpscQueue<Integer> spsc = new MySpscQueue<>(CAPACITY);
+                spscResult = String.format("%.2f", run(1, 1, new Channel(spsc::offer, spsc::poll)));
+            }
+            System.out.printf("%10d %10d %12.2f %12.2f %12s%n", producers, consumers, lockedResult, mpmcResult, spscResult);
+        }
+    }
+
+    /**
+     * Transfers TRANSFERS values from the producers to the consumers.
+     *
+     * @param producers number of producer threads
+     * @param consumers number of consumer threads
+     * @param channel   the queue to test
+     * @return the throughput in million transfers per second
+     */
+    private static double run(int producers, int consumers, Channel channel) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch producersDone = new CountDownLatch(producers);
+        CountDownLatch consumersDone = new CountDownLatch(consumers);
+        for (int p = 0; p < producers; ++p) {
+            startThread(start, producersDone, () -> {
+                for (int i = 0; i < TRANSFERS / producers; ++i) {
+                    while (!channel.offer().test(i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+        for (int c = 0; c < consumers; ++c) {
+            startThread(start, consumersDone, () -> {
+                while (true) {
+                    Integer value = channel.poll().get();
+                    if (value == null) {
+                        Thread.yield();
+                    } else if (value == STOP) {
+                        return;
+                    }
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        producersDone.await();
+        for (int c = 0; c < consumers; ++c) {
+            while (!channel.offer().test(STOP)) {
+                Thread.yield();
+            }
+        }
+        consumersDone.await();
+        long elapsed = System.nanoTime() - begin;
+        return (double) (TRANSFERS / producers) * producers / elapsed * 1_000;
+    }
+
+    /**
+     * Starts a thread which waits for the start signal, runs the work and then counts down.
+     */
+    private static void startThread(CountDownLatch start, CountDownLatch done, Runnable work) {
+        new Thread(() -> {
+            try {
+                start.await();
+                work.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        }).start();
+    }
+
+    /**
+     * The operations of a queue under test.
+     *
+     * @param offer adds a value if there is room
+     * @param poll  removes a value, or returns null if the queue is empty
+     */
+    private record Channel(Predicate<Integer> offer, Supplier<Integer> poll) {
+    }
+
+    /**
+     * The baseline: a bounded MyArrayQueue of which every operation is serialized by a single lock.
+     */
+    private static class LockedQueue {
+        private final MyArrayQueue<Integer> queue = new MyArrayQueue<>(CAPACITY);
+
+        synchronized boolean offer(Integer value) {
+            if (queue.size() == CAPACITY) return false;
+            queue.enqueue(value);
+            return true;
+        }
+
+        synchronized Integer poll() {
+            return queue.isEmpty() ? null : queue.dequeue();
+        }
+    }
+}
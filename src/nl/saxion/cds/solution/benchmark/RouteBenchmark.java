@@ -0,0 +1,147 @@
+package nl.saxion.cds.solution.benchmark;
+
+import nl.saxion.cds.collection.SaxGraph;
+import nl.saxion.cds.collection.SaxList;
+import nl.saxion.cds.solution.model.Coordinate;
+import nl.saxion.cds.solution.model.Station;
+import nl.saxion.cds.solution.tools.CSVReader;
+import nl.saxion.cds.solution.util.MyArcFlags;
+import nl.saxion.cds.solution.util.MyContractionHierarchy;
+import nl.saxion.cds.solution.util.MyFrozenGraph;
+import nl.saxion.cds.solution.util.MyGraph;
+import nl.saxion.cds.solution.util.MyHashMap;
+import nl.saxion.cds.solution.util.MyLandmarks;
+
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+
+/**
+ * Compares point-to-point route queries on the station network from resources and on a synthetic grid graph
+ * (every vertex connected to its four neighbours in both directions, with random weights 1-10): Dijkstra
+ * (A* with a zero estimate), A* (haversine distance, resp. Manhattan distance on the grid) and bidirectional
+ * Dijkstra, on MyGraph and on the frozen graph, A* with 16 landmarks (ALT), Dijkstra with arc-flags (regions
+ * by country, resp. 4 x 4 blocks of the grid), and queries on a contraction hierarchy of the frozen graph.
+ * Reports the preprocessing times, the fraction of edges arc-flags leave to a query, the average number of
+ * settled vertices and the average time per query.
+ * Arguments: the number of queries (default 500) and the width of the grid (default 200).
+ */
+public class RouteBenchmark {
+    private static final int LANDMARKS = 16;
+    // Results are written here, so the JIT can not remove the measured work
+    private static volatile long sink;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args number of queries (default 500), width of the grid (default 200)
+     */
+    public static void main(String[] args) {
+        int queries = (args.length > 0) ? Integer.parseInt(args[0]) : 500;
+        int width = (args.length > 1) ? Integer.parseInt(args[1]) : 200;
+
+        CSVReader reader = new CSVReader();
+        MyHashMap<String, Station> stations = reader.loadStations("resources/stations.csv");
+        MyGraph<Station> rail = reader.loadTracks("resources/tracks.csv", stations);
+        System.out.printf("Rail network: %d stations%n", rail.size());
+        compare(rail, (from, to) -> Coordinate.haversineDistance(from.coordinate(), to.coordinate()), Station::country, queries);
+
+        MyGraph<Integer> grid = grid(width, new Random(1));
+        System.out.printf("%nGrid: %d x %d vertices%n", width, width);
+        int block = (width + 3) / 4;
+        compare(grid, (from, to) -> Math.abs(from / width - to / width) + Math.abs(from % width - to % width),
+                id -> (id / width / block) * 4 + id % width / block, queries);
+    }
+
+    /**
+     * Runs all algorithms on a graph and its frozen copy, with the same random queries.
+     *
+     * @param graph     the graph
+     * @param estimator the A* estimator
+     * @param region    the region of a vertex for arc-flags
+     * @param queries   the number of queries
+     */
+    private static <V> void compare(MyGraph<V> graph, SaxGraph.Estimator<V> estimator, Function<V, ?> region, int queries) {
+        MyFrozenGraph<V> frozen = graph.freeze();
+        SaxGraph.Estimator<V> zero = (from, to) -> 0.0;
+        long start = System.nanoTime();
+        MyContractionHierarchy<V> hierarchy = new MyContractionHierarchy<>(frozen);
+        System.out.printf("Contraction hierarchy: %d ms preprocessing, %d shortcuts%n",
+                (System.nanoTime() - start) / 1_000_000, hierarchy.shortcutCount());
+        start = System.nanoTime();
+        MyLandmarks<V> landmarks = new MyLandmarks<>(frozen, LANDMARKS);
+        System.out.printf("Landmarks: %d ms preprocessing%n", (System.nanoTime() - start) / 1_000_000);
+        start = System.nanoTime();
+        MyArcFlags<V> arcFlags = new MyArcFlags<>(frozen, region);
+        System.out.printf("Arc-flags: %d ms preprocessing, %d regions, %.1f%% of the edges flagged per region%n",
+                (System.nanoTime() - start) / 1_000_000, arcFlags.regionCount(), 100 * arcFlags.flaggedFraction());
+        System.out.printf("%-8s %-14s %12s %12s%n", "graph", "algorithm", "avg settled", "avg us");
+        for (int round = 0; round < 2; ++round) {
+            boolean print = (round == 1); // the first round warms up the JIT
+            run(print, "MyGraph", "dijkstra", frozen, queries, (from, to) -> graph.shortestPathAStar(from, to, zero), graph::getLastSettledCount);
+            run(print, "MyGraph", "a*", frozen, queries, (from, to) -> graph.shortestPathAStar(from, to, estimator), graph::getLastSettledCount);
+            run(print, "MyGraph", "alt", frozen, queries, (from, to) -> graph.shortestPathAStar(from, to, landmarks), graph::getLastSettledCount);
+            run(print, "MyGraph", "bidirectional", frozen, queries, graph::shortestPathBidirectional, graph::getLastSettledCount);
+            run(print, "frozen", "dijkstra", frozen, queries, (from, to) -> frozen.shortestPathAStar(from, to, zero), frozen::getLastSettledCount);
+            run(print, "frozen", "a*", frozen, queries, (from, to) -> frozen.shortestPathAStar(from, to, estimator), frozen::getLastSettledCount);
+            run(print, "frozen", "alt", frozen, queries, (from, to) -> frozen.shortestPathAStar(from, to, landmarks), frozen::getLastSettledCount);
+            run(print, "frozen", "bidirectional", frozen, queries, frozen::shortestPathBidirectional, frozen::getLastSettledCount);
+            run(print, "frozen", "arc-flags", frozen, queries, arcFlags::shortestPath, arcFlags::getLastSettledCount);
+            run(print, "frozen", "ch", frozen, queries, hierarchy::shortestPath, hierarchy::getLastSettledCount);
+        }
+    }
+
+    /**
+     * Measures one algorithm on random pairs of vertices (the same pairs for every algorithm).
+     *
+     * @param print     if the result is printed
+     * @param graphName name of the graph to print
+     * @param name      name of the algorithm to print
+     * @param frozen    the frozen graph, used to pick vertices by id
+     * @param queries   the number of queries
+     * @param query     the route query
+     * @param settled   returns the number of vertices settled by the last query
+     */
+    private static <V> void run(boolean print, String graphName, String name, MyFrozenGraph<V> frozen, int queries,
+                                BiFunction<V, V, SaxList<SaxGraph.DirectedEdge<V>>> query, IntSupplier settled) {
+        Random random = new Random(2);
+        long checksum = 0;
+        long totalSettled = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < queries; ++i) {
+            V from = frozen.vertexAt(random.nextInt(frozen.size()));
+            V to = frozen.vertexAt(random.nextInt(frozen.size()));
+            SaxList<SaxGraph.DirectedEdge<V>> path = query.apply(from, to);
+            checksum += (path == null) ? -1 : path.size();
+            totalSettled += settled.getAsInt();
+        }
+        long time = System.nanoTime() - start;
+        sink = checksum;
+        if (print) {
+            System.out.printf("%-8s %-14s %12d %12d%n", graphName, name, totalSettled / queries, time / 1000 / queries);
+        }
+    }
+
+    /**
+     * Creates a grid graph with random weights.
+     *
+     * @param width  the number of vertices per row and per column
+     * @param random the source of the weights
+     * @return the grid; vertex row * width + column
+     */
+    private static MyGraph<Integer> grid(int width, Random random) {
+        MyGraph<Integer> grid = new MyGraph<>();
+        for (int id = 0; id < width * width; ++id) {
+            grid.addVertex(id);
+        }
+        for (int row = 0; row < width; ++row) {
+            for (int column = 0; column < width; ++column) {
+                int id = row * width + column;
+                if (column + 1 < width) grid.addEdgeBidirectional(id, id + 1, 1 + random.nextInt(10));
+                if (row + 1 < width) grid.addEdgeBidirectional(id, id + width, 1 + random.nextInt(10));
+            }
+        }
+        return grid;
+    }
+}
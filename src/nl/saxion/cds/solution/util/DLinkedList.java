@@ -4,10 +4,16 @@ import nl.saxion.cds.collection.EmptyCollectionException;
 import nl.saxion.cds.collection.SaxList;
 import nl.saxion.cds.collection.ValueNotFoundException;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
 
 /**
  * A doubly linked list implementation of the SaxList interface.
+ * Positional access walks from the nearest of the head, the tail and the most recently accessed node, so
+ * an indexed loop like {@code for (i...) list.get(i)} costs O(1) per step. A {@link #listIterator()} cursor
+ * inserts and removes at its position in O(1).
  *
  * @param <V> the type of elements stored in this list
  */
@@ -15,6 +21,11 @@ public class DLinkedList<V> implements SaxList<V> {
 
     private DLinkNode<V> head = null, tail = null;
     private int size;
+    // the most recently accessed node and its index (cachedNode is null when there is no valid cache)
+    private DLinkNode<V> cachedNode;
+    private int cachedIndex;
+    // number of structural changes, used by the cursors to detect concurrent modification
+    private int modCount;
 
     /**
      * Checks if the list contains a specific value.
@@ -43,19 +54,10 @@ public class DLinkedList<V> implements SaxList<V> {
      */
     @Override
     public V get(int index) throws IndexOutOfBoundsException {
-        DLinkNode<V> current = head;
-        V value;
-
-        if (index >=0 && index < this.size()) {
-            for (int i = 0; i < index; i++) {
-                current = current.getNext();
-            }
-            value = current.getValue();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
         }
-        else {
-            throw new IndexOutOfBoundsException();
-        }
-        return value;
+        return nodeAt(index).getValue();
     }
 
     /**
@@ -65,15 +67,7 @@ public class DLinkedList<V> implements SaxList<V> {
      */
     @Override
     public void addLast(V value) {
-        DLinkNode<V> newNode = new DLinkNode<>(value);
-        if (isEmpty()) {
-            head = newNode;
-        } else {
-            tail.setNext(newNode);
-            newNode.setPrev(tail);
-        }
-        tail = newNode;
-        size++;
+        linkBefore(value, null, size);
     }
 
     /**
@@ -83,17 +77,7 @@ public class DLinkedList<V> implements SaxList<V> {
      */
     @Override
     public void addFirst(V value) {
-        DLinkNode<V> newNode = new DLinkNode<>(value);
-        if (!isEmpty()) {
-            newNode.setNext(head);
-            head.setPrev(newNode);
-        }
-        head = newNode;
-        if (tail == null) {
-            tail = head;
-        }
-        size++;
-
+        linkBefore(value, head, 0);
     }
 
     /**
@@ -105,28 +89,12 @@ public class DLinkedList<V> implements SaxList<V> {
      */
     @Override
     public void addAt(int index, V value) throws IndexOutOfBoundsException {
-        if (index < 0 || index > this.size()){
-            throw new IndexOutOfBoundsException();
-        }
-        if (index == 0) {
-            addFirst(value);
-        } else if (index == size) {
-            addLast(value);
-        } else {
-            DLinkNode<V> previous = head;
-            for (int i = 1; i < index; i++) {
-                previous = previous.getNext();
-            }
-
-            DLinkNode<V> current = new DLinkNode<>(value);
-            DLinkNode<V> nextNode = previous.getNext();
-            current.setNext(nextNode);
-            nextNode.setPrev(current);
-            previous.setNext(current);
-            current.setPrev(previous);
-            size++;
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
         }
-
+        DLinkNode<V> node = linkBefore(value, (index == size) ? null : nodeAt(index), index);
+        cachedNode = node;
+        cachedIndex = index;
     }
 
     /**
@@ -138,17 +106,10 @@ public class DLinkedList<V> implements SaxList<V> {
      */
     @Override
     public void set(int index, V value) throws IndexOutOfBoundsException {
-        DLinkNode<V> current = head;
-        if (index >=0 && index < this.size()) {
-            for (int i = 0; i < index; i++) {
-                current = current.getNext();
-            }
-            current.setValue(value);
-        }
-        else {
-            throw new IndexOutOfBoundsException();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
         }
-
+        nodeAt(index).setValue(value);
     }
 
     /**
@@ -162,15 +123,7 @@ public class DLinkedList<V> implements SaxList<V> {
         if (isEmpty()) {
             throw new EmptyCollectionException();
         }
-        if (size == 1) {
-            return removeFirst();
-        }
-        V value = tail.getValue();
-        DLinkNode<V> prev = tail.getPrev();
-        prev.setNext(null);
-        this.tail = prev;
-        size--;
-        return value;
+        return unlink(tail, size - 1);
     }
 
     /**
@@ -184,15 +137,7 @@ public class DLinkedList<V> implements SaxList<V> {
         if (isEmpty()) {
             throw new EmptyCollectionException();
         }
-        V value = head.getValue();
-        this.head = head.getNext();
-        if (head == null) {
-            this.tail = null;
-        } else {
-            this.head.setPrev(null);
-        }
-        size--;
-        return value;
+        return unlink(head, 0);
     }
 
     /**
@@ -204,29 +149,18 @@ public class DLinkedList<V> implements SaxList<V> {
      */
     @Override
     public V removeAt(int index) throws IndexOutOfBoundsException {
-        DLinkNode<V> current = head;
-        if (index >=0 && index < this.size()) {
-            if (index == 0) {
-                return removeFirst();
-            }
-            if (index == this.size() - 1){
-                return removeLast();
-            }
-            for (int i = 1; i <= index; i++) {
-                current = current.getNext();
-            }
-
-            DLinkNode<V> previous = current.getPrev();
-            DLinkNode<V> next = current.getNext();
-            previous.setNext(next);
-            next.setPrev(previous);
-            size--;
-            return current.getValue();
-
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
         }
-        else {
-            throw new IndexOutOfBoundsException();
+        DLinkNode<V> node = nodeAt(index);
+        DLinkNode<V> next = node.getNext();
+        V value = unlink(node, index);
+        if (next != null) {
+            // the next node moves to the removed index
+            cachedNode = next;
+            cachedIndex = index;
         }
+        return value;
     }
 
     /**
@@ -237,33 +171,108 @@ public class DLinkedList<V> implements SaxList<V> {
      */
     @Override
     public void remove(V value) throws ValueNotFoundException {
-        boolean exist = false;
         DLinkNode<V> current = head;
-        for (int i = 0; i < size(); ++i) {
-            if (current.getValue().equals(value)){
-                exist = true;
-                if (i == 0) {
-                    removeFirst();
-                    break;
-                }
-                else if (i == size - 1) {
-                    removeLast();
-                    break;
-                }
-                else {
-                    DLinkNode<V> previous = current.getPrev();
-                    DLinkNode<V> next = current.getNext();
-                    previous.setNext(next);
-                    next.setPrev(previous);
-                    size--;
-                    break;
-                }
+        for (int i = 0; i < size; ++i) {
+            if (current.getValue().equals(value)) {
+                unlink(current, i);
+                return;
             }
             current = current.getNext();
         }
-        if (!exist){
-            throw new ValueNotFoundException(value.toString());
+        throw new ValueNotFoundException(value.toString());
+    }
+
+    /**
+     * Finds the node at an index by walking from the nearest of the head, the tail and the cached node,
+     * and caches it.
+     *
+     * @param index a valid index
+     * @return the node at the index
+     */
+    private DLinkNode<V> nodeAt(int index) {
+        DLinkNode<V> current;
+        int position;
+        if (index < size - 1 - index) {
+            current = head;
+            position = 0;
+        } else {
+            current = tail;
+            position = size - 1;
+        }
+        if (cachedNode != null && Math.abs(index - cachedIndex) < Math.abs(index - position)) {
+            current = cachedNode;
+            position = cachedIndex;
         }
+        for (; position < index; ++position) {
+            current = current.getNext();
+        }
+        for (; position > index; --position) {
+            current = current.getPrev();
+        }
+        cachedNode = current;
+        cachedIndex = index;
+        return current;
+    }
+
+    /**
+     * Inserts a new node with the value before a node.
+     *
+     * @param value     the value to insert
+     * @param successor the node to insert before, or null to insert at the end
+     * @param index     the index of the new node
+     * @return the new node
+     */
+    private DLinkNode<V> linkBefore(V value, DLinkNode<V> successor, int index) {
+        DLinkNode<V> node = new DLinkNode<>(value);
+        DLinkNode<V> predecessor = (successor == null) ? tail : successor.getPrev();
+        node.setPrev(predecessor);
+        node.setNext(successor);
+        if (predecessor == null) {
+            head = node;
+        } else {
+            predecessor.setNext(node);
+        }
+        if (successor == null) {
+            tail = node;
+        } else {
+            successor.setPrev(node);
+        }
+        if (cachedNode != null && cachedIndex >= index) {
+            ++cachedIndex;
+        }
+        size++;
+        modCount++;
+        return node;
+    }
+
+    /**
+     * Removes a node from the list.
+     *
+     * @param node  the node to remove
+     * @param index the index of the node
+     * @return the value of the removed node
+     */
+    private V unlink(DLinkNode<V> node, int index) {
+        DLinkNode<V> predecessor = node.getPrev();
+        DLinkNode<V> successor = node.getNext();
+        if (predecessor == null) {
+            head = successor;
+        } else {
+            predecessor.setNext(successor);
+        }
+        if (successor == null) {
+            tail = predecessor;
+        } else {
+            successor.setPrev(predecessor);
+        }
+        if (node == cachedNode) {
+            cachedNode = null;
+        } else if (cachedNode != null && cachedIndex > index) {
+            --cachedIndex;
+        }
+        size--;
+        modCount++;
+        return node.getValue();
     }
 
     /**
@@ -276,6 +285,31 @@ public class DLinkedList<V> implements SaxList<V> {
         return new DLinkIterator<>(this.head);
     }
 
+    /**
+     * Returns a cursor positioned before the first element.
+     *
+     * @return a list iterator over the elements in this list
+     */
+    public ListIterator<V> listIterator() {
+        return listIterator(0);
+    }
+
+    /**
+     * Returns a cursor positioned before the element at the given index. The cursor walks in both directions,
+     * and adds, removes and sets elements at its position in O(1). It fails fast with a
+     * ConcurrentModificationException when the list is changed other than through the cursor itself.
+     *
+     * @param index the index of the first element returned by next() (size for a cursor at the end)
+     * @return a list iterator over the elements in this list
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public ListIterator<V> listIterator(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException(Integer.toString(index));
+        }
+        return new DLinkCursor(index);
+    }
+
     /**
      * Checks if the list is empty.
      *
@@ -432,4 +466,111 @@ public class DLinkedList<V> implements SaxList<V> {
             return result;
         }
     }
+
+    /**
+     * A cursor between two elements of the list, which can move in both directions.
+     */
+    private class DLinkCursor implements ListIterator<V> {
+        private DLinkNode<V> next;
+        private DLinkNode<V> lastReturned;
+        private int nextIndex;
+        private int expectedModCount = modCount;
+
+        /**
+         * Constructs a cursor before the element at the given index.
+         *
+         * @param index a valid index (or size)
+         */
+        DLinkCursor(int index) {
+            next = (index == size) ? null : nodeAt(index);
+            nextIndex = index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @Override
+        public V next() {
+            checkForModification();
+            if (!hasNext()) throw new NoSuchElementException();
+            lastReturned = next;
+            next = next.getNext();
+            nextIndex++;
+            return lastReturned.getValue();
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @Override
+        public V previous() {
+            checkForModification();
+            if (!hasPrevious()) throw new NoSuchElementException();
+            next = (next == null) ? tail : next.getPrev();
+            lastReturned = next;
+            nextIndex--;
+            return lastReturned.getValue();
+        }
+
+        @Override
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        @Override
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        /**
+         * Removes the element which was returned last by next() or previous().
+         */
+        @Override
+        public void remove() {
+            checkForModification();
+            if (lastReturned == null) throw new IllegalStateException();
+            if (lastReturned == next) {
+                // returned by previous(): the cursor is before the removed element
+                next = next.getNext();
+                unlink(lastReturned, nextIndex);
+            } else {
+                unlink(lastReturned, --nextIndex);
+            }
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Replaces the element which was returned last by next() or previous().
+         *
+         * @param value the new value
+         */
+        @Override
+        public void set(V value) {
+            checkForModification();
+            if (lastReturned == null) throw new IllegalStateException();
+            lastReturned.setValue(value);
+        }
+
+        /**
+         * Inserts a value before the cursor; a following next() is not affected.
+         *
+         * @param value the value to insert
+         */
+        @Override
+        public void add(V value) {
+            checkForModification();
+            linkBefore(value, next, nextIndex++);
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        private void checkForModification() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+        }
+    }
 }
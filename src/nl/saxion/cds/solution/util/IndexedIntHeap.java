@@ -0,0 +1,156 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int ids (0 .. capacity-1) ordered by a double key, with decrease-key.
+ * <p>
+ * Every id is at most once in the heap and its position is tracked, so a shorter distance found in Dijkstra
+ * updates the entry in place instead of adding a duplicate. Nothing is boxed and nothing is allocated after
+ * construction; clear() only resets the ids which are still in the heap, so a heap can be reused for many
+ * searches over the same graph.
+ */
+class IndexedIntHeap {
+    private final int[] heap;
+    private final int[] positions; // position of every id in heap, -1 if the id is not in the heap
+    private final double[] keys;   // key of every id in the heap
+    private int size;
+
+    /**
+     * Initializes a new, empty heap.
+     *
+     * @param capacity the number of ids (ids run from 0 to capacity - 1)
+     */
+    IndexedIntHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new double[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    /**
+     * @return if the heap has no ids
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return the number of ids in the heap
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @param id an id
+     * @return if the id is in the heap
+     */
+    boolean contains(int id) {
+        return positions[id] >= 0;
+    }
+
+    /**
+     * Adds an id, or lowers its key if it is already in the heap with a higher key.
+     *
+     * @param id  the id
+     * @param key the (new) key
+     * @return true if the id was added or its key was lowered
+     */
+    boolean insertOrDecrease(int id, double key) {
+        int position = positions[id];
+        if (position < 0) {
+            position = size++;
+        } else if (key >= keys[id]) {
+            return false;
+        }
+        keys[id] = key;
+        siftUp(id, position);
+        return true;
+    }
+
+    /**
+     * @return the id with the lowest key, without removing it
+     * @throws EmptyCollectionException if the heap is empty
+     */
+    int peek() throws EmptyCollectionException {
+        if (size == 0) throw new EmptyCollectionException();
+        return heap[0];
+    }
+
+    /**
+     * @return the lowest key in the heap
+     * @throws EmptyCollectionException if the heap is empty
+     */
+    double peekKey() throws EmptyCollectionException {
+        if (size == 0) throw new EmptyCollectionException();
+        return keys[heap[0]];
+    }
+
+    /**
+     * Removes the id with the lowest key.
+     *
+     * @return the removed id
+     * @throws EmptyCollectionException if the heap is empty
+     */
+    int poll() throws EmptyCollectionException {
+        if (size == 0) throw new EmptyCollectionException();
+        int id = heap[0];
+        positions[id] = -1;
+        int last = heap[--size];
+        if (size > 0) siftDown(last, 0);
+        return id;
+    }
+
+    /**
+     * Removes all ids; only the ids which are still in the heap are touched.
+     */
+    void clear() {
+        for (int i = 0; i < size; ++i) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    /**
+     * Moves an id up from a position until its parent has a lower or equal key.
+     */
+    private void siftUp(int id, int position) {
+        double key = keys[id];
+        while (position > 0) {
+            int parentPosition = (position - 1) >>> 1;
+            int parent = heap[parentPosition];
+            if (keys[parent] <= key) break;
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    /**
+     * Moves an id down from a position until both children have a higher or equal key.
+     */
+    private void siftDown(int id, int position) {
+        double key = keys[id];
+        int half = size >>> 1;
+        while (position < half) {
+            int childPosition = 2 * position + 1;
+            int child = heap[childPosition];
+            int rightPosition = childPosition + 1;
+            if (rightPosition < size && keys[heap[rightPosition]] < keys[child]) {
+                childPosition = rightPosition;
+                child = heap[rightPosition];
+            }
+            if (key <= keys[child]) break;
+            heap[position] = child;
+            positions[child] = position;
+            position = childPosition;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+}
@@ -0,0 +1,346 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.SaxGraph.DirectedEdge;
+import nl.saxion.cds.collection.SaxList;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+/**
+ * Arc-flags: goal-directed pruning of Dijkstra for a frozen graph whose vertices are divided into regions.
+ * <p>
+ * Every edge gets a bit per region, which is set if the edge lies on a shortest path into that region. A query
+ * to a target in region r only follows edges with the bit for r set, so edges which lead away from the region
+ * are never relaxed. Edges within a region are flagged for their own region; for the other edges, a backward
+ * Dijkstra from every entry vertex (a vertex of the region with an edge coming from outside) flags every edge
+ * (u, w) with d(u, entry) = weight + d(w, entry). Every shortest path into the region enters it through its
+ * last entry vertex, so all of its edges are flagged; ties flag all shortest paths.
+ * <p>
+ * The backward searches are independent, so they run in parallel as fork/join tasks; every task collects its
+ * flags separately, and adds them to the flags of the graph when it is done.
+ *
+ * @param <V> the type of vertices in the graph
+ */
+public class MyArcFlags<V> {
+    // tolerance for comparing sums of weights, relative to the distance
+    private static final double EPSILON = 1e-9;
+
+    private final MyFrozenGraph<V> graph;
+    private final int[] regions;
+    private final int regionCount;
+    private final int words; // the number of longs of the flags of one edge
+    // the flags of edge e are bits of flags[e * words] .. flags[e * words + words - 1]
+    private final long[] flags;
+    private final ThreadLocal<Query> queries;
+
+    /**
+     * Divides the vertices into regions and computes the flags, with one thread per available processor.
+     *
+     * @param graph  the graph
+     * @param region the region of a vertex (for example its country, or a cell of a grid over its coordinate)
+     */
+    public MyArcFlags(MyFrozenGraph<V> graph, Function<V, ?> region) {
+        this(graph, region, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Divides the vertices into regions and computes the flags.
+     *
+     * @param graph   the graph
+     * @param region  the region of a vertex (for example its country, or a cell of a grid over its coordinate)
+     * @param threads the number of threads for the backward searches
+     * @throws IllegalArgumentException if threads is smaller than 1
+     */
+    public MyArcFlags(MyFrozenGraph<V> graph, Function<V, ?> region, int threads) {
+        if (threads < 1) throw new IllegalArgumentException("At least one thread is needed: " + threads);
+        this.graph = graph;
+        int n = graph.size();
+        regions = new int[n];
+        MyHashMap<Object, Integer> regionIds = new MyHashMap<>();
+        for (int id = 0; id < n; ++id) {
+            Object key = region.apply(graph.vertexAt(id));
+            Integer regionId = regionIds.get(key);
+            if (regionId == null) {
+                regionId = regionIds.size();
+                regionIds.add(key, regionId);
+            }
+            regions[id] = regionId;
+        }
+        regionCount = regionIds.size();
+        words = Math.max(1, (regionCount + 63) >>> 6);
+        flags = new long[graph.edgeCount() * words];
+
+        // edges within a region, and the entry vertices of every region
+        int[] entries = new int[n];
+        int entryCount = 0;
+        for (int id = 0; id < n; ++id) {
+            boolean entry = false;
+            for (int i = graph.firstIncoming(id); i < graph.endIncoming(id); ++i) {
+                int edge = graph.incomingEdge(i);
+                if (regions[graph.edgeSource(edge)] == regions[id]) {
+                    setFlag(flags, edge, regions[id]);
+                } else {
+                    entry = true;
+                }
+            }
+            if (entry) entries[entryCount++] = id;
+        }
+
+        // a few tasks per thread, so a task with slow searches does not keep the other threads waiting
+        int chunk = Math.max(1, entryCount / (8 * threads));
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            // a failing search is rethrown here
+            pool.invoke(new FlagTask(Arrays.copyOf(entries, entryCount), 0, entryCount, chunk));
+        } finally {
+            pool.shutdown();
+        }
+        queries = ThreadLocal.withInitial(() -> new Query(n));
+    }
+
+    /**
+     * @return the graph of the flags
+     */
+    public MyFrozenGraph<V> getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return the number of regions
+     */
+    public int regionCount() {
+        return regionCount;
+    }
+
+    /**
+     * @param id the id of a vertex
+     * @return the region of the vertex (0 .. regionCount()-1)
+     */
+    public int regionOf(int id) {
+        return regions[id];
+    }
+
+    /**
+     * @param edge   an edge index
+     * @param region a region
+     * @return if the edge lies on a shortest path into the region
+     */
+    public boolean isFlagged(int edge, int region) {
+        return (flags[edge * words + (region >>> 6)] & (1L << region)) != 0;
+    }
+
+    /**
+     * @return the fraction of edges a query can use, averaged over all regions (1 means no pruning)
+     */
+    public double flaggedFraction() {
+        long flagged = 0;
+        for (long word : flags) {
+            flagged += Long.bitCount(word);
+        }
+        return (graph.edgeCount() == 0) ? 1 : (double) flagged / graph.edgeCount() / regionCount;
+    }
+
+    /**
+     * Determines the shortest path between two vertices with Dijkstra, only following the edges flagged for the
+     * region of the end node.
+     *
+     * @param startNode the node to start
+     * @param endNode   the target node
+     * @return a list of edges (from start to end) which comprise the shortest path, or null if there is no path
+     * @throws KeyNotFoundException if startNode or endNode is not part of the graph
+     */
+    public SaxList<DirectedEdge<V>> shortestPath(V startNode, V endNode) throws KeyNotFoundException {
+        int source = graph.indexOf(startNode);
+        int target = graph.indexOf(endNode);
+        Query query = queries.get();
+        if (query.run(source, target) == Double.POSITIVE_INFINITY) return null;
+        MyArrayList<DirectedEdge<V>> path = new MyArrayList<>();
+        for (int id = target; id != source; id = graph.edgeSource(query.parentEdges[id])) {
+            int edge = query.parentEdges[id];
+            path.addFirst(new DirectedEdge<>(graph.vertexAt(graph.edgeSource(edge)), graph.vertexAt(id), graph.edgeWeight(edge)));
+        }
+        return path;
+    }
+
+    /**
+     * Determines the length of the shortest path between two vertices, by id.
+     *
+     * @param source the id of the start vertex
+     * @param target the id of the end vertex
+     * @return the length of the shortest path, Double.POSITIVE_INFINITY if there is no path
+     */
+    public double distanceById(int source, int target) {
+        return queries.get().run(source, target);
+    }
+
+    /**
+     * @return the number of vertices settled by the last query of the calling thread (for benchmarks)
+     */
+    public int getLastSettledCount() {
+        return queries.get().settled;
+    }
+
+    /**
+     * @return the number of edges relaxed by the last query of the calling thread (for benchmarks)
+     */
+    public int getLastRelaxedCount() {
+        return queries.get().relaxed;
+    }
+
+    private void setFlag(long[] flags, int edge, int region) {
+        flags[edge * words + (region >>> 6)] |= 1L << region;
+    }
+
+    /**
+     * Runs the backward searches from the entry vertices from .. to-1, splitting them over subtasks until at most
+     * chunk are left; the searches of one task share their state and flags.
+     */
+    private class FlagTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] entries;
+        private final int from, to, chunk;
+
+        FlagTask(int[] entries, int from, int to, int chunk) {
+            this.entries = entries;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > chunk) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new FlagTask(entries, from, middle, chunk), new FlagTask(entries, middle, to, chunk));
+                return;
+            }
+            BackwardSearch search = new BackwardSearch(graph.size());
+            for (int i = from; i < to; ++i) {
+                search.run(entries[i]);
+            }
+            synchronized (flags) {
+                for (int i = 0; i < flags.length; ++i) {
+                    flags[i] |= search.flags[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Backward Dijkstra from entry vertices, reused for all entry vertices of one task.
+     */
+    private class BackwardSearch {
+        final long[] flags = new long[MyArcFlags.this.flags.length];
+        final double[] distances;
+        final int[] reached;
+        final IndexedIntHeap heap;
+
+        BackwardSearch(int n) {
+            distances = new double[n];
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            reached = new int[n];
+            heap = new IndexedIntHeap(n);
+        }
+
+        /**
+         * Determines the distances of all vertices to an entry vertex, then flags the edges on shortest paths.
+         *
+         * @param entry the id of the entry vertex
+         */
+        void run(int entry) {
+            int region = regions[entry];
+            int reachedCount = 0;
+            distances[entry] = 0;
+            reached[reachedCount++] = entry;
+            heap.insertOrDecrease(entry, 0);
+            while (!heap.isEmpty()) {
+                int current = heap.poll();
+                for (int i = graph.firstIncoming(current); i < graph.endIncoming(current); ++i) {
+                    int edge = graph.incomingEdge(i);
+                    int neighbor = graph.edgeSource(edge);
+                    double distance = distances[current] + graph.edgeWeight(edge);
+                    if (distance < distances[neighbor]) {
+                        if (distances[neighbor] == Double.POSITIVE_INFINITY) reached[reachedCount++] = neighbor;
+                        distances[neighbor] = distance;
+                        heap.insertOrDecrease(neighbor, distance);
+                    }
+                }
+            }
+            for (int r = 0; r < reachedCount; ++r) {
+                int current = reached[r];
+                for (int i = graph.firstIncoming(current); i < graph.endIncoming(current); ++i) {
+                    int edge = graph.incomingEdge(i);
+                    double through = distances[current] + graph.edgeWeight(edge);
+                    double distance = distances[graph.edgeSource(edge)];
+                    if (through <= distance + EPSILON * Math.max(1, distance)) setFlag(flags, edge, region);
+                }
+            }
+            for (int r = 0; r < reachedCount; ++r) {
+                distances[reached[r]] = Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+
+    /**
+     * The state of the queries of one thread.
+     */
+    private class Query {
+        final double[] distances;
+        final int[] parentEdges;
+        final int[] reached;
+        int reachedCount;
+        final IndexedIntHeap heap;
+        int settled, relaxed;
+
+        Query(int n) {
+            distances = new double[n];
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            parentEdges = new int[n];
+            reached = new int[n];
+            heap = new IndexedIntHeap(n);
+        }
+
+        /**
+         * Runs Dijkstra over the flagged edges until the target is settled.
+         *
+         * @return the distance to the target, infinity if it can not be reached
+         */
+        double run(int source, int target) {
+            for (int i = 0; i < reachedCount; ++i) {
+                distances[reached[i]] = Double.POSITIVE_INFINITY;
+            }
+            reachedCount = 0;
+            heap.clear();
+            settled = 0;
+            relaxed = 0;
+            int region = regions[target];
+            int word = region >>> 6;
+            long bit = 1L << region;
+            distances[source] = 0;
+            reached[reachedCount++] = source;
+            heap.insertOrDecrease(source, 0);
+            while (!heap.isEmpty()) {
+                int current = heap.poll();
+                ++settled;
+                if (current == target) break;
+                for (int edge = graph.firstEdge(current); edge < graph.endEdge(current); ++edge) {
+                    if ((flags[edge * words + word] & bit) == 0) continue;
+                    ++relaxed;
+                    int neighbor = graph.edgeTarget(edge);
+                    double distance = distances[current] + graph.edgeWeight(edge);
+                    if (distance < distances[neighbor]) {
+                        if (distances[neighbor] == Double.POSITIVE_INFINITY) reached[reachedCount++] = neighbor;
+                        distances[neighbor] = distance;
+                        parentEdges[neighbor] = edge;
+                        heap.insertOrDecrease(neighbor, distance);
+                    }
+                }
+            }
+            return distances[target];
+        }
+    }
+}
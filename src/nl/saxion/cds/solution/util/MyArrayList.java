@@ -392,6 +392,151 @@ public class MyArrayList<V> implements SaxList<V>, SaxSearchable<V>, SaxSortable
         return right;
     }
 
+    /**
+     * Rearrange the elements (in place) so that the element at index k is the element which would be there
+     * after sorting; all elements before it are smaller or equal, all elements after it are bigger or equal.
+     * Uses introselect: quickselect with a median-of-three pivot, which falls back to a heap sort of the
+     * remaining range when the partitioning degrades, so the worst case stays O(N log(N)).
+     *
+     * @param comparator method to compare two V objects
+     * @param k          index of the element to select
+     * @return the k-th smallest element
+     * @throws IndexOutOfBoundsException if k is out of range
+     */
+    @SuppressWarnings("unchecked")
+    public V select(Comparator<V> comparator, int k) throws IndexOutOfBoundsException {
+        if (k < 0 || k >= size) throw new IndexOutOfBoundsException(Integer.toString(k));
+        introSelect(comparator, 0, size - 1, k);
+        return (V) elements[k];
+    }
+
+    /**
+     * Sort only the k smallest elements (in place) in ascending order at the start of the list;
+     * the order of the remaining elements is unspecified. Runs in O(N + k log(k)).
+     *
+     * @param comparator method to compare two V objects
+     * @param k          number of smallest elements to sort
+     */
+    public void partialSort(Comparator<V> comparator, int k) {
+        if (k <= 0 || size == 0) return;
+        if (k >= size) {
+            heapSort(comparator, 0, size - 1);
+            return;
+        }
+        introSelect(comparator, 0, size - 1, k - 1);
+        heapSort(comparator, 0, k - 2);
+    }
+
+    /**
+     * Iteratively narrow the range from begin until (including) end to the partition which contains index k.
+     * Every step splits the range three ways (smaller than, equal to and bigger than the pivot), so keys equal
+     * to the pivot are removed from the range at once and many duplicates do not stop the range from shrinking.
+     *
+     * @param comparator method to compare two V objects
+     * @param begin      start of range
+     * @param end        end of range
+     * @param k          index of the element to select
+     */
+    @SuppressWarnings("unchecked")
+    private void introSelect(Comparator<V> comparator, int begin, int end, int k) {
+        int depthLimit = 2 * (32 - Integer.numberOfLeadingZeros(end - begin + 1));
+        while (end > begin) {
+            if (depthLimit-- == 0) {
+                heapSort(comparator, begin, end);
+                return;
+            }
+            moveMedianOfThreeToBegin(comparator, begin, end);
+            V pivot = (V) elements[begin];
+            // [begin, less) < pivot, [less, i) == pivot, [i, greater] unknown, (greater, end] > pivot
+            int less = begin;
+            int greater = end;
+            int i = begin + 1;
+            while (i <= greater) {
+                int comparison = comparator.compare((V) elements[i], pivot);
+                if (comparison < 0) {
+                    swap(less++, i++);
+                } else if (comparison > 0) {
+                    swap(i, greater--);
+                } else {
+                    ++i;
+                }
+            }
+            if (k < less) {
+                end = less - 1;
+            } else if (k > greater) {
+                begin = greater + 1;
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Move the median of the first, middle and last element of the range to begin, where the partitioning
+     * expects its pivot. This avoids the quadratic behaviour of a first-element pivot on (nearly) sorted input.
+     *
+     * @param comparator method to compare two V objects
+     * @param begin      start of range
+     * @param end        end of range
+     */
+    @SuppressWarnings("unchecked")
+    private void moveMedianOfThreeToBegin(Comparator<V> comparator, int begin, int end) {
+        int middle = (begin + end) >>> 1;
+        V first = (V) elements[begin];
+        V mid = (V) elements[middle];
+        V last = (V) elements[end];
+        int median;
+        if (comparator.compare(first, mid) < 0) {
+            if (comparator.compare(mid, last) < 0) median = middle;
+            else median = comparator.compare(first, last) < 0 ? end : begin;
+        } else {
+            if (comparator.compare(first, last) < 0) median = begin;
+            else median = comparator.compare(mid, last) < 0 ? end : middle;
+        }
+        swap(begin, median);
+    }
+
+    /**
+     * Heap sort (in place) the elements from begin until (including) end in ascending order.
+     *
+     * @param comparator method to compare two V objects
+     * @param begin      start of range
+     * @param end        end of range
+     */
+    private void heapSort(Comparator<V> comparator, int begin, int end) {
+        int length = end - begin + 1;
+        for (int i = length / 2 - 1; i >= 0; --i) {
+            siftDown(comparator, begin, i, length);
+        }
+        for (int last = length - 1; last > 0; --last) {
+            swap(begin, begin + last);
+            siftDown(comparator, begin, 0, last);
+        }
+    }
+
+    /**
+     * Restore the max-heap property of the heap stored from offset on, starting at the given heap index.
+     *
+     * @param comparator method to compare two V objects
+     * @param offset     index of the heap root in the list
+     * @param index      heap index of the element to sift down
+     * @param length     number of elements in the heap
+     */
+    @SuppressWarnings("unchecked")
+    private void siftDown(Comparator<V> comparator, int offset, int index, int length) {
+        V value = (V) elements[offset + index];
+        int child;
+        while ((child = 2 * index + 1) < length) {
+            if (child + 1 < length && comparator.compare((V) elements[offset + child + 1], (V) elements[offset + child]) > 0) {
+                ++child;
+            }
+            if (comparator.compare((V) elements[offset + child], value) <= 0) break;
+            elements[offset + index] = elements[offset + child];
+            index = child;
+        }
+        elements[offset + index] = value;
+    }
+
     /**
      * Searches for the specified element using linear search.
      *
@@ -0,0 +1,157 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import nl.saxion.cds.collection.SaxQueue;
+
+/**
+ * Queue backed by a ring buffer with a power-of-two capacity, so the wrap-around is a bit mask.
+ * Enqueue and dequeue do not allocate; the buffer only doubles when it is full. clear() keeps the buffer,
+ * so one queue can be reused as workspace for many searches.
+ *
+ * @param <V> the type of elements stored in the queue
+ */
+public class MyArrayQueue<V> implements SaxQueue<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    // Java prohibits creating an array with a generic type, so we use Object
+    private Object[] elements;
+    // index of the first element
+    private int head;
+    private int size;
+
+    /**
+     * Initializes a new, empty queue with room for 16 elements.
+     */
+    public MyArrayQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes a new, empty queue.
+     *
+     * @param capacity the initial number of elements, rounded up to a power of two
+     * @throws IllegalArgumentException if the capacity is smaller than one or too big
+     */
+    public MyArrayQueue(int capacity) {
+        if (capacity < 1 || capacity > MAXIMUM_CAPACITY) throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        elements = new Object[(capacity == 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1];
+    }
+
+    /**
+     * @return the number of elements the queue can hold without growing
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Determines if the collection has no elements
+     *
+     * @return if the collection has no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Determines the number of elements in this collection
+     *
+     * @return size of this collection
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Create a String representation of the data in GraphViz (see <a href="https://graphviz.org">GraphViz</a>)
+     * format, which you can print-copy-paste on the site see <a href="https://dreampuf.github.io/GraphvizOnline">GraphViz online</a>.
+     *
+     * @param name name of the produced graph
+     * @return a GraphViz string representation of this collection
+     */
+    @Override
+    public String graphViz(String name) {
+        var builder = new StringBuilder();
+        builder.append("digraph ");
+        builder.append(name);
+        builder.append(" {\n");
+        int mask = elements.length - 1;
+        for (int i = 0; i < size - 1; ++i) {
+            Object from = elements[(head + i) & mask];
+            Object to = elements[(head + i + 1) & mask];
+            builder.append(String.format("\"%s\" -> \"%s\"\n", (from == null ? "NULL_" + i : from.toString()), (to == null ? "NULL_" + (i + 1) : to.toString())));
+        }
+        builder.append("}");
+        return builder.toString();
+    }
+
+    /**
+     * Add the value to the back of the queue; doubles the buffer if it is full.
+     *
+     * @param value the value to add
+     */
+    @Override
+    public void enqueue(V value) {
+        if (size == elements.length) grow();
+        elements[(head + size) & (elements.length - 1)] = value;
+        ++size;
+    }
+
+    /**
+     * Remove the value from the front of the queue.
+     *
+     * @return the removed value
+     * @throws EmptyCollectionException if the queue is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V dequeue() throws EmptyCollectionException {
+        if (size == 0) throw new EmptyCollectionException();
+        V value = (V) elements[head];
+        elements[head] = null; // this element no longer contains valid info
+        head = (head + 1) & (elements.length - 1);
+        --size;
+        return value;
+    }
+
+    /**
+     * Return the value at the front of the queue, without removing it.
+     *
+     * @return the value at the front
+     * @throws EmptyCollectionException if the queue is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V peek() throws EmptyCollectionException {
+        if (size == 0) throw new EmptyCollectionException();
+        return (V) elements[head];
+    }
+
+    /**
+     * Removes all elements, but keeps the buffer. Runs in O(size).
+     */
+    public void clear() {
+        int mask = elements.length - 1;
+        for (int i = 0; i < size; ++i) {
+            elements[(head + i) & mask] = null;
+        }
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Doubles the buffer, moving the elements to the front of the new buffer.
+     */
+    private void grow() {
+        if (elements.length == MAXIMUM_CAPACITY) throw new IllegalStateException("Queue is full");
+        Object[] bigger = new Object[elements.length * 2];
+        int firstPart = elements.length - head;
+        System.arraycopy(elements, head, bigger, 0, firstPart);
+        System.arraycopy(elements, 0, bigger, firstPart, head);
+        elements = bigger;
+        head = 0;
+    }
+}
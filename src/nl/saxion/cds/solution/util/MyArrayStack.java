@@ -0,0 +1,141 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import nl.saxion.cds.collection.SaxStack;
+
+/**
+ * Stack backed by an array with a power-of-two capacity. Push and pop work on the array directly and do not
+ * allocate; the array only doubles when it is full. clear() keeps the array, so one stack can be reused as
+ * workspace for many searches.
+ *
+ * @param <V> the type of elements stored in the stack
+ */
+public class MyArrayStack<V> implements SaxStack<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    // Java prohibits creating an array with a generic type, so we use Object
+    private Object[] elements;
+    private int size;
+
+    /**
+     * Initializes a new, empty stack with room for 16 elements.
+     */
+    public MyArrayStack() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Initializes a new, empty stack.
+     *
+     * @param capacity the initial number of elements, rounded up to a power of two
+     * @throws IllegalArgumentException if the capacity is smaller than one or too big
+     */
+    public MyArrayStack(int capacity) {
+        if (capacity < 1 || capacity > MAXIMUM_CAPACITY) throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        elements = new Object[(capacity == 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1];
+    }
+
+    /**
+     * @return the number of elements the stack can hold without growing
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Determines if the collection has no elements
+     *
+     * @return if the collection has no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Determines the number of elements in this collection
+     *
+     * @return size of this collection
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Create a String representation of the data in GraphViz (see <a href="https://graphviz.org">GraphViz</a>)
+     * format, which you can print-copy-paste on the site see <a href="https://dreampuf.github.io/GraphvizOnline">GraphViz online</a>.
+     *
+     * @param name name of the produced graph
+     * @return a GraphViz string representation of this collection
+     */
+    @Override
+    public String graphViz(String name) {
+        var builder = new StringBuilder();
+        builder.append("digraph ");
+        builder.append(name);
+        builder.append(" {\n");
+        for (int i = 0; i < size - 1; ++i) {
+            Object from = elements[i];
+            Object to = elements[i + 1];
+            builder.append(String.format("\"%s\" -> \"%s\"\n", (from == null ? "NULL_" + i : from.toString()), (to == null ? "NULL_" + (i + 1) : to.toString())));
+        }
+        builder.append("}");
+        return builder.toString();
+    }
+
+    /**
+     * Add the value to the stack (on top); doubles the array if it is full.
+     *
+     * @param value the value to push
+     */
+    @Override
+    public void push(V value) {
+        if (size == elements.length) {
+            if (size == MAXIMUM_CAPACITY) throw new IllegalStateException("Stack is full");
+            Object[] bigger = new Object[size * 2];
+            System.arraycopy(elements, 0, bigger, 0, size);
+            elements = bigger;
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * Remove the value from the top of the stack.
+     *
+     * @return the removed value
+     * @throws EmptyCollectionException if the stack is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V pop() throws EmptyCollectionException {
+        if (size == 0) throw new EmptyCollectionException();
+        V value = (V) elements[--size];
+        elements[size] = null; // this element no longer contains valid info
+        return value;
+    }
+
+    /**
+     * Return the value on top of the stack, without removing it.
+     *
+     * @return the value on top
+     * @throws EmptyCollectionException if the stack is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V peek() throws EmptyCollectionException {
+        if (size == 0) throw new EmptyCollectionException();
+        return (V) elements[size - 1];
+    }
+
+    /**
+     * Removes all elements, but keeps the array. Runs in O(size).
+     */
+    public void clear() {
+        for (int i = 0; i < size; ++i) {
+            elements[i] = null;
+        }
+        size = 0;
+    }
+}
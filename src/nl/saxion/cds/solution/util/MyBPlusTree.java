@@ -0,0 +1,616 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.DuplicateKeyException;
+import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.SaxBinaryTree;
+import nl.saxion.cds.collection.SaxList;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * B+tree implementation of a sorted map. Every node stores up to "order" keys in an array, which is searched
+ * with a binary search, so a lookup only follows log_order(N) pointers instead of log_2(N) for an AVL tree.
+ * All values are stored in the leaves, which are linked to each other for fast (range) scans.
+ *
+ * @param <K> the type of keys, which must be comparable
+ * @param <V> the type of values associated with the keys
+ */
+public class MyBPlusTree<K extends Comparable<K>, V> implements SaxBinaryTree<K, V> {
+    // Default maximum number of keys per node
+    private static final int DEFAULT_ORDER = 64;
+    // Smallest allowed order; with fewer keys nodes can not be split and merged properly
+    private static final int MINIMUM_ORDER = 3;
+
+    private final int maxKeys;
+    private final int minKeys;
+    private Node root;
+    private int size;
+    // number of structural changes, used by the iterators to detect concurrent modification
+    private int modCount;
+
+    /**
+     * Initializes a new, empty tree with the default order (64 keys per node).
+     */
+    public MyBPlusTree() {
+        this(DEFAULT_ORDER);
+    }
+
+    /**
+     * Initializes a new, empty tree with the given order.
+     *
+     * @param order the maximum number of keys per node
+     * @throws IllegalArgumentException if the order is smaller than 3
+     */
+    public MyBPlusTree(int order) {
+        if (order < MINIMUM_ORDER) throw new IllegalArgumentException("Order must be at least " + MINIMUM_ORDER + ": " + order);
+        maxKeys = order;
+        minKeys = order / 2;
+        root = new Leaf();
+    }
+
+    /**
+     * Check if the key is part of this map.
+     *
+     * @param key key to search for
+     * @return if the key is in this collection
+     */
+    @Override
+    public boolean contains(K key) {
+        Leaf leaf = findLeaf(key);
+        return leaf.search(key) >= 0;
+    }
+
+    /**
+     * Get a value which is mapped to the key.
+     *
+     * @param key key which is mapped to value to be found
+     * @return the value mapped to the key or null if the key is not found
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        Leaf leaf = findLeaf(key);
+        int index = leaf.search(key);
+        return (index >= 0) ? (V) leaf.values[index] : null;
+    }
+
+    /**
+     * Add the value which will be mapped to the key.
+     * A full node is split in two halves, which may propagate up to the root.
+     *
+     * @param key   key which is mapped to value
+     * @param value the value to add
+     * @throws DuplicateKeyException if the key is already part of the collection
+     */
+    @Override
+    public void add(K key, V value) throws DuplicateKeyException {
+        Split split = root.insert(key, value);
+        if (split != null) {
+            Inner newRoot = new Inner();
+            newRoot.keys[0] = split.separator;
+            newRoot.children[0] = root;
+            newRoot.children[1] = split.right;
+            newRoot.count = 1;
+            root = newRoot;
+        }
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Remove the value which is mapped with the key from the collection.
+     * A node with too few keys borrows a key from a sibling or is merged with it.
+     *
+     * @param key key which is mapped to value
+     * @return the value which is removed from the collection
+     * @throws KeyNotFoundException if the key is not part oif the collection
+     */
+    @Override
+    public V remove(K key) throws KeyNotFoundException {
+        V value = root.delete(key);
+        if (root instanceof Inner inner && inner.count == 0) {
+            root = inner.children[0];
+        }
+        size--;
+        modCount++;
+        return value;
+    }
+
+    /**
+     * Retrieves a list of all keys in the tree in sorted order, by scanning the linked leaves.
+     *
+     * @return a list of all keys in ascending order
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public SaxList<K> getKeys() {
+        SaxList<K> keys = new MyArrayList<>(Math.max(1, size));
+        for (Leaf leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.count; ++i) {
+                keys.addLast((K) leaf.keys[i]);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * @return the smallest key in the tree or null if the tree is empty
+     */
+    @SuppressWarnings("unchecked")
+    public K first() {
+        return (size == 0) ? null : (K) firstLeaf().keys[0];
+    }
+
+    /**
+     * @return the biggest key in the tree or null if the tree is empty
+     */
+    @SuppressWarnings("unchecked")
+    public K last() {
+        if (size == 0) return null;
+        Node node = root;
+        while (node instanceof Inner inner) {
+            node = inner.children[inner.count];
+        }
+        return (K) node.keys[node.count - 1];
+    }
+
+    /**
+     * Returns the entries with a key from fromKey (inclusive) until toKey (exclusive) in ascending order.
+     * The entries are produced lazily by scanning the linked leaves.
+     *
+     * @param fromKey lowest key (inclusive)
+     * @param toKey   highest key (exclusive)
+     * @return the entries in the range
+     */
+    public Iterable<Entry<K, V>> range(K fromKey, K toKey) {
+        return () -> {
+            Leaf leaf = findLeaf(fromKey);
+            int index = leaf.search(fromKey);
+            return new LeafIterator(leaf, (index >= 0) ? index : -index - 1, toKey);
+        };
+    }
+
+    /**
+     * Returns an iterator over all entries in ascending order of the keys, scanning the linked leaves.
+     * It fails fast with a ConcurrentModificationException when the tree is changed.
+     *
+     * @return an ascending iterator over the entries
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new LeafIterator(firstLeaf(), 0, null);
+    }
+
+    /**
+     * Determines if the collection has no elements
+     *
+     * @return if the collection has no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Determines the number of elements in this collection
+     *
+     * @return size of this collection
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Create a String representation of the data in GraphViz (see <a href="https://graphviz.org">GraphViz</a>)
+     * format, which you can print-copy-paste on the site see <a href="https://dreampuf.github.io/GraphvizOnline">GraphViz online</a>.
+     * Every node is shown as a record with its keys; the links between the leaves are dashed.
+     *
+     * @param name name of the produced graph
+     * @return a GraphViz string representation of this collection
+     */
+    @Override
+    public String graphViz(String name) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("digraph ").append(name).append(" {\n");
+        sb.append("    node [shape=record];\n");
+        int[] nextId = {0};
+        generateGraphViz(sb, root, nextId);
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Recursively generates the GraphViz representation of a node and its children.
+     *
+     * @param sb     the StringBuilder to append GraphViz content
+     * @param node   the current node in the recursion
+     * @param nextId the next free node id
+     * @return the id of the generated node
+     */
+    private int generateGraphViz(StringBuilder sb, Node node, int[] nextId) {
+        int id = nextId[0]++;
+        sb.append("    n").append(id).append(" [label=\"");
+        for (int i = 0; i < node.count; ++i) {
+            if (i > 0) sb.append('|');
+            sb.append(node.keys[i]);
+        }
+        sb.append("\"];\n");
+        if (node instanceof Inner inner) {
+            int previousLeaf = -1;
+            for (int i = 0; i <= inner.count; ++i) {
+                int childId = generateGraphViz(sb, inner.children[i], nextId);
+                sb.append("    n").append(id).append(" -> n").append(childId).append(";\n");
+                if (inner.children[i] instanceof Leaf) {
+                    if (previousLeaf >= 0) {
+                        sb.append("    n").append(previousLeaf).append(" -> n").append(childId).append(" [style=dashed];\n");
+                    }
+                    previousLeaf = childId;
+                }
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Descends from the root to the leaf which contains (or would contain) the key.
+     *
+     * @param key the key to search for
+     * @return the leaf for the key
+     */
+    private Leaf findLeaf(K key) {
+        Node node = root;
+        while (node instanceof Inner inner) {
+            node = inner.children[inner.childIndex(key)];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * @return the leftmost leaf
+     */
+    private Leaf firstLeaf() {
+        Node node = root;
+        while (node instanceof Inner inner) {
+            node = inner.children[0];
+        }
+        return (Leaf) node;
+    }
+
+    /**
+     * Iterator which scans the linked leaves from a position until a bound.
+     */
+    private class LeafIterator implements Iterator<Entry<K, V>> {
+        private final K bound;
+        private final int expectedModCount = modCount;
+        private Leaf leaf;
+        private int index;
+
+        /**
+         * @param leaf  the leaf to start in
+         * @param index the index of the first entry in the leaf (may be the leaf's count)
+         * @param bound the key at which to stop (exclusive), or null to iterate until the end
+         */
+        LeafIterator(Leaf leaf, int index, K bound) {
+            this.leaf = leaf;
+            this.index = index;
+            this.bound = bound;
+            skipExhaustedLeaves();
+        }
+
+        private void skipExhaustedLeaves() {
+            while (leaf != null && index >= leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            // a split, merge or borrow moves or clears the keys of the leaf
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            return leaf != null && (bound == null || ((K) leaf.keys[index]).compareTo(bound) < 0);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Entry<K, V> entry = new LeafEntry<>((K) leaf.keys[index], (V) leaf.values[index]);
+            ++index;
+            skipExhaustedLeaves();
+            return entry;
+        }
+    }
+
+    /**
+     * The result of splitting a node: the key which separates both halves and the new right half.
+     */
+    private class Split {
+        final Object separator;
+        final Node right;
+
+        Split(Object separator, Node right) {
+            this.separator = separator;
+            this.right = right;
+        }
+    }
+
+    /**
+     * A node of the tree; keys are stored in a (sorted) array, with room for one extra key before splitting.
+     */
+    private abstract class Node {
+        // Java prohibits creating an array with a generic type, so we use Object
+        final Object[] keys = new Object[maxKeys + 1];
+        int count;
+
+        /**
+         * Binary search for the key in this node.
+         *
+         * @param key the key to search for
+         * @return the index of the key, or (-(insertion point) - 1) if the key is not in this node
+         */
+        @SuppressWarnings("unchecked")
+        int search(K key) {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int compareResult = ((K) keys[middle]).compareTo(key);
+                if (compareResult < 0) {
+                    low = middle + 1;
+                } else if (compareResult > 0) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        /**
+         * Inserts the key into the subtree of this node.
+         *
+         * @return the split of this node if it became too big, otherwise null
+         * @throws DuplicateKeyException if the key is already part of the subtree
+         */
+        abstract Split insert(K key, V value) throws DuplicateKeyException;
+
+        /**
+         * Deletes the key from the subtree of this node; this node may become too small.
+         *
+         * @return the value mapped to the key
+         * @throws KeyNotFoundException if the key is not part of the subtree
+         */
+        abstract V delete(K key) throws KeyNotFoundException;
+    }
+
+    /**
+     * A leaf with the keys and their values, linked to its neighbouring leaves.
+     */
+    private class Leaf extends Node {
+        final Object[] values = new Object[maxKeys + 1];
+        Leaf next;
+        Leaf previous;
+
+        @Override
+        Split insert(K key, V value) throws DuplicateKeyException {
+            int index = search(key);
+            if (index >= 0) throw new DuplicateKeyException(key.toString());
+            index = -index - 1;
+            System.arraycopy(keys, index, keys, index + 1, count - index);
+            System.arraycopy(values, index, values, index + 1, count - index);
+            keys[index] = key;
+            values[index] = value;
+            if (++count <= maxKeys) return null;
+
+            Leaf right = new Leaf();
+            int half = count / 2;
+            right.count = count - half;
+            System.arraycopy(keys, half, right.keys, 0, right.count);
+            System.arraycopy(values, half, right.values, 0, right.count);
+            clear(half, count);
+            count = half;
+            right.next = next;
+            if (next != null) next.previous = right;
+            right.previous = this;
+            next = right;
+            return new Split(right.keys[0], right);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        V delete(K key) throws KeyNotFoundException {
+            int index = search(key);
+            if (index < 0) throw new KeyNotFoundException(key.toString());
+            V value = (V) values[index];
+            System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+            System.arraycopy(values, index + 1, values, index, count - index - 1);
+            clear(count - 1, count);
+            --count;
+            return value;
+        }
+
+        /**
+         * Clears the references in the given range, so they can be garbage collected.
+         */
+        void clear(int from, int to) {
+            for (int i = from; i < to; ++i) {
+                keys[i] = null;
+                values[i] = null;
+            }
+        }
+    }
+
+    /**
+     * An inner node with separator keys; children[i] contains the keys from keys[i - 1] (inclusive)
+     * until keys[i] (exclusive).
+     */
+    private class Inner extends Node {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        final Node[] children = (Node[]) new MyBPlusTree.Node[maxKeys + 2];
+
+        /**
+         * @param key the key to search for
+         * @return the index of the child which contains (or would contain) the key
+         */
+        int childIndex(K key) {
+            int index = search(key);
+            return (index >= 0) ? index + 1 : -index - 1;
+        }
+
+        @Override
+        Split insert(K key, V value) throws DuplicateKeyException {
+            int index = childIndex(key);
+            Split split = children[index].insert(key, value);
+            if (split == null) return null;
+
+            System.arraycopy(keys, index, keys, index + 1, count - index);
+            System.arraycopy(children, index + 1, children, index + 2, count - index);
+            keys[index] = split.separator;
+            children[index + 1] = split.right;
+            if (++count <= maxKeys) return null;
+
+            // the middle key moves up to the parent
+            Inner right = new Inner();
+            int half = count / 2;
+            Object separator = keys[half];
+            right.count = count - half - 1;
+            System.arraycopy(keys, half + 1, right.keys, 0, right.count);
+            System.arraycopy(children, half + 1, right.children, 0, right.count + 1);
+            for (int i = half; i < count; ++i) {
+                keys[i] = null;
+                children[i + 1] = null;
+            }
+            count = half;
+            return new Split(separator, right);
+        }
+
+        @Override
+        V delete(K key) throws KeyNotFoundException {
+            int index = childIndex(key);
+            V value = children[index].delete(key);
+            if (children[index].count < minKeys) {
+                rebalance(index);
+            }
+            return value;
+        }
+
+        /**
+         * Gives the child at index enough keys again, by borrowing from or merging with a sibling.
+         *
+         * @param index the index of the child which has too few keys
+         */
+        private void rebalance(int index) {
+            Node child = children[index];
+            Node left = (index > 0) ? children[index - 1] : null;
+            Node right = (index < count) ? children[index + 1] : null;
+            if (left != null && left.count > minKeys) {
+                borrowFromLeft(index, child, left);
+            } else if (right != null && right.count > minKeys) {
+                borrowFromRight(index, child, right);
+            } else if (left != null) {
+                merge(index - 1, left, child);
+            } else if (right != null) {
+                merge(index, child, right);
+            }
+        }
+
+        /**
+         * Moves the last key of the left sibling to the front of the child.
+         */
+        private void borrowFromLeft(int index, Node child, Node left) {
+            System.arraycopy(child.keys, 0, child.keys, 1, child.count);
+            if (child instanceof Leaf leaf) {
+                Leaf leftLeaf = (Leaf) left;
+                System.arraycopy(leaf.values, 0, leaf.values, 1, leaf.count);
+                leaf.keys[0] = leftLeaf.keys[leftLeaf.count - 1];
+                leaf.values[0] = leftLeaf.values[leftLeaf.count - 1];
+                leftLeaf.clear(leftLeaf.count - 1, leftLeaf.count);
+                keys[index - 1] = leaf.keys[0];
+            } else {
+                Inner inner = (Inner) child;
+                Inner leftInner = (Inner) left;
+                System.arraycopy(inner.children, 0, inner.children, 1, inner.count + 1);
+                inner.keys[0] = keys[index - 1];
+                inner.children[0] = leftInner.children[leftInner.count];
+                keys[index - 1] = leftInner.keys[leftInner.count - 1];
+                leftInner.keys[leftInner.count - 1] = null;
+                leftInner.children[leftInner.count] = null;
+            }
+            ++child.count;
+            --left.count;
+        }
+
+        /**
+         * Moves the first key of the right sibling to the end of the child.
+         */
+        private void borrowFromRight(int index, Node child, Node right) {
+            if (child instanceof Leaf leaf) {
+                Leaf rightLeaf = (Leaf) right;
+                leaf.keys[leaf.count] = rightLeaf.keys[0];
+                leaf.values[leaf.count] = rightLeaf.values[0];
+                System.arraycopy(rightLeaf.keys, 1, rightLeaf.keys, 0, rightLeaf.count - 1);
+                System.arraycopy(rightLeaf.values, 1, rightLeaf.values, 0, rightLeaf.count - 1);
+                rightLeaf.clear(rightLeaf.count - 1, rightLeaf.count);
+                keys[index] = rightLeaf.keys[0];
+            } else {
+                Inner inner = (Inner) child;
+                Inner rightInner = (Inner) right;
+                inner.keys[inner.count] = keys[index];
+                inner.children[inner.count + 1] = rightInner.children[0];
+                keys[index] = rightInner.keys[0];
+                System.arraycopy(rightInner.keys, 1, rightInner.keys, 0, rightInner.count - 1);
+                System.arraycopy(rightInner.children, 1, rightInner.children, 0, rightInner.count);
+                rightInner.keys[rightInner.count - 1] = null;
+                rightInner.children[rightInner.count] = null;
+            }
+            ++child.count;
+            --right.count;
+        }
+
+        /**
+         * Merges the right node into the left node and removes the separator keys[index] from this node.
+         */
+        private void merge(int index, Node left, Node right) {
+            if (left instanceof Leaf leftLeaf) {
+                Leaf rightLeaf = (Leaf) right;
+                System.arraycopy(rightLeaf.keys, 0, leftLeaf.keys, leftLeaf.count, rightLeaf.count);
+                System.arraycopy(rightLeaf.values, 0, leftLeaf.values, leftLeaf.count, rightLeaf.count);
+                leftLeaf.count += rightLeaf.count;
+                leftLeaf.next = rightLeaf.next;
+                if (rightLeaf.next != null) rightLeaf.next.previous = leftLeaf;
+            } else {
+                Inner leftInner = (Inner) left;
+                Inner rightInner = (Inner) right;
+                leftInner.keys[leftInner.count] = keys[index];
+                System.arraycopy(rightInner.keys, 0, leftInner.keys, leftInner.count + 1, rightInner.count);
+                System.arraycopy(rightInner.children, 0, leftInner.children, leftInner.count + 1, rightInner.count + 1);
+                leftInner.count += rightInner.count + 1;
+            }
+            System.arraycopy(keys, index + 1, keys, index, count - index - 1);
+            System.arraycopy(children, index + 2, children, index + 1, count - index - 1);
+            keys[count - 1] = null;
+            children[count] = null;
+            --count;
+        }
+    }
+
+    /**
+     * An entry produced by the range iterator.
+     */
+    private record LeafEntry<K, V>(K key, V value) implements Entry<K, V> {
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+    }
+}
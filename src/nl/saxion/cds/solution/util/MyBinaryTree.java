@@ -2,9 +2,14 @@ package nl.saxion.cds.solution.util;
 
 import nl.saxion.cds.collection.DuplicateKeyException;
 import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.ListNotSortedException;
 import nl.saxion.cds.collection.SaxBinaryTree;
 import nl.saxion.cds.collection.SaxList;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
 /**
  * Custom binary search tree implementation with AVL balancing, supporting basic operations like add, remove, and search.
  *
@@ -14,6 +19,41 @@ import nl.saxion.cds.collection.SaxList;
 public class MyBinaryTree<K extends Comparable<K>, V> implements SaxBinaryTree<K, V> {
     TreeNode<K,V> root;
     int size;
+    // number of structural changes, used by the iterators to detect concurrent modification
+    private int modCount;
+
+    /**
+     * Initializes a new, empty tree.
+     */
+    public MyBinaryTree() {
+    }
+
+    /**
+     * Initializes a perfectly balanced tree from keys in ascending order and their values, in O(N).
+     * Both lists are read once with an iterator, so any SaxList implementation can be used efficiently.
+     *
+     * @param keys   the keys in strictly ascending order
+     * @param values the values, in the same order as the keys
+     * @throws IllegalArgumentException if the lists have a different size
+     * @throws ListNotSortedException   if the keys are not in ascending order
+     * @throws DuplicateKeyException    if a key occurs more than once
+     */
+    public MyBinaryTree(SaxList<K> keys, SaxList<V> values) {
+        if (keys.size() != values.size()) {
+            throw new IllegalArgumentException("Number of keys (" + keys.size() + ") and values (" + values.size() + ") differ");
+        }
+        K previous = null;
+        for (K key : keys) {
+            if (previous != null) {
+                int compareResult = previous.compareTo(key);
+                if (compareResult == 0) throw new DuplicateKeyException(key.toString());
+                if (compareResult > 0) throw new ListNotSortedException();
+            }
+            previous = key;
+        }
+        root = buildBalanced(keys.iterator(), values.iterator(), keys.size());
+        size = keys.size();
+    }
 
     /**
      * Check if the key is part of this map.
@@ -62,6 +102,9 @@ public class MyBinaryTree<K extends Comparable<K>, V> implements SaxBinaryTree<K
     /**
      * Add the value which will be mapped to the key.
      * A duplicate key will throw a DuplicateKeyException.
+     * The tree is descended only once; a duplicate key is detected on the way down. Afterward the
+     * heights are updated on the way back up (following the parent pointers), which stops as soon as a
+     * subtree keeps its height or a rotation has restored it.
      *
      * @param key   key which is mapped to value
      * @param value the value to add
@@ -69,39 +112,54 @@ public class MyBinaryTree<K extends Comparable<K>, V> implements SaxBinaryTree<K
      */
     @Override
     public void add(K key, V value) throws DuplicateKeyException {
-        if (this.contains(key)){
-            throw new DuplicateKeyException(key.toString());
+        TreeNode<K, V> parent = null;
+        TreeNode<K, V> current = root;
+        int compareResult = 0;
+        while (current != null) {
+            compareResult = key.compareTo(current.getKey());
+            if (compareResult == 0) {
+                throw new DuplicateKeyException(key.toString());
+            }
+            parent = current;
+            current = (compareResult < 0) ? current.left : current.right;
+        }
+
+        TreeNode<K, V> node = new TreeNode<>(key, value, parent);
+        if (parent == null) {
+            root = node;
+        } else if (compareResult < 0) {
+            parent.left = node;
+        } else {
+            parent.right = node;
         }
-        TreeNode<K,V> node = new TreeNode<>(key, value);
-        root = addTreeNode(root, node);
         size++;
+        modCount++;
+        for (TreeNode<K, V> ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.count++;
+        }
+        rebalanceAfterAdd(parent);
     }
 
     /**
-     * Recursively adds a new node to the tree, balancing as necessary.
+     * Walks from the given node up to the root, updating heights and balancing where necessary.
+     * After an insertion at most one (double) rotation is needed, after which the subtree has its old height again.
      *
-     * @param current the current node in the recursion
-     * @param node    the new node to add
-     * @return the balanced subtree with the new node added
+     * @param node the parent of the inserted node
      */
-    private TreeNode<K, V> addTreeNode(TreeNode<K, V> current, TreeNode<K, V> node) {
-        if (current == null) {
-            return node;
-        }
-        int compareResult = node.getKey().compareTo(current.getKey());
-        if (compareResult <= 0) {
-            current.left = addTreeNode(current.left, node);
-            current.left.parent = current;
-        } else {
-            current.right = addTreeNode(current.right, node);
-            current.right.parent = current;
+    private void rebalanceAfterAdd(TreeNode<K, V> node) {
+        while (node != null) {
+            int oldHeight = node.height;
+            update(node);
+            if (balance(node) != node || node.height == oldHeight) {
+                return;
+            }
+            node = node.parent;
         }
-        updateHeight(current);
-        return balance(current);
     }
 
     /**
      * Remove the value which is mapped with the key from the collection
+     * The node is found with a single descent; a node with two children is replaced by its successor node.
      *
      * @param key key which is mapped to value
      * @return the value which is removed from the collection
@@ -109,51 +167,489 @@ public class MyBinaryTree<K extends Comparable<K>, V> implements SaxBinaryTree<K
      */
     @Override
     public V remove(K key) throws KeyNotFoundException {
-        if (!this.contains(key)) {
+        TreeNode<K, V> node = getTreeNode(key);
+        if (node == null) {
             throw new KeyNotFoundException(key.toString());
         }
-        V value = get(key);
-        root = removeTreeNode(root, key);
+
+        TreeNode<K, V> rebalanceFrom;
+        if (node.left != null && node.right != null) {
+            TreeNode<K, V> successor = getMinNode(node.right);
+            if (successor.parent == node) {
+                rebalanceFrom = successor;
+            } else {
+                // detach the successor (which has no left child) and give it the right subtree of node
+                rebalanceFrom = successor.parent;
+                rebalanceFrom.left = successor.right;
+                if (successor.right != null) successor.right.parent = rebalanceFrom;
+                successor.right = node.right;
+                node.right.parent = successor;
+            }
+            successor.left = node.left;
+            node.left.parent = successor;
+            successor.height = node.height;
+            replaceChild(node.parent, node, successor);
+        } else {
+            TreeNode<K, V> child = (node.left != null) ? node.left : node.right;
+            rebalanceFrom = node.parent;
+            replaceChild(node.parent, node, child);
+        }
         size--;
-        return value;
+        modCount++;
+        for (TreeNode<K, V> ancestor = rebalanceFrom; ancestor != null; ancestor = ancestor.parent) {
+            ancestor.count = 1 + count(ancestor.left) + count(ancestor.right);
+        }
+        rebalanceAfterRemove(rebalanceFrom);
+        return node.getValue();
     }
 
     /**
-     * Recursively removes a node with the specified key from the tree, balancing as necessary.
+     * Replaces the child of parent (or the root if parent is null) by another node.
      *
-     * @param node the current node in the recursion
-     * @param key  the key of the node to remove
-     * @return the balanced subtree with the node removed
+     * @param parent      the parent of the child to replace, or null if the child is the root
+     * @param child       the current child
+     * @param replacement the node to take its place (may be null)
      */
-    private TreeNode<K, V> removeTreeNode(TreeNode<K, V> node, K key) {
-        if (node == null) return null;
-
-        int compareResult = key.compareTo(node.getKey());
-        if (compareResult < 0) {
-            node.left = removeTreeNode(node.left, key);
-            if (node.left != null) node.left.parent = node;
-        } else if (compareResult > 0) {
-            node.right = removeTreeNode(node.right, key);
-            if (node.right != null) node.right.parent = node;
+    private void replaceChild(TreeNode<K, V> parent, TreeNode<K, V> child, TreeNode<K, V> replacement) {
+        if (replacement != null) replacement.parent = parent;
+        if (parent == null) {
+            root = replacement;
+        } else if (parent.left == child) {
+            parent.left = replacement;
         } else {
-            if (node.left == null) {
-                TreeNode<K, V> rightChild = node.right;
-                if (rightChild != null) rightChild.parent = node.parent;
-                return rightChild;
-            } else if (node.right == null) {
-                TreeNode<K, V> leftChild = node.left;
-                leftChild.parent = node.parent;
-                return leftChild;
+            parent.right = replacement;
+        }
+    }
+
+    /**
+     * Walks from the given node up to the root, updating heights and balancing where necessary.
+     * Stops as soon as a (balanced) subtree has the same height as before the removal.
+     *
+     * @param node the lowest node whose subtree changed
+     */
+    private void rebalanceAfterRemove(TreeNode<K, V> node) {
+        while (node != null) {
+            int oldHeight = node.height;
+            update(node);
+            TreeNode<K, V> subtree = balance(node);
+            if (subtree.height == oldHeight) {
+                return;
+            }
+            node = subtree.parent;
+        }
+    }
+
+    /**
+     * @return the smallest key in the tree or null if the tree is empty
+     */
+    public K first() {
+        return (root == null) ? null : getMinNode(root).getKey();
+    }
+
+    /**
+     * @return the biggest key in the tree or null if the tree is empty
+     */
+    public K last() {
+        return (root == null) ? null : getMaxNode(root).getKey();
+    }
+
+    /**
+     * Finds the biggest key which is smaller than or equal to the given key.
+     *
+     * @param key the key to search for
+     * @return the floor of the key or null if there is no such key
+     */
+    public K floor(K key) {
+        TreeNode<K, V> current = root;
+        TreeNode<K, V> floor = null;
+        while (current != null) {
+            int compareResult = key.compareTo(current.getKey());
+            if (compareResult == 0) return current.getKey();
+            if (compareResult < 0) {
+                current = current.left;
+            } else {
+                floor = current;
+                current = current.right;
+            }
+        }
+        return (floor == null) ? null : floor.getKey();
+    }
+
+    /**
+     * Finds the smallest key which is bigger than or equal to the given key.
+     *
+     * @param key the key to search for
+     * @return the ceiling of the key or null if there is no such key
+     */
+    public K ceiling(K key) {
+        TreeNode<K, V> ceiling = getCeilingNode(key);
+        return (ceiling == null) ? null : ceiling.getKey();
+    }
+
+    /**
+     * Determines the number of keys which are smaller than the given key (which does not have to be in the tree).
+     *
+     * @param key the key to determine the rank of
+     * @return the number of smaller keys
+     */
+    public int rank(K key) {
+        int rank = 0;
+        TreeNode<K, V> current = root;
+        while (current != null) {
+            int compareResult = key.compareTo(current.getKey());
+            if (compareResult <= 0) {
+                if (compareResult == 0) return rank + count(current.left);
+                current = current.left;
             } else {
-                TreeNode<K, V> minNode = getMinNode(node.right);
-                node.key = minNode.key;
-                node.value = minNode.value;
-                node.right = removeTreeNode(node.right, minNode.key);
-                if (node.right != null) node.right.parent = node;
+                rank += count(current.left) + 1;
+                current = current.right;
             }
         }
-        updateHeight(node);
-        return balance(node);
+        return rank;
+    }
+
+    /**
+     * Finds the key with the given index in ascending order, i.e. the key with the given rank.
+     *
+     * @param index the index of the key (0 is the smallest key)
+     * @return the key at the given index
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public K select(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(Integer.toString(index));
+        TreeNode<K, V> current = root;
+        while (true) {
+            int leftCount = count(current.left);
+            if (index < leftCount) {
+                current = current.left;
+            } else if (index > leftCount) {
+                index -= leftCount + 1;
+                current = current.right;
+            } else {
+                return current.getKey();
+            }
+        }
+    }
+
+    /**
+     * Returns the entries with a key from fromKey (inclusive) until toKey (exclusive) in ascending order.
+     * The entries are produced lazily by following the parent pointers, so iterating over k entries costs
+     * O(log(N) + k) without copying the tree.
+     *
+     * @param fromKey lowest key (inclusive)
+     * @param toKey   highest key (exclusive)
+     * @return the entries in the range
+     */
+    public Iterable<Entry<K, V>> range(K fromKey, K toKey) {
+        return () -> new EntryIterator(getCeilingNode(fromKey), toKey, true);
+    }
+
+    /**
+     * Returns an iterator over all entries in ascending order of the keys. The iterator follows the parent
+     * pointers, so it uses O(1) extra memory; a full iteration costs O(N) and stopping early is cheap.
+     * It fails fast with a ConcurrentModificationException when the tree is changed other than through
+     * the iterator itself.
+     *
+     * @return an ascending iterator over the entries
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new EntryIterator((root == null) ? null : getMinNode(root), null, true);
+    }
+
+    /**
+     * Returns an iterator over all entries in descending order of the keys, see {@link #iterator()}.
+     *
+     * @return a descending iterator over the entries
+     */
+    public Iterator<Entry<K, V>> descendingIterator() {
+        return new EntryIterator((root == null) ? null : getMaxNode(root), null, false);
+    }
+
+    /**
+     * Finds the node with the smallest key which is bigger than or equal to the given key.
+     *
+     * @param key the key to search for
+     * @return the ceiling node or null if there is no such node
+     */
+    private TreeNode<K, V> getCeilingNode(K key) {
+        TreeNode<K, V> current = root;
+        TreeNode<K, V> ceiling = null;
+        while (current != null) {
+            int compareResult = key.compareTo(current.getKey());
+            if (compareResult == 0) return current;
+            if (compareResult < 0) {
+                ceiling = current;
+                current = current.left;
+            } else {
+                current = current.right;
+            }
+        }
+        return ceiling;
+    }
+
+    /**
+     * Finds the in-order successor of a node by following the parent pointers.
+     *
+     * @param node the node to find the successor of
+     * @return the successor or null if node has the biggest key
+     */
+    private TreeNode<K, V> getSuccessor(TreeNode<K, V> node) {
+        if (node.right != null) return getMinNode(node.right);
+        TreeNode<K, V> parent = node.parent;
+        while (parent != null && node == parent.right) {
+            node = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
+    /**
+     * Finds the in-order predecessor of a node by following the parent pointers.
+     *
+     * @param node the node to find the predecessor of
+     * @return the predecessor or null if node has the smallest key
+     */
+    private TreeNode<K, V> getPredecessor(TreeNode<K, V> node) {
+        if (node.left != null) return getMaxNode(node.left);
+        TreeNode<K, V> parent = node.parent;
+        while (parent != null && node == parent.left) {
+            node = parent;
+            parent = parent.parent;
+        }
+        return parent;
+    }
+
+    /**
+     * Iterator which walks the tree in (reverse) in-order by following the parent pointers.
+     * Removing the last returned entry is supported: remove() splices nodes instead of copying keys,
+     * so the next node stays valid.
+     */
+    private class EntryIterator implements Iterator<Entry<K, V>> {
+        private final K bound;
+        private final boolean ascending;
+        private TreeNode<K, V> next;
+        private TreeNode<K, V> lastReturned;
+        private int expectedModCount = modCount;
+
+        /**
+         * @param first     the first node to return (may be null)
+         * @param bound     the key at which to stop (exclusive), or null to iterate until the end
+         * @param ascending true for ascending order, false for descending order
+         */
+        EntryIterator(TreeNode<K, V> first, K bound, boolean ascending) {
+            this.bound = bound;
+            this.ascending = ascending;
+            next = inRange(first);
+        }
+
+        private TreeNode<K, V> inRange(TreeNode<K, V> node) {
+            return (node == null || bound == null || node.getKey().compareTo(bound) < 0) ? node : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (next == null) throw new NoSuchElementException();
+            lastReturned = next;
+            next = inRange(ascending ? getSuccessor(next) : getPredecessor(next));
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) throw new IllegalStateException();
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            MyBinaryTree.this.remove(lastReturned.getKey());
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * Recursively builds a perfectly balanced subtree from the next count keys and values (in-order).
+     *
+     * @param keys   iterator over the keys in ascending order
+     * @param values iterator over the values
+     * @param count  number of nodes in the subtree
+     * @return the root of the subtree
+     */
+    private TreeNode<K, V> buildBalanced(Iterator<K> keys, Iterator<V> values, int count) {
+        if (count == 0) return null;
+        int leftCount = count / 2;
+        TreeNode<K, V> left = buildBalanced(keys, values, leftCount);
+        TreeNode<K, V> node = new TreeNode<>(keys.next(), values.next());
+        TreeNode<K, V> right = buildBalanced(keys, values, count - leftCount - 1);
+        return link(left, node, right);
+    }
+
+    /**
+     * Moves all entries of the other tree into this tree; the other tree becomes empty.
+     * If a key is part of both trees, the value of this tree is kept.
+     * Runs in O(m log(n/m + 1)), with m the size of the smaller tree.
+     *
+     * @param other the tree to merge into this tree
+     */
+    public void union(MyBinaryTree<K, V> other) {
+        if (other == this) return;
+        root = unionNodes(detach(root), detach(other.root));
+        size = count(root);
+        modCount++;
+        other.clear();
+    }
+
+    /**
+     * Moves all entries with a key bigger than or equal to the given key to a new tree.
+     * Runs in O(log(N)).
+     *
+     * @param key the key to split at
+     * @return a new tree with the keys bigger than or equal to key; this tree keeps the smaller keys
+     */
+    public MyBinaryTree<K, V> split(K key) {
+        Split<K, V> split = splitNodes(detach(root), key);
+        MyBinaryTree<K, V> greater = new MyBinaryTree<>();
+        greater.root = (split.middle == null) ? split.right : join(null, split.middle, split.right);
+        greater.size = count(greater.root);
+        root = split.left;
+        size = count(root);
+        modCount++;
+        return greater;
+    }
+
+    /**
+     * Appends all entries of the other tree, which must only contain keys bigger than the keys of this tree;
+     * the other tree becomes empty. Runs in O(log(N)).
+     *
+     * @param other the tree with the bigger keys
+     * @throws IllegalArgumentException if the key ranges of both trees overlap
+     */
+    public void join(MyBinaryTree<K, V> other) {
+        if (other == this || other.root == null) return;
+        if (root != null && last().compareTo(other.first()) >= 0) {
+            throw new IllegalArgumentException("Keys of the joined tree must be bigger than " + last());
+        }
+        Split<K, V> split = splitNodes(detach(other.root), other.first());
+        root = join(detach(root), split.middle, split.right);
+        size = count(root);
+        modCount++;
+        other.clear();
+    }
+
+    /**
+     * Removes all entries.
+     */
+    private void clear() {
+        root = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Recursively merges two (detached) subtrees; on duplicate keys the node of the first subtree is kept.
+     *
+     * @param first  the root of the first subtree
+     * @param second the root of the second subtree
+     * @return the root of the merged subtree
+     */
+    private TreeNode<K, V> unionNodes(TreeNode<K, V> first, TreeNode<K, V> second) {
+        if (first == null) return second;
+        if (second == null) return first;
+        TreeNode<K, V> left = detach(first.left);
+        TreeNode<K, V> right = detach(first.right);
+        Split<K, V> split = splitNodes(second, first.getKey());
+        return join(unionNodes(left, split.left), first, unionNodes(right, split.right));
+    }
+
+    /**
+     * Recursively splits a (detached) subtree into the nodes with a smaller key, the node with the key itself
+     * (if any) and the nodes with a bigger key.
+     *
+     * @param node the root of the subtree
+     * @param key  the key to split at
+     * @return the three parts, each of them detached
+     */
+    private Split<K, V> splitNodes(TreeNode<K, V> node, K key) {
+        if (node == null) return new Split<>(null, null, null);
+        TreeNode<K, V> left = detach(node.left);
+        TreeNode<K, V> right = detach(node.right);
+        node.left = node.right = null;
+        int compareResult = key.compareTo(node.getKey());
+        if (compareResult == 0) {
+            update(node);
+            return new Split<>(left, node, right);
+        }
+        if (compareResult < 0) {
+            Split<K, V> split = splitNodes(left, key);
+            return new Split<>(split.left, split.middle, join(split.right, node, right));
+        }
+        Split<K, V> split = splitNodes(right, key);
+        return new Split<>(join(left, node, split.left), split.middle, split.right);
+    }
+
+    /**
+     * Joins two (detached) AVL subtrees and a middle node, where all keys in left are smaller than the key of
+     * middle and all keys in right are bigger. Descends the spine of the higher subtree until both heights
+     * match, so the cost is O(|height(left) - height(right)| + 1).
+     *
+     * @param left   the root of the subtree with the smaller keys (may be null)
+     * @param middle the detached node which is placed in between
+     * @param right  the root of the subtree with the bigger keys (may be null)
+     * @return the root of the joined subtree
+     */
+    private TreeNode<K, V> join(TreeNode<K, V> left, TreeNode<K, V> middle, TreeNode<K, V> right) {
+        if (height(left) > height(right) + 1) {
+            left.right = join(detach(left.right), middle, right);
+            left.right.parent = left;
+            update(left);
+            return balance(left);
+        }
+        if (height(right) > height(left) + 1) {
+            right.left = join(left, middle, detach(right.left));
+            right.left.parent = right;
+            update(right);
+            return balance(right);
+        }
+        return link(left, middle, right);
+    }
+
+    /**
+     * Makes left and right the children of node and updates its height and size.
+     *
+     * @return node
+     */
+    private TreeNode<K, V> link(TreeNode<K, V> left, TreeNode<K, V> node, TreeNode<K, V> right) {
+        node.left = left;
+        node.right = right;
+        if (left != null) left.parent = node;
+        if (right != null) right.parent = node;
+        update(node);
+        return node;
+    }
+
+    /**
+     * Detaches a node from its parent, so it can be used as the root of a separate subtree.
+     *
+     * @param node the node to detach (may be null)
+     * @return node
+     */
+    private TreeNode<K, V> detach(TreeNode<K, V> node) {
+        if (node != null) node.parent = null;
+        return node;
+    }
+
+    /**
+     * The result of splitting a subtree at a key.
+     *
+     * @param left   the nodes with a smaller key
+     * @param middle the node with the key, or null
+     * @param right  the nodes with a bigger key
+     */
+    private record Split<K extends Comparable<K>, V>(TreeNode<K, V> left, TreeNode<K, V> middle, TreeNode<K, V> right) {
     }
 
     /**
@@ -171,12 +667,37 @@ public class MyBinaryTree<K extends Comparable<K>, V> implements SaxBinaryTree<K
     }
 
     /**
-     * Updates the height of a node based on its children's heights.
+     * Retrieves the maximum node in a given subtree.
+     *
+     * @param node the root of the subtree
+     * @return the node with the maximum key
+     */
+    private TreeNode<K, V> getMaxNode(TreeNode<K, V> node) {
+        TreeNode<K, V> current = node;
+        while (current.right != null) {
+            current = current.right;
+        }
+        return current;
+    }
+
+    /**
+     * Updates the height and the subtree size of a node based on its children.
      *
      * @param node the node to update
      */
-    private void updateHeight(TreeNode<K, V> node) {
+    private void update(TreeNode<K, V> node) {
         node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.count = 1 + count(node.left) + count(node.right);
+    }
+
+    /**
+     * Retrieves the number of nodes in the subtree of a node.
+     *
+     * @param node the root of the subtree
+     * @return the number of nodes in the subtree, or 0 if null
+     */
+    private int count(TreeNode<K, V> node) {
+        return (node == null) ? 0 : node.count;
     }
 
     /**
@@ -189,6 +710,57 @@ public class MyBinaryTree<K extends Comparable<K>, V> implements SaxBinaryTree<K
         return (node == null) ? 0 : node.height;
     }
 
+    /**
+     * @return the height of the tree, 0 if it is empty (for tests)
+     */
+    int height() {
+        return height(root);
+    }
+
+    /**
+     * @return the key of the root, null if the tree is empty (for tests)
+     */
+    K rootKey() {
+        return (root == null) ? null : root.key;
+    }
+
+    /**
+     * Checks the structure of the whole tree (for tests): the keys are in ascending order, every child points
+     * back to its parent, the stored heights and counts are correct and every node is AVL balanced.
+     *
+     * @throws IllegalStateException if one of these does not hold
+     */
+    void checkInvariants() throws IllegalStateException {
+        if (root != null && root.parent != null) throw new IllegalStateException("Root has a parent");
+        if (checkSubtree(root, null, null) != size) throw new IllegalStateException("Size differs from count");
+    }
+
+    /**
+     * Checks the subtree of a node, see checkInvariants().
+     *
+     * @param node the root of the subtree
+     * @param low  all keys must be bigger than this key, or null
+     * @param high all keys must be smaller than this key, or null
+     * @return the number of nodes in the subtree
+     * @throws IllegalStateException if the subtree is not valid
+     */
+    private int checkSubtree(TreeNode<K, V> node, K low, K high) throws IllegalStateException {
+        if (node == null) return 0;
+        if ((low != null && node.key.compareTo(low) <= 0) || (high != null && node.key.compareTo(high) >= 0)) {
+            throw new IllegalStateException("Key out of order: " + node.key);
+        }
+        if ((node.left != null && node.left.parent != node) || (node.right != null && node.right.parent != node)) {
+            throw new IllegalStateException("Wrong parent link below " + node.key);
+        }
+        int count = checkSubtree(node.left, low, node.key) + checkSubtree(node.right, node.key, high) + 1;
+        if (node.count != count) throw new IllegalStateException("Wrong count at " + node.key);
+        if (node.height != 1 + Math.max(height(node.left), height(node.right))) {
+            throw new IllegalStateException("Wrong height at " + node.key);
+        }
+        if (Math.abs(getBalance(node)) > 1) throw new IllegalStateException("Unbalanced at " + node.key);
+        return count;
+    }
+
     /**
      * Calculates the balance factor of a node.
      *
@@ -254,12 +826,12 @@ public class MyBinaryTree<K extends Comparable<K>, V> implements SaxBinaryTree<K
             } else {
                 newRoot.parent.right = newRoot;
             }
-        } else {
-            root = newRoot;
+        } else if (root == node) {
+            root = newRoot; // a detached subtree (see join) is not the root of this tree
         }
 
-        updateHeight(node);
-        updateHeight(newRoot);
+        update(node);
+        update(newRoot);
 
         return newRoot;
     }
@@ -359,19 +931,22 @@ public class MyBinaryTree<K extends Comparable<K>, V> implements SaxBinaryTree<K
      * @param <K> the type of keys
      * @param <V> the type of values
      */
-    private static class TreeNode<K extends Comparable<K>, V> {
+    private static class TreeNode<K extends Comparable<K>, V> implements Entry<K, V> {
         K key;
         V value;
         TreeNode<K, V> left;
         TreeNode<K, V> right;
         TreeNode<K, V> parent;
         int height;
+        // number of nodes in the subtree of this node (including itself), used for rank() and select()
+        int count;
 
         /**
          * Gets the key stored in this node.
          *
          * @return the key of this node
          */
+        @Override
         public final K getKey() {
             return key;
         }
@@ -381,6 +956,7 @@ public class MyBinaryTree<K extends Comparable<K>, V> implements SaxBinaryTree<K
          *
          * @return the value of this node
          */
+        @Override
         public final V getValue() {
             return value;
         }
@@ -397,6 +973,7 @@ public class MyBinaryTree<K extends Comparable<K>, V> implements SaxBinaryTree<K
             this.value = value;
             this.parent = parent;
             this.height = 1;
+            this.count = 1;
         }
 
         /**
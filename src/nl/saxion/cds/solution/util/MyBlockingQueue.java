@@ -0,0 +1,444 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import nl.saxion.cds.collection.SaxQueue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded blocking queue for producer/consumer pipelines with backpressure: put() waits while the queue is full
+ * and take() waits while it is empty; offer() and poll() also exist with a timeout.
+ * <p>
+ * Two-lock design: producers only take the put lock and consumers only the take lock, so a producer and a
+ * consumer never block each other. The elements are stored in a ring buffer; the atomic count is the only
+ * state shared between both sides, and its updates publish the buffer slots. Waiting uses ReentrantLock
+ * conditions (which park the thread) instead of synchronized/wait.
+ * <p>
+ * The queue keeps metrics: the highest depth and how often and how long producers and consumers waited,
+ * see {@link #metrics()}. Null values are not allowed, as poll uses null for "empty".
+ *
+ * @param <V> the type of elements stored in the queue
+ */
+public class MyBlockingQueue<V> implements SaxQueue<V> {
+    // Java prohibits creating an array with a generic type, so we use Object
+    private final Object[] elements;
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final ReentrantLock putLock = new ReentrantLock();
+    private final Condition notFull = putLock.newCondition();
+    // guarded by putLock
+    private int putIndex;
+    private int maxDepth;
+    private long puts;
+    private long putWaits;
+    private long putWaitNanos;
+
+    private final ReentrantLock takeLock = new ReentrantLock();
+    private final Condition notEmpty = takeLock.newCondition();
+    // guarded by takeLock
+    private int takeIndex;
+    private long takes;
+    private long takeWaits;
+    private long takeWaitNanos;
+
+    /**
+     * Initializes a new, empty queue.
+     *
+     * @param capacity the maximum number of elements
+     * @throws IllegalArgumentException if the capacity is smaller than one
+     */
+    public MyBlockingQueue(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        elements = new Object[capacity];
+    }
+
+    /**
+     * @return the maximum number of elements in the queue
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * @return the number of elements which can be added without waiting (a snapshot)
+     */
+    public int remainingCapacity() {
+        return elements.length - count.get();
+    }
+
+    /**
+     * Determines if the collection has no elements
+     *
+     * @return if the collection has no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    /**
+     * Determines the number of elements in this collection (the current queue depth)
+     *
+     * @return size of this collection
+     */
+    @Override
+    public int size() {
+        return count.get();
+    }
+
+    /**
+     * Create a String representation of the data in GraphViz (see <a href="https://graphviz.org">GraphViz</a>)
+     * format, which you can print-copy-paste on the site see <a href="https://dreampuf.github.io/GraphvizOnline">GraphViz online</a>.
+     *
+     * @param name name of the produced graph
+     * @return a GraphViz string representation of this collection
+     */
+    @Override
+    public String graphViz(String name) {
+        var builder = new StringBuilder();
+        builder.append("digraph ").append(name).append(" {\n");
+        fullyLock();
+        try {
+            int index = takeIndex;
+            for (int i = 0; i < count.get() - 1; ++i) {
+                int next = increment(index);
+                builder.append(String.format("\"%s\" -> \"%s\"\n", elements[index], elements[next]));
+                index = next;
+            }
+        } finally {
+            fullyUnlock();
+        }
+        builder.append("}");
+        return builder.toString();
+    }
+
+    /**
+     * Add the value to the back of the queue, without waiting.
+     *
+     * @param value the value to add
+     * @throws IllegalStateException    if the queue is full
+     * @throws IllegalArgumentException if the value is null
+     */
+    @Override
+    public void enqueue(V value) {
+        if (!offer(value)) throw new IllegalStateException("Queue is full");
+    }
+
+    /**
+     * Add the value to the back of the queue if there is room, without waiting.
+     *
+     * @param value the value to add
+     * @return true if the value is added, false if the queue is full
+     * @throws IllegalArgumentException if the value is null
+     */
+    public boolean offer(V value) {
+        checkValue(value);
+        if (count.get() == elements.length) return false;
+        int previousCount;
+        putLock.lock();
+        try {
+            if (count.get() == elements.length) return false;
+            previousCount = insert(value);
+        } finally {
+            putLock.unlock();
+        }
+        if (previousCount == 0) signalNotEmpty();
+        return true;
+    }
+
+    /**
+     * Add the value to the back of the queue, waiting until there is room.
+     *
+     * @param value the value to add
+     * @throws InterruptedException     if the thread is interrupted while waiting
+     * @throws IllegalArgumentException if the value is null
+     */
+    public void put(V value) throws InterruptedException {
+        checkValue(value);
+        int previousCount;
+        putLock.lockInterruptibly();
+        try {
+            if (count.get() == elements.length) {
+                ++putWaits;
+                long start = System.nanoTime();
+                try {
+                    while (count.get() == elements.length) {
+                        notFull.await();
+                    }
+                } finally {
+                    putWaitNanos += System.nanoTime() - start;
+                }
+            }
+            previousCount = insert(value);
+        } finally {
+            putLock.unlock();
+        }
+        if (previousCount == 0) signalNotEmpty();
+    }
+
+    /**
+     * Add the value to the back of the queue, waiting at most the given time until there is room.
+     *
+     * @param value   the value to add
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @return true if the value is added, false if the queue was still full after the timeout
+     * @throws InterruptedException     if the thread is interrupted while waiting
+     * @throws IllegalArgumentException if the value is null
+     */
+    public boolean offer(V value, long timeout, TimeUnit unit) throws InterruptedException {
+        checkValue(value);
+        long nanos = unit.toNanos(timeout);
+        int previousCount;
+        putLock.lockInterruptibly();
+        try {
+            if (count.get() == elements.length) {
+                if (nanos <= 0) return false; // not a wait
+                ++putWaits;
+                long start = System.nanoTime();
+                try {
+                    while (count.get() == elements.length) {
+                        if (nanos <= 0) return false;
+                        nanos = notFull.awaitNanos(nanos);
+                    }
+                } finally {
+                    putWaitNanos += System.nanoTime() - start;
+                }
+            }
+            previousCount = insert(value);
+        } finally {
+            putLock.unlock();
+        }
+        if (previousCount == 0) signalNotEmpty();
+        return true;
+    }
+
+    /**
+     * Remove the value from the front of the queue, without waiting.
+     *
+     * @return the removed value
+     * @throws EmptyCollectionException if the queue is empty
+     */
+    @Override
+    public V dequeue() throws EmptyCollectionException {
+        V value = poll();
+        if (value == null) throw new EmptyCollectionException();
+        return value;
+    }
+
+    /**
+     * Remove the value from the front of the queue if there is one, without waiting.
+     *
+     * @return the removed value, or null if the queue is empty
+     */
+    public V poll() {
+        if (count.get() == 0) return null;
+        V value;
+        int previousCount;
+        takeLock.lock();
+        try {
+            if (count.get() == 0) return null;
+            value = extract();
+            previousCount = count.getAndDecrement();
+            if (previousCount > 1) notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+        if (previousCount == elements.length) signalNotFull();
+        return value;
+    }
+
+    /**
+     * Remove the value from the front of the queue, waiting until there is one.
+     *
+     * @return the removed value
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public V take() throws InterruptedException {
+        V value;
+        int previousCount;
+        takeLock.lockInterruptibly();
+        try {
+            if (count.get() == 0) {
+                ++takeWaits;
+                long start = System.nanoTime();
+                try {
+                    while (count.get() == 0) {
+                        notEmpty.await();
+                    }
+                } finally {
+                    takeWaitNanos += System.nanoTime() - start;
+                }
+            }
+            value = extract();
+            previousCount = count.getAndDecrement();
+            if (previousCount > 1) notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+        if (previousCount == elements.length) signalNotFull();
+        return value;
+    }
+
+    /**
+     * Remove the value from the front of the queue, waiting at most the given time until there is one.
+     *
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @return the removed value, or null if the queue was still empty after the timeout
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public V poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        V value;
+        int previousCount;
+        takeLock.lockInterruptibly();
+        try {
+            if (count.get() == 0) {
+                if (nanos <= 0) return null; // not a wait
+                ++takeWaits;
+                long start = System.nanoTime();
+                try {
+                    while (count.get() == 0) {
+                        if (nanos <= 0) return null;
+                        nanos = notEmpty.awaitNanos(nanos);
+                    }
+                } finally {
+                    takeWaitNanos += System.nanoTime() - start;
+                }
+            }
+            value = extract();
+            previousCount = count.getAndDecrement();
+            if (previousCount > 1) notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+        if (previousCount == elements.length) signalNotFull();
+        return value;
+    }
+
+    /**
+     * Return the value at the front of the queue, without removing it.
+     *
+     * @return the value at the front
+     * @throws EmptyCollectionException if the queue is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V peek() throws EmptyCollectionException {
+        takeLock.lock();
+        try {
+            if (count.get() == 0) throw new EmptyCollectionException();
+            return (V) elements[takeIndex];
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns a consistent snapshot of the metrics; both locks are held while reading them.
+     *
+     * @return the current metrics
+     */
+    public Metrics metrics() {
+        fullyLock();
+        try {
+            return new Metrics(count.get(), maxDepth, puts, takes, putWaits, putWaitNanos, takeWaits, takeWaitNanos);
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    /**
+     * Queue depth and wait-time metrics. A wait is counted once per call which had to wait, however often
+     * the thread was woken up.
+     *
+     * @param depth         the number of elements in the queue
+     * @param maxDepth      the highest number of elements in the queue so far
+     * @param puts          the number of added elements
+     * @param takes         the number of removed elements
+     * @param putWaits      the number of adds which had to wait because the queue was full
+     * @param putWaitNanos  the total time adds waited, in nanoseconds
+     * @param takeWaits     the number of removes which had to wait because the queue was empty
+     * @param takeWaitNanos the total time removes waited, in nanoseconds
+     */
+    public record Metrics(int depth, int maxDepth, long puts, long takes,
+                          long putWaits, long putWaitNanos, long takeWaits, long takeWaitNanos) {
+    }
+
+    /**
+     * Stores a value at the put index; the caller holds the put lock and the queue is not full.
+     *
+     * @param value the value to store
+     * @return the number of elements before the value was added
+     */
+    private int insert(V value) {
+        elements[putIndex] = value;
+        putIndex = increment(putIndex);
+        int previousCount = count.getAndIncrement(); // publishes the element to the consumers
+        if (previousCount + 1 < elements.length) notFull.signal();
+        if (previousCount + 1 > maxDepth) maxDepth = previousCount + 1;
+        ++puts;
+        return previousCount;
+    }
+
+    /**
+     * Removes the value at the take index; the caller holds the take lock, the queue is not empty, and the
+     * caller decrements the count afterward.
+     *
+     * @return the removed value
+     */
+    @SuppressWarnings("unchecked")
+    private V extract() {
+        V value = (V) elements[takeIndex];
+        elements[takeIndex] = null; // this element no longer contains valid info
+        takeIndex = increment(takeIndex);
+        ++takes;
+        return value;
+    }
+
+    private int increment(int index) {
+        return (index + 1 == elements.length) ? 0 : index + 1;
+    }
+
+    private void checkValue(V value) {
+        if (value == null) throw new IllegalArgumentException("Null values are not supported");
+    }
+
+    /**
+     * Wakes up a waiting consumer; called by a producer which made the queue non-empty.
+     */
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * Wakes up a waiting producer; called by a consumer which made a full queue non-full.
+     */
+    private void signalNotFull() {
+        putLock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    private void fullyLock() {
+        putLock.lock();
+        takeLock.lock();
+    }
+
+    private void fullyUnlock() {
+        takeLock.unlock();
+        putLock.unlock();
+    }
+}
@@ -0,0 +1,195 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import nl.saxion.cds.collection.SaxHeap;
+
+/**
+ * Bounded top-k collector: keeps only the k smallest values that were offered.
+ * Internally a max-heap of (at most) k elements, so the biggest kept value is on top and a value which is
+ * not smaller than the top is rejected with a single compare. Collecting the k smallest of N values
+ * costs O(N log(k)) time and O(k) memory.
+ *
+ * @param <V> the type of elements stored in the heap, which must be comparable
+ */
+public class MyBoundedHeap<V extends Comparable<V>> implements SaxHeap<V> {
+    // Java prohibits creating an array with a generic type, so we use Object
+    private final Object[] elements;
+    private int size;
+
+    /**
+     * Initializes a new heap which keeps the k smallest values.
+     *
+     * @param capacity the number of values to keep (k)
+     * @throws IllegalArgumentException if the capacity is smaller than one
+     */
+    public MyBoundedHeap(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        elements = new Object[capacity];
+    }
+
+    /**
+     * @return the maximum number of values kept by this heap (k)
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Determines if the collection has no elements.
+     *
+     * @return true if the collection has no elements, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Determines the number of elements in this collection.
+     *
+     * @return size of this collection
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Creates a String representation of the data in GraphViz format.
+     *
+     * @param name name of the produced graph
+     * @return a GraphViz string representation of this collection
+     */
+    @Override
+    public String graphViz(String name) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("digraph ").append(name).append(" {\n");
+        sb.append("    node [shape=circle];\n");
+        for (int i = 0; i < size; i++) {
+            sb.append("    \"").append(elements[i]).append("\";\n");
+        }
+        for (int i = 1; i < size; i++) {
+            sb.append("    \"").append(elements[(i - 1) / 2]).append("\" -> \"").append(elements[i]).append("\";\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Offers a value; it is kept if it belongs to the k smallest values seen so far.
+     *
+     * @param value the value to offer
+     */
+    @Override
+    public void enqueue(V value) {
+        offer(value);
+    }
+
+    /**
+     * Offers a value; it is kept if it belongs to the k smallest values seen so far.
+     * When the heap is full and the value is not smaller than the biggest kept value, it is rejected
+     * after one compare.
+     *
+     * @param value the value to offer
+     * @return true if the value is kept, false if it is rejected
+     */
+    public boolean offer(V value) {
+        if (size < elements.length) {
+            siftUp(size++, value);
+            return true;
+        }
+        if (value.compareTo(top()) >= 0) {
+            return false;
+        }
+        siftDown(0, value);
+        return true;
+    }
+
+    /**
+     * Removes and returns the biggest kept value (the k-th smallest when the heap is full).
+     *
+     * @return the biggest kept value
+     * @throws EmptyCollectionException if the heap is empty
+     */
+    @Override
+    public V dequeue() throws EmptyCollectionException {
+        if (isEmpty()) throw new EmptyCollectionException();
+        V root = top();
+        @SuppressWarnings("unchecked")
+        V last = (V) elements[--size];
+        elements[size] = null; // this element no longer contains valid info
+        if (size > 0) siftDown(0, last);
+        return root;
+    }
+
+    /**
+     * Returns the biggest kept value without removing it; when the heap is full this is the threshold
+     * a new value has to beat.
+     *
+     * @return the biggest kept value
+     * @throws EmptyCollectionException if the heap is empty
+     */
+    @Override
+    public V peek() throws EmptyCollectionException {
+        if (isEmpty()) throw new EmptyCollectionException();
+        return top();
+    }
+
+    /**
+     * Returns the kept values in ascending order, without changing the heap.
+     *
+     * @return a new list with the kept values in ascending order
+     */
+    @SuppressWarnings("unchecked")
+    public MyArrayList<V> toSortedList() {
+        MyArrayList<V> sorted = new MyArrayList<>(Math.max(1, size));
+        for (int i = 0; i < size; ++i) {
+            sorted.addLast((V) elements[i]);
+        }
+        sorted.partialSort(Comparable::compareTo, size);
+        return sorted;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V top() {
+        return (V) elements[0];
+    }
+
+    /**
+     * Move the value up from index until its parent is bigger or equal.
+     *
+     * @param index start position
+     * @param value the value to place
+     */
+    @SuppressWarnings("unchecked")
+    private void siftUp(int index, V value) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            V parentValue = (V) elements[parent];
+            if (value.compareTo(parentValue) <= 0) break;
+            elements[index] = parentValue;
+            index = parent;
+        }
+        elements[index] = value;
+    }
+
+    /**
+     * Move the value down from index until both children are smaller or equal.
+     *
+     * @param index start position
+     * @param value the value to place
+     */
+    @SuppressWarnings("unchecked")
+    private void siftDown(int index, V value) {
+        int child;
+        while ((child = 2 * index + 1) < size) {
+            if (child + 1 < size && ((V) elements[child + 1]).compareTo((V) elements[child]) > 0) {
+                ++child;
+            }
+            if (((V) elements[child]).compareTo(value) <= 0) break;
+            elements[index] = elements[child];
+            index = child;
+        }
+        elements[index] = value;
+    }
+}
@@ -0,0 +1,309 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import nl.saxion.cds.collection.SaxHeap;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe min-heap built as a MultiQueue: a number of sub-heaps (MyHeap), each guarded by its own lock.
+ * Enqueue inserts into a random unlocked sub-heap, so producers hardly ever contend.
+ * <ul>
+ *     <li>RELAXED mode dequeues with the "power of two choices": the smaller top of two random sub-heaps is taken.
+ *     The returned element is close to, but not always exactly, the global minimum.</li>
+ *     <li>STRICT mode dequeues by locking all sub-heaps and taking the global minimum, so dequeue is exact
+ *     (and serialized), while enqueue still runs in parallel.</li>
+ * </ul>
+ *
+ * @param <V> the type of elements stored in the heap, which must be comparable
+ */
+public class MyConcurrentHeap<V extends Comparable<V>> implements SaxHeap<V> {
+    // Number of sub-heaps per expected thread; more sub-heaps means less contention but a bigger rank error
+    private static final int HEAPS_PER_THREAD = 2;
+    // Number of failed tryLock() attempts before an enqueue simply waits for a lock
+    private static final int MAXIMUM_ATTEMPTS = 8;
+
+    /**
+     * Dequeue strategy of the heap.
+     */
+    public enum Mode {
+        STRICT, RELAXED
+    }
+
+    private final Mode mode;
+    private final SubHeap<V>[] heaps;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Initializes a new relaxed heap, sized for the number of available processors.
+     */
+    public MyConcurrentHeap() {
+        this(Mode.RELAXED);
+    }
+
+    /**
+     * Initializes a new heap with the given mode, sized for the number of available processors.
+     *
+     * @param mode strict or relaxed dequeue
+     */
+    public MyConcurrentHeap(Mode mode) {
+        this(mode, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Initializes a new heap with the given mode, sized for the expected number of threads.
+     *
+     * @param mode    strict or relaxed dequeue
+     * @param threads expected number of threads using this heap
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public MyConcurrentHeap(Mode mode, int threads) {
+        this.mode = mode;
+        heaps = (SubHeap<V>[]) new SubHeap[Math.max(1, threads) * HEAPS_PER_THREAD];
+        for (int i = 0; i < heaps.length; ++i) {
+            heaps[i] = new SubHeap<>();
+        }
+    }
+
+    /**
+     * @return the dequeue mode of this heap
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Determines if the collection has no elements.
+     *
+     * @return true if the collection has no elements, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    /**
+     * Determines the number of elements in this collection.
+     *
+     * @return size of this collection
+     */
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Creates a String representation of the data in GraphViz format, one cluster per sub-heap.
+     *
+     * @param name name of the produced graph
+     * @return a GraphViz string representation of this collection
+     */
+    @Override
+    public String graphViz(String name) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("digraph ").append(name).append(" {\n");
+        sb.append("    node [shape=circle];\n");
+        for (int h = 0; h < heaps.length; ++h) {
+            SubHeap<V> heap = heaps[h];
+            heap.lock.lock();
+            try {
+                MyArrayList<V> elements = heap.heap.elements;
+                sb.append("    subgraph cluster_").append(h).append(" {\n");
+                for (int i = 0; i < elements.size(); i++) {
+                    sb.append("        \"").append(h).append('_').append(i)
+                            .append("\" [label=\"").append(elements.get(i)).append("\"];\n");
+                }
+                for (int i = 1; i < elements.size(); i++) {
+                    sb.append("        \"").append(h).append('_').append((i - 1) / 2)
+                            .append("\" -> \"").append(h).append('_').append(i).append("\";\n");
+                }
+                sb.append("    }\n");
+            } finally {
+                heap.lock.unlock();
+            }
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Adds a value to a random sub-heap.
+     *
+     * @param value the value to be added to the heap
+     */
+    @Override
+    public void enqueue(V value) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        SubHeap<V> heap = heaps[random.nextInt(heaps.length)];
+        for (int attempt = 0; !heap.lock.tryLock(); ++attempt) {
+            heap = heaps[random.nextInt(heaps.length)];
+            if (attempt == MAXIMUM_ATTEMPTS) {
+                heap.lock.lock();
+                break;
+            }
+        }
+        try {
+            heap.heap.enqueue(value);
+            heap.top = heap.heap.peek();
+            size.incrementAndGet();
+        } finally {
+            heap.lock.unlock();
+        }
+    }
+
+    /**
+     * Removes and returns the smallest value (STRICT) or one of the smallest values (RELAXED).
+     *
+     * @return the removed value
+     * @throws EmptyCollectionException if the heap is empty
+     */
+    @Override
+    public V dequeue() throws EmptyCollectionException {
+        if (mode == Mode.STRICT) {
+            return dequeueStrict();
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            SubHeap<V> heap = smallest(heaps[random.nextInt(heaps.length)], heaps[random.nextInt(heaps.length)]);
+            if (heap == null) {
+                // both choices were empty; look for any non-empty sub-heap before giving up
+                heap = findNonEmpty(random.nextInt(heaps.length));
+                if (heap == null) {
+                    if (size.get() == 0) throw new EmptyCollectionException();
+                    Thread.onSpinWait();
+                    continue;
+                }
+            }
+            if (!heap.lock.tryLock()) continue;
+            try {
+                if (!heap.heap.isEmpty()) {
+                    return heap.take(size);
+                }
+            } finally {
+                heap.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the global minimum, while holding the locks of all sub-heaps.
+     *
+     * @return the removed value
+     * @throws EmptyCollectionException if the heap is empty
+     */
+    private V dequeueStrict() throws EmptyCollectionException {
+        lockAll();
+        try {
+            SubHeap<V> heap = findMinimum();
+            if (heap == null) throw new EmptyCollectionException();
+            return heap.take(size);
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Returns the smallest value (STRICT) or a recent snapshot of the smallest value (RELAXED) without removing it.
+     *
+     * @return the smallest value of the heap
+     * @throws EmptyCollectionException if the heap is empty
+     */
+    @Override
+    public V peek() throws EmptyCollectionException {
+        if (mode == Mode.STRICT) lockAll();
+        try {
+            SubHeap<V> heap = findMinimum();
+            V top = (heap == null) ? null : heap.top;
+            if (top == null) throw new EmptyCollectionException();
+            return top;
+        } finally {
+            if (mode == Mode.STRICT) unlockAll();
+        }
+    }
+
+    /**
+     * Chooses the sub-heap with the smallest top of the two given sub-heaps.
+     *
+     * @return the sub-heap with the smallest top or null if both are empty
+     */
+    private SubHeap<V> smallest(SubHeap<V> first, SubHeap<V> second) {
+        V firstTop = first.top;
+        V secondTop = second.top;
+        if (firstTop == null) return secondTop == null ? null : second;
+        if (secondTop == null) return first;
+        return firstTop.compareTo(secondTop) <= 0 ? first : second;
+    }
+
+    /**
+     * Finds a non-empty sub-heap, starting at the given index.
+     *
+     * @param start index to start searching from
+     * @return a non-empty sub-heap or null if all sub-heaps appear empty
+     */
+    private SubHeap<V> findNonEmpty(int start) {
+        for (int i = 0; i < heaps.length; ++i) {
+            SubHeap<V> heap = heaps[(start + i) % heaps.length];
+            if (heap.top != null) return heap;
+        }
+        return null;
+    }
+
+    /**
+     * Finds the sub-heap with the smallest top.
+     *
+     * @return the sub-heap with the smallest top or null if all sub-heaps are empty
+     */
+    private SubHeap<V> findMinimum() {
+        SubHeap<V> minimum = null;
+        for (SubHeap<V> heap : heaps) {
+            if (heap.top != null) {
+                minimum = (minimum == null) ? heap : smallest(minimum, heap);
+            }
+        }
+        return minimum;
+    }
+
+    /**
+     * Locks all sub-heaps, always in the same order to prevent deadlocks.
+     */
+    private void lockAll() {
+        for (SubHeap<V> heap : heaps) {
+            heap.lock.lock();
+        }
+    }
+
+    /**
+     * Unlocks all sub-heaps.
+     */
+    private void unlockAll() {
+        for (int i = heaps.length - 1; i >= 0; --i) {
+            heaps[i].lock.unlock();
+        }
+    }
+
+    /**
+     * A sub-heap with its own lock and a published copy of its top, which can be read without locking.
+     *
+     * @param <V> the type of elements stored in the sub-heap
+     */
+    private static class SubHeap<V extends Comparable<V>> {
+        final ReentrantLock lock = new ReentrantLock();
+        final MyHeap<V> heap = new MyHeap<>();
+        volatile V top;
+
+        /**
+         * Removes the top of this sub-heap; the caller must hold the lock.
+         *
+         * @param size the total size counter to decrement
+         * @return the removed value
+         */
+        V take(AtomicInteger size) {
+            V value = heap.dequeue();
+            top = heap.isEmpty() ? null : heap.peek();
+            size.decrementAndGet();
+            return value;
+        }
+    }
+}
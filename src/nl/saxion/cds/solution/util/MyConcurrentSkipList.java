@@ -0,0 +1,416 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.DuplicateKeyException;
+import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.SaxBinaryTree;
+import nl.saxion.cds.collection.SaxList;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicMarkableReference;
+
+/**
+ * Lock-free concurrent sorted map, based on the lock-free skip list of Herlihy and Shavit
+ * ("The Art of Multiprocessor Programming", chapter 14).
+ * <p>
+ * Every node has a tower of next references of random height. A reference is marked when its node is logically
+ * deleted; marking the bottom reference is the linearization point of a remove. Add links the new node at
+ * the bottom level with a compare-and-set (its linearization point) and then links the higher levels.
+ * Traversals of add and remove physically unlink marked nodes they pass. Get and contains never write and
+ * never retry, so they are wait-free. Iteration is weakly consistent: it never fails, and it returns the
+ * entries that were present at some moment while it ran.
+ * <p>
+ * The size is maintained with a counter, so it is exact when the map is not being changed.
+ *
+ * @param <K> the type of keys, which must be comparable
+ * @param <V> the type of values associated with the keys
+ */
+public class MyConcurrentSkipList<K extends Comparable<K>, V> implements SaxBinaryTree<K, V> {
+    // Maximum number of levels; with a chance of 1/2 per level this suffices for far more than 2^31 keys
+    private static final int MAX_LEVEL = 32;
+
+    // The head has no key; it is smaller than every key. A null next reference stands for the (bigger) end.
+    private final Node<K, V> head = new Node<>(null, null, MAX_LEVEL - 1);
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Check if the key is part of this map.
+     * Uses K.equals() to check for equality. Wait-free.
+     *
+     * @param key key to search for
+     * @return if the key is in this collection
+     */
+    @Override
+    public boolean contains(K key) {
+        return getNode(key) != null;
+    }
+
+    /**
+     * Get a value which is mapped to the key. Wait-free.
+     *
+     * @param key key which is mapped to value to be found
+     * @return the value mapped to the key or null if the key is not found
+     */
+    @Override
+    public V get(K key) {
+        Node<K, V> node = getNode(key);
+        return (node != null) ? node.value : null;
+    }
+
+    /**
+     * Add the value which will be mapped to the key.
+     * A duplicate key will throw a DuplicateKeyException. Lock-free.
+     *
+     * @param key   key which is mapped to value
+     * @param value the value to add
+     * @throws DuplicateKeyException if the key is already part of the collection
+     */
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void add(K key, V value) throws DuplicateKeyException {
+        int topLevel = randomLevel();
+        Node<K, V>[] predecessors = (Node<K, V>[]) new Node[MAX_LEVEL];
+        Node<K, V>[] successors = (Node<K, V>[]) new Node[MAX_LEVEL];
+        while (true) {
+            if (find(key, predecessors, successors)) throw new DuplicateKeyException(key.toString());
+            Node<K, V> node = new Node<>(key, value, topLevel);
+            for (int level = 0; level <= topLevel; ++level) {
+                node.next[level].set(successors[level], false);
+            }
+            if (!predecessors[0].next[0].compareAndSet(successors[0], node, false, false)) {
+                continue; // the bottom level changed; search again
+            }
+            size.incrementAndGet();
+            linkUpperLevels(node, predecessors, successors);
+            return;
+        }
+    }
+
+    /**
+     * Links a node, which is already part of the bottom level, into its higher levels.
+     * Stops when the node is removed concurrently, as its marked references can not be changed anymore.
+     *
+     * @param node         the node to link
+     * @param predecessors the predecessors of the node on each level
+     * @param successors   the successors of the node on each level
+     */
+    private void linkUpperLevels(Node<K, V> node, Node<K, V>[] predecessors, Node<K, V>[] successors) {
+        for (int level = 1; level <= node.topLevel; ++level) {
+            while (true) {
+                Node<K, V> successor = successors[level];
+                Node<K, V> current = node.next[level].getReference();
+                if (node.next[level].isMarked()) return;
+                if (current != successor && !node.next[level].compareAndSet(current, successor, false, false)) {
+                    return; // marked in the meantime
+                }
+                if (predecessors[level].next[level].compareAndSet(successor, node, false, false)) break;
+                find(node.key, predecessors, successors);
+            }
+        }
+    }
+
+    /**
+     * Remove the value which is mapped with the key from the collection. Lock-free.
+     *
+     * @param key key which is mapped to value
+     * @return the value which is removed from the collection
+     * @throws KeyNotFoundException if the key is not part of the collection
+     */
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public V remove(K key) throws KeyNotFoundException {
+        Node<K, V>[] predecessors = (Node<K, V>[]) new Node[MAX_LEVEL];
+        Node<K, V>[] successors = (Node<K, V>[]) new Node[MAX_LEVEL];
+        boolean[] marked = {false};
+        while (true) {
+            if (!find(key, predecessors, successors)) throw new KeyNotFoundException(key.toString());
+            Node<K, V> victim = successors[0];
+            // mark the higher levels top down, so concurrent searches stop using them
+            for (int level = victim.topLevel; level >= 1; --level) {
+                Node<K, V> successor = victim.next[level].get(marked);
+                while (!marked[0]) {
+                    victim.next[level].compareAndSet(successor, successor, false, true);
+                    successor = victim.next[level].get(marked);
+                }
+            }
+            // marking the bottom level removes the key; only one thread can succeed
+            Node<K, V> successor = victim.next[0].get(marked);
+            while (!marked[0]) {
+                if (victim.next[0].compareAndSet(successor, successor, false, true)) {
+                    size.decrementAndGet();
+                    find(key, predecessors, successors); // unlinks the victim
+                    return victim.value;
+                }
+                successor = victim.next[0].get(marked);
+            }
+            // another thread removed the key first: search again, which fails unless the key was re-added
+        }
+    }
+
+    /**
+     * Retrieves a list of all keys in the tree in sorted order (weakly consistent).
+     *
+     * @return a list of all keys in ascending order
+     */
+    @Override
+    public SaxList<K> getKeys() {
+        SaxList<K> keys = new MyArrayList<>();
+        for (Node<K, V> node = nextAlive(head); node != null; node = nextAlive(node)) {
+            keys.addLast(node.key);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the entries with a key from fromKey (inclusive) until toKey (exclusive) in ascending order.
+     * The iteration is weakly consistent: it does not fail on concurrent changes, it returns every entry that
+     * is present during the whole iteration and never returns an entry twice.
+     *
+     * @param fromKey lowest key (inclusive)
+     * @param toKey   highest key (exclusive)
+     * @return the entries in the range
+     */
+    public Iterable<Entry<K, V>> range(K fromKey, K toKey) {
+        return () -> new NodeIterator(nextAlive(getPredecessor(fromKey)), toKey);
+    }
+
+    /**
+     * Returns a weakly consistent iterator over all entries in ascending order of the keys, see {@link #range}.
+     *
+     * @return an ascending iterator over the entries
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new NodeIterator(nextAlive(head), null);
+    }
+
+    /**
+     * Determines if the collection has no elements
+     *
+     * @return if the collection has no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return nextAlive(head) == null;
+    }
+
+    /**
+     * Determines the number of elements in this collection
+     *
+     * @return size of this collection
+     */
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Create a String representation of the data in GraphViz (see <a href="https://graphviz.org">GraphViz</a>)
+     * format, which you can print-copy-paste on the site see <a href="https://dreampuf.github.io/GraphvizOnline">GraphViz online</a>.
+     * Every level is drawn as a chain of edges labeled with the level.
+     *
+     * @param name name of the produced graph
+     * @return a GraphViz string representation of this collection
+     */
+    @Override
+    public String graphViz(String name) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("digraph ").append(name).append(" {\n");
+        sb.append("    rankdir=LR;\n");
+        sb.append("    node [shape=box];\n");
+        sb.append("    head [label=\"head\"];\n");
+        for (Node<K, V> node = nextAlive(head); node != null; node = nextAlive(node)) {
+            sb.append("    \"").append(node.key).append("\" [label=\"").append(node.key).append(": ")
+                    .append(node.value).append("\"];\n");
+        }
+        for (int level = MAX_LEVEL - 1; level >= 0; --level) {
+            String previous = "head";
+            for (Node<K, V> node = head.next[level].getReference(); node != null; node = node.next[level].getReference()) {
+                String current = "\"" + node.key + "\"";
+                sb.append("    ").append(previous).append(" -> ").append(current)
+                        .append(" [label=\"").append(level).append("\"];\n");
+                previous = current;
+            }
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Searches the predecessors and successors of a key on every level, unlinking marked nodes on the way.
+     * Starts again from the head when unlinking fails, because the predecessor changed.
+     *
+     * @param key          the key to search for
+     * @param predecessors receives the last node with a smaller key on each level
+     * @param successors   receives the first node with a bigger or equal key on each level (null for the end)
+     * @return if an unmarked node with the key is found at the bottom level
+     */
+    private boolean find(K key, Node<K, V>[] predecessors, Node<K, V>[] successors) {
+        boolean[] marked = {false};
+        retry:
+        while (true) {
+            Node<K, V> predecessor = head;
+            Node<K, V> current = null;
+            for (int level = MAX_LEVEL - 1; level >= 0; --level) {
+                current = predecessor.next[level].getReference();
+                while (current != null) {
+                    Node<K, V> successor = current.next[level].get(marked);
+                    if (marked[0]) {
+                        if (!predecessor.next[level].compareAndSet(current, successor, false, false)) {
+                            continue retry;
+                        }
+                        current = successor;
+                    } else if (current.key.compareTo(key) < 0) {
+                        predecessor = current;
+                        current = successor;
+                    } else {
+                        break;
+                    }
+                }
+                predecessors[level] = predecessor;
+                successors[level] = current;
+            }
+            return current != null && current.key.compareTo(key) == 0;
+        }
+    }
+
+    /**
+     * Searches the node with the key without changing anything; marked nodes are skipped instead of unlinked.
+     *
+     * @param key the key to locate
+     * @return the unmarked node with the given key or null if not found
+     */
+    private Node<K, V> getNode(K key) {
+        Node<K, V> predecessor = getPredecessor(key);
+        Node<K, V> current = nextAlive(predecessor);
+        return (current != null && current.key.compareTo(key) == 0) ? current : null;
+    }
+
+    /**
+     * Searches the last node with a smaller key at the bottom level, skipping marked nodes. Wait-free.
+     *
+     * @param key the key to search for
+     * @return the predecessor of the key (the head if there is none)
+     */
+    private Node<K, V> getPredecessor(K key) {
+        boolean[] marked = {false};
+        Node<K, V> predecessor = head;
+        for (int level = MAX_LEVEL - 1; level >= 0; --level) {
+            Node<K, V> current = predecessor.next[level].getReference();
+            while (current != null) {
+                Node<K, V> successor = current.next[level].get(marked);
+                if (!marked[0] && current.key.compareTo(key) >= 0) break;
+                if (!marked[0]) predecessor = current;
+                current = successor;
+            }
+        }
+        return predecessor;
+    }
+
+    /**
+     * Finds the first unmarked node after a node at the bottom level.
+     *
+     * @param node the node to start from
+     * @return the next node which is not deleted, or null at the end
+     */
+    private Node<K, V> nextAlive(Node<K, V> node) {
+        Node<K, V> current = node.next[0].getReference();
+        while (current != null && current.next[0].isMarked()) {
+            current = current.next[0].getReference();
+        }
+        return current;
+    }
+
+    /**
+     * Iterator which walks the bottom level, skipping deleted nodes.
+     */
+    private class NodeIterator implements Iterator<Entry<K, V>> {
+        private final K bound;
+        private Node<K, V> next;
+
+        /**
+         * @param first the first node to return (may be null)
+         * @param bound the key at which to stop (exclusive), or null to iterate until the end
+         */
+        NodeIterator(Node<K, V> first, K bound) {
+            this.bound = bound;
+            next = inRange(first);
+        }
+
+        private Node<K, V> inRange(Node<K, V> node) {
+            return (node == null || bound == null || node.key.compareTo(bound) < 0) ? node : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) throw new NoSuchElementException();
+            Node<K, V> current = next;
+            next = inRange(nextAlive(current));
+            return current;
+        }
+    }
+
+    /**
+     * Draws a random level with a geometric distribution: level i has a chance of 1/2^(i+1).
+     *
+     * @return a level from 0 to MAX_LEVEL - 1
+     */
+    private static int randomLevel() {
+        return Integer.numberOfTrailingZeros(ThreadLocalRandom.current().nextInt() | (1 << (MAX_LEVEL - 1)));
+    }
+
+    /**
+     * A node with a key, a value and a tower of (markable) references to the next node on each level.
+     */
+    private static final class Node<K extends Comparable<K>, V> implements Entry<K, V> {
+        final K key;
+        final V value;
+        final AtomicMarkableReference<Node<K, V>>[] next;
+        final int topLevel;
+
+        /**
+         * Initializes a new node with references for the levels 0 to topLevel.
+         *
+         * @param key      the key of the node
+         * @param value    the value of the node
+         * @param topLevel the highest level of the node
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Node(K key, V value, int topLevel) {
+            this.key = key;
+            this.value = value;
+            this.topLevel = topLevel;
+            next = (AtomicMarkableReference<Node<K, V>>[]) new AtomicMarkableReference[topLevel + 1];
+            for (int level = 0; level <= topLevel; ++level) {
+                next[level] = new AtomicMarkableReference<>(null, false);
+            }
+        }
+
+        /**
+         * Gets the key stored in this node.
+         *
+         * @return the key of this node
+         */
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * Gets the value stored in this node.
+         *
+         * @return the value of this node
+         */
+        @Override
+        public V getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,635 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.SaxGraph.DirectedEdge;
+import nl.saxion.cds.collection.SaxList;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+/**
+ * Contraction Hierarchies (CH) over a frozen graph: a preprocessing pass which makes point-to-point shortest
+ * path queries settle only a few vertices.
+ * <p>
+ * Preprocessing contracts the vertices one by one, cheapest first. The cost of a vertex is its edge difference
+ * (the shortcuts its contraction needs minus the edges it removes) plus its number of already contracted
+ * neighbours, which spreads the contraction over the graph. Contracting v adds a shortcut u -> w for every
+ * pair of edges u -> v -> w, unless a witness search from u (which avoids v and the contracted vertices) finds
+ * a path to w which is not longer. Priorities are updated lazily: the priority of the vertex at the front of
+ * the queue is recomputed, and if it is no longer the lowest, the vertex is put back.
+ * <p>
+ * A query runs Dijkstra upward (towards higher contraction rank) from the start and, over the reversed edges,
+ * from the end; the shortest path meets at its highest vertex. Shortcuts remember the two edges they replace,
+ * so a path is unpacked recursively into the original edges.
+ * <p>
+ * The hierarchy is bound to the ids of the frozen graph; {@link #save(OutputStream)} and
+ * {@link #load(InputStream, MyFrozenGraph)} store it as int and double arrays, so the preprocessing does not
+ * need to be repeated. Queries do not change the hierarchy and can run concurrently.
+ *
+ * @param <V> the type of vertices in the graph
+ */
+public class MyContractionHierarchy<V> {
+    private static final int MAGIC = 0x43480001;
+    // Witness searches give up after this many settled vertices (which may add a superfluous shortcut);
+    // the searches which only estimate the priority of a vertex use the smaller limit
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+    private static final int ESTIMATE_SETTLE_LIMIT = 50;
+
+    private final MyFrozenGraph<V> graph;
+    private final int[] ranks;
+    // All edges: the original edges (0 .. edgeCount()-1, in the order of the frozen graph), then the shortcuts
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final double[] edgeWeights;
+    // The two edges a shortcut replaces, -1 for an original edge
+    private final int[] firstChild;
+    private final int[] secondChild;
+    // The edges to higher ranked vertices, by source, and the edges from higher ranked vertices, by target
+    private final int[] upOffsets, upEdges;
+    private final int[] downOffsets, downEdges;
+    private final ThreadLocal<Query> queries;
+
+    /**
+     * Preprocesses a graph.
+     *
+     * @param graph the graph
+     */
+    public MyContractionHierarchy(MyFrozenGraph<V> graph) {
+        this(graph, new Contraction(graph));
+    }
+
+    private MyContractionHierarchy(MyFrozenGraph<V> graph, Contraction contraction) {
+        this(graph, contraction.ranks, Arrays.copyOf(contraction.edgeFrom, contraction.edgeCount),
+                Arrays.copyOf(contraction.edgeTo, contraction.edgeCount),
+                Arrays.copyOf(contraction.edgeWeights, contraction.edgeCount),
+                Arrays.copyOf(contraction.firstChild, contraction.edgeCount),
+                Arrays.copyOf(contraction.secondChild, contraction.edgeCount));
+    }
+
+    private MyContractionHierarchy(MyFrozenGraph<V> graph, int[] ranks, int[] edgeFrom, int[] edgeTo,
+                                   double[] edgeWeights, int[] firstChild, int[] secondChild) {
+        this.graph = graph;
+        this.ranks = ranks;
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeights = edgeWeights;
+        this.firstChild = firstChild;
+        this.secondChild = secondChild;
+        int n = graph.size();
+        upOffsets = new int[n + 1];
+        downOffsets = new int[n + 1];
+        for (int edge = 0; edge < edgeFrom.length; ++edge) {
+            if (ranks[edgeFrom[edge]] < ranks[edgeTo[edge]]) ++upOffsets[edgeFrom[edge] + 1];
+            else if (ranks[edgeFrom[edge]] > ranks[edgeTo[edge]]) ++downOffsets[edgeTo[edge] + 1];
+        }
+        for (int id = 0; id < n; ++id) {
+            upOffsets[id + 1] += upOffsets[id];
+            downOffsets[id + 1] += downOffsets[id];
+        }
+        upEdges = new int[upOffsets[n]];
+        downEdges = new int[downOffsets[n]];
+        int[] upNext = Arrays.copyOf(upOffsets, n);
+        int[] downNext = Arrays.copyOf(downOffsets, n);
+        for (int edge = 0; edge < edgeFrom.length; ++edge) {
+            if (ranks[edgeFrom[edge]] < ranks[edgeTo[edge]]) upEdges[upNext[edgeFrom[edge]]++] = edge;
+            else if (ranks[edgeFrom[edge]] > ranks[edgeTo[edge]]) downEdges[downNext[edgeTo[edge]]++] = edge;
+        }
+        queries = ThreadLocal.withInitial(() -> new Query(n));
+    }
+
+    /**
+     * @return the graph of this hierarchy
+     */
+    public MyFrozenGraph<V> getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return the number of shortcuts added by the preprocessing
+     */
+    public int shortcutCount() {
+        return edgeFrom.length - graph.edgeCount();
+    }
+
+    /**
+     * @param id a vertex id
+     * @return the position of the vertex in the contraction order (0 is contracted first)
+     */
+    public int rank(int id) {
+        return ranks[id];
+    }
+
+    /**
+     * Determines the length of the shortest path between two vertices.
+     *
+     * @param startNode the node to start
+     * @param endNode   the target node
+     * @return the length of the shortest path, Double.POSITIVE_INFINITY if there is no path
+     * @throws KeyNotFoundException if startNode or endNode is not part of the graph
+     */
+    public double distance(V startNode, V endNode) throws KeyNotFoundException {
+        return distanceById(graph.indexOf(startNode), graph.indexOf(endNode));
+    }
+
+    /**
+     * Determines the length of the shortest path between two vertices.
+     *
+     * @param source the id of the start vertex
+     * @param target the id of the end vertex
+     * @return the length of the shortest path, Double.POSITIVE_INFINITY if there is no path
+     */
+    public double distanceById(int source, int target) {
+        Query query = queries.get();
+        query.run(source, target);
+        return query.best;
+    }
+
+    /**
+     * Determines the shortest path between two vertices, unpacked into the edges of the graph.
+     *
+     * @param startNode the node to start
+     * @param endNode   the target node
+     * @return a list of edges (from start to end) which comprise the shortest path, or null if there is no path
+     * @throws KeyNotFoundException if startNode or endNode is not part of the graph
+     */
+    public SaxList<DirectedEdge<V>> shortestPath(V startNode, V endNode) throws KeyNotFoundException {
+        int source = graph.indexOf(startNode);
+        int target = graph.indexOf(endNode);
+        Query query = queries.get();
+        int meeting = query.run(source, target);
+        if (meeting < 0) return null;
+
+        MyArrayList<DirectedEdge<V>> path = new MyArrayList<>();
+        for (int id = meeting; id != source; id = edgeFrom[query.forwardEdges[id]]) {
+            MyArrayList<DirectedEdge<V>> part = new MyArrayList<>();
+            unpack(query.forwardEdges[id], part);
+            for (int i = part.size() - 1; i >= 0; --i) {
+                path.addFirst(part.get(i));
+            }
+        }
+        for (int id = meeting; id != target; id = edgeTo[query.backwardEdges[id]]) {
+            unpack(query.backwardEdges[id], path);
+        }
+        return path;
+    }
+
+    /**
+     * @return the number of vertices settled by the last query of the calling thread (for benchmarks)
+     */
+    public int getLastSettledCount() {
+        return queries.get().settled;
+    }
+
+    /**
+     * Writes the hierarchy (the contraction order and all edges) to a stream.
+     *
+     * @param stream the stream to write to; it is not closed
+     * @throws IOException if writing fails
+     */
+    public void save(OutputStream stream) throws IOException {
+        DataOutputStream output = new DataOutputStream(stream);
+        output.writeInt(MAGIC);
+        output.writeInt(ranks.length);
+        output.writeInt(graph.edgeCount());
+        output.writeInt(edgeFrom.length);
+        for (int rank : ranks) {
+            output.writeInt(rank);
+        }
+        for (int edge = 0; edge < edgeFrom.length; ++edge) {
+            output.writeInt(edgeFrom[edge]);
+            output.writeInt(edgeTo[edge]);
+            output.writeDouble(edgeWeights[edge]);
+            output.writeInt(firstChild[edge]);
+            output.writeInt(secondChild[edge]);
+        }
+        output.flush();
+    }
+
+    /**
+     * Reads a hierarchy written by {@link #save(OutputStream)} for the same frozen graph.
+     *
+     * @param stream the stream to read from; it is not closed
+     * @param graph  the frozen graph the hierarchy was computed for
+     * @param <V>    the type of vertices in the graph
+     * @return the hierarchy
+     * @throws IOException if reading fails, or the data does not belong to this graph
+     */
+    public static <V> MyContractionHierarchy<V> load(InputStream stream, MyFrozenGraph<V> graph) throws IOException {
+        DataInputStream input = new DataInputStream(stream);
+        if (input.readInt() != MAGIC) throw new IOException("Not a contraction hierarchy");
+        int n = input.readInt();
+        int originalEdges = input.readInt();
+        int edges = input.readInt();
+        if (n != graph.size() || originalEdges != graph.edgeCount() || edges < originalEdges) {
+            throw new IOException("The contraction hierarchy does not belong to this graph");
+        }
+        int[] ranks = new int[n];
+        for (int id = 0; id < n; ++id) {
+            ranks[id] = input.readInt();
+        }
+        int[] edgeFrom = new int[edges];
+        int[] edgeTo = new int[edges];
+        double[] edgeWeights = new double[edges];
+        int[] firstChild = new int[edges];
+        int[] secondChild = new int[edges];
+        for (int edge = 0; edge < edges; ++edge) {
+            edgeFrom[edge] = input.readInt();
+            edgeTo[edge] = input.readInt();
+            edgeWeights[edge] = input.readDouble();
+            firstChild[edge] = input.readInt();
+            secondChild[edge] = input.readInt();
+        }
+        // the original edges must be exactly those of the graph
+        int edge = 0;
+        for (int id = 0; id < n; ++id) {
+            for (int original = graph.firstEdge(id); original < graph.endEdge(id); ++original, ++edge) {
+                if (edgeFrom[edge] != id || edgeTo[edge] != graph.edgeTarget(original)
+                        || edgeWeights[edge] != graph.edgeWeight(original)) {
+                    throw new IOException("The contraction hierarchy does not belong to this graph");
+                }
+            }
+        }
+        return new MyContractionHierarchy<>(graph, ranks, edgeFrom, edgeTo, edgeWeights, firstChild, secondChild);
+    }
+
+    /**
+     * Appends the original edges which an edge stands for to a list.
+     *
+     * @param edge an edge (original or shortcut)
+     * @param path the list to append to
+     */
+    private void unpack(int edge, MyArrayList<DirectedEdge<V>> path) {
+        MyArrayStack<Integer> stack = new MyArrayStack<>();
+        stack.push(edge);
+        while (!stack.isEmpty()) {
+            int current = stack.pop();
+            if (firstChild[current] < 0) {
+                path.addLast(new DirectedEdge<>(graph.vertexAt(edgeFrom[current]), graph.vertexAt(edgeTo[current]),
+                        edgeWeights[current]));
+            } else {
+                stack.push(secondChild[current]);
+                stack.push(firstChild[current]);
+            }
+        }
+    }
+
+    /**
+     * The state of an upward bidirectional search, reused by all queries of one thread. Only the entries of
+     * the vertices reached by the previous query are reset.
+     */
+    private class Query {
+        final double[] forwardDistances, backwardDistances;
+        final int[] forwardEdges, backwardEdges;
+        final IndexedIntHeap forward, backward;
+        final int[] reached;
+        int reachedCount;
+        double best;
+        int settled;
+
+        Query(int n) {
+            forwardDistances = new double[n];
+            backwardDistances = new double[n];
+            Arrays.fill(forwardDistances, Double.POSITIVE_INFINITY);
+            Arrays.fill(backwardDistances, Double.POSITIVE_INFINITY);
+            forwardEdges = new int[n];
+            backwardEdges = new int[n];
+            forward = new IndexedIntHeap(n);
+            backward = new IndexedIntHeap(n);
+            reached = new int[2 * n];
+        }
+
+        /**
+         * Runs a query; each direction stops when its smallest queued distance is not below the best path.
+         *
+         * @param source the id of the start vertex
+         * @param target the id of the end vertex
+         * @return the vertex where the shortest path meets, -1 if there is no path; best is its length
+         */
+        int run(int source, int target) {
+            reset();
+            settled = 0;
+            best = Double.POSITIVE_INFINITY;
+            int meeting = -1;
+            reach(forwardDistances, source, 0);
+            reach(backwardDistances, target, 0);
+            forward.insertOrDecrease(source, 0);
+            backward.insertOrDecrease(target, 0);
+            boolean forwardDone = false;
+            boolean backwardDone = false;
+            boolean forwardTurn = true;
+            while (!forwardDone || !backwardDone) {
+                if (forwardTurn && !forwardDone) {
+                    if (forward.isEmpty() || forward.peekKey() >= best) {
+                        forwardDone = true;
+                    } else {
+                        int current = forward.poll();
+                        ++settled;
+                        if (forwardDistances[current] + backwardDistances[current] < best) {
+                            best = forwardDistances[current] + backwardDistances[current];
+                            meeting = current;
+                        }
+                        for (int i = upOffsets[current]; i < upOffsets[current + 1]; ++i) {
+                            int edge = upEdges[i];
+                            double distance = forwardDistances[current] + edgeWeights[edge];
+                            if (distance < forwardDistances[edgeTo[edge]]) {
+                                reach(forwardDistances, edgeTo[edge], distance);
+                                forwardEdges[edgeTo[edge]] = edge;
+                                forward.insertOrDecrease(edgeTo[edge], distance);
+                            }
+                        }
+                    }
+                } else if (!forwardTurn && !backwardDone) {
+                    if (backward.isEmpty() || backward.peekKey() >= best) {
+                        backwardDone = true;
+                    } else {
+                        int current = backward.poll();
+                        ++settled;
+                        if (forwardDistances[current] + backwardDistances[current] < best) {
+                            best = forwardDistances[current] + backwardDistances[current];
+                            meeting = current;
+                        }
+                        for (int i = downOffsets[current]; i < downOffsets[current + 1]; ++i) {
+                            int edge = downEdges[i];
+                            double distance = backwardDistances[current] + edgeWeights[edge];
+                            if (distance < backwardDistances[edgeFrom[edge]]) {
+                                reach(backwardDistances, edgeFrom[edge], distance);
+                                backwardEdges[edgeFrom[edge]] = edge;
+                                backward.insertOrDecrease(edgeFrom[edge], distance);
+                            }
+                        }
+                    }
+                }
+                forwardTurn = !forwardTurn;
+            }
+            return meeting;
+        }
+
+        /**
+         * Sets a distance, remembering the vertex for the reset when it is reached for the first time.
+         */
+        private void reach(double[] distances, int id, double distance) {
+            if (distances[id] == Double.POSITIVE_INFINITY) reached[reachedCount++] = id;
+            distances[id] = distance;
+        }
+
+        /**
+         * Clears the state of the previous query.
+         */
+        private void reset() {
+            for (int i = 0; i < reachedCount; ++i) {
+                forwardDistances[reached[i]] = Double.POSITIVE_INFINITY;
+                backwardDistances[reached[i]] = Double.POSITIVE_INFINITY;
+            }
+            reachedCount = 0;
+            forward.clear();
+            backward.clear();
+        }
+    }
+
+    /**
+     * The preprocessing: contracts all vertices and collects the original edges and shortcuts.
+     */
+    private static class Contraction {
+        final int n;
+        final int[] ranks;
+        final boolean[] contracted;
+        final int[] contractedNeighbours;
+        // the edges of every remaining vertex to and from the other remaining vertices
+        final IntList[] outEdges, inEdges;
+        int[] edgeFrom, edgeTo, firstChild, secondChild;
+        double[] edgeWeights;
+        int edgeCount;
+        // state of the witness searches
+        final double[] witnessDistances;
+        final int[] witnessReached;
+        int witnessReachedCount;
+        final IndexedIntHeap witnessHeap;
+
+        Contraction(MyFrozenGraph<?> graph) {
+            n = graph.size();
+            ranks = new int[n];
+            contracted = new boolean[n];
+            contractedNeighbours = new int[n];
+            outEdges = new IntList[n];
+            inEdges = new IntList[n];
+            for (int id = 0; id < n; ++id) {
+                outEdges[id] = new IntList();
+                inEdges[id] = new IntList();
+            }
+            int capacity = Math.max(16, 2 * graph.edgeCount());
+            edgeFrom = new int[capacity];
+            edgeTo = new int[capacity];
+            firstChild = new int[capacity];
+            secondChild = new int[capacity];
+            edgeWeights = new double[capacity];
+            for (int id = 0; id < n; ++id) {
+                for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); ++edge) {
+                    addEdge(id, graph.edgeTarget(edge), graph.edgeWeight(edge), -1, -1);
+                }
+            }
+            witnessDistances = new double[n];
+            Arrays.fill(witnessDistances, Double.POSITIVE_INFINITY);
+            witnessReached = new int[n];
+            witnessHeap = new IndexedIntHeap(n);
+
+            IndexedIntHeap order = new IndexedIntHeap(n);
+            for (int id = 0; id < n; ++id) {
+                order.insertOrDecrease(id, priority(id));
+            }
+            int rank = 0;
+            while (!order.isEmpty()) {
+                int vertex = order.poll();
+                double priority = priority(vertex);
+                if (!order.isEmpty() && priority > order.peekKey()) {
+                    order.insertOrDecrease(vertex, priority); // lazy update: it is no longer the cheapest
+                    continue;
+                }
+                contract(vertex, true);
+                contracted[vertex] = true;
+                ranks[vertex] = rank++;
+                updateNeighbours(vertex);
+            }
+        }
+
+        /**
+         * @return the edge difference plus the number of contracted neighbours of a vertex
+         */
+        private double priority(int vertex) {
+            int removed = 0;
+            for (int i = 0; i < outEdges[vertex].size; ++i) {
+                if (!contracted[edgeTo[outEdges[vertex].get(i)]]) ++removed;
+            }
+            for (int i = 0; i < inEdges[vertex].size; ++i) {
+                if (!contracted[edgeFrom[inEdges[vertex].get(i)]]) ++removed;
+            }
+            return contract(vertex, false) - removed + contractedNeighbours[vertex];
+        }
+
+        /**
+         * Removes the edges of a contracted vertex from the lists of its neighbours and counts it as their
+         * contracted neighbour; their priorities are recomputed when they reach the front of the queue.
+         */
+        private void updateNeighbours(int vertex) {
+            for (int i = 0; i < outEdges[vertex].size; ++i) {
+                int neighbour = edgeTo[outEdges[vertex].get(i)];
+                if (removeContracted(neighbour)) {
+                    ++contractedNeighbours[neighbour];
+                }
+            }
+            for (int i = 0; i < inEdges[vertex].size; ++i) {
+                int neighbour = edgeFrom[inEdges[vertex].get(i)];
+                if (removeContracted(neighbour)) {
+                    ++contractedNeighbours[neighbour];
+                }
+            }
+        }
+
+        /**
+         * Removes the edges to and from contracted vertices from the lists of a remaining vertex.
+         *
+         * @param vertex a vertex
+         * @return true if edges were removed (false if it is contracted itself or was already cleaned up)
+         */
+        private boolean removeContracted(int vertex) {
+            if (contracted[vertex]) return false;
+            int outSize = outEdges[vertex].size;
+            int inSize = inEdges[vertex].size;
+            outEdges[vertex].removeIf(edge -> contracted[edgeTo[edge]]);
+            inEdges[vertex].removeIf(edge -> contracted[edgeFrom[edge]]);
+            return outEdges[vertex].size < outSize || inEdges[vertex].size < inSize;
+        }
+
+        /**
+         * Determines (and optionally adds) the shortcuts needed to contract a vertex.
+         *
+         * @param vertex the vertex to contract
+         * @param add    if the shortcuts are added, or only counted
+         * @return the number of shortcuts
+         */
+        private int contract(int vertex, boolean add) {
+            int shortcuts = 0;
+            IntList in = inEdges[vertex];
+            IntList out = outEdges[vertex];
+            for (int i = 0; i < in.size; ++i) {
+                int inEdge = in.get(i);
+                int from = edgeFrom[inEdge];
+                if (contracted[from] || from == vertex) continue;
+                double limit = -1; // stays negative if there is no out-neighbour to connect; weights can be 0
+                for (int j = 0; j < out.size; ++j) {
+                    int to = edgeTo[out.get(j)];
+                    if (!contracted[to] && to != from && to != vertex) {
+                        limit = Math.max(limit, edgeWeights[inEdge] + edgeWeights[out.get(j)]);
+                    }
+                }
+                if (limit < 0) continue;
+                witnessSearch(from, vertex, limit, add ? WITNESS_SETTLE_LIMIT : ESTIMATE_SETTLE_LIMIT);
+                for (int j = 0; j < out.size; ++j) {
+                    int outEdge = out.get(j);
+                    int to = edgeTo[outEdge];
+                    if (contracted[to] || to == from || to == vertex) continue;
+                    double weight = edgeWeights[inEdge] + edgeWeights[outEdge];
+                    if (witnessDistances[to] > weight) {
+                        ++shortcuts;
+                        if (add) {
+                            addEdge(from, to, weight, inEdge, outEdge);
+                            // later pairs from the same source may use this shortcut as witness
+                            if (weight < witnessDistances[to]) {
+                                if (witnessDistances[to] == Double.POSITIVE_INFINITY) {
+                                    witnessReached[witnessReachedCount++] = to;
+                                }
+                                witnessDistances[to] = weight;
+                            }
+                        }
+                    }
+                }
+            }
+            return shortcuts;
+        }
+
+        /**
+         * Dijkstra from a vertex over the remaining graph without the vertex being contracted, up to a distance
+         * limit or a number of settled vertices; the distances are left in witnessDistances.
+         */
+        private void witnessSearch(int source, int excluded, double limit, int settleLimit) {
+            for (int i = 0; i < witnessReachedCount; ++i) {
+                witnessDistances[witnessReached[i]] = Double.POSITIVE_INFINITY;
+            }
+            witnessReachedCount = 0;
+            witnessHeap.clear();
+            witnessDistances[source] = 0;
+            witnessReached[witnessReachedCount++] = source;
+            witnessHeap.insertOrDecrease(source, 0);
+            int settled = 0;
+            while (!witnessHeap.isEmpty() && witnessHeap.peekKey() <= limit && settled < settleLimit) {
+                int current = witnessHeap.poll();
+                ++settled;
+                IntList out = outEdges[current];
+                for (int i = 0; i < out.size; ++i) {
+                    int edge = out.get(i);
+                    int to = edgeTo[edge];
+                    if (contracted[to] || to == excluded) continue;
+                    double distance = witnessDistances[current] + edgeWeights[edge];
+                    if (distance < witnessDistances[to]) {
+                        if (witnessDistances[to] == Double.POSITIVE_INFINITY) {
+                            witnessReached[witnessReachedCount++] = to;
+                        }
+                        witnessDistances[to] = distance;
+                        witnessHeap.insertOrDecrease(to, distance);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Adds an edge (original or shortcut) to the edge arrays and to the edge lists of its vertices.
+         */
+        private void addEdge(int from, int to, double weight, int first, int second) {
+            if (edgeCount == edgeFrom.length) {
+                int capacity = 2 * edgeCount;
+                edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+                edgeTo = Arrays.copyOf(edgeTo, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                secondChild = Arrays.copyOf(secondChild, capacity);
+                edgeWeights = Arrays.copyOf(edgeWeights, capacity);
+            }
+            edgeFrom[edgeCount] = from;
+            edgeTo[edgeCount] = to;
+            edgeWeights[edgeCount] = weight;
+            firstChild[edgeCount] = first;
+            secondChild[edgeCount] = second;
+            outEdges[from].add(edgeCount);
+            inEdges[to].add(edgeCount);
+            ++edgeCount;
+        }
+    }
+
+    /**
+     * A growable array of ints.
+     */
+    private static class IntList {
+        int[] elements = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == elements.length) elements = Arrays.copyOf(elements, 2 * size);
+            elements[size++] = value;
+        }
+
+        int get(int index) {
+            return elements[index];
+        }
+
+        void removeIf(IntPredicate predicate) {
+            int kept = 0;
+            for (int i = 0; i < size; ++i) {
+                if (!predicate.test(elements[i])) elements[kept++] = elements[i];
+            }
+            size = kept;
+        }
+    }
+}
@@ -0,0 +1,1023 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.SaxGraph;
+import nl.saxion.cds.collection.SaxList;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
+
+/**
+ * Immutable graph in compressed sparse row (CSR) format, created by {@link MyGraph#freeze()}.
+ * <p>
+ * Every vertex gets a dense int id (0 .. size-1, in the key order of the original graph). The edges of vertex
+ * id are stored at positions offsets[id] .. offsets[id+1]-1 of the targets and weights arrays, so an edge costs
+ * an int and a double instead of a DirectedEdge object in a list in a hash map. The vertex values are only
+ * hashed when translating the arguments of a search to ids; the searches themselves run over the primitive
+ * arrays, with an indexed int heap instead of a heap of edge objects.
+ * <p>
+ * Besides the SaxGraph methods, the id-level methods (indexOf, vertexAt, firstEdge, endEdge, edgeTarget and
+ * edgeWeight) allow other algorithms to work on the ids directly. Adding edges is not supported.
+ *
+ * @param <V> the type of vertices in the graph
+ */
+public class MyFrozenGraph<V> implements SaxGraph<V> {
+    // Java prohibits creating an array with a generic type, so we use Object
+    private final Object[] vertices;
+    private final MyHashMap<V, Integer> ids;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    // Incoming edges, built on the first bidirectional search (building it twice concurrently is harmless)
+    private volatile ReverseIndex reverse;
+    // Number of vertices settled by the last A* or bidirectional search of every thread (for benchmarks)
+    private final ThreadLocal<Integer> lastSettledCount = ThreadLocal.withInitial(() -> 0);
+    // The state of the Dijkstra searches of every thread, created on its first search
+    private final ThreadLocal<Search> searches = ThreadLocal.withInitial(() -> new Search(size()));
+
+    /**
+     * Compiles the adjacency lists of a graph into CSR arrays.
+     *
+     * @param vertices the vertices, in id order
+     * @param edges    the edge lists of the vertices, in id order
+     */
+    MyFrozenGraph(SaxList<V> vertices, SaxList<? extends SaxList<DirectedEdge<V>>> edges) {
+        int n = vertices.size();
+        this.vertices = new Object[n];
+        ids = new MyHashMap<>(Math.max(16, Integer.highestOneBit(Math.max(1, n)) << 1));
+        int id = 0;
+        for (V vertex : vertices) {
+            this.vertices[id] = vertex;
+            ids.add(vertex, id++);
+        }
+        offsets = new int[n + 1];
+        id = 0;
+        for (SaxList<DirectedEdge<V>> list : edges) {
+            offsets[id + 1] = offsets[id] + list.size();
+            ++id;
+        }
+        targets = new int[offsets[n]];
+        weights = new double[offsets[n]];
+        int edge = 0;
+        for (SaxList<DirectedEdge<V>> list : edges) {
+            for (DirectedEdge<V> directedEdge : list) {
+                targets[edge] = ids.get(directedEdge.to());
+                weights[edge] = directedEdge.weight();
+                ++edge;
+            }
+        }
+    }
+
+    /**
+     * Determines if the collection has no elements
+     *
+     * @return if the collection has no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return vertices.length == 0;
+    }
+
+    /**
+     * Determines the number of elements (vertices) in this collection
+     *
+     * @return size of this collection
+     */
+    @Override
+    public int size() {
+        return vertices.length;
+    }
+
+    /**
+     * @return the number of edges
+     */
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Determines the id of a vertex.
+     *
+     * @param value the vertex
+     * @return the id of the vertex
+     * @throws KeyNotFoundException if the vertex is not part of this graph
+     */
+    public int indexOf(V value) throws KeyNotFoundException {
+        Integer id = ids.get(value);
+        if (id == null) throw new KeyNotFoundException("Vertex not found: " + value);
+        return id;
+    }
+
+    /**
+     * @param id a vertex id
+     * @return the vertex with this id
+     */
+    @SuppressWarnings("unchecked")
+    public V vertexAt(int id) {
+        return (V) vertices[id];
+    }
+
+    /**
+     * @param id a vertex id
+     * @return the index of the first edge of the vertex
+     */
+    public int firstEdge(int id) {
+        return offsets[id];
+    }
+
+    /**
+     * @param id a vertex id
+     * @return the index after the last edge of the vertex
+     */
+    public int endEdge(int id) {
+        return offsets[id + 1];
+    }
+
+    /**
+     * @param edge an edge index
+     * @return the id of the vertex the edge points to
+     */
+    public int edgeTarget(int edge) {
+        return targets[edge];
+    }
+
+    /**
+     * @param edge an edge index
+     * @return the weight of the edge
+     */
+    public double edgeWeight(int edge) {
+        return weights[edge];
+    }
+
+    /**
+     * The incoming edges of a vertex are at positions firstIncoming(id) .. endIncoming(id)-1 of the reverse
+     * index; incomingEdge gives the (forward) edge index at a position.
+     *
+     * @param id the id of a vertex
+     * @return the first position of its incoming edges
+     */
+    int firstIncoming(int id) {
+        return reverseIndex().offsets[id];
+    }
+
+    /**
+     * @param id the id of a vertex
+     * @return the position after its last incoming edge
+     */
+    int endIncoming(int id) {
+        return reverseIndex().offsets[id + 1];
+    }
+
+    /**
+     * @param position a position in the reverse index
+     * @return the edge index of the incoming edge at that position
+     */
+    int incomingEdge(int position) {
+        return reverseIndex().edges[position];
+    }
+
+    /**
+     * @param edge an edge index
+     * @return the id of the vertex the edge starts at
+     */
+    int edgeSource(int edge) {
+        return reverseIndex().edgeSources[edge];
+    }
+
+    /**
+     * Create a String representation of the data in GraphViz (see <a href="https://graphviz.org">GraphViz</a>)
+     * format, which you can print-copy-paste on the site see <a href="https://dreampuf.github.io/GraphvizOnline">GraphViz online</a>.
+     *
+     * @param name name of the produced graph
+     * @return a GraphViz string representation of this collection
+     */
+    @Override
+    public String graphViz(String name) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("digraph ").append(name).append(" {\n");
+        for (int id = 0; id < vertices.length; ++id) {
+            for (int edge = offsets[id]; edge < offsets[id + 1]; ++edge) {
+                builder.append("    \"").append(vertices[id])
+                        .append("\" -> \"").append(vertices[targets[edge]])
+                        .append("\" [weight=\"").append(weights[edge]).append("\"];\n");
+            }
+        }
+        for (int id = 0; id < vertices.length; ++id) {
+            if (offsets[id] == offsets[id + 1]) {
+                builder.append("    \"").append(vertices[id]).append("\";\n");
+            }
+        }
+        builder.append("}\n");
+        return builder.toString();
+    }
+
+    /**
+     * Not supported, a frozen graph is immutable.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addEdge(V fromValue, V toValue, double weight) {
+        throw new UnsupportedOperationException("A frozen graph is immutable");
+    }
+
+    /**
+     * Not supported, a frozen graph is immutable.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addEdgeBidirectional(V fromValue, V toValue, double weight) {
+        throw new UnsupportedOperationException("A frozen graph is immutable");
+    }
+
+    /**
+     * Gets a list of edges from the given node; the edge objects are created on every call.
+     *
+     * @param value the value of the node the edges originate from
+     * @return a list of edges which originate from the node with the given value
+     * @throws KeyNotFoundException if the vertex is not part of this graph
+     */
+    @Override
+    public SaxList<DirectedEdge<V>> getEdges(V value) {
+        int id = indexOf(value);
+        MyArrayList<DirectedEdge<V>> edges = new MyArrayList<>(Math.max(1, offsets[id + 1] - offsets[id]));
+        for (int edge = offsets[id]; edge < offsets[id + 1]; ++edge) {
+            edges.addLast(new DirectedEdge<>(value, vertexAt(targets[edge]), weights[edge]));
+        }
+        return edges;
+    }
+
+    /**
+     * @return the total weight of (ALL) edges of the graph
+     */
+    @Override
+    public double getTotalWeight() {
+        double totalWeight = 0;
+        for (double weight : weights) {
+            totalWeight += weight;
+        }
+        return totalWeight;
+    }
+
+    /**
+     * Determines the distances from a vertex to all vertices with Dijkstra.
+     *
+     * @param source the id of the start vertex
+     * @return the distance of every vertex (by id), Double.POSITIVE_INFINITY if it is unreachable
+     */
+    public double[] distances(int source) {
+        double[] distances = new double[vertices.length];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Search search = search();
+        search.run(source, Double.POSITIVE_INFINITY, vertices.length, null);
+        for (int i = 0; i < search.settled; ++i) {
+            distances[search.order[i]] = search.distances[search.order[i]];
+        }
+        return distances;
+    }
+
+    /**
+     * Determines the distances from all vertices to a vertex with Dijkstra over the reversed edges.
+     *
+     * @param target the id of the vertex to reach
+     * @return the distance of every vertex (by id) to the target, Double.POSITIVE_INFINITY if it can not reach it
+     */
+    public double[] distancesTo(int target) {
+        ReverseIndex reverse = reverseIndex();
+        double[] distances = new double[vertices.length];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        IndexedIntHeap heap = new IndexedIntHeap(vertices.length);
+        distances[target] = 0;
+        heap.insertOrDecrease(target, 0);
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            for (int i = reverse.offsets[current]; i < reverse.offsets[current + 1]; ++i) {
+                int neighbor = reverse.sources[i];
+                double distance = distances[current] + weights[reverse.edges[i]];
+                if (distance < distances[neighbor]) {
+                    distances[neighbor] = distance;
+                    heap.insertOrDecrease(neighbor, distance);
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Determine the distances from every source to every target, with one Dijkstra search per source which
+     * stops when all targets are settled. The searches run in parallel as fork/join tasks, in the pool of the
+     * calling thread if it is a fork/join worker, in the common pool otherwise.
+     *
+     * @param sources the nodes to start from
+     * @param targets the nodes to reach
+     * @return a flat matrix: the distance from sources.get(i) to targets.get(j) is at index
+     * i * targets.size() + j, Double.POSITIVE_INFINITY if there is no path
+     * @throws KeyNotFoundException if a source or target is not part of this graph
+     */
+    @Override
+    public double[] distanceMatrix(SaxList<V> sources, SaxList<V> targets) throws KeyNotFoundException {
+        return distanceMatrix(indicesOf(sources), indicesOf(targets));
+    }
+
+    /**
+     * Determine the distances from every source to every target, by id; see {@link #distanceMatrix(SaxList, SaxList)}.
+     *
+     * @param sources the ids of the vertices to start from
+     * @param targets the ids of the vertices to reach
+     * @return a flat matrix: the distance from sources[i] to targets[j] is at index i * targets.length + j
+     */
+    public double[] distanceMatrix(int[] sources, int[] targets) {
+        double[] matrix = new double[sources.length * targets.length];
+        boolean[] isTarget = new boolean[vertices.length];
+        int distinctTargets = 0;
+        for (int target : targets) {
+            if (!isTarget[target]) {
+                isTarget[target] = true;
+                ++distinctTargets;
+            }
+        }
+        // a few tasks per processor, so a task with slow searches does not keep the other processors waiting
+        int chunk = Math.max(1, sources.length / (8 * Runtime.getRuntime().availableProcessors()));
+        new MatrixTask(sources, targets, isTarget, distinctTargets, matrix, 0, sources.length, chunk).invoke();
+        return matrix;
+    }
+
+    /**
+     * Execute the Dijkstra algorithm; determine the shortest paths from the start node to all other nodes.
+     *
+     * @param startNode the node to start searching from
+     * @return the graph (a tree!) which only contains the edges which comprise all shortest paths (a copy);
+     * the edges have their own weight
+     * @throws KeyNotFoundException if the start node is not part of this graph
+     */
+    @Override
+    public SaxGraph<V> shortestPathsDijkstra(V startNode) {
+        return shortestPathTree(startNode).toGraph();
+    }
+
+    /**
+     * Execute the Dijkstra algorithm; record the distance and the last edge of the shortest path of every vertex.
+     *
+     * @param startNode the node to start searching from
+     * @return the shortest path tree
+     * @throws KeyNotFoundException if the start node is not part of this graph
+     */
+    @Override
+    public ShortestPathTree<V> shortestPathTree(V startNode) throws KeyNotFoundException {
+        return tree(indexOf(startNode), Double.POSITIVE_INFINITY, vertices.length);
+    }
+
+    /**
+     * Execute the Dijkstra algorithm and pass every node to the visitor as soon as it is settled, in order of
+     * distance; the search stops when the visitor returns false.
+     *
+     * @param startNode the node to start searching from
+     * @param visitor   receives the settled nodes with their distances
+     * @throws KeyNotFoundException if the start node is not part of this graph
+     */
+    @Override
+    public void visitSettled(V startNode, SettledVisitor<V> visitor) throws KeyNotFoundException {
+        int source = indexOf(startNode);
+        Search search = search();
+        search.run(source, Double.POSITIVE_INFINITY, vertices.length,
+                id -> visitor.visit(vertexAt(id), search.distances[id]));
+    }
+
+    /**
+     * Execute the Dijkstra algorithm until the end node is settled.
+     *
+     * @param startNode the node to start searching from
+     * @param endNode   the target node
+     * @return the total weight of the shortest path, Double.POSITIVE_INFINITY if there is no path
+     * @throws KeyNotFoundException if startNode or endNode is not part of this graph
+     */
+    @Override
+    public double shortestDistance(V startNode, V endNode) throws KeyNotFoundException {
+        int source = indexOf(startNode);
+        int target = indexOf(endNode);
+        Search search = search();
+        search.run(source, Double.POSITIVE_INFINITY, vertices.length, id -> id != target);
+        return search.distances[target];
+    }
+
+    /**
+     * Execute the Dijkstra algorithm until the distance exceeds a budget (an isochrone).
+     *
+     * @param startNode   the node to start searching from
+     * @param maxDistance the largest distance to include
+     * @return the shortest path tree of the nodes within maxDistance; other nodes are unreachable in it
+     * @throws KeyNotFoundException     if the start node is not part of this graph
+     * @throws IllegalArgumentException if maxDistance is negative or not a number
+     */
+    @Override
+    public ShortestPathTree<V> shortestPathTreeWithin(V startNode, double maxDistance) throws KeyNotFoundException {
+        if (!(maxDistance >= 0)) throw new IllegalArgumentException("Invalid maximum distance: " + maxDistance);
+        return tree(indexOf(startNode), maxDistance, vertices.length);
+    }
+
+    /**
+     * Execute the Dijkstra algorithm until a number of nodes (including the start node) is settled.
+     *
+     * @param startNode the node to start searching from
+     * @param count     the number of nodes
+     * @return the shortest path tree of the count nearest nodes; other nodes are unreachable in it
+     * @throws KeyNotFoundException     if the start node is not part of this graph
+     * @throws IllegalArgumentException if count is smaller than 1
+     */
+    @Override
+    public ShortestPathTree<V> nearestNodes(V startNode, int count) throws KeyNotFoundException {
+        if (count < 1) throw new IllegalArgumentException("At least one node is needed: " + count);
+        return tree(indexOf(startNode), Double.POSITIVE_INFINITY, count);
+    }
+
+    /**
+     * Runs Dijkstra with early termination (see Search.run) and copies the settled vertices into a shortest
+     * path tree, so it costs time and memory for the settled vertices only.
+     */
+    private ShortestPathTree<V> tree(int source, double maxDistance, int maxCount) {
+        Search search = search();
+        search.run(source, maxDistance, maxCount, null);
+        return new ArrayPathTree(search);
+    }
+
+    /**
+     * @return the search state of the calling thread, or a new one if a visitor of a running search of the
+     * thread starts another search
+     */
+    private Search search() {
+        Search search = searches.get();
+        return search.running ? new Search(vertices.length) : search;
+    }
+
+    /**
+     * @return the number of vertices reached (settled or queued) by the last Dijkstra search of the calling
+     * thread (for tests: this is what a search costs)
+     */
+    int getLastReachedCount() {
+        return searches.get().reachedCount;
+    }
+
+    /**
+     * Execute the A* algorithm to determine the shortest path from startNode to endNode.
+     * The estimate of every vertex is computed only once.
+     *
+     * @param startNode the node to start searching
+     * @param endNode   the target node
+     * @param estimator a (handler) function to estimate the distance (weight) between two nodes
+     * @return a list of edges (from start to end) which comprise the shortest path from startNode to endNode,
+     * or null if there is no path
+     * @throws KeyNotFoundException if the start or end node is not part of this graph
+     */
+    @Override
+    public SaxList<DirectedEdge<V>> shortestPathAStar(V startNode, V endNode, Estimator<V> estimator) {
+        int source = indexOf(startNode);
+        int target = indexOf(endNode);
+        int n = vertices.length;
+        double[] distances = new double[n];
+        double[] estimates = new double[n];
+        int[] parents = new int[n];
+        int[] parentEdges = new int[n];
+        boolean[] closed = new boolean[n];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(estimates, Double.NaN);
+        IndexedIntHeap open = new IndexedIntHeap(n);
+
+        distances[source] = 0;
+        parents[source] = -1;
+        open.insertOrDecrease(source, estimator.estimate(startNode, endNode));
+        int settled = 0;
+        while (!open.isEmpty()) {
+            int current = open.poll();
+            ++settled;
+            if (current == target) {
+                lastSettledCount.set(settled);
+                return path(parents, parentEdges, target);
+            }
+            closed[current] = true;
+            for (int edge = offsets[current]; edge < offsets[current + 1]; ++edge) {
+                int neighbor = targets[edge];
+                if (closed[neighbor]) continue;
+                double distance = distances[current] + weights[edge];
+                if (distance < distances[neighbor]) {
+                    if (Double.isNaN(estimates[neighbor])) {
+                        estimates[neighbor] = estimator.estimate(vertexAt(neighbor), endNode);
+                    }
+                    distances[neighbor] = distance;
+                    parents[neighbor] = current;
+                    parentEdges[neighbor] = edge;
+                    open.insertOrDecrease(neighbor, distance + estimates[neighbor]);
+                }
+            }
+        }
+        lastSettledCount.set(settled);
+        return null;
+    }
+
+    /**
+     * Execute a bidirectional Dijkstra search to determine the shortest path from startNode to endNode.
+     * The backward search runs over a reverse CSR index, which is built on the first call.
+     *
+     * @param startNode the node to start searching
+     * @param endNode   the target node
+     * @return a list of edges (from start to end) which comprise the shortest path from startNode to endNode,
+     * or null if there is no path
+     * @throws KeyNotFoundException if startNode or endNode is not part of this graph
+     */
+    @Override
+    public SaxList<DirectedEdge<V>> shortestPathBidirectional(V startNode, V endNode) throws KeyNotFoundException {
+        int source = indexOf(startNode);
+        int target = indexOf(endNode);
+        ReverseIndex reverse = reverseIndex();
+        int n = vertices.length;
+        double[] forwardDistances = new double[n];
+        double[] backwardDistances = new double[n];
+        // forward: the edge over which a vertex was reached; backward: the edge from a vertex toward the target
+        int[] forwardEdges = new int[n];
+        int[] backwardEdges = new int[n];
+        Arrays.fill(forwardDistances, Double.POSITIVE_INFINITY);
+        Arrays.fill(backwardDistances, Double.POSITIVE_INFINITY);
+        IndexedIntHeap forward = new IndexedIntHeap(n);
+        IndexedIntHeap backward = new IndexedIntHeap(n);
+        forwardDistances[source] = 0;
+        backwardDistances[target] = 0;
+        forward.insertOrDecrease(source, 0);
+        backward.insertOrDecrease(target, 0);
+
+        double best = (source == target) ? 0 : Double.POSITIVE_INFINITY;
+        int meeting = (source == target) ? source : -1;
+        int settled = 0;
+        boolean forwardTurn = true;
+        // an exhausted search has an infinite top, so the loop also ends when one of the searches is done
+        while (top(forward) + top(backward) < best) {
+            ++settled;
+            if (forwardTurn) {
+                int current = forward.poll();
+                for (int edge = offsets[current]; edge < offsets[current + 1]; ++edge) {
+                    int neighbor = targets[edge];
+                    double distance = forwardDistances[current] + weights[edge];
+                    if (distance < forwardDistances[neighbor]) {
+                        forwardDistances[neighbor] = distance;
+                        forwardEdges[neighbor] = edge;
+                        forward.insertOrDecrease(neighbor, distance);
+                    }
+                    if (forwardDistances[neighbor] + backwardDistances[neighbor] < best) {
+                        best = forwardDistances[neighbor] + backwardDistances[neighbor];
+                        meeting = neighbor;
+                    }
+                }
+            } else {
+                int current = backward.poll();
+                for (int i = reverse.offsets[current]; i < reverse.offsets[current + 1]; ++i) {
+                    int neighbor = reverse.sources[i];
+                    int edge = reverse.edges[i];
+                    double distance = backwardDistances[current] + weights[edge];
+                    if (distance < backwardDistances[neighbor]) {
+                        backwardDistances[neighbor] = distance;
+                        backwardEdges[neighbor] = edge;
+                        backward.insertOrDecrease(neighbor, distance);
+                    }
+                    if (forwardDistances[neighbor] + backwardDistances[neighbor] < best) {
+                        best = forwardDistances[neighbor] + backwardDistances[neighbor];
+                        meeting = neighbor;
+                    }
+                }
+            }
+            forwardTurn = !forwardTurn;
+        }
+        lastSettledCount.set(settled);
+        if (meeting < 0) return null;
+
+        MyArrayList<DirectedEdge<V>> path = new MyArrayList<>();
+        for (int id = meeting; id != source; ) {
+            int edge = forwardEdges[id];
+            int from = reverse.edgeSources[edge];
+            path.addFirst(new DirectedEdge<>(vertexAt(from), vertexAt(id), weights[edge]));
+            id = from;
+        }
+        for (int id = meeting; id != target; ) {
+            int edge = backwardEdges[id];
+            path.addLast(new DirectedEdge<>(vertexAt(id), vertexAt(targets[edge]), weights[edge]));
+            id = targets[edge];
+        }
+        return path;
+    }
+
+    /**
+     * @return the number of vertices settled by the last A* or bidirectional search of the calling thread
+     * (for benchmarks)
+     */
+    public int getLastSettledCount() {
+        return lastSettledCount.get();
+    }
+
+    /**
+     * Determine the minimal cost (total weight) of edges which are necessary to connect all nodes (Prim),
+     * starting at the first vertex like {@link MyGraph#minimumCostSpanningTree()}.
+     *
+     * @return the MCST graph (a copy)
+     */
+    @Override
+    public SaxGraph<V> minimumCostSpanningTree() {
+        MyGraph<V> mst = new MyGraph<>();
+        int n = vertices.length;
+        if (n == 0) return mst;
+        double[] bestWeights = new double[n];
+        int[] bestEdges = new int[n];
+        int[] bestSources = new int[n];
+        boolean[] inTree = new boolean[n];
+        IndexedIntHeap heap = new IndexedIntHeap(n);
+
+        heap.insertOrDecrease(0, 0);
+        bestSources[0] = -1;
+        while (!heap.isEmpty()) {
+            int current = heap.poll();
+            inTree[current] = true;
+            mst.addVertex(vertexAt(current));
+            if (bestSources[current] >= 0) {
+                mst.addEdge(vertexAt(bestSources[current]), vertexAt(current), weights[bestEdges[current]]);
+            }
+            for (int edge = offsets[current]; edge < offsets[current + 1]; ++edge) {
+                int neighbor = targets[edge];
+                if (!inTree[neighbor] && (!heap.contains(neighbor) || weights[edge] < bestWeights[neighbor])) {
+                    bestWeights[neighbor] = weights[edge];
+                    bestEdges[neighbor] = edge;
+                    bestSources[neighbor] = current;
+                    heap.insertOrDecrease(neighbor, weights[edge]);
+                }
+            }
+        }
+        return mst;
+    }
+
+    /**
+     * Returns a depth-first iterator over the vertices, in the same order as the iterator of the original graph.
+     *
+     * @return an Iterator.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<>() {
+            private final boolean[] visited = new boolean[vertices.length];
+            private final int[] stack = new int[vertices.length];
+            private int stackSize;
+            private int nextRoot;
+
+            {
+                findNextUnvisitedVertex();
+            }
+
+            /**
+             * Pushes the next unvisited vertex in id order, if any.
+             */
+            private void findNextUnvisitedVertex() {
+                while (stackSize == 0 && nextRoot < vertices.length) {
+                    int id = nextRoot++;
+                    if (!visited[id]) {
+                        visited[id] = true;
+                        stack[stackSize++] = id;
+                    }
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return stackSize > 0;
+            }
+
+            @Override
+            public V next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                int current = stack[--stackSize];
+                for (int edge = offsets[current]; edge < offsets[current + 1]; ++edge) {
+                    int neighbor = targets[edge];
+                    if (!visited[neighbor]) {
+                        visited[neighbor] = true;
+                        stack[stackSize++] = neighbor;
+                    }
+                }
+                if (stackSize == 0) findNextUnvisitedVertex();
+                return vertexAt(current);
+            }
+        };
+    }
+
+    /**
+     * @param values vertices of this graph
+     * @return their ids
+     * @throws KeyNotFoundException if a vertex is not part of this graph
+     */
+    private int[] indicesOf(SaxList<V> values) throws KeyNotFoundException {
+        int[] ids = new int[values.size()];
+        for (int i = 0; i < ids.length; ++i) {
+            ids[i] = indexOf(values.get(i));
+        }
+        return ids;
+    }
+
+    /**
+     * @param heap a heap
+     * @return the smallest key in the heap, infinity if it is empty
+     */
+    private static double top(IndexedIntHeap heap) {
+        return heap.isEmpty() ? Double.POSITIVE_INFINITY : heap.peekKey();
+    }
+
+    /**
+     * Returns the reverse index, building it on the first call.
+     *
+     * @return the incoming edges of every vertex
+     */
+    private ReverseIndex reverseIndex() {
+        ReverseIndex index = reverse;
+        if (index == null) {
+            index = new ReverseIndex();
+            reverse = index;
+        }
+        return index;
+    }
+
+    /**
+     * Builds the list of edges from the start to a vertex by following the parents.
+     *
+     * @param parents     the parent of every reached vertex, -1 for the start
+     * @param parentEdges the edge from the parent of every reached vertex
+     * @param target      the id of the last vertex
+     * @return the edges from start to target
+     */
+    private SaxList<DirectedEdge<V>> path(int[] parents, int[] parentEdges, int target) {
+        MyArrayList<DirectedEdge<V>> path = new MyArrayList<>();
+        for (int id = target; parents[id] >= 0; id = parents[id]) {
+            path.addFirst(new DirectedEdge<>(vertexAt(parents[id]), vertexAt(id), weights[parentEdges[id]]));
+        }
+        return path;
+    }
+
+    /**
+     * Shortest path tree of the settled vertices of a search, in arrays indexed by the position at which a vertex
+     * was settled; the ids are kept sorted to find the position of a vertex.
+     */
+    private class ArrayPathTree implements ShortestPathTree<V> {
+        private final int[] order; // the ids in the order they were settled, the root first
+        private final double[] distances;
+        private final int[] parents, parentEdges; // the position of the parent, -1 for the root
+        private final int[] sortedIds, positions; // the ids in ascending order, with their positions
+
+        /**
+         * Copies the result of a search.
+         *
+         * @param search a search which has just run
+         */
+        ArrayPathTree(Search search) {
+            int size = search.settled;
+            order = Arrays.copyOf(search.order, size);
+            distances = new double[size];
+            parents = new int[size];
+            parentEdges = new int[size];
+            long[] sorted = new long[size];
+            for (int position = 0; position < size; ++position) {
+                int id = order[position];
+                distances[position] = search.distances[id];
+                parents[position] = (position == 0) ? -1 : search.positions[search.parents[id]];
+                parentEdges[position] = search.parentEdges[id];
+                sorted[position] = ((long) id << 32) | position;
+            }
+            Arrays.sort(sorted);
+            sortedIds = new int[size];
+            positions = new int[size];
+            for (int i = 0; i < size; ++i) {
+                sortedIds[i] = (int) (sorted[i] >>> 32);
+                positions[i] = (int) sorted[i];
+            }
+        }
+
+        /**
+         * @return the position of a vertex, -1 if it was not settled
+         * @throws KeyNotFoundException if the vertex is not part of the graph
+         */
+        private int positionOf(V node) throws KeyNotFoundException {
+            int i = Arrays.binarySearch(sortedIds, indexOf(node));
+            return (i < 0) ? -1 : positions[i];
+        }
+
+        @Override
+        public V getRoot() {
+            return vertexAt(order[0]);
+        }
+
+        @Override
+        public int size() {
+            return order.length;
+        }
+
+        @Override
+        public double distanceTo(V node) throws KeyNotFoundException {
+            int position = positionOf(node);
+            return (position < 0) ? Double.POSITIVE_INFINITY : distances[position];
+        }
+
+        @Override
+        public SaxList<DirectedEdge<V>> pathTo(V node) throws KeyNotFoundException {
+            int position = positionOf(node);
+            if (position < 0) return null;
+            MyArrayList<DirectedEdge<V>> path = new MyArrayList<>();
+            for (; parents[position] >= 0; position = parents[position]) {
+                path.addFirst(new DirectedEdge<>(vertexAt(order[parents[position]]), vertexAt(order[position]),
+                        weights[parentEdges[position]]));
+            }
+            return path;
+        }
+
+        @Override
+        public SaxGraph<V> toGraph() {
+            MyGraph<V> result = new MyGraph<>();
+            for (int position = 0; position < order.length; ++position) {
+                result.addVertex(vertexAt(order[position]));
+                if (position > 0) {
+                    result.addEdge(vertexAt(order[parents[position]]), vertexAt(order[position]),
+                            weights[parentEdges[position]]);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * The state of the Dijkstra searches of one thread. The arrays are allocated once; a search only resets the
+     * vertices reached by the previous search, so a search which stops early costs time for the vertices it
+     * reached, not for the whole graph.
+     */
+    private class Search {
+        final double[] distances;
+        final int[] parents, parentEdges;
+        final int[] positions; // the position in order of every settled vertex
+        final int[] order; // the settled ids, in the order they were settled
+        final int[] reached;
+        final IndexedIntHeap heap;
+        int settled, reachedCount;
+        boolean running;
+
+        Search(int n) {
+            distances = new double[n];
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            parents = new int[n];
+            parentEdges = new int[n];
+            positions = new int[n];
+            order = new int[n];
+            reached = new int[n];
+            heap = new IndexedIntHeap(n);
+        }
+
+        /**
+         * Dijkstra over the CSR arrays, with early termination: it stops before settling a vertex farther than
+         * maxDistance, after settling maxCount vertices, or when settle returns false. Afterwards the vertices
+         * which were reached but not settled have an infinite distance, so only settled vertices have a distance.
+         *
+         * @param source      the id of the start vertex
+         * @param maxDistance the largest distance to settle
+         * @param maxCount    the largest number of vertices to settle
+         * @param settle      if not null, called with every settled id; returns false to stop
+         */
+        void run(int source, double maxDistance, int maxCount, IntPredicate settle) {
+            for (int i = 0; i < reachedCount; ++i) {
+                distances[reached[i]] = Double.POSITIVE_INFINITY;
+            }
+            reachedCount = 0;
+            settled = 0;
+            heap.clear();
+            running = true;
+            try {
+                distances[source] = 0;
+                parents[source] = -1;
+                reached[reachedCount++] = source;
+                heap.insertOrDecrease(source, 0);
+                while (!heap.isEmpty() && settled < maxCount && heap.peekKey() <= maxDistance) {
+                    int current = heap.poll();
+                    positions[current] = settled;
+                    order[settled++] = current;
+                    if (settle != null && !settle.test(current)) break;
+                    double distance = distances[current];
+                    for (int edge = offsets[current]; edge < offsets[current + 1]; ++edge) {
+                        int neighbor = targets[edge];
+                        double newDistance = distance + weights[edge];
+                        if (newDistance < distances[neighbor]) {
+                            if (distances[neighbor] == Double.POSITIVE_INFINITY) reached[reachedCount++] = neighbor;
+                            distances[neighbor] = newDistance;
+                            parents[neighbor] = current;
+                            parentEdges[neighbor] = edge;
+                            heap.insertOrDecrease(neighbor, newDistance);
+                        }
+                    }
+                }
+                while (!heap.isEmpty()) {
+                    distances[heap.poll()] = Double.POSITIVE_INFINITY;
+                }
+            } finally {
+                running = false;
+            }
+        }
+    }
+
+    /**
+     * Computes the rows from .. to-1 of a distance matrix, splitting the rows over subtasks until at most chunk
+     * rows are left; the searches of one task share their state.
+     */
+    private class MatrixTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] rows, columns; // the ids of the sources and the targets
+        private final boolean[] isTarget;
+        private final int distinctTargets;
+        private final double[] matrix;
+        private final int from, to, chunk;
+
+        MatrixTask(int[] rows, int[] columns, boolean[] isTarget, int distinctTargets, double[] matrix,
+                   int from, int to, int chunk) {
+            this.rows = rows;
+            this.columns = columns;
+            this.isTarget = isTarget;
+            this.distinctTargets = distinctTargets;
+            this.matrix = matrix;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > chunk) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new MatrixTask(rows, columns, isTarget, distinctTargets, matrix, from, middle, chunk),
+                        new MatrixTask(rows, columns, isTarget, distinctTargets, matrix, middle, to, chunk));
+                return;
+            }
+            double[] distances = new double[vertices.length];
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            int[] reached = new int[vertices.length];
+            IndexedIntHeap heap = new IndexedIntHeap(vertices.length);
+            for (int row = from; row < to; ++row) {
+                int reachedCount = 0;
+                int remaining = distinctTargets;
+                distances[rows[row]] = 0;
+                reached[reachedCount++] = rows[row];
+                heap.insertOrDecrease(rows[row], 0);
+                while (!heap.isEmpty() && remaining > 0) {
+                    int current = heap.poll();
+                    if (isTarget[current]) --remaining;
+                    for (int edge = offsets[current]; edge < offsets[current + 1]; ++edge) {
+                        int neighbor = targets[edge];
+                        double distance = distances[current] + weights[edge];
+                        if (distance < distances[neighbor]) {
+                            if (distances[neighbor] == Double.POSITIVE_INFINITY) reached[reachedCount++] = neighbor;
+                            distances[neighbor] = distance;
+                            heap.insertOrDecrease(neighbor, distance);
+                        }
+                    }
+                }
+                for (int column = 0; column < columns.length; ++column) {
+                    matrix[row * columns.length + column] = distances[columns[column]];
+                }
+                for (int i = 0; i < reachedCount; ++i) {
+                    distances[reached[i]] = Double.POSITIVE_INFINITY;
+                }
+                heap.clear();
+            }
+        }
+    }
+
+    /**
+     * The edges in CSR format by target: the incoming edges of vertex id are at positions
+     * offsets[id] .. offsets[id+1]-1, with their source vertex in sources and their (forward) edge index in edges.
+     * edgeSources gives the source vertex of every forward edge.
+     */
+    private class ReverseIndex {
+        final int[] offsets = new int[vertices.length + 1];
+        final int[] sources = new int[targets.length];
+        final int[] edges = new int[targets.length];
+        final int[] edgeSources = new int[targets.length];
+
+        /**
+         * Sorts the edges by target with a counting sort.
+         */
+        ReverseIndex() {
+            for (int target : targets) {
+                ++offsets[target + 1];
+            }
+            for (int id = 0; id < vertices.length; ++id) {
+                offsets[id + 1] += offsets[id];
+            }
+            int[] next = Arrays.copyOf(offsets, vertices.length);
+            for (int id = 0; id < vertices.length; ++id) {
+                for (int edge = MyFrozenGraph.this.offsets[id]; edge < MyFrozenGraph.this.offsets[id + 1]; ++edge) {
+                    int position = next[targets[edge]]++;
+                    sources[position] = id;
+                    edges[position] = edge;
+                    edgeSources[edge] = id;
+                }
+            }
+        }
+    }
+}
@@ -16,6 +16,10 @@ import java.util.NoSuchElementException;
 public class MyGraph<V> implements SaxGraph<V> {
 
     private MyHashMap<V, MyArrayList<DirectedEdge<V>>> map = new MyHashMap<>();
+    // Incoming edges per vertex, built on the first bidirectional search; null when it is out of date
+    private MyHashMap<V, MyArrayList<DirectedEdge<V>>> reverseMap;
+    // Number of vertices settled by the last A* or bidirectional search of every thread (for benchmarks)
+    private final ThreadLocal<Integer> lastSettledCount = ThreadLocal.withInitial(() -> 0);
 
     /**
      * Determines if the collection has no elements
@@ -75,6 +79,7 @@ public class MyGraph<V> implements SaxGraph<V> {
     public void addVertex(V value) {
         if (!map.contains(value)) {
             map.add(value, new MyArrayList<DirectedEdge<V>>());
+            reverseMap = null;
         }
     }
 
@@ -97,6 +102,7 @@ public class MyGraph<V> implements SaxGraph<V> {
         }
 
         map.get(fromValue).addLast(new DirectedEdge<>(fromValue, toValue, weight));
+        reverseMap = null;
     }
 
     /**
@@ -146,42 +152,138 @@ public class MyGraph<V> implements SaxGraph<V> {
      * Execute the Dijkstra algorithm; determine the shortest paths from the start node to all other nodes.
      *
      * @param startNode the node to start searching from
-     * @return the graph (a tree!) which only contains the edges which comprise all shortest paths (a copy)
+     * @return the graph (a tree!) which only contains the edges which comprise all shortest paths (a copy);
+     * the edges have their own weight
      */
     @Override
     public SaxGraph<V> shortestPathsDijkstra(V startNode) {
-        MyGraph<V> result = new MyGraph<>();
-        MyHashMap<V, Boolean> visited = new MyHashMap<>();
-        MyHashMap<V, Double> distances = new MyHashMap<>();
+        return shortestPathTree(startNode).toGraph();
+    }
+
+    /**
+     * Execute the Dijkstra algorithm; record the distance and the last edge (the edge object of this graph, so
+     * nothing is copied) of the shortest path of every reached node.
+     *
+     * @param startNode the node to start searching from
+     * @return the shortest path tree; later changes to this graph are not reflected in it
+     * @throws KeyNotFoundException if the start node is not part of this graph
+     */
+    @Override
+    public ShortestPathTree<V> shortestPathTree(V startNode) throws KeyNotFoundException {
+        return dijkstra(startNode, Double.POSITIVE_INFINITY, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Execute the Dijkstra algorithm and pass every node to the visitor as soon as it is settled, in order of
+     * distance; the search stops when the visitor returns false.
+     *
+     * @param startNode the node to start searching from
+     * @param visitor   receives the settled nodes with their distances
+     * @throws KeyNotFoundException if the start node is not part of this graph
+     */
+    @Override
+    public void visitSettled(V startNode, SettledVisitor<V> visitor) throws KeyNotFoundException {
+        dijkstra(startNode, Double.POSITIVE_INFINITY, Integer.MAX_VALUE, visitor);
+    }
+
+    /**
+     * Execute the Dijkstra algorithm until the end node is settled.
+     *
+     * @param startNode the node to start searching from
+     * @param endNode   the target node
+     * @return the total weight of the shortest path, Double.POSITIVE_INFINITY if there is no path
+     * @throws KeyNotFoundException if startNode or endNode is not part of this graph
+     */
+    @Override
+    public double shortestDistance(V startNode, V endNode) throws KeyNotFoundException {
+        if (!map.contains(endNode)) throw new KeyNotFoundException("Vertex not found: " + endNode);
+        return dijkstra(startNode, Double.POSITIVE_INFINITY, Integer.MAX_VALUE, (node, distance) -> !node.equals(endNode))
+                .distanceTo(endNode);
+    }
+
+    /**
+     * Execute the Dijkstra algorithm until the distance exceeds a budget (an isochrone).
+     *
+     * @param startNode   the node to start searching from
+     * @param maxDistance the largest distance to include
+     * @return the shortest path tree of the nodes within maxDistance; other nodes are unreachable in it
+     * @throws KeyNotFoundException     if the start node is not part of this graph
+     * @throws IllegalArgumentException if maxDistance is negative or not a number
+     */
+    @Override
+    public ShortestPathTree<V> shortestPathTreeWithin(V startNode, double maxDistance) throws KeyNotFoundException {
+        if (!(maxDistance >= 0)) throw new IllegalArgumentException("Invalid maximum distance: " + maxDistance);
+        return dijkstra(startNode, maxDistance, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * Execute the Dijkstra algorithm until a number of nodes (including the start node) is settled.
+     *
+     * @param startNode the node to start searching from
+     * @param count     the number of nodes
+     * @return the shortest path tree of the count nearest nodes; other nodes are unreachable in it
+     * @throws KeyNotFoundException     if the start node is not part of this graph
+     * @throws IllegalArgumentException if count is smaller than 1
+     */
+    @Override
+    public ShortestPathTree<V> nearestNodes(V startNode, int count) throws KeyNotFoundException {
+        if (count < 1) throw new IllegalArgumentException("At least one node is needed: " + count);
+        return dijkstra(startNode, Double.POSITIVE_INFINITY, count, null);
+    }
+
+    /**
+     * Dijkstra with early termination: stops before settling a node farther than maxDistance, after settling
+     * maxCount nodes, or when the visitor returns false.
+     *
+     * @param startNode   the node to start searching from
+     * @param maxDistance the largest distance to settle
+     * @param maxCount    the largest number of nodes to settle
+     * @param visitor     if not null, receives every settled node
+     * @return the tree of the settled nodes
+     * @throws KeyNotFoundException if the start node is not part of this graph
+     */
+    private MapPathTree dijkstra(V startNode, double maxDistance, int maxCount, SettledVisitor<V> visitor) {
+        if (!map.contains(startNode)) throw new KeyNotFoundException("Vertex not found: " + startNode);
+        // one map entry per reached vertex, updated in place, so a relaxation costs a single lookup
+        MyHashMap<V, TreeNode<V>> nodes = new MyHashMap<>(); // grows with the reached vertices, not the graph
+        MyArrayList<V> order = new MyArrayList<>();
+        // queue entries hold the distance as weight; an entry of a vertex which is already settled is stale
         MyHeap<DirectedEdge<V>> queue = new MyHeap<>();
-        distances.add(startNode, 0.0);
+        nodes.add(startNode, new TreeNode<>(0.0, null));
         queue.enqueue(new DirectedEdge<>(startNode, startNode, 0));
 
-        while (!queue.isEmpty()) {
-            DirectedEdge<V> edge = queue.dequeue();
-            V currentVertex = edge.to();
-            if (visited.contains(currentVertex)) {
+        while (!queue.isEmpty() && order.size() < maxCount) {
+            V currentVertex = queue.dequeue().to();
+            TreeNode<V> current = nodes.get(currentVertex);
+            if (current.settled) {
                 continue;
             }
-            visited.add(currentVertex, true);
-
-            result.addVertex(currentVertex);
-            result.addVertex(edge.from());
-
-            if (!edge.from().equals(currentVertex)) {
-                result.addEdge(edge.from(), currentVertex, edge.weight());
+            double distance = current.distance;
+            if (distance > maxDistance) {
+                break;
+            }
+            current.settled = true;
+            order.addLast(currentVertex);
+            if (visitor != null && !visitor.visit(currentVertex, distance)) {
+                break;
             }
 
             for (DirectedEdge<V> neighborEdge : map.get(currentVertex)) {
                 V neighborNode = neighborEdge.to();
-                double newDistance = distances.get(currentVertex) + neighborEdge.weight();
-                if (!distances.contains(neighborNode) || newDistance < distances.get(neighborNode)) {
-                    distances.put(neighborNode, newDistance);
-                    queue.enqueue(new DirectedEdge<>(currentVertex, neighborNode, newDistance));
+                double newDistance = distance + neighborEdge.weight();
+                TreeNode<V> node = nodes.get(neighborNode);
+                if (node == null) {
+                    nodes.add(neighborNode, new TreeNode<>(newDistance, neighborEdge));
+                } else if (newDistance < node.distance) {
+                    node.distance = newDistance;
+                    node.parentEdge = neighborEdge;
+                } else {
+                    continue;
                 }
+                queue.enqueue(new DirectedEdge<>(currentVertex, neighborNode, newDistance));
             }
         }
-        return result;
+        return new MapPathTree(startNode, nodes, order);
     }
 
     /**
@@ -198,18 +300,21 @@ public class MyGraph<V> implements SaxGraph<V> {
         MyHashMap<V, AStarNode> closedList = new MyHashMap<>();
         AStarNode startAStarNode = new AStarNode(null, 0, estimator.estimate(startNode, endNode));
         openList.enqueue(startAStarNode);
+        int settled = 0;
 
         while (!openList.isEmpty()) {
             AStarNode currentNode = openList.dequeue();
             V currentVertex = (currentNode.directedEdge == null) ? startNode : currentNode.directedEdge.to();
 
             if (currentVertex.equals(endNode)) {
+                lastSettledCount.set(settled);
                 closedList.add(currentVertex, currentNode);
                 return reconstructPath(closedList, currentNode);
             }
 
             if (!closedList.contains(currentVertex)) {
                 closedList.add(currentVertex, currentNode);
+                ++settled;
                 for (DirectedEdge<V> neighborEdge : map.get(currentVertex)) {
                     V neighborNode = neighborEdge.to();
                     if (closedList.contains(neighborNode)) {
@@ -224,9 +329,109 @@ public class MyGraph<V> implements SaxGraph<V> {
                 }
             }
         }
+        lastSettledCount.set(settled);
         return null;
     }
 
+    /**
+     * Execute a bidirectional Dijkstra search to determine the shortest path from startNode to endNode.
+     * The forward search follows the edges from startNode, the backward search follows the incoming edges
+     * (kept in a reverse index which is rebuilt after the graph changed) from endNode. They take turns
+     * settling a vertex, and stop when the sum of their smallest queued distances reaches the shortest
+     * path found where the searches meet.
+     *
+     * @param startNode the node to start searching
+     * @param endNode   the target node
+     * @return a list of edges (from start to end) which comprise the shortest path from startNode to endNode,
+     * or null if there is no path
+     * @throws KeyNotFoundException if startNode or endNode is not part of this graph
+     */
+    @Override
+    public SaxList<DirectedEdge<V>> shortestPathBidirectional(V startNode, V endNode) throws KeyNotFoundException {
+        if (!map.contains(startNode) || !map.contains(endNode)) {
+            throw new KeyNotFoundException("One or both vertices not found in the graph");
+        }
+        if (reverseMap == null) {
+            reverseMap = buildReverseMap();
+        }
+        if (startNode.equals(endNode)) {
+            lastSettledCount.set(0);
+            return new MyArrayList<>();
+        }
+
+        Frontier forward = new Frontier(startNode, map, true);
+        Frontier backward = new Frontier(endNode, reverseMap, false);
+        double best = Double.POSITIVE_INFINITY;
+        V meeting = null;
+        boolean forwardTurn = true;
+        int settled = 0;
+        // an exhausted search has an infinite top, so the loop also ends when one of the searches is done
+        while (forward.top() + backward.top() < best) {
+            Frontier current = forwardTurn ? forward : backward;
+            Frontier other = forwardTurn ? backward : forward;
+            V vertex = current.settle();
+            ++settled;
+            double distance = current.distances.get(vertex);
+            for (DirectedEdge<V> edge : current.adjacency.get(vertex)) {
+                V neighbor = current.isForward ? edge.to() : edge.from();
+                double newDistance = distance + edge.weight();
+                Double oldDistance = current.distances.get(neighbor);
+                if (oldDistance == null || newDistance < oldDistance) {
+                    current.distances.put(neighbor, newDistance);
+                    current.parentEdges.put(neighbor, edge);
+                    current.queue.enqueue(new DirectedEdge<>(vertex, neighbor, newDistance));
+                }
+                Double otherDistance = other.distances.get(neighbor);
+                if (otherDistance != null && current.distances.get(neighbor) + otherDistance < best) {
+                    best = current.distances.get(neighbor) + otherDistance;
+                    meeting = neighbor;
+                }
+            }
+            forwardTurn = !forwardTurn;
+        }
+        lastSettledCount.set(settled);
+        if (meeting == null) return null;
+
+        MyArrayList<DirectedEdge<V>> path = new MyArrayList<>();
+        for (V vertex = meeting; !vertex.equals(startNode); ) {
+            DirectedEdge<V> edge = forward.parentEdges.get(vertex);
+            path.addFirst(edge);
+            vertex = edge.from();
+        }
+        for (V vertex = meeting; !vertex.equals(endNode); ) {
+            DirectedEdge<V> edge = backward.parentEdges.get(vertex);
+            path.addLast(edge);
+            vertex = edge.to();
+        }
+        return path;
+    }
+
+    /**
+     * @return the number of vertices settled by the last A* or bidirectional search of the calling thread
+     * (for benchmarks)
+     */
+    public int getLastSettledCount() {
+        return lastSettledCount.get();
+    }
+
+    /**
+     * Builds the reverse index: the incoming edges of every vertex (the edges themselves are shared).
+     *
+     * @return a map from every vertex to the edges which point to it
+     */
+    private MyHashMap<V, MyArrayList<DirectedEdge<V>>> buildReverseMap() {
+        MyHashMap<V, MyArrayList<DirectedEdge<V>>> reverse = new MyHashMap<>();
+        for (V vertex : map.getKeys()) {
+            reverse.add(vertex, new MyArrayList<>());
+        }
+        for (V vertex : map.getKeys()) {
+            for (DirectedEdge<V> edge : map.get(vertex)) {
+                reverse.get(edge.to()).addLast(edge);
+            }
+        }
+        return reverse;
+    }
+
     /**
      * Reconstructs the shortest path from the closed list.
      *
@@ -247,6 +452,22 @@ public class MyGraph<V> implements SaxGraph<V> {
     }
 
 
+    /**
+     * Determine the distances from every source to every target. The searches run on a frozen copy of this
+     * graph (see {@link MyFrozenGraph#distanceMatrix(SaxList, SaxList)}): freezing costs about as much as one
+     * search, and every search after that runs over the compact arrays, in parallel.
+     *
+     * @param sources the nodes to start from
+     * @param targets the nodes to reach
+     * @return a flat matrix: the distance from sources.get(i) to targets.get(j) is at index
+     * i * targets.size() + j, Double.POSITIVE_INFINITY if there is no path
+     * @throws KeyNotFoundException if a source or target is not part of this graph
+     */
+    @Override
+    public double[] distanceMatrix(SaxList<V> sources, SaxList<V> targets) throws KeyNotFoundException {
+        return freeze().distanceMatrix(sources, targets);
+    }
+
     /**
      * Determine the minimal cost (total weight) of edges which are necessary to connect all nodes.
      * A disconnected graph will still be disconnected, but all edges will be examined;
@@ -330,6 +551,21 @@ public class MyGraph<V> implements SaxGraph<V> {
         addNodeToMST(to, mst, visitedNodes);
     }
 
+    /**
+     * Compiles this graph into an immutable graph in compressed sparse row format, with dense int ids
+     * for the vertices (in key order). Later changes to this graph are not reflected in the frozen graph.
+     *
+     * @return the frozen copy of this graph
+     */
+    public MyFrozenGraph<V> freeze() {
+        SaxList<V> vertices = map.getKeys();
+        MyArrayList<MyArrayList<DirectedEdge<V>>> edges = new MyArrayList<>(Math.max(1, vertices.size()));
+        for (V vertex : vertices) {
+            edges.addLast(map.get(vertex));
+        }
+        return new MyFrozenGraph<>(vertices, edges);
+    }
+
     /**
      * Returns an iterator over elements of type {@code T}.
      *
@@ -340,12 +576,82 @@ public class MyGraph<V> implements SaxGraph<V> {
         return new DFSIterator();
     }
 
+    /**
+     * Distance and last edge of the shortest path to a vertex, found so far (final once the vertex is settled).
+     */
+    private static class TreeNode<V> {
+        double distance;
+        DirectedEdge<V> parentEdge; // null for the root
+        boolean settled;
+
+        TreeNode(double distance, DirectedEdge<V> parentEdge) {
+            this.distance = distance;
+            this.parentEdge = parentEdge;
+        }
+    }
+
+    /**
+     * Shortest path tree with the distances and last edges in a hash map; only the settled vertices are part of
+     * the tree.
+     */
+    private class MapPathTree implements ShortestPathTree<V> {
+        private final V root;
+        private final MyHashMap<V, TreeNode<V>> nodes;
+        private final MyArrayList<V> order; // the reached vertices in the order they were settled
+
+        MapPathTree(V root, MyHashMap<V, TreeNode<V>> nodes, MyArrayList<V> order) {
+            this.root = root;
+            this.nodes = nodes;
+            this.order = order;
+        }
+
+        @Override
+        public V getRoot() {
+            return root;
+        }
+
+        @Override
+        public int size() {
+            return order.size();
+        }
+
+        @Override
+        public double distanceTo(V node) throws KeyNotFoundException {
+            if (!map.contains(node)) throw new KeyNotFoundException("Vertex not found: " + node);
+            TreeNode<V> treeNode = nodes.get(node);
+            return (treeNode == null || !treeNode.settled) ? Double.POSITIVE_INFINITY : treeNode.distance;
+        }
+
+        @Override
+        public SaxList<DirectedEdge<V>> pathTo(V node) throws KeyNotFoundException {
+            if (distanceTo(node) == Double.POSITIVE_INFINITY) return null;
+            MyArrayList<DirectedEdge<V>> path = new MyArrayList<>();
+            for (DirectedEdge<V> edge = nodes.get(node).parentEdge; edge != null; edge = nodes.get(edge.from()).parentEdge) {
+                path.addFirst(edge);
+            }
+            return path;
+        }
+
+        @Override
+        public SaxGraph<V> toGraph() {
+            MyGraph<V> result = new MyGraph<>();
+            for (V vertex : order) {
+                result.addVertex(vertex);
+                DirectedEdge<V> edge = nodes.get(vertex).parentEdge;
+                if (edge != null) {
+                    result.addEdge(edge.from(), vertex, edge.weight());
+                }
+            }
+            return result;
+        }
+    }
+
     /**
      * Depth-first search iterator for traversing the graph's vertices.
      */
     private class DFSIterator implements Iterator<V> {
         private final MyHashMap<V, Boolean> visited = new MyHashMap<>();
-        private final MyStack<V> stack = new MyStack<>();
+        private final MyArrayStack<V> stack = new MyArrayStack<>();
         private final Iterator<V> keyIterator = map.getKeys().iterator();
 
         /**
@@ -407,6 +713,57 @@ public class MyGraph<V> implements SaxGraph<V> {
         }
     }
 
+    /**
+     * One direction of a bidirectional search. The queue holds entries (previous, vertex, distance) and may
+     * hold outdated entries of vertices which were reached again over a shorter path; those are skipped.
+     */
+    private class Frontier {
+        final MyHashMap<V, Double> distances = new MyHashMap<>();
+        // forward: the edge over which a vertex was reached; backward: the edge from a vertex toward the end
+        final MyHashMap<V, DirectedEdge<V>> parentEdges = new MyHashMap<>();
+        final MyHashMap<V, Boolean> settled = new MyHashMap<>();
+        final MyHeap<DirectedEdge<V>> queue = new MyHeap<>();
+        final MyHashMap<V, MyArrayList<DirectedEdge<V>>> adjacency;
+        final boolean isForward;
+
+        /**
+         * Initializes a search from a vertex.
+         *
+         * @param start     the vertex to start from
+         * @param adjacency the outgoing (forward) or incoming (backward) edges of every vertex
+         * @param isForward if the search follows the edges in their direction
+         */
+        Frontier(V start, MyHashMap<V, MyArrayList<DirectedEdge<V>>> adjacency, boolean isForward) {
+            this.adjacency = adjacency;
+            this.isForward = isForward;
+            distances.add(start, 0.0);
+            queue.enqueue(new DirectedEdge<>(start, start, 0));
+        }
+
+        /**
+         * Drops the outdated entries at the front of the queue.
+         *
+         * @return the smallest distance of an unsettled vertex in the queue, infinity if there is none
+         */
+        double top() {
+            while (!queue.isEmpty() && settled.contains(queue.peek().to())) {
+                queue.dequeue();
+            }
+            return queue.isEmpty() ? Double.POSITIVE_INFINITY : queue.peek().weight();
+        }
+
+        /**
+         * Settles the vertex at the front of the queue; top() must have been called first.
+         *
+         * @return the settled vertex
+         */
+        V settle() {
+            V vertex = queue.dequeue().to();
+            settled.add(vertex, true);
+            return vertex;
+        }
+    }
+
     /**
      * A node in the A* algorithm, representing a vertex with associated cost values.
      */
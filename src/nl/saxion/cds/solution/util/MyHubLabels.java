@@ -0,0 +1,399 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.KeyNotFoundException;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Hub labeling distance oracle: answers shortest path distances (not paths) by merging two small sorted arrays.
+ * <p>
+ * Every vertex v gets an out-label, a list of (hub, d(v, hub)), and an in-label, a list of (hub, d(hub, v)),
+ * such that every shortest path from s to t passes a hub which is in both the out-label of s and the in-label
+ * of t. The distance is then the minimum of d(s, hub) + d(hub, t) over the common hubs, found in one merge of
+ * the two labels, which are sorted by hub.
+ * <p>
+ * The labels are built with pruned landmark labeling: the vertices are processed in order of importance (by
+ * degree, or by contraction hierarchy rank), and for every hub a forward and a backward Dijkstra add the hub to
+ * the labels of the vertices they settle, except where the labels built so far already give the distance; the
+ * search does not continue past such a vertex. Important vertices cover many shortest paths, so the searches of
+ * later hubs are pruned early and the labels stay small. Hubs are numbered in processing order, so the labels
+ * are sorted by construction.
+ * <p>
+ * The labels are stored in CSR arrays (int hubs, double distances) and can be saved and loaded, bound to the
+ * ids of the frozen graph; loading checks that the edges of the graph are the same.
+ *
+ * @param <V> the type of vertices in the graph
+ */
+public class MyHubLabels<V> {
+    private static final int MAGIC = 0x484c0001;
+
+    private final MyFrozenGraph<V> graph;
+    // the out-labels of vertex id: hubs and distances at outOffsets[id] .. outOffsets[id+1]-1; likewise in-labels
+    private final int[] outOffsets, outHubs;
+    private final double[] outDistances;
+    private final int[] inOffsets, inHubs;
+    private final double[] inDistances;
+
+    /**
+     * Builds the labels, processing the vertices by decreasing degree (incoming plus outgoing edges).
+     *
+     * @param graph the graph
+     */
+    public MyHubLabels(MyFrozenGraph<V> graph) {
+        this(graph, new Builder(graph, degreeOrder(graph)));
+    }
+
+    /**
+     * Builds the labels, processing the vertices by decreasing rank in a contraction hierarchy; this usually
+     * gives smaller labels than the degree order.
+     *
+     * @param hierarchy a contraction hierarchy of the graph
+     */
+    public MyHubLabels(MyContractionHierarchy<V> hierarchy) {
+        this(hierarchy.getGraph(), new Builder(hierarchy.getGraph(), rankOrder(hierarchy)));
+    }
+
+    private MyHubLabels(MyFrozenGraph<V> graph, Builder builder) {
+        this(graph, builder.outLabels, builder.inLabels);
+    }
+
+    private MyHubLabels(MyFrozenGraph<V> graph, Label[] outLabels, Label[] inLabels) {
+        this.graph = graph;
+        int n = graph.size();
+        outOffsets = new int[n + 1];
+        inOffsets = new int[n + 1];
+        for (int id = 0; id < n; ++id) {
+            outOffsets[id + 1] = outOffsets[id] + outLabels[id].size;
+            inOffsets[id + 1] = inOffsets[id] + inLabels[id].size;
+        }
+        outHubs = new int[outOffsets[n]];
+        outDistances = new double[outOffsets[n]];
+        inHubs = new int[inOffsets[n]];
+        inDistances = new double[inOffsets[n]];
+        for (int id = 0; id < n; ++id) {
+            System.arraycopy(outLabels[id].hubs, 0, outHubs, outOffsets[id], outLabels[id].size);
+            System.arraycopy(outLabels[id].distances, 0, outDistances, outOffsets[id], outLabels[id].size);
+            System.arraycopy(inLabels[id].hubs, 0, inHubs, inOffsets[id], inLabels[id].size);
+            System.arraycopy(inLabels[id].distances, 0, inDistances, inOffsets[id], inLabels[id].size);
+        }
+    }
+
+    private MyHubLabels(MyFrozenGraph<V> graph, int[] outOffsets, int[] outHubs, double[] outDistances,
+                        int[] inOffsets, int[] inHubs, double[] inDistances) {
+        this.graph = graph;
+        this.outOffsets = outOffsets;
+        this.outHubs = outHubs;
+        this.outDistances = outDistances;
+        this.inOffsets = inOffsets;
+        this.inHubs = inHubs;
+        this.inDistances = inDistances;
+    }
+
+    /**
+     * Determines the length of the shortest path between two vertices.
+     *
+     * @param startNode the node to start
+     * @param endNode   the target node
+     * @return the length of the shortest path, Double.POSITIVE_INFINITY if there is no path
+     * @throws KeyNotFoundException if startNode or endNode is not part of the graph
+     */
+    public double distance(V startNode, V endNode) throws KeyNotFoundException {
+        return distanceById(graph.indexOf(startNode), graph.indexOf(endNode));
+    }
+
+    /**
+     * Determines the length of the shortest path between two vertices, by merging the out-label of the source
+     * with the in-label of the target.
+     *
+     * @param source the id of the start vertex
+     * @param target the id of the end vertex
+     * @return the length of the shortest path, Double.POSITIVE_INFINITY if there is no path
+     */
+    public double distanceById(int source, int target) {
+        int i = outOffsets[source];
+        int outEnd = outOffsets[source + 1];
+        int j = inOffsets[target];
+        int inEnd = inOffsets[target + 1];
+        double best = Double.POSITIVE_INFINITY;
+        while (i < outEnd && j < inEnd) {
+            int outHub = outHubs[i];
+            int inHub = inHubs[j];
+            if (outHub == inHub) {
+                best = Math.min(best, outDistances[i++] + inDistances[j++]);
+            } else if (outHub < inHub) {
+                ++i;
+            } else {
+                ++j;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return the total number of entries in all out- and in-labels
+     */
+    public int labelEntries() {
+        return outHubs.length + inHubs.length;
+    }
+
+    /**
+     * @return the average number of entries of a label (out- and in-labels together)
+     */
+    public double averageLabelSize() {
+        return (graph.size() == 0) ? 0 : labelEntries() / (2.0 * graph.size());
+    }
+
+    /**
+     * @return the largest number of entries of a label
+     */
+    public int maximumLabelSize() {
+        int maximum = 0;
+        for (int id = 0; id < graph.size(); ++id) {
+            maximum = Math.max(maximum, outOffsets[id + 1] - outOffsets[id]);
+            maximum = Math.max(maximum, inOffsets[id + 1] - inOffsets[id]);
+        }
+        return maximum;
+    }
+
+    /**
+     * Writes the labels to a stream.
+     *
+     * @param stream the stream to write to; it is not closed
+     * @throws IOException if writing fails
+     */
+    public void save(OutputStream stream) throws IOException {
+        DataOutputStream output = new DataOutputStream(stream);
+        output.writeInt(MAGIC);
+        output.writeInt(graph.size());
+        output.writeInt(graph.edgeCount());
+        output.writeLong(fingerprint(graph));
+        writeLabels(output, outOffsets, outHubs, outDistances);
+        writeLabels(output, inOffsets, inHubs, inDistances);
+        output.flush();
+    }
+
+    /**
+     * Reads labels written by {@link #save(OutputStream)} for the same frozen graph.
+     *
+     * @param stream the stream to read from; it is not closed
+     * @param graph  the frozen graph the labels were computed for
+     * @param <V>    the type of vertices in the graph
+     * @return the labels
+     * @throws IOException if reading fails, or the data does not belong to this graph
+     */
+    public static <V> MyHubLabels<V> load(InputStream stream, MyFrozenGraph<V> graph) throws IOException {
+        DataInputStream input = new DataInputStream(stream);
+        if (input.readInt() != MAGIC) throw new IOException("Not a hub labeling");
+        if (input.readInt() != graph.size() || input.readInt() != graph.edgeCount()
+                || input.readLong() != fingerprint(graph)) {
+            throw new IOException("The hub labeling does not belong to this graph");
+        }
+        int[] outOffsets = readOffsets(input, graph.size());
+        int[] outHubs = new int[outOffsets[graph.size()]];
+        double[] outDistances = new double[outHubs.length];
+        readEntries(input, outHubs, outDistances);
+        int[] inOffsets = readOffsets(input, graph.size());
+        int[] inHubs = new int[inOffsets[graph.size()]];
+        double[] inDistances = new double[inHubs.length];
+        readEntries(input, inHubs, inDistances);
+        return new MyHubLabels<>(graph, outOffsets, outHubs, outDistances, inOffsets, inHubs, inDistances);
+    }
+
+    /**
+     * @return a hash of the edges (targets and weights) of the graph, so labels are not loaded for another graph
+     */
+    private static long fingerprint(MyFrozenGraph<?> graph) {
+        long hash = 17;
+        for (int id = 0; id < graph.size(); ++id) {
+            for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); ++edge) {
+                hash = 31 * hash + graph.edgeTarget(edge);
+                hash = 31 * hash + Double.doubleToLongBits(graph.edgeWeight(edge));
+            }
+            hash = 31 * hash + graph.endEdge(id);
+        }
+        return hash;
+    }
+
+    private static void writeLabels(DataOutputStream output, int[] offsets, int[] hubs, double[] distances)
+            throws IOException {
+        for (int offset : offsets) {
+            output.writeInt(offset);
+        }
+        for (int i = 0; i < hubs.length; ++i) {
+            output.writeInt(hubs[i]);
+            output.writeDouble(distances[i]);
+        }
+    }
+
+    private static int[] readOffsets(DataInputStream input, int n) throws IOException {
+        int[] offsets = new int[n + 1];
+        for (int id = 0; id <= n; ++id) {
+            offsets[id] = input.readInt();
+            if (offsets[id] < (id == 0 ? 0 : offsets[id - 1])) throw new IOException("Corrupt hub labeling");
+        }
+        return offsets;
+    }
+
+    private static void readEntries(DataInputStream input, int[] hubs, double[] distances) throws IOException {
+        for (int i = 0; i < hubs.length; ++i) {
+            hubs[i] = input.readInt();
+            distances[i] = input.readDouble();
+        }
+    }
+
+    /**
+     * @return the vertex ids by decreasing degree (the lowest id first on a tie)
+     */
+    private static int[] degreeOrder(MyFrozenGraph<?> graph) {
+        int n = graph.size();
+        int[] degrees = new int[n];
+        for (int id = 0; id < n; ++id) {
+            degrees[id] += graph.endEdge(id) - graph.firstEdge(id);
+            for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); ++edge) {
+                ++degrees[graph.edgeTarget(edge)];
+            }
+        }
+        MyArrayList<Integer> order = new MyArrayList<>(Math.max(1, n));
+        for (int id = 0; id < n; ++id) {
+            order.addLast(id);
+        }
+        order.quickSort((a, b) -> (degrees[a] != degrees[b]) ? Integer.compare(degrees[b], degrees[a]) : Integer.compare(a, b));
+        int[] result = new int[n];
+        for (int i = 0; i < n; ++i) {
+            result[i] = order.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * @return the vertex ids by decreasing contraction hierarchy rank
+     */
+    private static int[] rankOrder(MyContractionHierarchy<?> hierarchy) {
+        int n = hierarchy.getGraph().size();
+        int[] order = new int[n];
+        for (int id = 0; id < n; ++id) {
+            order[n - 1 - hierarchy.rank(id)] = id;
+        }
+        return order;
+    }
+
+    /**
+     * A growable label: hubs (ascending) and distances.
+     */
+    private static class Label {
+        int[] hubs = new int[4];
+        double[] distances = new double[4];
+        int size;
+
+        void add(int hub, double distance) {
+            if (size == hubs.length) {
+                hubs = Arrays.copyOf(hubs, 2 * size);
+                distances = Arrays.copyOf(distances, 2 * size);
+            }
+            hubs[size] = hub;
+            distances[size++] = distance;
+        }
+    }
+
+    /**
+     * Pruned landmark labeling.
+     */
+    private static class Builder {
+        final MyFrozenGraph<?> graph;
+        final Label[] outLabels, inLabels;
+        // the label of the current hub, by hub number (infinity for hubs which are not in it)
+        final double[] hubDistances;
+        final double[] distances;
+        final int[] reached;
+        int reachedCount;
+        final IndexedIntHeap heap;
+
+        Builder(MyFrozenGraph<?> graph, int[] order) {
+            this.graph = graph;
+            int n = graph.size();
+            outLabels = new Label[n];
+            inLabels = new Label[n];
+            for (int id = 0; id < n; ++id) {
+                outLabels[id] = new Label();
+                inLabels[id] = new Label();
+            }
+            hubDistances = new double[n];
+            distances = new double[n];
+            Arrays.fill(hubDistances, Double.POSITIVE_INFINITY);
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            reached = new int[n];
+            heap = new IndexedIntHeap(n);
+
+            for (int hub = 0; hub < n; ++hub) {
+                search(order[hub], hub, true);
+                search(order[hub], hub, false);
+            }
+        }
+
+        /**
+         * A pruned Dijkstra from a hub vertex. Forward, it adds (hub, d(vertex, v)) to the in-labels of the
+         * settled vertices v; backward (over the reversed edges) it adds (hub, d(v, vertex)) to their out-labels.
+         *
+         * @param vertex  the id of the hub vertex
+         * @param hub     the hub number (position in the processing order)
+         * @param forward the direction of the search
+         */
+        private void search(int vertex, int hub, boolean forward) {
+            Label hubLabel = forward ? outLabels[vertex] : inLabels[vertex];
+            for (int i = 0; i < hubLabel.size; ++i) {
+                hubDistances[hubLabel.hubs[i]] = hubLabel.distances[i];
+            }
+            reachedCount = 0;
+            heap.clear();
+            distances[vertex] = 0;
+            reached[reachedCount++] = vertex;
+            heap.insertOrDecrease(vertex, 0);
+            while (!heap.isEmpty()) {
+                int current = heap.poll();
+                double distance = distances[current];
+                Label label = forward ? inLabels[current] : outLabels[current];
+                if (covered(label, distance)) continue; // prune: the labels already give this distance
+                label.add(hub, distance);
+                if (forward) {
+                    for (int edge = graph.firstEdge(current); edge < graph.endEdge(current); ++edge) {
+                        relax(graph.edgeTarget(edge), distance + graph.edgeWeight(edge));
+                    }
+                } else {
+                    for (int i = graph.firstIncoming(current); i < graph.endIncoming(current); ++i) {
+                        int edge = graph.incomingEdge(i);
+                        relax(graph.edgeSource(edge), distance + graph.edgeWeight(edge));
+                    }
+                }
+            }
+            for (int i = 0; i < reachedCount; ++i) {
+                distances[reached[i]] = Double.POSITIVE_INFINITY;
+            }
+            for (int i = 0; i < hubLabel.size; ++i) {
+                hubDistances[hubLabel.hubs[i]] = Double.POSITIVE_INFINITY;
+            }
+        }
+
+        /**
+         * @return if a common hub of the label and the label of the current hub gives a path of at most distance
+         */
+        private boolean covered(Label label, double distance) {
+            for (int i = 0; i < label.size; ++i) {
+                if (hubDistances[label.hubs[i]] + label.distances[i] <= distance) return true;
+            }
+            return false;
+        }
+
+        private void relax(int id, double distance) {
+            if (distance < distances[id]) {
+                if (distances[id] == Double.POSITIVE_INFINITY) reached[reachedCount++] = id;
+                distances[id] = distance;
+                heap.insertOrDecrease(id, distance);
+            }
+        }
+    }
+}
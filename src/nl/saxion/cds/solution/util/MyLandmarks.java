@@ -0,0 +1,139 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.SaxGraph;
+
+import java.util.Arrays;
+
+/**
+ * ALT estimator (A*, Landmarks, Triangle inequality) for shortestPathAStar.
+ * <p>
+ * Preprocessing picks k landmark vertices and stores the distances from every landmark to all vertices and
+ * from all vertices to every landmark. For a landmark L the triangle inequality gives two lower bounds of the
+ * distance from v to t: d(L,t) - d(L,v) and d(v,L) - d(t,L); the estimate is the largest bound over all
+ * landmarks (at least 0). The estimate never overestimates and is consistent, so A* stays exact.
+ * <p>
+ * The landmarks are selected farthest-first: every next landmark is the vertex with the largest round-trip
+ * distance d(L,v) + d(v,L) to its nearest landmark so far (the first one is the farthest from vertex 0), so
+ * they spread over the edges of the graph. Vertices which can not reach and be reached by any landmark count
+ * as infinitely far away, so every part of a disconnected graph gets a landmark as long as there are enough.
+ * <p>
+ * The estimator works for the frozen graph and for the MyGraph it was frozen from; the vertices are translated
+ * to ids with {@link MyFrozenGraph#indexOf(Object)}.
+ *
+ * @param <V> the type of vertices in the graph
+ */
+public class MyLandmarks<V> implements SaxGraph.Estimator<V> {
+    private final MyFrozenGraph<V> graph;
+    private final int[] landmarks;
+    // distances from every landmark to all vertices, and from all vertices to every landmark
+    private final double[][] fromLandmark;
+    private final double[][] toLandmark;
+
+    /**
+     * Selects landmarks and computes their distances.
+     *
+     * @param graph the graph
+     * @param count the number of landmarks (at most the number of vertices are used)
+     * @throws IllegalArgumentException if count is smaller than 1
+     */
+    public MyLandmarks(MyFrozenGraph<V> graph, int count) {
+        if (count < 1) throw new IllegalArgumentException("At least one landmark is needed: " + count);
+        this.graph = graph;
+        int n = graph.size();
+        count = Math.min(count, n);
+        landmarks = new int[count];
+        fromLandmark = new double[count][];
+        toLandmark = new double[count][];
+        if (count == 0) return;
+
+        // round trip distance of every vertex to its nearest landmark, with vertex 0 as a seed
+        double[] nearest = new double[n];
+        double[] from = graph.distances(0);
+        double[] to = graph.distancesTo(0);
+        for (int id = 0; id < n; ++id) {
+            nearest[id] = from[id] + to[id];
+        }
+        for (int i = 0; i < count; ++i) {
+            int landmark = farthest(nearest, i);
+            landmarks[i] = landmark;
+            fromLandmark[i] = graph.distances(landmark);
+            toLandmark[i] = graph.distancesTo(landmark);
+            if (i == 0) Arrays.fill(nearest, Double.POSITIVE_INFINITY); // forget the seed
+            for (int id = 0; id < n; ++id) {
+                nearest[id] = Math.min(nearest[id], fromLandmark[i][id] + toLandmark[i][id]);
+            }
+        }
+    }
+
+    /**
+     * @return the number of landmarks
+     */
+    public int size() {
+        return landmarks.length;
+    }
+
+    /**
+     * @param index the index of a landmark
+     * @return the landmark vertex
+     */
+    public V getLandmark(int index) {
+        return graph.vertexAt(landmarks[index]);
+    }
+
+    /**
+     * Estimates the distance between two vertices.
+     *
+     * @param current the vertex to estimate the distance from
+     * @param target  the vertex to estimate the distance to
+     * @return a lower bound of the distance; infinity if a landmark proves that target can not be reached
+     */
+    @Override
+    public double estimate(V current, V target) {
+        return estimateById(graph.indexOf(current), graph.indexOf(target));
+    }
+
+    /**
+     * Estimates the distance between two vertices, by id.
+     *
+     * @param current the id of the vertex to estimate the distance from
+     * @param target  the id of the vertex to estimate the distance to
+     * @return a lower bound of the distance; infinity if a landmark proves that target can not be reached
+     */
+    public double estimateById(int current, int target) {
+        double estimate = 0;
+        for (int i = 0; i < landmarks.length; ++i) {
+            estimate = Math.max(estimate, bound(fromLandmark[i][target], fromLandmark[i][current]));
+            estimate = Math.max(estimate, bound(toLandmark[i][current], toLandmark[i][target]));
+        }
+        return estimate;
+    }
+
+    /**
+     * One triangle inequality bound: larger - smaller, where larger and smaller are distances via a landmark.
+     * If larger is infinite and smaller is not, the target is unreachable; if both are infinite, the landmark
+     * tells nothing.
+     */
+    private static double bound(double larger, double smaller) {
+        if (smaller == Double.POSITIVE_INFINITY) return 0;
+        return larger - smaller;
+    }
+
+    /**
+     * @return the vertex with the largest distance which is not yet a landmark (the lowest id on a tie)
+     */
+    private int farthest(double[] nearest, int chosen) {
+        int best = -1;
+        for (int id = 0; id < nearest.length; ++id) {
+            if (isLandmark(id, chosen)) continue;
+            if (best < 0 || nearest[id] > nearest[best]) best = id;
+        }
+        return best;
+    }
+
+    private boolean isLandmark(int id, int chosen) {
+        for (int i = 0; i < chosen; ++i) {
+            if (landmarks[i] == id) return true;
+        }
+        return false;
+    }
+}
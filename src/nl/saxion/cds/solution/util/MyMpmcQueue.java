@@ -0,0 +1,216 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import nl.saxion.cds.collection.SaxQueue;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free queue for any number of producer and consumer threads, after Dmitry Vyukov's bounded
+ * MPMC queue.
+ * <p>
+ * Every slot has a sequence number which tells whose turn it is: a producer at position p may fill the slot when
+ * its sequence is p, a consumer at position p may empty it when its sequence is p + 1. A thread claims a position
+ * with one compare-and-set on the shared enqueue (or dequeue) counter, then works on its slot alone and
+ * publishes it by storing the next sequence number. A full or empty queue is detected from the sequence,
+ * without touching the other side's counter. Both counters are padded against false sharing.
+ * <p>
+ * Null values are not allowed, as poll uses null for "empty". size() and peek() are snapshots, which may be
+ * outdated immediately when other threads use the queue.
+ *
+ * @param <V> the type of elements stored in the queue
+ */
+public class MyMpmcQueue<V> implements SaxQueue<V> {
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    // Java prohibits creating an array with a generic type, so we use Object
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final PaddedAtomicLong enqueuePosition = new PaddedAtomicLong();
+    private final PaddedAtomicLong dequeuePosition = new PaddedAtomicLong();
+
+    /**
+     * Initializes a new, empty queue.
+     *
+     * @param capacity the maximum number of elements, rounded up to a power of two
+     * @throws IllegalArgumentException if the capacity is smaller than two or too big
+     */
+    public MyMpmcQueue(int capacity) {
+        if (capacity < 2 || capacity > MAXIMUM_CAPACITY) throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        int length = Integer.highestOneBit(capacity - 1) << 1;
+        elements = new Object[length];
+        sequences = new AtomicLongArray(length);
+        for (int i = 0; i < length; ++i) {
+            sequences.set(i, i);
+        }
+        mask = length - 1;
+    }
+
+    /**
+     * @return the maximum number of elements in the queue
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Determines if the collection has no elements (a snapshot)
+     *
+     * @return if the collection has no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Determines the number of elements in this collection (a snapshot)
+     *
+     * @return size of this collection
+     */
+    @Override
+    public int size() {
+        long first = dequeuePosition.get();
+        return (int) Math.max(0, Math.min(enqueuePosition.get() - first, elements.length));
+    }
+
+    /**
+     * Create a String representation of the data in GraphViz (see <a href="https://graphviz.org">GraphViz</a>)
+     * format, which you can print-copy-paste on the site see <a href="https://dreampuf.github.io/GraphvizOnline">GraphViz online</a>.
+     * Only meaningful when the queue is not used by other threads at the same time.
+     *
+     * @param name name of the produced graph
+     * @return a GraphViz string representation of this collection
+     */
+    @Override
+    public String graphViz(String name) {
+        var builder = new StringBuilder();
+        builder.append("digraph ").append(name).append(" {\n");
+        long first = dequeuePosition.get();
+        long last = enqueuePosition.get();
+        for (long position = first; position + 1 < last; ++position) {
+            builder.append(String.format("\"%s\" -> \"%s\"\n", elements[(int) position & mask], elements[(int) (position + 1) & mask]));
+        }
+        builder.append("}");
+        return builder.toString();
+    }
+
+    /**
+     * Add the value to the back of the queue.
+     *
+     * @param value the value to add
+     * @throws IllegalStateException    if the queue is full
+     * @throws IllegalArgumentException if the value is null
+     */
+    @Override
+    public void enqueue(V value) {
+        if (!offer(value)) throw new IllegalStateException("Queue is full");
+    }
+
+    /**
+     * Add the value to the back of the queue if there is room. Lock-free.
+     *
+     * @param value the value to add
+     * @return true if the value is added, false if the queue is full
+     * @throws IllegalArgumentException if the value is null
+     */
+    public boolean offer(V value) {
+        if (value == null) throw new IllegalArgumentException("Null values are not supported");
+        long position = enqueuePosition.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    elements[index] = value;
+                    sequences.lazySet(index, position + 1); // publishes the element
+                    return true;
+                }
+                position = enqueuePosition.get();
+            } else if (difference < 0) {
+                return false; // the slot still holds an element of the previous round
+            } else {
+                position = enqueuePosition.get(); // another producer claimed this position
+            }
+        }
+    }
+
+    /**
+     * Remove the value from the front of the queue.
+     *
+     * @return the removed value
+     * @throws EmptyCollectionException if the queue is empty
+     */
+    @Override
+    public V dequeue() throws EmptyCollectionException {
+        V value = poll();
+        if (value == null) throw new EmptyCollectionException();
+        return value;
+    }
+
+    /**
+     * Remove the value from the front of the queue if there is one. Lock-free.
+     *
+     * @return the removed value, or null if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    public V poll() {
+        long position = dequeuePosition.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (dequeuePosition.compareAndSet(position, position + 1)) {
+                    V value = (V) elements[index];
+                    elements[index] = null;
+                    sequences.lazySet(index, position + elements.length); // hands the slot to the next round
+                    return value;
+                }
+                position = dequeuePosition.get();
+            } else if (difference < 0) {
+                return null; // the slot is not filled yet
+            } else {
+                position = dequeuePosition.get(); // another consumer claimed this position
+            }
+        }
+    }
+
+    /**
+     * Return the value at the front of the queue, without removing it (a snapshot).
+     *
+     * @return the value at the front
+     * @throws EmptyCollectionException if the queue is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V peek() throws EmptyCollectionException {
+        while (true) {
+            long position = dequeuePosition.get();
+            int index = (int) position & mask;
+            if (sequences.get(index) - (position + 1) < 0) throw new EmptyCollectionException();
+            V value = (V) elements[index];
+            // retry when a consumer took the element in the meantime
+            if (value != null && dequeuePosition.get() == position) return value;
+        }
+    }
+
+    /**
+     * Removes up to maxElements values and passes them to the consumer in the order in which they are removed.
+     * Stops early when the queue is empty.
+     *
+     * @param consumer    receives the values
+     * @param maxElements the maximum number of values to remove
+     * @return the number of removed values
+     */
+    public int drainTo(Consumer<? super V> consumer, int maxElements) {
+        int count = 0;
+        V value;
+        while (count < maxElements && (value = poll()) != null) {
+            ++count;
+            consumer.accept(value);
+        }
+        return count;
+    }
+}
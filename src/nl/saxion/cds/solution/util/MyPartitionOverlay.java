@@ -0,0 +1,486 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.KeyNotFoundException;
+
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Customizable route planning (CRP) style distance queries over a multi-level partition of a frozen graph.
+ * <p>
+ * The partition does not depend on the edge weights. The vertices are first grouped by region (for example
+ * the country of a station), and every region is cut in halves recursively (geometric bisection at the median
+ * of the wider coordinate) until the cells have at most cellSize vertices. Every level groups the cells of the
+ * level below, the coarsest level being the regions themselves. A vertex with an edge to or from another cell
+ * on a level is a boundary vertex of its cell on that level.
+ * <p>
+ * Customization computes, for every cell on every level, the distances between all its boundary vertices
+ * within the cell (a clique), bottom-up: level 0 with Dijkstra on the original edges in the cell, higher
+ * levels on the cliques of the level below. Customization only depends on the weights, so it can be re-run
+ * with {@link #customize(IntToDoubleFunction)} when weights change (a track closed for maintenance gets an
+ * infinite weight), which is much faster than building a contraction hierarchy again.
+ * <p>
+ * A query is a bidirectional Dijkstra which uses the original edges in the lowest cells of start and target,
+ * and for every other vertex the cliques of the highest level on which it is in neither the cell of the start
+ * nor the cell of the target. Queries give distances, not paths. A query uses the weights of the last
+ * customization; customizing while other threads query is safe, every query sees either the old or the new
+ * weights.
+ *
+ * @param <V> the type of vertices in the graph
+ */
+public class MyPartitionOverlay<V> {
+    private final MyFrozenGraph<V> graph;
+    // the cell of every vertex (by id) on every level; level 0 has the smallest cells
+    private final int[][] cells;
+    private final int[] cellCounts;
+    // the boundary vertices of cell c on a level are at boundaryOffsets[level][c] .. boundaryOffsets[level][c+1]-1
+    private final int[][] boundaryOffsets, boundary;
+    // the position of every vertex in the boundary list of its cell, -1 if it is not a boundary vertex
+    private final int[][] boundaryIndex;
+    // the clique of cell c on a level starts at cliqueOffsets[level][c] (a k x k matrix of distances)
+    private final int[][] cliqueOffsets;
+    private volatile Metric metric;
+    private final ThreadLocal<Query> queries;
+
+    /**
+     * Partitions the graph and customizes it with the weights of the graph.
+     *
+     * @param graph    the graph
+     * @param x        the x coordinate of a vertex (for example the longitude)
+     * @param y        the y coordinate of a vertex (for example the latitude)
+     * @param region   the region of a vertex, which forms the top level; null to use no regions
+     * @param cellSize the maximum number of vertices of a cell on level 0
+     * @param levels   the number of levels below the regions
+     * @throws IllegalArgumentException if cellSize or levels is smaller than 1
+     */
+    public MyPartitionOverlay(MyFrozenGraph<V> graph, ToDoubleFunction<V> x, ToDoubleFunction<V> y,
+                              Function<V, ?> region, int cellSize, int levels) {
+        if (cellSize < 1) throw new IllegalArgumentException("A cell needs at least one vertex: " + cellSize);
+        if (levels < 1) throw new IllegalArgumentException("At least one level is needed: " + levels);
+        this.graph = graph;
+        int n = graph.size();
+        cells = new Partition<>(graph, x, y, region, cellSize, levels).cells;
+        int levelCount = cells.length;
+        cellCounts = new int[levelCount];
+        boundaryOffsets = new int[levelCount][];
+        boundary = new int[levelCount][];
+        boundaryIndex = new int[levelCount][];
+        cliqueOffsets = new int[levelCount][];
+        for (int level = 0; level < levelCount; ++level) {
+            int[] cell = cells[level];
+            for (int id = 0; id < n; ++id) {
+                cellCounts[level] = Math.max(cellCounts[level], cell[id] + 1);
+            }
+            boolean[] isBoundary = new boolean[n];
+            for (int id = 0; id < n; ++id) {
+                for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); ++edge) {
+                    int target = graph.edgeTarget(edge);
+                    if (cell[id] != cell[target]) {
+                        isBoundary[id] = true;
+                        isBoundary[target] = true;
+                    }
+                }
+            }
+            // group the boundary vertices by cell with a counting sort
+            int[] offsets = new int[cellCounts[level] + 1];
+            for (int id = 0; id < n; ++id) {
+                if (isBoundary[id]) ++offsets[cell[id] + 1];
+            }
+            for (int c = 0; c < cellCounts[level]; ++c) {
+                offsets[c + 1] += offsets[c];
+            }
+            int[] vertices = new int[offsets[cellCounts[level]]];
+            int[] index = new int[n];
+            int[] next = Arrays.copyOf(offsets, cellCounts[level]);
+            for (int id = 0; id < n; ++id) {
+                index[id] = -1;
+                if (isBoundary[id]) {
+                    index[id] = next[cell[id]] - offsets[cell[id]];
+                    vertices[next[cell[id]]++] = id;
+                }
+            }
+            int[] cliques = new int[cellCounts[level] + 1];
+            for (int c = 0; c < cellCounts[level]; ++c) {
+                int k = offsets[c + 1] - offsets[c];
+                cliques[c + 1] = cliques[c] + k * k;
+            }
+            boundaryOffsets[level] = offsets;
+            boundary[level] = vertices;
+            boundaryIndex[level] = index;
+            cliqueOffsets[level] = cliques;
+        }
+        queries = ThreadLocal.withInitial(() -> new Query(n));
+        customize(graph::edgeWeight);
+    }
+
+    /**
+     * @return the graph of the overlay
+     */
+    public MyFrozenGraph<V> getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return the number of levels, including the regions
+     */
+    public int levelCount() {
+        return cells.length;
+    }
+
+    /**
+     * @param level a level, 0 for the smallest cells
+     * @return the number of cells on that level
+     */
+    public int cellCount(int level) {
+        return cellCounts[level];
+    }
+
+    /**
+     * @param level a level, 0 for the smallest cells
+     * @return the number of boundary vertices on that level
+     */
+    public int boundaryCount(int level) {
+        return boundary[level].length;
+    }
+
+    /**
+     * @param level a level, 0 for the smallest cells
+     * @param id    the id of a vertex
+     * @return the cell of the vertex on that level
+     */
+    public int cellOf(int level, int id) {
+        return cells[level][id];
+    }
+
+    /**
+     * Computes the cliques of all cells for new edge weights. Queries keep using the previous weights until
+     * customization is done.
+     *
+     * @param weight the weight of every edge (by edge index of the frozen graph); Double.POSITIVE_INFINITY
+     *               closes an edge
+     * @throws IllegalArgumentException if a weight is negative or not a number
+     */
+    public void customize(IntToDoubleFunction weight) {
+        double[] weights = new double[graph.edgeCount()];
+        for (int edge = 0; edge < weights.length; ++edge) {
+            weights[edge] = weight.applyAsDouble(edge);
+            if (!(weights[edge] >= 0)) throw new IllegalArgumentException("Invalid weight: " + weights[edge]);
+        }
+        Metric customized = new Metric(weights, new double[cells.length][]);
+        Search search = new Search(graph.size(), customized);
+        for (int level = 0; level < cells.length; ++level) {
+            double[] cliques = new double[cliqueOffsets[level][cellCounts[level]]];
+            for (int c = 0; c < cellCounts[level]; ++c) {
+                int first = boundaryOffsets[level][c];
+                int k = boundaryOffsets[level][c + 1] - first;
+                for (int i = 0; i < k; ++i) {
+                    // Dijkstra in the cell, on the original edges (level 0) or the cliques of the level below
+                    search.reset();
+                    search.reach(boundary[level][first + i], 0);
+                    while (!search.heap.isEmpty()) {
+                        int current = search.heap.poll();
+                        search.scan(level - 1, current, true, level);
+                    }
+                    for (int j = 0; j < k; ++j) {
+                        cliques[cliqueOffsets[level][c] + i * k + j] = search.distances[boundary[level][first + j]];
+                    }
+                }
+            }
+            customized.cliques[level] = cliques;
+        }
+        metric = customized;
+    }
+
+    /**
+     * Determines the length of the shortest path between two vertices.
+     *
+     * @param startNode the node to start
+     * @param endNode   the target node
+     * @return the length of the shortest path, Double.POSITIVE_INFINITY if there is no path
+     * @throws KeyNotFoundException if startNode or endNode is not part of the graph
+     */
+    public double distance(V startNode, V endNode) throws KeyNotFoundException {
+        return distanceById(graph.indexOf(startNode), graph.indexOf(endNode));
+    }
+
+    /**
+     * Determines the length of the shortest path between two vertices, by id.
+     *
+     * @param source the id of the start vertex
+     * @param target the id of the end vertex
+     * @return the length of the shortest path, Double.POSITIVE_INFINITY if there is no path
+     */
+    public double distanceById(int source, int target) {
+        return queries.get().run(source, target);
+    }
+
+    /**
+     * @return the number of vertices settled by the last query of the calling thread (for benchmarks)
+     */
+    public int getLastSettledCount() {
+        return queries.get().settled;
+    }
+
+    /**
+     * Edge weights and the cliques computed from them.
+     */
+    private record Metric(double[] weights, double[][] cliques) {
+    }
+
+    /**
+     * Dijkstra state on the original graph and the overlay, reused for many searches.
+     */
+    private class Search {
+        final Metric metric;
+        final double[] distances;
+        final int[] reached;
+        int reachedCount;
+        final IndexedIntHeap heap;
+        // the search in the other direction (for queries), whose distances give the meeting points
+        Search other;
+        double best;
+
+        Search(int n, Metric metric) {
+            this.metric = metric;
+            distances = new double[n];
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+            reached = new int[n];
+            heap = new IndexedIntHeap(n);
+        }
+
+        /**
+         * Relaxes the edges of a vertex on a level: on level -1 its original edges, on a higher level the
+         * clique of its cell and its original edges to other cells on that level. With within >= 0, only
+         * vertices in the same cell on level within are relaxed.
+         *
+         * @param level   the level, -1 for the original graph
+         * @param current the id of the vertex
+         * @param forward true to follow edges, false to follow them backwards
+         * @param within  the level of the cell to stay in, -1 for the whole graph
+         */
+        void scan(int level, int current, boolean forward, int within) {
+            double distance = distances[current];
+            int[] cell = (level >= 0) ? cells[level] : null;
+            int[] stay = (within >= 0) ? cells[within] : null;
+            if (level >= 0) {
+                int c = cell[current];
+                int first = boundaryOffsets[level][c];
+                int k = boundaryOffsets[level][c + 1] - first;
+                int i = boundaryIndex[level][current];
+                double[] cliques = metric.cliques[level];
+                int offset = cliqueOffsets[level][c];
+                for (int j = 0; j < k; ++j) {
+                    double weight = forward ? cliques[offset + i * k + j] : cliques[offset + j * k + i];
+                    relax(boundary[level][first + j], distance + weight);
+                }
+            }
+            int end = forward ? graph.endEdge(current) : graph.endIncoming(current);
+            for (int i = forward ? graph.firstEdge(current) : graph.firstIncoming(current); i < end; ++i) {
+                int edge = forward ? i : graph.incomingEdge(i);
+                int neighbor = forward ? graph.edgeTarget(edge) : graph.edgeSource(edge);
+                if (cell != null && cell[neighbor] == cell[current]) continue; // covered by the clique
+                if (stay != null && stay[neighbor] != stay[current]) continue;
+                relax(neighbor, distance + metric.weights[edge]);
+            }
+        }
+
+        void relax(int id, double distance) {
+            if (distance < distances[id]) {
+                reach(id, distance);
+                if (other != null && distance + other.distances[id] < best) {
+                    best = distance + other.distances[id];
+                    other.best = best;
+                }
+            }
+        }
+
+        /**
+         * Sets a distance and queues the vertex, remembering it for the reset when it is reached for the
+         * first time.
+         */
+        void reach(int id, double distance) {
+            if (distances[id] == Double.POSITIVE_INFINITY) reached[reachedCount++] = id;
+            distances[id] = distance;
+            heap.insertOrDecrease(id, distance);
+        }
+
+        /**
+         * Clears the state of the previous search.
+         */
+        void reset() {
+            for (int i = 0; i < reachedCount; ++i) {
+                distances[reached[i]] = Double.POSITIVE_INFINITY;
+            }
+            reachedCount = 0;
+            heap.clear();
+            best = Double.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * The state of the queries of one thread; the searches are recreated when the metric changes.
+     */
+    private class Query {
+        final int n;
+        Search forward, backward;
+        int settled;
+
+        Query(int n) {
+            this.n = n;
+        }
+
+        /**
+         * Runs a bidirectional query; it stops when the smallest queued distances of both directions together
+         * are not below the best path found.
+         *
+         * @param source the id of the start vertex
+         * @param target the id of the end vertex
+         * @return the length of the shortest path, infinity if there is none
+         */
+        double run(int source, int target) {
+            Metric current = metric;
+            if (forward == null || forward.metric != current) {
+                forward = new Search(n, current);
+                backward = new Search(n, current);
+                forward.other = backward;
+                backward.other = forward;
+            }
+            forward.reset();
+            backward.reset();
+            settled = 0;
+            forward.reach(source, 0);
+            backward.relax(target, 0); // relax instead of reach: finds the path of length 0 if source == target
+            while (true) {
+                double forwardTop = forward.heap.isEmpty() ? Double.POSITIVE_INFINITY : forward.heap.peekKey();
+                double backwardTop = backward.heap.isEmpty() ? Double.POSITIVE_INFINITY : backward.heap.peekKey();
+                if (forwardTop + backwardTop >= forward.best) break;
+                Search search = (forwardTop <= backwardTop) ? forward : backward;
+                int vertex = search.heap.poll();
+                ++settled;
+                search.scan(queryLevel(vertex, source, target), vertex, search == forward, -1);
+            }
+            return forward.best;
+        }
+
+        /**
+         * @return the highest level on which the vertex is in neither the cell of the source nor the cell of the
+         * target, -1 if it is in the cell of one of them on level 0
+         */
+        private int queryLevel(int vertex, int source, int target) {
+            for (int level = cells.length - 1; level >= 0; --level) {
+                int[] cell = cells[level];
+                if (cell[vertex] != cell[source] && cell[vertex] != cell[target]) return level;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * The metric-independent partition: regions, recursively bisected.
+     */
+    private static class Partition<V> {
+        final double[] xs, ys;
+        final long[] codes; // the bisection bits of every vertex, the first cut in the highest bit
+        final int[][] cells;
+
+        Partition(MyFrozenGraph<V> graph, ToDoubleFunction<V> x, ToDoubleFunction<V> y, Function<V, ?> region,
+                  int cellSize, int levels) {
+            int n = graph.size();
+            xs = new double[n];
+            ys = new double[n];
+            codes = new long[n];
+            int[] regions = new int[n];
+            MyHashMap<Object, Integer> regionIds = new MyHashMap<>();
+            for (int id = 0; id < n; ++id) {
+                V vertex = graph.vertexAt(id);
+                xs[id] = x.applyAsDouble(vertex);
+                ys[id] = y.applyAsDouble(vertex);
+                Object key = (region != null) ? region.apply(vertex) : "";
+                Integer regionId = regionIds.get(key);
+                if (regionId == null) {
+                    regionId = regionIds.size();
+                    regionIds.add(key, regionId);
+                }
+                regions[id] = regionId;
+            }
+
+            // the vertices grouped by region (counting sort)
+            int[] offsets = new int[regionIds.size() + 1];
+            for (int id = 0; id < n; ++id) {
+                ++offsets[regions[id] + 1];
+            }
+            int largest = 0;
+            for (int r = 0; r < regionIds.size(); ++r) {
+                largest = Math.max(largest, offsets[r + 1]);
+                offsets[r + 1] += offsets[r];
+            }
+            int[] order = new int[n];
+            int[] next = Arrays.copyOf(offsets, regionIds.size());
+            for (int id = 0; id < n; ++id) {
+                order[next[regions[id]]++] = id;
+            }
+            int depth = 0;
+            while (depth < 62 && ((long) cellSize << depth) < largest) {
+                ++depth;
+            }
+            for (int r = 0; r < regionIds.size(); ++r) {
+                bisect(order, offsets[r], offsets[r + 1], depth - 1, cellSize);
+            }
+
+            // the number of bisection bits which identify a cell on every level: evenly spread, regions on top
+            int step = Math.max(1, (depth + levels - 1) / levels);
+            MyArrayList<Integer> prefixes = new MyArrayList<>();
+            for (int bits = depth; bits >= 0 && prefixes.size() < levels; bits -= step) {
+                if (bits > 0 || prefixes.isEmpty()) prefixes.addLast(bits);
+            }
+            if (region != null && prefixes.get(prefixes.size() - 1) > 0) prefixes.addLast(0);
+
+            cells = new int[prefixes.size()][n];
+            for (int level = 0; level < prefixes.size(); ++level) {
+                int shift = depth - prefixes.get(level);
+                MyHashMap<Long, Integer> cellIds = new MyHashMap<>();
+                for (int id = 0; id < n; ++id) {
+                    long key = ((long) regions[id] << prefixes.get(level)) | (codes[id] >>> shift);
+                    Integer cell = cellIds.get(key);
+                    if (cell == null) {
+                        cell = cellIds.size();
+                        cellIds.add(key, cell);
+                    }
+                    cells[level][id] = cell;
+                }
+            }
+        }
+
+        /**
+         * Cuts the vertices order[from] .. order[to-1] in halves at the median of the coordinate with the
+         * largest extent, and continues with both halves until they have at most cellSize vertices.
+         *
+         * @param bit the bit of the codes for this cut, -1 if no more cuts are possible
+         */
+        private void bisect(int[] order, int from, int to, int bit, int cellSize) {
+            if (to - from <= cellSize || bit < 0) return;
+            double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+            double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+            MyArrayList<Integer> range = new MyArrayList<>(to - from);
+            for (int i = from; i < to; ++i) {
+                int id = order[i];
+                minX = Math.min(minX, xs[id]);
+                maxX = Math.max(maxX, xs[id]);
+                minY = Math.min(minY, ys[id]);
+                maxY = Math.max(maxY, ys[id]);
+                range.addLast(id);
+            }
+            double[] coordinate = (maxX - minX >= maxY - minY) ? xs : ys;
+            range.quickSort((a, b) -> (coordinate[a] != coordinate[b]) ? Double.compare(coordinate[a], coordinate[b]) : Integer.compare(a, b));
+            int middle = (from + to) >>> 1;
+            for (int i = from; i < to; ++i) {
+                order[i] = range.get(i - from);
+                if (i >= middle) codes[order[i]] |= 1L << bit;
+            }
+            bisect(order, from, middle, bit - 1, cellSize);
+            bisect(order, middle, to, bit - 1, cellSize);
+        }
+    }
+}
@@ -0,0 +1,431 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.DuplicateKeyException;
+import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.SaxBinaryTree;
+import nl.saxion.cds.collection.SaxList;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Persistent (immutable) AVL tree. Nodes are never changed after creation: an update copies only the nodes on
+ * the path from the root to the changed node (plus the nodes of at most one rotation per level), so every
+ * version shares all untouched nodes with the previous one and costs O(log(N)) new nodes.
+ * <p>
+ * {@link #with} and {@link #without} return a new version and leave this tree unchanged. {@link #add} and
+ * {@link #remove} build the new version and publish it atomically as the current version of this tree (with a
+ * compare-and-set, so concurrent writers retry instead of losing updates). A {@link #snapshot()} is handed out
+ * in O(1) and can be read by any number of threads without copying or locking; it never sees later updates.
+ *
+ * @param <K> the type of keys, which must be comparable
+ * @param <V> the type of values associated with the keys
+ */
+public class MyPersistentBinaryTree<K extends Comparable<K>, V> implements SaxBinaryTree<K, V> {
+    private final AtomicReference<Node<K, V>> root;
+
+    /**
+     * Initializes a new, empty tree.
+     */
+    public MyPersistentBinaryTree() {
+        this(null);
+    }
+
+    /**
+     * Initializes a tree with the given version as its current version.
+     *
+     * @param root the root of the version (may be null)
+     */
+    private MyPersistentBinaryTree(Node<K, V> root) {
+        this.root = new AtomicReference<>(root);
+    }
+
+    /**
+     * Returns the current version of this tree. Later updates of this tree are not visible in the snapshot,
+     * and updates of the snapshot are not visible in this tree. Runs in O(1).
+     *
+     * @return a tree with the current version
+     */
+    public MyPersistentBinaryTree<K, V> snapshot() {
+        return new MyPersistentBinaryTree<>(root.get());
+    }
+
+    /**
+     * Returns a new version with the value mapped to the key; this tree is not changed.
+     *
+     * @param key   key which is mapped to value
+     * @param value the value to add
+     * @return the new version
+     * @throws DuplicateKeyException if the key is already part of the collection
+     */
+    public MyPersistentBinaryTree<K, V> with(K key, V value) throws DuplicateKeyException {
+        return new MyPersistentBinaryTree<>(insert(root.get(), key, value));
+    }
+
+    /**
+     * Returns a new version without the key; this tree is not changed.
+     *
+     * @param key key which is mapped to value
+     * @return the new version
+     * @throws KeyNotFoundException if the key is not part of the collection
+     */
+    public MyPersistentBinaryTree<K, V> without(K key) throws KeyNotFoundException {
+        return new MyPersistentBinaryTree<>(delete(root.get(), key));
+    }
+
+    /**
+     * Check if the key is part of this map.
+     * Uses K.equals() to check for equality.
+     *
+     * @param key key to search for
+     * @return if the key is in this collection
+     */
+    @Override
+    public boolean contains(K key) {
+        return getNode(root.get(), key) != null;
+    }
+
+    /**
+     * Get a value which is mapped to the key.
+     *
+     * @param key key which is mapped to value to be found
+     * @return the value mapped to the key or null if the key is not found
+     */
+    @Override
+    public V get(K key) {
+        Node<K, V> node = getNode(root.get(), key);
+        return (node != null) ? node.value : null;
+    }
+
+    /**
+     * Add the value which will be mapped to the key and publish the new version as the current version.
+     * A duplicate key will throw a DuplicateKeyException.
+     *
+     * @param key   key which is mapped to value
+     * @param value the value to add
+     * @throws DuplicateKeyException if the key is already part of the collection
+     */
+    @Override
+    public void add(K key, V value) throws DuplicateKeyException {
+        Node<K, V> current;
+        Node<K, V> next;
+        do {
+            current = root.get();
+            next = insert(current, key, value);
+        } while (!root.compareAndSet(current, next));
+    }
+
+    /**
+     * Remove the value which is mapped with the key and publish the new version as the current version.
+     *
+     * @param key key which is mapped to value
+     * @return the value which is removed from the collection
+     * @throws KeyNotFoundException if the key is not part of the collection
+     */
+    @Override
+    public V remove(K key) throws KeyNotFoundException {
+        Node<K, V> current;
+        Node<K, V> next;
+        Node<K, V> removed;
+        do {
+            current = root.get();
+            removed = getNode(current, key);
+            if (removed == null) throw new KeyNotFoundException(key.toString());
+            next = delete(current, key);
+        } while (!root.compareAndSet(current, next));
+        return removed.value;
+    }
+
+    /**
+     * Retrieves a list of all keys in the tree in sorted order.
+     *
+     * @return a list of all keys in ascending order
+     */
+    @Override
+    public SaxList<K> getKeys() {
+        SaxList<K> keys = new MyArrayList<>();
+        getKeysInOrder(root.get(), keys);
+        return keys;
+    }
+
+    /**
+     * Returns an iterator over the entries of the current version in ascending order of the keys.
+     * Nodes have no parent pointers, so the path to the next node is kept on a stack of O(log(N)) nodes.
+     * The iterator never fails: later updates create new versions and do not affect it.
+     *
+     * @return an ascending iterator over the entries
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new Iterator<>() {
+            private final MyArrayStack<Node<K, V>> path = new MyArrayStack<>();
+
+            {
+                pushLeftSpine(root.get());
+            }
+
+            private void pushLeftSpine(Node<K, V> node) {
+                for (; node != null; node = node.left) {
+                    path.push(node);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public Entry<K, V> next() {
+                if (path.isEmpty()) throw new NoSuchElementException();
+                Node<K, V> node = path.pop();
+                pushLeftSpine(node.right);
+                return node;
+            }
+        };
+    }
+
+    /**
+     * Determines if the collection has no elements
+     *
+     * @return if the collection has no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return root.get() == null;
+    }
+
+    /**
+     * Determines the number of elements in this collection
+     *
+     * @return size of this collection
+     */
+    @Override
+    public int size() {
+        return count(root.get());
+    }
+
+    /**
+     * Create a String representation of the data in GraphViz (see <a href="https://graphviz.org">GraphViz</a>)
+     * format, which you can print-copy-paste on the site see <a href="https://dreampuf.github.io/GraphvizOnline">GraphViz online</a>.
+     *
+     * @param name name of the produced graph
+     * @return a GraphViz string representation of this collection
+     */
+    @Override
+    public String graphViz(String name) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("digraph ").append(name).append(" {\n");
+        sb.append("    node [shape=circle];\n");
+        generateGraphViz(sb, root.get());
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Recursively generates the GraphViz representation for the tree.
+     *
+     * @param sb   the StringBuilder to append GraphViz content
+     * @param node the current node in the recursion
+     */
+    private void generateGraphViz(StringBuilder sb, Node<K, V> node) {
+        if (node != null) {
+            sb.append("    ").append(node.key).append(" [label=\"").append(node.value).append("\"];\n");
+            if (node.left != null) {
+                sb.append("    ").append(node.key).append(" -> ").append(node.left.key).append(";\n");
+                generateGraphViz(sb, node.left);
+            }
+            if (node.right != null) {
+                sb.append("    ").append(node.key).append(" -> ").append(node.right.key).append(";\n");
+                generateGraphViz(sb, node.right);
+            }
+        }
+    }
+
+    /**
+     * Adds keys to the list in in-order traversal, ensuring sorted order.
+     *
+     * @param node the current node in the traversal
+     * @param keys the list of keys being populated
+     */
+    private void getKeysInOrder(Node<K, V> node, SaxList<K> keys) {
+        if (node != null) {
+            getKeysInOrder(node.left, keys);
+            keys.addLast(node.key);
+            getKeysInOrder(node.right, keys);
+        }
+    }
+
+    /**
+     * Finds the node with the key in the version with the given root.
+     *
+     * @param node the root of the version
+     * @param key  the key to locate
+     * @return the node with the given key or null if not found
+     */
+    private Node<K, V> getNode(Node<K, V> node, K key) {
+        while (node != null) {
+            int compareResult = key.compareTo(node.key);
+            if (compareResult == 0) return node;
+            node = (compareResult < 0) ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * Recursively creates a new version of a subtree with the key added, copying the path to the new node.
+     *
+     * @param node  the root of the subtree (not changed)
+     * @param key   the key to add
+     * @param value the value to add
+     * @return the root of the new subtree
+     * @throws DuplicateKeyException if the key is already part of the subtree
+     */
+    private Node<K, V> insert(Node<K, V> node, K key, V value) throws DuplicateKeyException {
+        if (node == null) return new Node<>(key, value, null, null);
+        int compareResult = key.compareTo(node.key);
+        if (compareResult == 0) throw new DuplicateKeyException(key.toString());
+        if (compareResult < 0) return balance(node.key, node.value, insert(node.left, key, value), node.right);
+        return balance(node.key, node.value, node.left, insert(node.right, key, value));
+    }
+
+    /**
+     * Recursively creates a new version of a subtree with the key removed, copying the path to the removed node
+     * and the path to its successor.
+     *
+     * @param node the root of the subtree (not changed)
+     * @param key  the key to remove
+     * @return the root of the new subtree
+     * @throws KeyNotFoundException if the key is not part of the subtree
+     */
+    private Node<K, V> delete(Node<K, V> node, K key) throws KeyNotFoundException {
+        if (node == null) throw new KeyNotFoundException(key.toString());
+        int compareResult = key.compareTo(node.key);
+        if (compareResult < 0) return balance(node.key, node.value, delete(node.left, key), node.right);
+        if (compareResult > 0) return balance(node.key, node.value, node.left, delete(node.right, key));
+        if (node.left == null) return node.right;
+        if (node.right == null) return node.left;
+        Node<K, V> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.key, successor.value, node.left, deleteMin(node.right));
+    }
+
+    /**
+     * Recursively creates a new version of a subtree without its smallest key.
+     *
+     * @param node the root of the subtree (not changed, not null)
+     * @return the root of the new subtree
+     */
+    private Node<K, V> deleteMin(Node<K, V> node) {
+        if (node.left == null) return node.right;
+        return balance(node.key, node.value, deleteMin(node.left), node.right);
+    }
+
+    /**
+     * Creates a balanced node with the given key and value above two subtrees, whose heights differ at most 2.
+     * Rotations create new nodes instead of changing the existing ones.
+     *
+     * @param key   the key of the node
+     * @param value the value of the node
+     * @param left  the left subtree
+     * @param right the right subtree
+     * @return the root of the balanced subtree
+     */
+    private Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+        int balanceFactor = height(left) - height(right);
+        if (balanceFactor > 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+            }
+            Node<K, V> pivot = left.right;
+            return new Node<>(pivot.key, pivot.value,
+                    new Node<>(left.key, left.value, left.left, pivot.left),
+                    new Node<>(key, value, pivot.right, right));
+        }
+        if (balanceFactor < -1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+            }
+            Node<K, V> pivot = right.left;
+            return new Node<>(pivot.key, pivot.value,
+                    new Node<>(key, value, left, pivot.left),
+                    new Node<>(right.key, right.value, pivot.right, right.right));
+        }
+        return new Node<>(key, value, left, right);
+    }
+
+    /**
+     * Retrieves the height of a node.
+     *
+     * @param node the node whose height is to be retrieved
+     * @return the height of the node, or 0 if null
+     */
+    private int height(Node<K, V> node) {
+        return (node == null) ? 0 : node.height;
+    }
+
+    /**
+     * Retrieves the number of nodes in the subtree of a node.
+     *
+     * @param node the root of the subtree
+     * @return the number of nodes in the subtree, or 0 if null
+     */
+    private int count(Node<K, V> node) {
+        return (node == null) ? 0 : node.count;
+    }
+
+    /**
+     * Immutable node; all fields are final, so a published version is safely visible to every thread.
+     */
+    private static final class Node<K extends Comparable<K>, V> implements Entry<K, V> {
+        final K key;
+        final V value;
+        final Node<K, V> left;
+        final Node<K, V> right;
+        final int height;
+        // number of nodes in the subtree of this node (including itself)
+        final int count;
+
+        /**
+         * Initializes a new node above two subtrees.
+         *
+         * @param key   the key of the node
+         * @param value the value of the node
+         * @param left  the left subtree (may be null)
+         * @param right the right subtree (may be null)
+         */
+        Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            int leftHeight = (left == null) ? 0 : left.height;
+            int rightHeight = (right == null) ? 0 : right.height;
+            this.height = 1 + Math.max(leftHeight, rightHeight);
+            this.count = 1 + ((left == null) ? 0 : left.count) + ((right == null) ? 0 : right.count);
+        }
+
+        /**
+         * Gets the key stored in this node.
+         *
+         * @return the key of this node
+         */
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        /**
+         * Gets the value stored in this node.
+         *
+         * @return the value of this node
+         */
+        @Override
+        public V getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,548 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.DuplicateKeyException;
+import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.ListNotSortedException;
+import nl.saxion.cds.collection.SaxBinaryTree;
+import nl.saxion.cds.collection.SaxList;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Sorted map for read-mostly data, stored in flat arrays instead of one object per entry.
+ * <p>
+ * The bulk of the entries is kept in the base: parallel key and value arrays, searched with a binary search.
+ * With the EYTZINGER layout the base is stored in breadth-first order of the implicit search tree
+ * (the children of position i are 2i and 2i + 1), so the first levels of every search share the same few
+ * cache lines and the search loop has no data dependent exit.
+ * <p>
+ * Writes are batched: new keys go to a small sorted delta buffer, and removed base keys are marked with a
+ * tombstone. When the delta buffer is full, or half of the base is removed, both are merged into a new base
+ * in O(N). The delta buffer grows with the square root of the base, so an add costs amortized O(sqrt(N)).
+ * Maps which are built once should be created from sorted lists in O(N).
+ *
+ * @param <K> the type of keys, which must be comparable
+ * @param <V> the type of values associated with the keys
+ */
+public class MySortedArrayMap<K extends Comparable<K>, V> implements SaxBinaryTree<K, V> {
+    // Minimum capacity of the delta buffer
+    private static final int MINIMUM_DELTA = 16;
+    // Position which stands for "no position"
+    private static final int NONE = -1;
+
+    /**
+     * Order of the keys in the base arrays.
+     */
+    public enum Layout {
+        SORTED, EYTZINGER
+    }
+
+    private final Layout layout;
+    // Java prohibits creating an array with a generic type, so we use Object
+    private Object[] keys;
+    private Object[] values;
+    private boolean[] removed;
+    private int baseSize;
+    private int removedCount;
+    private Object[] deltaKeys;
+    private Object[] deltaValues;
+    private int deltaSize;
+    // number of changes, used by the iterators to detect concurrent modification
+    private int modCount;
+
+    /**
+     * Initializes a new, empty map with the sorted layout.
+     */
+    public MySortedArrayMap() {
+        this(Layout.SORTED);
+    }
+
+    /**
+     * Initializes a new, empty map.
+     *
+     * @param layout order of the keys in the base arrays
+     */
+    public MySortedArrayMap(Layout layout) {
+        this.layout = layout;
+        build(new Object[0], new Object[0], 0);
+    }
+
+    /**
+     * Initializes a map from keys in ascending order and their values, in O(N).
+     *
+     * @param keys   the keys in strictly ascending order
+     * @param values the values, in the same order as the keys
+     * @param layout order of the keys in the base arrays
+     * @throws IllegalArgumentException if the lists have a different size
+     * @throws ListNotSortedException   if the keys are not in ascending order
+     * @throws DuplicateKeyException    if a key occurs more than once
+     */
+    public MySortedArrayMap(SaxList<K> keys, SaxList<V> values, Layout layout) {
+        if (keys.size() != values.size()) {
+            throw new IllegalArgumentException("Number of keys (" + keys.size() + ") and values (" + values.size() + ") differ");
+        }
+        this.layout = layout;
+        Object[] sortedKeys = new Object[keys.size()];
+        Object[] sortedValues = new Object[values.size()];
+        int count = 0;
+        K previous = null;
+        for (K key : keys) {
+            if (previous != null) {
+                int compareResult = previous.compareTo(key);
+                if (compareResult == 0) throw new DuplicateKeyException(key.toString());
+                if (compareResult > 0) throw new ListNotSortedException();
+            }
+            sortedKeys[count++] = previous = key;
+        }
+        count = 0;
+        for (V value : values) {
+            sortedValues[count++] = value;
+        }
+        build(sortedKeys, sortedValues, count);
+    }
+
+    /**
+     * @return the order of the keys in the base arrays
+     */
+    public Layout getLayout() {
+        return layout;
+    }
+
+    /**
+     * Check if the key is part of this map.
+     * Uses K.equals() to check for equality.
+     *
+     * @param key key to search for
+     * @return if the key is in this collection
+     */
+    @Override
+    public boolean contains(K key) {
+        return deltaSearch(key) >= 0 || liveBasePosition(key) != NONE;
+    }
+
+    /**
+     * Get a value which is mapped to the key.
+     *
+     * @param key key which is mapped to value to be found
+     * @return the value mapped to the key or null if the key is not found
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int position = liveBasePosition(key);
+        if (position != NONE) return (V) values[position];
+        int index = deltaSearch(key);
+        return (index >= 0) ? (V) deltaValues[index] : null;
+    }
+
+    /**
+     * Add the value which will be mapped to the key.
+     * A duplicate key will throw a DuplicateKeyException.
+     * A key which was removed from the base is restored in place; other keys go to the delta buffer.
+     *
+     * @param key   key which is mapped to value
+     * @param value the value to add
+     * @throws DuplicateKeyException if the key is already part of the collection
+     */
+    @Override
+    public void add(K key, V value) throws DuplicateKeyException {
+        int position = basePosition(key);
+        if (position != NONE) {
+            if (!removed[position]) throw new DuplicateKeyException(key.toString());
+            removed[position] = false;
+            --removedCount;
+            values[position] = value;
+            ++modCount;
+            return;
+        }
+        int index = deltaSearch(key);
+        if (index >= 0) throw new DuplicateKeyException(key.toString());
+        index = -index - 1;
+        System.arraycopy(deltaKeys, index, deltaKeys, index + 1, deltaSize - index);
+        System.arraycopy(deltaValues, index, deltaValues, index + 1, deltaSize - index);
+        deltaKeys[index] = key;
+        deltaValues[index] = value;
+        ++deltaSize;
+        ++modCount;
+        if (deltaSize == deltaKeys.length) merge();
+    }
+
+    /**
+     * Remove the value which is mapped with the key from the collection.
+     * A key in the base is only marked as removed, until the next merge.
+     *
+     * @param key key which is mapped to value
+     * @return the value which is removed from the collection
+     * @throws KeyNotFoundException if the key is not part of the collection
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key) throws KeyNotFoundException {
+        int position = liveBasePosition(key);
+        if (position != NONE) {
+            V value = (V) values[position];
+            removed[position] = true;
+            values[position] = null; // the value can be garbage collected
+            ++removedCount;
+            ++modCount;
+            if (removedCount > baseSize / 2) merge();
+            return value;
+        }
+        int index = deltaSearch(key);
+        if (index < 0) throw new KeyNotFoundException(key.toString());
+        V value = (V) deltaValues[index];
+        System.arraycopy(deltaKeys, index + 1, deltaKeys, index, deltaSize - index - 1);
+        System.arraycopy(deltaValues, index + 1, deltaValues, index, deltaSize - index - 1);
+        --deltaSize;
+        deltaKeys[deltaSize] = deltaValues[deltaSize] = null;
+        ++modCount;
+        return value;
+    }
+
+    /**
+     * Merges the delta buffer and the tombstones into the base now, e.g. after a batch of writes, so that
+     * following lookups only search the base.
+     */
+    public void flush() {
+        if (deltaSize > 0 || removedCount > 0) merge();
+    }
+
+    /**
+     * Retrieves a list of all keys in the tree in sorted order.
+     *
+     * @return a list of all keys in ascending order
+     */
+    @Override
+    public SaxList<K> getKeys() {
+        SaxList<K> list = new MyArrayList<>(Math.max(1, size()));
+        for (Entry<K, V> entry : this) {
+            list.addLast(entry.getKey());
+        }
+        return list;
+    }
+
+    /**
+     * Returns the entries with a key from fromKey (inclusive) until toKey (exclusive) in ascending order.
+     *
+     * @param fromKey lowest key (inclusive)
+     * @param toKey   highest key (exclusive)
+     * @return the entries in the range
+     */
+    public Iterable<Entry<K, V>> range(K fromKey, K toKey) {
+        return () -> {
+            int index = deltaSearch(fromKey);
+            return new MergeIterator(lowerBound(fromKey), (index >= 0) ? index : -index - 1, toKey);
+        };
+    }
+
+    /**
+     * Returns an iterator over all entries in ascending order of the keys, merging the base and the delta buffer.
+     * It fails fast with a ConcurrentModificationException when the map is changed.
+     *
+     * @return an ascending iterator over the entries
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new MergeIterator(firstPosition(), 0, null);
+    }
+
+    /**
+     * Determines if the collection has no elements
+     *
+     * @return if the collection has no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Determines the number of elements in this collection
+     *
+     * @return size of this collection
+     */
+    @Override
+    public int size() {
+        return baseSize - removedCount + deltaSize;
+    }
+
+    /**
+     * Create a String representation of the data in GraphViz (see <a href="https://graphviz.org">GraphViz</a>)
+     * format, which you can print-copy-paste on the site see <a href="https://dreampuf.github.io/GraphvizOnline">GraphViz online</a>.
+     * The base and the delta buffer are drawn as records in storage order; removed keys are shown between brackets.
+     *
+     * @param name name of the produced graph
+     * @return a GraphViz string representation of this collection
+     */
+    @Override
+    public String graphViz(String name) {
+        int offset = (layout == Layout.EYTZINGER) ? 1 : 0;
+        StringBuilder sb = new StringBuilder();
+        sb.append("digraph ").append(name).append(" {\n");
+        sb.append("    node [shape=record];\n");
+        sb.append("    base [label=\"");
+        for (int position = offset; position < baseSize + offset; ++position) {
+            if (position > offset) sb.append('|');
+            if (removed[position]) {
+                sb.append("(").append(keys[position]).append(")");
+            } else {
+                sb.append(keys[position]).append(": ").append(values[position]);
+            }
+        }
+        sb.append("\"];\n");
+        sb.append("    delta [label=\"");
+        for (int index = 0; index < deltaSize; ++index) {
+            if (index > 0) sb.append('|');
+            sb.append(deltaKeys[index]).append(": ").append(deltaValues[index]);
+        }
+        sb.append("\"];\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    /**
+     * Replaces the base by the given sorted entries and creates a new, empty delta buffer.
+     *
+     * @param sortedKeys   the keys in ascending order
+     * @param sortedValues the values, in the same order as the keys
+     * @param count        the number of entries
+     */
+    private void build(Object[] sortedKeys, Object[] sortedValues, int count) {
+        baseSize = count;
+        removedCount = 0;
+        if (layout == Layout.SORTED) {
+            keys = sortedKeys;
+            values = sortedValues;
+            removed = new boolean[count];
+        } else {
+            // position 0 is not used, so the children of position i are 2i and 2i + 1
+            keys = new Object[count + 1];
+            values = new Object[count + 1];
+            removed = new boolean[count + 1];
+            fillEytzinger(sortedKeys, sortedValues, 0, 1);
+        }
+        int deltaCapacity = Math.max(MINIMUM_DELTA, (int) Math.sqrt(count));
+        deltaKeys = new Object[deltaCapacity];
+        deltaValues = new Object[deltaCapacity];
+        deltaSize = 0;
+        ++modCount;
+    }
+
+    /**
+     * Recursively copies the sorted entries in in-order to the implicit tree at the given position.
+     *
+     * @param sortedKeys   the keys in ascending order
+     * @param sortedValues the values, in the same order as the keys
+     * @param next         the index of the next sorted entry to copy
+     * @param position     the position in the implicit tree
+     * @return the index of the next sorted entry to copy afterward
+     */
+    private int fillEytzinger(Object[] sortedKeys, Object[] sortedValues, int next, int position) {
+        if (position <= baseSize) {
+            next = fillEytzinger(sortedKeys, sortedValues, next, 2 * position);
+            keys[position] = sortedKeys[next];
+            values[position] = sortedValues[next++];
+            next = fillEytzinger(sortedKeys, sortedValues, next, 2 * position + 1);
+        }
+        return next;
+    }
+
+    /**
+     * Merges the live base entries and the delta buffer into a new base, in O(N).
+     */
+    private void merge() {
+        int count = size();
+        Object[] sortedKeys = new Object[count];
+        Object[] sortedValues = new Object[count];
+        int index = 0;
+        for (Entry<K, V> entry : this) {
+            sortedKeys[index] = entry.getKey();
+            sortedValues[index++] = entry.getValue();
+        }
+        build(sortedKeys, sortedValues, count);
+    }
+
+    @SuppressWarnings("unchecked")
+    private K key(int position) {
+        return (K) keys[position];
+    }
+
+    /**
+     * Searches the position in the base of the first key which is bigger than or equal to the given key.
+     *
+     * @param key the key to search for
+     * @return the position or NONE if all keys are smaller
+     */
+    private int lowerBound(K key) {
+        if (layout == Layout.SORTED) {
+            int low = 0;
+            int high = baseSize;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (key(middle).compareTo(key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return (low < baseSize) ? low : NONE;
+        }
+        int position = 1;
+        while (position <= baseSize) {
+            position = 2 * position + (key(position).compareTo(key) < 0 ? 1 : 0);
+        }
+        // the path went right after the last key which was bigger or equal; undo those right steps and that left step
+        position >>= Integer.numberOfTrailingZeros(~position) + 1;
+        return (position == 0) ? NONE : position;
+    }
+
+    /**
+     * @param key the key to search for
+     * @return the position of the key in the base (which may be removed) or NONE if the key is not in the base
+     */
+    private int basePosition(K key) {
+        int position = lowerBound(key);
+        return (position != NONE && key(position).compareTo(key) == 0) ? position : NONE;
+    }
+
+    /**
+     * @param key the key to search for
+     * @return the position of the key in the base or NONE if the key is not in the base or removed
+     */
+    private int liveBasePosition(K key) {
+        int position = basePosition(key);
+        return (position != NONE && !removed[position]) ? position : NONE;
+    }
+
+    /**
+     * @return the position of the smallest key in the base or NONE if the base is empty
+     */
+    private int firstPosition() {
+        if (baseSize == 0) return NONE;
+        if (layout == Layout.SORTED) return 0;
+        int position = 1;
+        while (2 * position <= baseSize) {
+            position *= 2;
+        }
+        return position;
+    }
+
+    /**
+     * @param position a position in the base
+     * @return the position of the next bigger key in the base or NONE if there is none
+     */
+    private int nextPosition(int position) {
+        if (layout == Layout.SORTED) return (position + 1 < baseSize) ? position + 1 : NONE;
+        if (2 * position + 1 <= baseSize) {
+            // the leftmost position in the right subtree
+            position = 2 * position + 1;
+            while (2 * position <= baseSize) {
+                position *= 2;
+            }
+            return position;
+        }
+        // go up while position is a right child, then one more step to the parent
+        position >>= Integer.numberOfTrailingZeros(~position) + 1;
+        return (position == 0) ? NONE : position;
+    }
+
+    /**
+     * Binary search in the delta buffer.
+     *
+     * @param key the key to search for
+     * @return the index of the key, or (-(insertion point) - 1) if the key is not in the delta buffer
+     */
+    @SuppressWarnings("unchecked")
+    private int deltaSearch(K key) {
+        int low = 0;
+        int high = deltaSize - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int compareResult = ((K) deltaKeys[middle]).compareTo(key);
+            if (compareResult < 0) {
+                low = middle + 1;
+            } else if (compareResult > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    /**
+     * Iterator which merges the live base entries and the delta buffer in ascending order, until a bound.
+     */
+    private class MergeIterator implements Iterator<Entry<K, V>> {
+        private final K bound;
+        private final int expectedModCount = modCount;
+        private int position;
+        private int index;
+
+        /**
+         * @param position the first position in the base (or NONE)
+         * @param index    the first index in the delta buffer
+         * @param bound    the key at which to stop (exclusive), or null to iterate until the end
+         */
+        MergeIterator(int position, int index, K bound) {
+            this.position = position;
+            this.index = index;
+            this.bound = bound;
+            skipRemoved();
+        }
+
+        private void skipRemoved() {
+            while (position != NONE && removed[position]) {
+                position = nextPosition(position);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private K nextKey() {
+            if (position == NONE) return (index < deltaSize) ? (K) deltaKeys[index] : null;
+            if (index == deltaSize) return key(position);
+            K deltaKey = (K) deltaKeys[index];
+            return (key(position).compareTo(deltaKey) < 0) ? key(position) : deltaKey;
+        }
+
+        @Override
+        public boolean hasNext() {
+            K key = nextKey();
+            return key != null && (bound == null || key.compareTo(bound) < 0);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (modCount != expectedModCount) throw new ConcurrentModificationException();
+            if (!hasNext()) throw new NoSuchElementException();
+            Entry<K, V> entry;
+            if (position != NONE && (index == deltaSize || key(position).compareTo((K) deltaKeys[index]) < 0)) {
+                entry = new ArrayEntry<>(key(position), (V) values[position]);
+                position = nextPosition(position);
+                skipRemoved();
+            } else {
+                entry = new ArrayEntry<>((K) deltaKeys[index], (V) deltaValues[index]);
+                ++index;
+            }
+            return entry;
+        }
+    }
+
+    /**
+     * A copy of an entry of the map.
+     */
+    private record ArrayEntry<K, V>(K key, V value) implements Entry<K, V> {
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import nl.saxion.cds.collection.SaxQueue;
+
+import java.util.function.Consumer;
+
+/**
+ * Bounded wait-free queue for exactly one producer thread and one consumer thread (a Lamport ring buffer).
+ * <p>
+ * The producer only writes the tail and the consumer only writes the head, so no compare-and-set is needed:
+ * an element is published by writing it to the buffer and then storing the new tail with release semantics,
+ * and a slot is handed back by clearing it and then storing the new head. Each side caches the last seen
+ * index of the other side and only reads the shared counter again when the cached value says the queue is
+ * full (or empty). Both counters are padded against false sharing.
+ * <p>
+ * enqueue and offer may only be called by the producer; dequeue, poll, peek and drainTo only by the consumer.
+ * Null values are not allowed, as poll uses null for "empty".
+ *
+ * @param <V> the type of elements stored in the queue
+ */
+public class MySpscQueue<V> implements SaxQueue<V> {
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    // Java prohibits creating an array with a generic type, so we use Object
+    private final Object[] elements;
+    private final int mask;
+    // next position to read; cached is the consumer's last seen tail
+    private final PaddedAtomicLong head = new PaddedAtomicLong();
+    // next position to write; cached is the producer's last seen head
+    private final PaddedAtomicLong tail = new PaddedAtomicLong();
+
+    /**
+     * Initializes a new, empty queue.
+     *
+     * @param capacity the maximum number of elements, rounded up to a power of two
+     * @throws IllegalArgumentException if the capacity is smaller than one or too big
+     */
+    public MySpscQueue(int capacity) {
+        if (capacity < 1 || capacity > MAXIMUM_CAPACITY) throw new IllegalArgumentException("Invalid capacity: " + capacity);
+        elements = new Object[(capacity == 1) ? 1 : Integer.highestOneBit(capacity - 1) << 1];
+        mask = elements.length - 1;
+    }
+
+    /**
+     * @return the maximum number of elements in the queue
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Determines if the collection has no elements (a snapshot, which may be outdated immediately)
+     *
+     * @return if the collection has no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Determines the number of elements in this collection (a snapshot, which may be outdated immediately)
+     *
+     * @return size of this collection
+     */
+    @Override
+    public int size() {
+        long currentHead = head.get();
+        return (int) Math.max(0, Math.min(tail.get() - currentHead, elements.length));
+    }
+
+    /**
+     * Create a String representation of the data in GraphViz (see <a href="https://graphviz.org">GraphViz</a>)
+     * format, which you can print-copy-paste on the site see <a href="https://dreampuf.github.io/GraphvizOnline">GraphViz online</a>.
+     * Only meaningful when the queue is not used by other threads at the same time.
+     *
+     * @param name name of the produced graph
+     * @return a GraphViz string representation of this collection
+     */
+    @Override
+    public String graphViz(String name) {
+        var builder = new StringBuilder();
+        builder.append("digraph ").append(name).append(" {\n");
+        long first = head.get();
+        long last = tail.get();
+        for (long position = first; position + 1 < last; ++position) {
+            builder.append(String.format("\"%s\" -> \"%s\"\n", elements[(int) position & mask], elements[(int) (position + 1) & mask]));
+        }
+        builder.append("}");
+        return builder.toString();
+    }
+
+    /**
+     * Add the value to the back of the queue (producer only).
+     *
+     * @param value the value to add
+     * @throws IllegalStateException    if the queue is full
+     * @throws IllegalArgumentException if the value is null
+     */
+    @Override
+    public void enqueue(V value) {
+        if (!offer(value)) throw new IllegalStateException("Queue is full");
+    }
+
+    /**
+     * Add the value to the back of the queue if there is room (producer only). Wait-free.
+     *
+     * @param value the value to add
+     * @return true if the value is added, false if the queue is full
+     * @throws IllegalArgumentException if the value is null
+     */
+    public boolean offer(V value) {
+        if (value == null) throw new IllegalArgumentException("Null values are not supported");
+        long position = tail.get();
+        if (position - tail.cached >= elements.length) {
+            tail.cached = head.get();
+            if (position - tail.cached >= elements.length) return false;
+        }
+        elements[(int) position & mask] = value;
+        tail.lazySet(position + 1); // publishes the element
+        return true;
+    }
+
+    /**
+     * Remove the value from the front of the queue (consumer only).
+     *
+     * @return the removed value
+     * @throws EmptyCollectionException if the queue is empty
+     */
+    @Override
+    public V dequeue() throws EmptyCollectionException {
+        V value = poll();
+        if (value == null) throw new EmptyCollectionException();
+        return value;
+    }
+
+    /**
+     * Remove the value from the front of the queue if there is one (consumer only). Wait-free.
+     *
+     * @return the removed value, or null if the queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    public V poll() {
+        long position = head.get();
+        if (position >= head.cached) {
+            head.cached = tail.get();
+            if (position >= head.cached) return null;
+        }
+        int index = (int) position & mask;
+        V value = (V) elements[index];
+        elements[index] = null;
+        head.lazySet(position + 1); // hands the slot back to the producer
+        return value;
+    }
+
+    /**
+     * Return the value at the front of the queue, without removing it (consumer only).
+     *
+     * @return the value at the front
+     * @throws EmptyCollectionException if the queue is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V peek() throws EmptyCollectionException {
+        long position = head.get();
+        if (position >= tail.get()) throw new EmptyCollectionException();
+        return (V) elements[(int) position & mask];
+    }
+
+    /**
+     * Removes up to maxElements values and passes them to the consumer in FIFO order (consumer only).
+     * The head is published once for the whole batch.
+     *
+     * @param consumer    receives the values
+     * @param maxElements the maximum number of values to remove
+     * @return the number of removed values
+     */
+    @SuppressWarnings("unchecked")
+    public int drainTo(Consumer<? super V> consumer, int maxElements) {
+        long position = head.get();
+        head.cached = tail.get();
+        int count = (int) Math.max(0, Math.min(head.cached - position, maxElements));
+        int drained = 0;
+        try {
+            while (drained < count) {
+                int index = (int) (position + drained) & mask;
+                V value = (V) elements[index];
+                elements[index] = null;
+                ++drained;
+                consumer.accept(value);
+            }
+        } finally {
+            if (drained > 0) head.lazySet(position + drained);
+        }
+        return drained;
+    }
+}
@@ -0,0 +1,435 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import nl.saxion.cds.collection.SaxList;
+import nl.saxion.cds.collection.ValueNotFoundException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Unrolled linked list: a doubly linked list of nodes, each holding a small array of elements.
+ * <p>
+ * Inserting into a full node splits it in two halves; a node which becomes less than half full after a removal
+ * borrows an element from a neighbour or is merged with it. So all nodes (except those at the ends, which
+ * grow by appending) stay at least half full, an insert or removal moves at most one node's worth of elements,
+ * and indexed access skips a whole node per step. The node and start index of the last access are cached,
+ * so sequential indexed loops cost O(1) per step.
+ *
+ * @param <V> the type of elements stored in this list
+ */
+public class MyUnrolledLinkedList<V> implements SaxList<V> {
+    private static final int DEFAULT_NODE_CAPACITY = 64;
+    private static final int MINIMUM_NODE_CAPACITY = 4;
+
+    private final int nodeCapacity;
+    private Node head, tail;
+    private int size;
+    // the most recently located node and the index of its first element (cachedNode is null when not valid)
+    private Node cachedNode;
+    private int cachedStart;
+
+    /**
+     * Initializes a new, empty list with nodes of 64 elements.
+     */
+    public MyUnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    /**
+     * Initializes a new, empty list.
+     *
+     * @param nodeCapacity the number of elements per node
+     * @throws IllegalArgumentException if the capacity is smaller than 4
+     */
+    public MyUnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < MINIMUM_NODE_CAPACITY) {
+            throw new IllegalArgumentException("Node capacity must be at least " + MINIMUM_NODE_CAPACITY + ": " + nodeCapacity);
+        }
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    /**
+     * Checks if the specified value is in the list.
+     *
+     * @param value the value to search for
+     * @return true if the value is in the list, false otherwise
+     */
+    @Override
+    public boolean contains(V value) {
+        for (V element : this) {
+            if (element == null ? value == null : element.equals(value)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the element at the specified index.
+     *
+     * @param index the index of the element to retrieve
+     * @return the element at the specified index
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(Integer.toString(index));
+        Node node = locate(index);
+        return (V) node.elements[index - cachedStart];
+    }
+
+    /**
+     * Adds a value to the end of the list.
+     *
+     * @param value the value to add
+     */
+    @Override
+    public void addLast(V value) {
+        if (tail == null || tail.count == nodeCapacity) {
+            linkAfter(tail, new Node());
+        }
+        tail.elements[tail.count++] = value;
+        ++size;
+    }
+
+    /**
+     * Adds a value to the beginning of the list.
+     *
+     * @param value the value to add
+     */
+    @Override
+    public void addFirst(V value) {
+        addAt(0, value);
+    }
+
+    /**
+     * Inserts a value at the specified index; a full node is split in two halves first.
+     *
+     * @param index the index to insert the value at
+     * @param value the value to insert
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @Override
+    public void addAt(int index, V value) throws IndexOutOfBoundsException {
+        if (index < 0 || index > size) throw new IndexOutOfBoundsException(Integer.toString(index));
+        if (index == size) {
+            addLast(value);
+            return;
+        }
+        Node node = locate(index);
+        int offset = index - cachedStart;
+        if (node.count == nodeCapacity) {
+            Node right = split(node);
+            if (offset > node.count) {
+                offset -= node.count;
+                node = right;
+            }
+            cachedNode = null;
+        }
+        System.arraycopy(node.elements, offset, node.elements, offset + 1, node.count - offset);
+        node.elements[offset] = value;
+        ++node.count;
+        ++size;
+    }
+
+    /**
+     * Replaces the element at the specified index with a new value.
+     *
+     * @param index the index of the element to replace
+     * @param value the new value
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @Override
+    public void set(int index, V value) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(Integer.toString(index));
+        Node node = locate(index);
+        node.elements[index - cachedStart] = value;
+    }
+
+    /**
+     * Removes and returns the last element in the list.
+     *
+     * @return the removed element
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public V removeLast() throws EmptyCollectionException {
+        if (isEmpty()) throw new EmptyCollectionException();
+        return removeFromNode(tail, tail.count - 1);
+    }
+
+    /**
+     * Removes and returns the first element in the list.
+     *
+     * @return the removed element
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public V removeFirst() throws EmptyCollectionException {
+        if (isEmpty()) throw new EmptyCollectionException();
+        return removeFromNode(head, 0);
+    }
+
+    /**
+     * Removes and returns the element at the specified index.
+     *
+     * @param index the index of the element to remove
+     * @return the removed element
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @Override
+    public V removeAt(int index) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException(Integer.toString(index));
+        Node node = locate(index);
+        return removeFromNode(node, index - cachedStart);
+    }
+
+    /**
+     * Removes the first occurrence of the specified value from the list.
+     *
+     * @param value the value to remove
+     * @throws ValueNotFoundException if the value is not found in the list
+     */
+    @Override
+    public void remove(V value) throws ValueNotFoundException {
+        for (Node node = head; node != null; node = node.next) {
+            for (int offset = 0; offset < node.count; ++offset) {
+                Object element = node.elements[offset];
+                if (element == null ? value == null : element.equals(value)) {
+                    removeFromNode(node, offset);
+                    return;
+                }
+            }
+        }
+        throw new ValueNotFoundException(value == null ? "null" : value.toString());
+    }
+
+    /**
+     * Determines if the list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     *
+     * @return the size of the list
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Generates a GraphViz representation of the list, with every node drawn as a record of its elements.
+     *
+     * @param name the name of the graph
+     * @return a string representing the list in GraphViz format
+     */
+    @Override
+    public String graphViz(String name) {
+        var builder = new StringBuilder();
+        builder.append("digraph ").append(name).append(" {\n");
+        builder.append("    node [shape=record];\n");
+        int id = 0;
+        for (Node node = head; node != null; node = node.next, ++id) {
+            builder.append("    node").append(id).append(" [label=\"");
+            for (int offset = 0; offset < node.count; ++offset) {
+                if (offset > 0) builder.append('|');
+                builder.append(node.elements[offset]);
+            }
+            builder.append("\"];\n");
+            if (node.next != null) {
+                builder.append("    node").append(id).append(" -> node").append(id + 1).append(";\n");
+            }
+        }
+        builder.append("}");
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder();
+        builder.append('[');
+        for (V element : this) {
+            builder.append(' ');
+            builder.append(element);
+        }
+        builder.append(" ]");
+        return builder.toString();
+    }
+
+    /**
+     * Returns an iterator over the elements in the list, walking the arrays of the nodes.
+     *
+     * @return an iterator over the elements in this list
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<>() {
+            private Node node = head;
+            private int offset = 0;
+
+            @Override
+            public boolean hasNext() {
+                return node != null && offset < node.count;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                V value = (V) node.elements[offset++];
+                if (offset == node.count) {
+                    node = node.next;
+                    offset = 0;
+                }
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Finds the node which contains the element at an index, walking from the nearest of the head, the tail
+     * and the cached node, and caches it together with the index of its first element.
+     *
+     * @param index a valid index
+     * @return the node with the element; the element is at offset index - cachedStart
+     */
+    private Node locate(int index) {
+        Node node;
+        int start;
+        if (cachedNode != null && Math.abs(index - cachedStart) < Math.min(index, size - index)) {
+            node = cachedNode;
+            start = cachedStart;
+        } else if (index < size - index) {
+            node = head;
+            start = 0;
+        } else {
+            node = tail;
+            start = size - tail.count;
+        }
+        while (index >= start + node.count) {
+            start += node.count;
+            node = node.next;
+        }
+        while (index < start) {
+            node = node.prev;
+            start -= node.count;
+        }
+        cachedNode = node;
+        cachedStart = start;
+        return node;
+    }
+
+    /**
+     * Removes an element from a node and restores the half-full invariant.
+     *
+     * @param node   the node with the element
+     * @param offset the offset of the element in the node
+     * @return the removed element
+     */
+    @SuppressWarnings("unchecked")
+    private V removeFromNode(Node node, int offset) {
+        V value = (V) node.elements[offset];
+        System.arraycopy(node.elements, offset + 1, node.elements, offset, node.count - offset - 1);
+        node.elements[--node.count] = null; // this element no longer contains valid info
+        --size;
+        if (node != cachedNode) cachedNode = null; // the start index of the cached node may have changed
+        if (node.count < nodeCapacity / 2) {
+            rebalance(node);
+        }
+        return value;
+    }
+
+    /**
+     * Restores a node which is less than half full, by merging it with a neighbour if both fit in one node,
+     * or otherwise by borrowing an element from that neighbour.
+     *
+     * @param node the node which is less than half full
+     */
+    private void rebalance(Node node) {
+        Node neighbour = (node.next != null) ? node.next : node.prev;
+        if (neighbour == null) {
+            if (node.count == 0) unlink(node);
+            return;
+        }
+        cachedNode = null; // the start indices of the nodes may change
+        Node left = (neighbour == node.next) ? node : neighbour;
+        Node right = (left == node) ? neighbour : node;
+        if (left.count + right.count <= nodeCapacity) {
+            System.arraycopy(right.elements, 0, left.elements, left.count, right.count);
+            left.count += right.count;
+            unlink(right);
+        } else if (right == neighbour) {
+            // borrow the first element of the right neighbour
+            left.elements[left.count++] = right.elements[0];
+            System.arraycopy(right.elements, 1, right.elements, 0, right.count - 1);
+            right.elements[--right.count] = null;
+        } else {
+            // borrow the last element of the left neighbour
+            System.arraycopy(right.elements, 0, right.elements, 1, right.count);
+            right.elements[0] = left.elements[--left.count];
+            left.elements[left.count] = null;
+            ++right.count;
+        }
+    }
+
+    /**
+     * Moves the upper half of a full node to a new node after it.
+     *
+     * @param node the full node
+     * @return the new node
+     */
+    private Node split(Node node) {
+        Node right = new Node();
+        int half = node.count / 2;
+        right.count = node.count - half;
+        System.arraycopy(node.elements, half, right.elements, 0, right.count);
+        for (int i = half; i < node.count; ++i) {
+            node.elements[i] = null;
+        }
+        node.count = half;
+        linkAfter(node, right);
+        return right;
+    }
+
+    /**
+     * Inserts a node after another node.
+     *
+     * @param predecessor the node to insert after, or null to insert as the first node
+     * @param node        the new node
+     */
+    private void linkAfter(Node predecessor, Node node) {
+        Node successor = (predecessor == null) ? head : predecessor.next;
+        node.prev = predecessor;
+        node.next = successor;
+        if (predecessor == null) head = node; else predecessor.next = node;
+        if (successor == null) tail = node; else successor.prev = node;
+    }
+
+    /**
+     * Removes a node from the chain of nodes.
+     *
+     * @param node the node to remove
+     */
+    private void unlink(Node node) {
+        if (node.prev == null) head = node.next; else node.prev.next = node.next;
+        if (node.next == null) tail = node.prev; else node.next.prev = node.prev;
+        if (node == cachedNode) cachedNode = null;
+    }
+
+    /**
+     * A node with an array of at most nodeCapacity elements.
+     */
+    private class Node {
+        // Java prohibits creating an array with a generic type, so we use Object
+        final Object[] elements = new Object[nodeCapacity];
+        int count;
+        Node next, prev;
+    }
+}
@@ -0,0 +1,24 @@
+package nl.saxion.cds.solution.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AtomicLong which is padded to (at least) a cache line, so counters which are written by different threads
+ * do not share a cache line (false sharing). The JVM lays out the fields of a subclass after those of its
+ * superclass, so the padding follows the value.
+ */
+class PaddedAtomicLong extends AtomicLong {
+    private static final long serialVersionUID = 1L;
+
+    // A plain value for the thread which owns this counter, e.g. its last seen value of the opposite counter
+    long cached;
+    // Padding, never read
+    @SuppressWarnings("unused")
+    private long p1, p2, p3, p4, p5, p6, p7;
+
+    /**
+     * Initializes a new counter with value 0.
+     */
+    PaddedAtomicLong() {
+    }
+}
@@ -3,7 +3,12 @@ package nl.saxion.cds.solution.util;
 import nl.saxion.cds.collection.EmptyCollectionException;
 import nl.saxion.cds.collection.ValueNotFoundException;
 import nl.saxion.cds.solution.util.DLinkedList;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -191,4 +196,105 @@ class DLinkedListTest {
                 }""";
         assertEquals(expectedGraphViz, list.graphViz("list"));
     }
+
+    @Test
+    void GivenRandomPositionalOperations_WhenComparingWithLinkedList_ConfirmSameContent() {
+        LinkedList<Integer> expected = new LinkedList<>();
+        Random random = new Random(5);
+        for (int i = 0; i < 5000; ++i) {
+            int operation = random.nextInt(6);
+            int index = expected.isEmpty() ? 0 : random.nextInt(expected.size());
+            switch (operation) {
+                case 0 -> {
+                    list.addAt(index, i);
+                    expected.add(index, i);
+                }
+                case 1 -> {
+                    list.addFirst(i);
+                    expected.addFirst(i);
+                }
+                case 2 -> {
+                    if (!expected.isEmpty()) assertEquals(expected.remove(index), list.removeAt(index));
+                }
+                case 3 -> {
+                    if (!expected.isEmpty()) assertEquals(expected.removeFirst(), list.removeFirst());
+                }
+                case 4 -> {
+                    if (!expected.isEmpty()) {
+                        list.set(index, -i);
+                        expected.set(index, -i);
+                    }
+                }
+                default -> {
+                    list.addLast(i);
+                    expected.addLast(i);
+                }
+            }
+            if (!expected.isEmpty()) {
+                int probe = random.nextInt(expected.size());
+                assertEquals(expected.get(probe), list.get(probe));
+                if (probe + 1 < expected.size()) assertEquals(expected.get(probe + 1), list.get(probe + 1));
+            }
+        }
+        assertEquals(expected.size(), list.size());
+        int index = 0;
+        for (Integer value : list) {
+            assertEquals(expected.get(index++), value);
+        }
+    }
+
+    @Test
+    void GivenCursor_WhenAddingRemovingAndSetting_ConfirmListIsUpdated() {
+        for (int i = 0; i < 5; ++i) {
+            list.addLast(i);
+        }
+        ListIterator<Integer> cursor = list.listIterator();
+        assertThrows(IllegalStateException.class, cursor::remove);
+        while (cursor.hasNext()) {
+            int value = cursor.next();
+            if (value % 2 == 1) {
+                cursor.remove();
+            } else {
+                cursor.set(value * 10);
+                cursor.add(value * 10 + 1);
+            }
+        }
+        assertEquals("[0, 1, 20, 21, 40, 41]", toString(list));
+
+        assertEquals(6, cursor.nextIndex());
+        assertEquals(41, cursor.previous());
+        cursor.remove();
+        assertEquals(40, cursor.previous());
+        assertEquals(4, cursor.nextIndex());
+        cursor.add(30);
+        assertEquals(40, cursor.next());
+        assertFalse(cursor.hasNext());
+        assertThrows(NoSuchElementException.class, cursor::next);
+        assertEquals("[0, 1, 20, 21, 30, 40]", toString(list));
+        assertEquals(40, list.removeLast());
+        assertEquals(30, list.get(4));
+    }
+
+    @Test
+    void GivenCursorAtIndex_WhenListIsChangedOutsideCursor_ExpectConcurrentModificationException() {
+        list.addLast(1);
+        list.addLast(2);
+        list.addLast(3);
+        ListIterator<Integer> cursor = list.listIterator(1);
+        assertEquals(2, cursor.next());
+        assertEquals(2, cursor.previous());
+        assertEquals(1, cursor.previous());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.listIterator(4));
+        list.addLast(4);
+        assertThrows(ConcurrentModificationException.class, cursor::next);
+    }
+
+    private static String toString(DLinkedList<Integer> list) {
+        StringBuilder builder = new StringBuilder("[");
+        for (Integer value : list) {
+            if (builder.length() > 1) builder.append(", ");
+            builder.append(value);
+        }
+        return builder.append("]").toString();
+    }
 }
@@ -0,0 +1,103 @@
+package nl.saxion.cds.solution.util;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test graphs and assertions shared by the tests of the graph searches.
+ */
+final class GraphFixtures {
+
+    /**
+     * A distance query by vertex ids, for example distanceById of a distance oracle.
+     */
+    @FunctionalInterface
+    interface DistanceById {
+        double distance(int from, int to);
+    }
+
+    private GraphFixtures() {
+    }
+
+    /**
+     * Creates a grid graph with random weights 1..10; the horizontal edges go both ways.
+     *
+     * @param width         the number of vertices per row and per column
+     * @param bidirectional if the vertical edges go both ways; otherwise they only go down
+     * @param seed          the seed of the weights
+     * @return the grid; vertex row * width + column
+     */
+    static MyGraph<Integer> grid(int width, boolean bidirectional, long seed) {
+        Random random = new Random(seed);
+        MyGraph<Integer> grid = new MyGraph<>();
+        for (int id = 0; id < width * width; ++id) {
+            grid.addVertex(id);
+        }
+        for (int row = 0; row < width; ++row) {
+            for (int column = 0; column < width; ++column) {
+                int id = row * width + column;
+                if (column + 1 < width) grid.addEdgeBidirectional(id, id + 1, 1 + random.nextInt(10));
+                if (row + 1 < width) {
+                    if (bidirectional) {
+                        grid.addEdgeBidirectional(id, id + width, 1 + random.nextInt(10));
+                    } else {
+                        grid.addEdge(id, id + width, 1 + random.nextInt(10));
+                    }
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Creates a directed graph with random edges and random weights 1..20; it can have loops and parallel edges.
+     *
+     * @param n     the number of vertices (0 .. n-1)
+     * @param edges the number of edges
+     * @param seed  the seed of the edges and weights
+     * @return the graph
+     */
+    static MyGraph<Integer> randomGraph(int n, int edges, long seed) {
+        return randomGraph(n, edges, 1, 20, seed);
+    }
+
+    /**
+     * Creates a directed graph with random edges and random weights; it can have loops and parallel edges.
+     *
+     * @param n         the number of vertices (0 .. n-1)
+     * @param edges     the number of edges
+     * @param minWeight the smallest weight
+     * @param maxWeight the largest weight
+     * @param seed      the seed of the edges and weights
+     * @return the graph
+     */
+    static MyGraph<Integer> randomGraph(int n, int edges, int minWeight, int maxWeight, long seed) {
+        Random random = new Random(seed);
+        MyGraph<Integer> graph = new MyGraph<>();
+        for (int i = 0; i < n; ++i) {
+            graph.addVertex(i);
+        }
+        for (int i = 0; i < edges; ++i) {
+            graph.addEdge(random.nextInt(n), random.nextInt(n), minWeight + random.nextInt(maxWeight - minWeight + 1));
+        }
+        return graph;
+    }
+
+    /**
+     * Asserts that the queries return the same distances as Dijkstra on the frozen graph, from every step-th
+     * vertex to all vertices.
+     *
+     * @param frozen the graph
+     * @param step   the distance between the tested start vertices
+     * @param query  the queries to test
+     */
+    static void assertSameDistances(MyFrozenGraph<Integer> frozen, int step, DistanceById query) {
+        for (int from = 0; from < frozen.size(); from += step) {
+            double[] distances = frozen.distances(from);
+            for (int to = 0; to < frozen.size(); ++to) {
+                assertEquals(distances[to], query.distance(from, to), 1e-9);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.SaxGraph;
+import nl.saxion.cds.collection.SaxList;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MyArcFlagsTest {
+
+    @Test
+    void GivenInvalidThreads_WhenCreating_ExpectIllegalArgumentException() {
+        MyFrozenGraph<Integer> frozen = GraphFixtures.grid(3, false, 1).freeze();
+        assertThrows(IllegalArgumentException.class, () -> new MyArcFlags<>(frozen, id -> id % 2, 0));
+    }
+
+    @Test
+    void GivenGridRegions_WhenQuerying_ConfirmSameDistancesAsDijkstraAndPruning() throws KeyNotFoundException {
+        int width = 16;
+        MyFrozenGraph<Integer> frozen = GraphFixtures.grid(width, false, 2).freeze();
+        // 4 x 4 regions of 4 x 4 vertices
+        MyArcFlags<Integer> arcFlags = new MyArcFlags<>(frozen, id -> (id / width / 4) * 4 + id % width / 4, 3);
+        assertEquals(16, arcFlags.regionCount());
+        assertTrue(arcFlags.flaggedFraction() < 0.75);
+        GraphFixtures.assertSameDistances(frozen, 3, arcFlags::distanceById);
+
+        SaxList<SaxGraph.DirectedEdge<Integer>> path = arcFlags.shortestPath(0, 255);
+        double total = 0;
+        int at = 0;
+        for (SaxGraph.DirectedEdge<Integer> edge : path) {
+            assertEquals(at, edge.from());
+            at = edge.to();
+            total += edge.weight();
+        }
+        assertEquals(255, at);
+        assertEquals(frozen.distances(0)[255], total, 1e-9);
+        assertNull(arcFlags.shortestPath(255, 0)); // the vertical edges only go down
+        assertThrows(KeyNotFoundException.class, () -> arcFlags.shortestPath(0, 1000));
+    }
+
+    @Test
+    void GivenManyRegions_WhenComputingWithDifferentThreads_ConfirmSameFlags() {
+        MyFrozenGraph<Integer> frozen = GraphFixtures.randomGraph(150, 600, 7).freeze();
+        // more than 64 regions: the flags of an edge take more than one long
+        MyArcFlags<Integer> single = new MyArcFlags<>(frozen, id -> id / 2, 1);
+        MyArcFlags<Integer> parallel = new MyArcFlags<>(frozen, id -> id / 2, 4);
+        assertEquals(75, parallel.regionCount());
+        for (int edge = 0; edge < frozen.edgeCount(); ++edge) {
+            for (int region = 0; region < 75; ++region) {
+                assertEquals(single.isFlagged(edge, region), parallel.isFlagged(edge, region));
+            }
+        }
+        GraphFixtures.assertSameDistances(frozen, 3, parallel::distanceById);
+    }
+}
@@ -0,0 +1,73 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyArrayQueueTest {
+
+    private MyArrayQueue<Integer> queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new MyArrayQueue<>(4);
+    }
+
+    @Test
+    void GivenCapacity_WhenCreating_ThenCapacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(1, new MyArrayQueue<Integer>(1).capacity());
+        assertEquals(4, queue.capacity());
+        assertEquals(8, new MyArrayQueue<Integer>(5).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new MyArrayQueue<Integer>(0));
+    }
+
+    @Test
+    void GivenEmptyQueue_WhenDequeuingOrPeeking_ThenThrowEmptyCollectionException() {
+        assertTrue(queue.isEmpty());
+        assertThrows(EmptyCollectionException.class, queue::dequeue);
+        assertThrows(EmptyCollectionException.class, queue::peek);
+    }
+
+    @Test
+    void GivenWrappedQueue_WhenGrowing_ThenElementsStayInFifoOrder() {
+        for (int i = 0; i < 3; ++i) {
+            queue.enqueue(i);
+        }
+        assertEquals(0, queue.dequeue());
+        assertEquals(1, queue.dequeue());
+        // the next elements wrap around the end of the buffer, and the sixth one makes it grow
+        for (int i = 3; i < 9; ++i) {
+            queue.enqueue(i);
+        }
+        assertEquals(8, queue.capacity());
+        assertEquals(7, queue.size());
+        assertEquals(2, queue.peek());
+        for (int i = 2; i < 9; ++i) {
+            assertEquals(i, queue.dequeue());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void GivenQueue_WhenClearing_ThenQueueIsEmptyAndKeepsCapacity() {
+        for (int i = 0; i < 10; ++i) {
+            queue.enqueue(i);
+        }
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertEquals(16, queue.capacity());
+        queue.enqueue(42);
+        assertEquals(42, queue.dequeue());
+    }
+
+    @Test
+    void GivenQueue_WhenGeneratingGraphViz_ThenShowFrontToBack() {
+        queue.enqueue(1);
+        queue.dequeue();
+        queue.enqueue(2);
+        queue.enqueue(3);
+        assertEquals("digraph queue {\n\"2\" -> \"3\"\n}", queue.graphViz("queue"));
+    }
+}
@@ -0,0 +1,56 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyArrayStackTest {
+
+    private MyArrayStack<Integer> stack;
+
+    @BeforeEach
+    void setUp() {
+        stack = new MyArrayStack<>(2);
+    }
+
+    @Test
+    void GivenCapacity_WhenCreating_ThenCapacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(2, stack.capacity());
+        assertEquals(16, new MyArrayStack<Integer>(9).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new MyArrayStack<Integer>(-1));
+    }
+
+    @Test
+    void GivenEmptyStack_WhenPoppingOrPeeking_ThenThrowEmptyCollectionException() {
+        assertTrue(stack.isEmpty());
+        assertThrows(EmptyCollectionException.class, stack::pop);
+        assertThrows(EmptyCollectionException.class, stack::peek);
+    }
+
+    @Test
+    void GivenStack_WhenPushingBeyondCapacity_ThenPopInLifoOrder() {
+        for (int i = 0; i < 5; ++i) {
+            stack.push(i);
+        }
+        assertEquals(8, stack.capacity());
+        assertEquals(5, stack.size());
+        assertEquals(4, stack.peek());
+        for (int i = 4; i >= 0; --i) {
+            assertEquals(i, stack.pop());
+        }
+        assertTrue(stack.isEmpty());
+    }
+
+    @Test
+    void GivenStack_WhenClearing_ThenStackIsEmptyAndKeepsCapacity() {
+        for (int i = 0; i < 5; ++i) {
+            stack.push(i);
+        }
+        stack.clear();
+        assertTrue(stack.isEmpty());
+        assertEquals(8, stack.capacity());
+        assertEquals("digraph stack {\n}", stack.graphViz("stack"));
+    }
+}
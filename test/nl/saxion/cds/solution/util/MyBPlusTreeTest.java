@@ -0,0 +1,162 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.DuplicateKeyException;
+import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.SaxBinaryTree;
+import nl.saxion.cds.collection.SaxList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyBPlusTreeTest {
+
+    private MyBPlusTree<Integer, String> tree;
+
+    @BeforeEach
+    void setUp() {
+        // a small order, so nodes are split and merged often
+        tree = new MyBPlusTree<>(4);
+    }
+
+    @Test
+    public void GivenInvalidOrder_WhenCreating_ExpectIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new MyBPlusTree<Integer, String>(2));
+    }
+
+    @Test
+    public void GivenEmptyTree_WhenCheckingIsEmpty_ConfirmTrue() {
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.size());
+        assertNull(tree.first());
+        assertNull(tree.last());
+        assertFalse(tree.contains(1));
+        assertNull(tree.get(1));
+    }
+
+    @Test
+    public void GivenTree_WhenAddingDuplicateKey_ExpectDuplicateKeyException() {
+        tree.add(1, "One");
+        assertThrows(DuplicateKeyException.class, () -> tree.add(1, "Duplicate"));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    public void GivenTree_WhenRemovingNonExistentKey_ExpectKeyNotFoundException() {
+        tree.add(1, "One");
+        assertThrows(KeyNotFoundException.class, () -> tree.remove(2));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    public void GivenManyKeys_WhenAdding_ConfirmSortedKeysAndValues() {
+        for (int key = 100; key > 0; --key) {
+            tree.add(key, "v" + key);
+        }
+        assertEquals(100, tree.size());
+        assertEquals(1, tree.first());
+        assertEquals(100, tree.last());
+        SaxList<Integer> keys = tree.getKeys();
+        for (int i = 0; i < 100; ++i) {
+            assertEquals(i + 1, keys.get(i));
+            assertEquals("v" + (i + 1), tree.get(i + 1));
+        }
+    }
+
+    @Test
+    public void GivenRandomAddsAndRemoves_WhenComparingWithTreeMap_ConfirmSameContents() {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 20_000; ++i) {
+            int key = random.nextInt(1_000);
+            if (expected.containsKey(key)) {
+                assertEquals(expected.remove(key), tree.remove(key));
+            } else {
+                expected.put(key, "v" + key);
+                tree.add(key, "v" + key);
+            }
+        }
+        assertEquals(expected.size(), tree.size());
+        SaxList<Integer> keys = tree.getKeys();
+        int index = 0;
+        for (Integer key : expected.keySet()) {
+            assertEquals(key, keys.get(index++));
+            assertEquals(expected.get(key), tree.get(key));
+        }
+        for (Integer key : expected.keySet()) {
+            tree.remove(key);
+        }
+        assertTrue(tree.isEmpty());
+    }
+
+    @Test
+    public void GivenTree_WhenIteratingRange_ConfirmHalfOpenInterval() {
+        for (int key = 2; key <= 40; key += 2) {
+            tree.add(key, "v" + key);
+        }
+        int expected = 6;
+        for (SaxBinaryTree.Entry<Integer, String> entry : tree.range(5, 21)) {
+            assertEquals(expected, entry.getKey());
+            assertEquals("v" + expected, entry.getValue());
+            expected += 2;
+        }
+        assertEquals(22, expected);
+        assertFalse(tree.range(41, 50).iterator().hasNext());
+    }
+
+    @Test
+    public void GivenTree_WhenUsingGraphViz_ConfirmRecordNodesAndLeafLinks() {
+        for (int key = 1; key <= 5; ++key) {
+            tree.add(key, "v" + key);
+        }
+        String expectedGraphViz = "digraph MyBPlusTree {\n" +
+                "    node [shape=record];\n" +
+                "    n0 [label=\"3\"];\n" +
+                "    n1 [label=\"1|2\"];\n" +
+                "    n0 -> n1;\n" +
+                "    n2 [label=\"3|4|5\"];\n" +
+                "    n0 -> n2;\n" +
+                "    n1 -> n2 [style=dashed];\n" +
+                "}\n";
+        assertEquals(expectedGraphViz, tree.graphViz("MyBPlusTree"));
+    }
+
+    @Test
+    public void GivenTree_WhenIterating_ConfirmAllEntriesInAscendingOrder() {
+        for (int key = 99; key >= 0; --key) {
+            tree.add(key, Integer.toString(key));
+        }
+        int expected = 0;
+        for (SaxBinaryTree.Entry<Integer, String> entry : tree) {
+            assertEquals(expected, entry.getKey());
+            assertEquals(Integer.toString(expected++), entry.getValue());
+        }
+        assertEquals(100, expected);
+        assertFalse(new MyBPlusTree<Integer, String>(4).iterator().hasNext());
+    }
+
+    @Test
+    public void GivenIterator_WhenTreeIsChanged_ExpectConcurrentModificationException() {
+        for (int key = 1; key <= 20; ++key) {
+            tree.add(key, "v" + key);
+        }
+        Iterator<SaxBinaryTree.Entry<Integer, String>> iterator = tree.range(3, 15).iterator();
+        iterator.next();
+        tree.add(0, "v0"); // splits leaves
+        assertThrows(ConcurrentModificationException.class, iterator::hasNext);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+
+        Iterator<SaxBinaryTree.Entry<Integer, String>> all = tree.iterator();
+        all.next();
+        tree.remove(20);
+        assertThrows(ConcurrentModificationException.class, all::next);
+        Iterator<SaxBinaryTree.Entry<Integer, String>> unchanged = tree.iterator();
+        assertThrows(KeyNotFoundException.class, () -> tree.remove(20));
+        assertEquals(0, unchanged.next().getKey()); // a failed remove is no change
+    }
+}
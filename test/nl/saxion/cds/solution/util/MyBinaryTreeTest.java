@@ -2,8 +2,16 @@ package nl.saxion.cds.solution.util;
 
 import nl.saxion.cds.collection.DuplicateKeyException;
 import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.ListNotSortedException;
+import nl.saxion.cds.collection.SaxBinaryTree;
 import nl.saxion.cds.collection.SaxList;
 import nl.saxion.cds.solution.util.MyBinaryTree;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -171,4 +179,253 @@ class MyBinaryTreeTest {
         assertThrows(KeyNotFoundException.class, () -> tree.remove(1));
         assertEquals(1, tree.size());
     }
+
+    @Test
+    public void GivenRandomAddsAndRemoves_WhenComparingWithTreeMap_ConfirmSameContents() {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; ++i) {
+            int key = random.nextInt(2_000);
+            if (expected.containsKey(key)) {
+                assertEquals(expected.remove(key), tree.remove(key));
+            } else {
+                expected.put(key, "v" + key);
+                tree.add(key, "v" + key);
+            }
+        }
+        assertEquals(expected.size(), tree.size());
+        tree.checkInvariants();
+        SaxList<Integer> keys = tree.getKeys();
+        int index = 0;
+        for (Integer key : expected.keySet()) {
+            assertEquals(key, keys.get(index++));
+            assertEquals(expected.get(key), tree.get(key));
+        }
+    }
+
+    @Test
+    public void GivenTree_WhenNavigating_ConfirmFloorCeilingFirstAndLast() {
+        assertNull(tree.first());
+        assertNull(tree.last());
+        for (int key = 10; key <= 50; key += 10) {
+            tree.add(key, "v" + key);
+        }
+        assertEquals(10, tree.first());
+        assertEquals(50, tree.last());
+        assertEquals(20, tree.floor(25));
+        assertEquals(20, tree.floor(20));
+        assertNull(tree.floor(5));
+        assertEquals(30, tree.ceiling(25));
+        assertEquals(30, tree.ceiling(30));
+        assertNull(tree.ceiling(55));
+    }
+
+    @Test
+    public void GivenTree_WhenUsingRankAndSelect_ConfirmOrderStatistics() {
+        for (int key = 99; key >= 0; --key) {
+            tree.add(key * 2, "v" + key);
+        }
+        tree.remove(10);
+        tree.remove(50);
+        assertEquals(0, tree.rank(-1));
+        assertEquals(5, tree.rank(10));
+        assertEquals(5, tree.rank(11));
+        assertEquals(5, tree.rank(12));
+        assertEquals(6, tree.rank(14));
+        assertEquals(98, tree.rank(1000));
+        for (int index = 0; index < tree.size(); ++index) {
+            assertEquals(index, tree.rank(tree.select(index)));
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.select(98));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.select(-1));
+    }
+
+    @Test
+    public void GivenTree_WhenIteratingRange_ConfirmHalfOpenInterval() {
+        for (int key = 1; key <= 20; ++key) {
+            tree.add(key, "v" + key);
+        }
+        int expected = 5;
+        for (SaxBinaryTree.Entry<Integer, String> entry : tree.range(5, 9)) {
+            assertEquals(expected, entry.getKey());
+            assertEquals("v" + expected, entry.getValue());
+            ++expected;
+        }
+        assertEquals(9, expected);
+        assertFalse(tree.range(30, 40).iterator().hasNext());
+        assertThrows(NoSuchElementException.class, () -> tree.range(30, 40).iterator().next());
+    }
+
+    @Test
+    public void GivenSortedLists_WhenBulkLoading_ConfirmBalancedTree() {
+        MyArrayList<Integer> keys = new MyArrayList<>();
+        DLinkedList<String> values = new DLinkedList<>();
+        for (int key = 1; key <= 1000; ++key) {
+            keys.addLast(key);
+            values.addLast("v" + key);
+        }
+        MyBinaryTree<Integer, String> loaded = new MyBinaryTree<>(keys, values);
+        assertEquals(1000, loaded.size());
+        for (int key = 1; key <= 1000; ++key) {
+            assertEquals("v" + key, loaded.get(key));
+            assertEquals(key - 1, loaded.rank(key));
+        }
+        // perfectly balanced: the middle key at the root and the smallest possible height, ceil(log2(1001))
+        loaded.checkInvariants();
+        assertEquals(501, loaded.rootKey());
+        assertEquals(10, loaded.height());
+        int expected = 1;
+        for (SaxBinaryTree.Entry<Integer, String> entry : loaded) {
+            assertEquals(expected, entry.getKey());
+            assertEquals(expected - 1, loaded.rank(loaded.select(expected - 1)));
+            ++expected;
+        }
+        assertEquals(1001, expected);
+
+        loaded.add(0, "v0");
+        assertEquals("v1", loaded.remove(1));
+        assertEquals(0, loaded.first());
+        assertEquals(1000, loaded.size());
+        loaded.checkInvariants();
+
+        MyArrayList<Integer> smallKeys = new MyArrayList<>();
+        MyArrayList<String> smallValues = new MyArrayList<>();
+        for (int key = 1; key <= 7; ++key) {
+            smallKeys.addLast(key);
+            smallValues.addLast("v" + key);
+        }
+        MyBinaryTree<Integer, String> small = new MyBinaryTree<>(smallKeys, smallValues);
+        small.checkInvariants();
+        assertEquals(4, small.rootKey());
+        assertEquals(3, small.height());
+        assertEquals(0, new MyBinaryTree<>(new MyArrayList<Integer>(), new MyArrayList<String>()).height());
+    }
+
+    @Test
+    public void GivenInvalidLists_WhenBulkLoading_ExpectExceptions() {
+        MyArrayList<Integer> keys = new MyArrayList<>();
+        MyArrayList<String> values = new MyArrayList<>();
+        keys.addLast(2);
+        keys.addLast(1);
+        values.addLast("Two");
+        assertThrows(IllegalArgumentException.class, () -> new MyBinaryTree<>(keys, values));
+        values.addLast("One");
+        assertThrows(ListNotSortedException.class, () -> new MyBinaryTree<>(keys, values));
+        keys.set(1, 2);
+        assertThrows(DuplicateKeyException.class, () -> new MyBinaryTree<>(keys, values));
+    }
+
+    @Test
+    public void GivenTree_WhenSplittingAndJoining_ConfirmAllKeysKept() {
+        for (int key = 0; key < 500; ++key) {
+            tree.add(key, "v" + key);
+        }
+        MyBinaryTree<Integer, String> greater = tree.split(200);
+        assertEquals(200, tree.size());
+        assertEquals(300, greater.size());
+        tree.checkInvariants();
+        greater.checkInvariants();
+        assertEquals(199, tree.last());
+        assertEquals(200, greater.first());
+        assertEquals(100, greater.rank(300));
+
+        assertThrows(IllegalArgumentException.class, () -> greater.join(tree));
+        tree.join(greater);
+        assertTrue(greater.isEmpty());
+        assertEquals(500, tree.size());
+        tree.checkInvariants();
+        assertTrue(tree.height() <= 12); // an AVL tree of 500 nodes is at most 1.44 log2(502) high
+        for (int key = 0; key < 500; ++key) {
+            assertEquals(key, tree.select(key));
+            assertEquals("v" + key, tree.get(key));
+        }
+        tree.remove(250);
+        tree.add(250, "again");
+        assertEquals("again", tree.get(250));
+    }
+
+    @Test
+    public void GivenTwoTrees_WhenUnion_ConfirmMergedAndOwnValuesKept() {
+        MyBinaryTree<Integer, String> other = new MyBinaryTree<>();
+        for (int key = 0; key < 300; key += 2) {
+            tree.add(key, "tree" + key);
+        }
+        for (int key = 0; key < 300; key += 3) {
+            other.add(key, "other" + key);
+        }
+        tree.union(other);
+        assertTrue(other.isEmpty());
+        tree.checkInvariants();
+        other.checkInvariants();
+
+        int expectedSize = 0;
+        for (int key = 0; key < 300; ++key) {
+            if (key % 2 == 0) {
+                assertEquals("tree" + key, tree.get(key));
+                ++expectedSize;
+            } else if (key % 3 == 0) {
+                assertEquals("other" + key, tree.get(key));
+                ++expectedSize;
+            } else {
+                assertFalse(tree.contains(key));
+            }
+        }
+        assertEquals(expectedSize, tree.size());
+        for (int index = 0; index < tree.size(); ++index) {
+            assertEquals(index, tree.rank(tree.select(index)));
+        }
+    }
+
+    @Test
+    public void GivenTree_WhenIterating_ConfirmEntriesInAscendingAndDescendingOrder() {
+        for (int key : new int[]{5, 3, 8, 1, 4, 7, 9}) {
+            tree.add(key, "v" + key);
+        }
+        StringBuilder ascending = new StringBuilder();
+        for (SaxBinaryTree.Entry<Integer, String> entry : tree) {
+            ascending.append(entry.getKey()).append('=').append(entry.getValue()).append(' ');
+        }
+        assertEquals("1=v1 3=v3 4=v4 5=v5 7=v7 8=v8 9=v9 ", ascending.toString());
+
+        StringBuilder descending = new StringBuilder();
+        for (Iterator<SaxBinaryTree.Entry<Integer, String>> iterator = tree.descendingIterator(); iterator.hasNext(); ) {
+            descending.append(iterator.next().getKey()).append(' ');
+        }
+        assertEquals("9 8 7 5 4 3 1 ", descending.toString());
+
+        Iterator<SaxBinaryTree.Entry<Integer, String>> empty = new MyBinaryTree<Integer, String>().iterator();
+        assertFalse(empty.hasNext());
+        assertThrows(NoSuchElementException.class, empty::next);
+    }
+
+    @Test
+    public void GivenIterator_WhenTreeIsChanged_ExpectConcurrentModificationException() {
+        tree.add(1, "One");
+        tree.add(2, "Two");
+        Iterator<SaxBinaryTree.Entry<Integer, String>> iterator = tree.iterator();
+        iterator.next();
+        tree.add(3, "Three");
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    public void GivenIterator_WhenRemovingThroughIterator_ConfirmRemainingEntries() {
+        for (int key = 0; key < 100; ++key) {
+            tree.add(key, Integer.toString(key));
+        }
+        Iterator<SaxBinaryTree.Entry<Integer, String>> iterator = tree.iterator();
+        assertThrows(IllegalStateException.class, iterator::remove);
+        int expected = 0;
+        while (iterator.hasNext()) {
+            int key = iterator.next().getKey();
+            assertEquals(expected++, key);
+            if (key % 3 != 0) iterator.remove();
+        }
+        assertEquals(100, expected);
+        assertEquals(34, tree.size());
+        int index = 0;
+        for (SaxBinaryTree.Entry<Integer, String> entry : tree) {
+            assertEquals(3 * index++, entry.getKey());
+        }
+    }
 }
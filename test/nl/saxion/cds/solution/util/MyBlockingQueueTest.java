@@ -0,0 +1,142 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyBlockingQueueTest {
+
+    @Test
+    void GivenEmptyQueue_WhenDequeuingOrPolling_ThenThrowOrTimeOut() throws InterruptedException {
+        MyBlockingQueue<Integer> queue = new MyBlockingQueue<>(2);
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertNull(queue.poll(0, TimeUnit.MILLISECONDS));
+        assertEquals(0, queue.metrics().takeWaits());
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+        assertThrows(EmptyCollectionException.class, queue::dequeue);
+        assertThrows(EmptyCollectionException.class, queue::peek);
+        assertThrows(IllegalArgumentException.class, () -> new MyBlockingQueue<Integer>(0));
+        assertThrows(IllegalArgumentException.class, () -> queue.enqueue(null));
+        assertEquals(1, queue.metrics().takeWaits());
+        assertTrue(queue.metrics().takeWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(10));
+    }
+
+    @Test
+    void GivenFullQueue_WhenOffering_ThenRejectUntilSpaceIsFreed() throws InterruptedException {
+        MyBlockingQueue<String> queue = new MyBlockingQueue<>(3);
+        queue.enqueue("a");
+        queue.put("b");
+        assertTrue(queue.offer("c", 1, TimeUnit.SECONDS));
+        assertEquals(0, queue.remainingCapacity());
+        assertFalse(queue.offer("d"));
+        assertFalse(queue.offer("d", 0, TimeUnit.MILLISECONDS));
+        assertEquals(0, queue.metrics().putWaits());
+        assertFalse(queue.offer("d", 10, TimeUnit.MILLISECONDS));
+        assertThrows(IllegalStateException.class, () -> queue.enqueue("d"));
+        assertEquals("a", queue.peek());
+        assertEquals("a", queue.take());
+        queue.enqueue("d");
+        assertEquals("digraph queue {\n\"b\" -> \"c\"\n\"c\" -> \"d\"\n}", queue.graphViz("queue"));
+        assertEquals("b", queue.dequeue());
+        assertEquals("c", queue.poll());
+        assertEquals("d", queue.poll(1, TimeUnit.SECONDS));
+
+        MyBlockingQueue.Metrics metrics = queue.metrics();
+        assertEquals(0, metrics.depth());
+        assertEquals(3, metrics.maxDepth());
+        assertEquals(4, metrics.puts());
+        assertEquals(4, metrics.takes());
+        assertEquals(1, metrics.putWaits());
+        assertEquals(0, metrics.takeWaits());
+    }
+
+    @Test
+    void GivenBlockedProducer_WhenConsumerTakes_ThenProducerContinues() throws InterruptedException {
+        MyBlockingQueue<Integer> queue = new MyBlockingQueue<>(1);
+        queue.put(1);
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Thread.sleep(20);
+        assertEquals(1, queue.take());
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertEquals(2, queue.take());
+        assertEquals(1, queue.metrics().putWaits());
+    }
+
+    @Test
+    void GivenWaitingConsumer_WhenInterrupted_ThenThrowInterruptedException() throws InterruptedException {
+        MyBlockingQueue<Integer> queue = new MyBlockingQueue<>(1);
+        AtomicLong result = new AtomicLong();
+        Thread consumer = new Thread(() -> {
+            try {
+                queue.take();
+                result.set(1);
+            } catch (InterruptedException e) {
+                result.set(2);
+            }
+        });
+        consumer.start();
+        Thread.sleep(20);
+        consumer.interrupt();
+        consumer.join(5000);
+        assertEquals(2, result.get());
+    }
+
+    @Test
+    void GivenManyProducersAndConsumers_WhenTransferring_ThenEveryElementIsReceivedOnce() throws InterruptedException {
+        MyBlockingQueue<Integer> queue = new MyBlockingQueue<>(16);
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 20_000;
+        AtomicLong sum = new AtomicLong();
+        Thread[] threads = new Thread[producers + consumers];
+        for (int p = 0; p < producers; ++p) {
+            final int offset = p * perProducer;
+            threads[p] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; ++i) {
+                        queue.put(offset + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        for (int c = 0; c < consumers; ++c) {
+            threads[producers + c] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; ++i) {
+                        sum.addAndGet(queue.take());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long total = (long) producers * perProducer;
+        assertEquals(total * (total - 1) / 2, sum.get());
+        assertTrue(queue.isEmpty());
+        MyBlockingQueue.Metrics metrics = queue.metrics();
+        assertEquals(total, metrics.puts());
+        assertEquals(total, metrics.takes());
+        assertTrue(metrics.maxDepth() <= 16);
+    }
+}
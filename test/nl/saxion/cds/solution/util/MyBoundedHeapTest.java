@@ -0,0 +1,73 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyBoundedHeapTest {
+
+    private MyBoundedHeap<Integer> heap;
+
+    @BeforeEach
+    void setUp() {
+        heap = new MyBoundedHeap<>(3);
+    }
+
+    @Test
+    void GivenInvalidCapacity_WhenCreating_ThenThrowIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new MyBoundedHeap<Integer>(0));
+    }
+
+    @Test
+    void GivenEmptyHeap_WhenPeekingOrDequeuing_ThenThrowEmptyCollectionException() {
+        assertTrue(heap.isEmpty());
+        assertThrows(EmptyCollectionException.class, heap::peek);
+        assertThrows(EmptyCollectionException.class, heap::dequeue);
+    }
+
+    @Test
+    void GivenFullHeap_WhenOfferingBiggerValue_ThenRejectIt() {
+        heap.enqueue(5);
+        heap.enqueue(1);
+        heap.enqueue(3);
+        assertEquals(3, heap.size());
+        assertEquals(5, heap.peek());
+        assertFalse(heap.offer(5));
+        assertFalse(heap.offer(9));
+        assertTrue(heap.offer(2));
+        assertEquals(3, heap.peek());
+        assertEquals(3, heap.size());
+    }
+
+    @Test
+    void GivenManyValues_WhenCollecting_ThenKeepTheSmallestInAscendingOrder() {
+        for (int i = 100; i > 0; --i) {
+            heap.enqueue(i);
+        }
+        MyArrayList<Integer> smallest = heap.toSortedList();
+        assertEquals(3, smallest.size());
+        assertEquals(1, smallest.get(0));
+        assertEquals(2, smallest.get(1));
+        assertEquals(3, smallest.get(2));
+
+        assertEquals(3, heap.dequeue());
+        assertEquals(2, heap.dequeue());
+        assertEquals(1, heap.dequeue());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void GivenHeap_WhenGeneratingGraphViz_ThenReturnMaxHeapRepresentation() {
+        heap.enqueue(1);
+        heap.enqueue(2);
+        String expectedGraph = "digraph test {\n" +
+                "    node [shape=circle];\n" +
+                "    \"2\";\n" +
+                "    \"1\";\n" +
+                "    \"2\" -> \"1\";\n" +
+                "}\n";
+        assertEquals(expectedGraph, heap.graphViz("test"));
+    }
+}
@@ -0,0 +1,92 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyConcurrentHeapTest {
+
+    @Test
+    void GivenEmptyHeap_WhenDequeuingOrPeeking_ThenThrowEmptyCollectionException() {
+        for (MyConcurrentHeap.Mode mode : MyConcurrentHeap.Mode.values()) {
+            MyConcurrentHeap<Integer> heap = new MyConcurrentHeap<>(mode, 2);
+            assertTrue(heap.isEmpty());
+            assertThrows(EmptyCollectionException.class, heap::dequeue);
+            assertThrows(EmptyCollectionException.class, heap::peek);
+        }
+    }
+
+    @Test
+    void GivenStrictHeap_WhenDequeuing_ThenReturnElementsInAscendingOrder() {
+        MyConcurrentHeap<Integer> heap = new MyConcurrentHeap<>(MyConcurrentHeap.Mode.STRICT, 4);
+        int[] values = {10, 5, 15, 3, 8, 20, 1, 7};
+        for (int value : values) {
+            heap.enqueue(value);
+        }
+        assertEquals(8, heap.size());
+        assertEquals(1, heap.peek());
+
+        int previous = Integer.MIN_VALUE;
+        while (!heap.isEmpty()) {
+            int value = heap.dequeue();
+            assertTrue(value >= previous, "Expected ascending order in strict mode");
+            previous = value;
+        }
+        assertEquals(0, heap.size());
+    }
+
+    @Test
+    void GivenRelaxedHeap_WhenDequeuingEverything_ThenReturnAllElements() {
+        MyConcurrentHeap<Integer> heap = new MyConcurrentHeap<>(MyConcurrentHeap.Mode.RELAXED, 4);
+        long sum = 0;
+        for (int i = 0; i < 1000; ++i) {
+            heap.enqueue(i);
+            sum += i;
+        }
+        long dequeuedSum = 0;
+        for (int i = 0; i < 1000; ++i) {
+            dequeuedSum += heap.dequeue();
+        }
+        assertEquals(sum, dequeuedSum);
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    void GivenConcurrentProducersAndConsumers_WhenRunning_ThenNoElementIsLostOrDuplicated() throws InterruptedException {
+        for (MyConcurrentHeap.Mode mode : MyConcurrentHeap.Mode.values()) {
+            MyConcurrentHeap<Integer> heap = new MyConcurrentHeap<>(mode, 4);
+            AtomicLong dequeuedSum = new AtomicLong();
+            Thread[] threads = new Thread[8];
+            for (int t = 0; t < threads.length; ++t) {
+                final int offset = t * 10_000;
+                threads[t] = new Thread(() -> {
+                    for (int i = 0; i < 10_000; ++i) {
+                        heap.enqueue(offset + i);
+                        dequeuedSum.addAndGet(heap.dequeue());
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            long expected = 80_000L * 79_999L / 2;
+            assertEquals(expected, dequeuedSum.get());
+            assertTrue(heap.isEmpty());
+        }
+    }
+
+    @Test
+    void GivenHeap_WhenGeneratingGraphViz_ThenContainAllElements() {
+        MyConcurrentHeap<Integer> heap = new MyConcurrentHeap<>(MyConcurrentHeap.Mode.STRICT, 1);
+        heap.enqueue(2);
+        heap.enqueue(1);
+        String graph = heap.graphViz("test");
+        assertTrue(graph.startsWith("digraph test {"));
+        assertTrue(graph.contains("label=\"1\""));
+        assertTrue(graph.contains("label=\"2\""));
+    }
+}
@@ -0,0 +1,122 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.DuplicateKeyException;
+import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.SaxBinaryTree;
+import nl.saxion.cds.collection.SaxList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyConcurrentSkipListTest {
+
+    private MyConcurrentSkipList<Integer, String> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new MyConcurrentSkipList<>();
+    }
+
+    @Test
+    void GivenEmptyMap_WhenQuerying_ConfirmEmpty() {
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.size());
+        assertNull(map.get(1));
+        assertFalse(map.contains(1));
+        assertThrows(KeyNotFoundException.class, () -> map.remove(1));
+    }
+
+    @Test
+    void GivenMap_WhenAddingDuplicateKey_ExpectDuplicateKeyException() {
+        map.add(1, "One");
+        assertThrows(DuplicateKeyException.class, () -> map.add(1, "Uno"));
+        assertEquals("One", map.get(1));
+    }
+
+    @Test
+    void GivenRandomOperations_WhenComparingWithTreeMap_ConfirmSameContent() {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 10_000; ++i) {
+            int key = random.nextInt(1000);
+            if (expected.containsKey(key)) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                expected.put(key, Integer.toString(key));
+                map.add(key, Integer.toString(key));
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        SaxList<Integer> keys = map.getKeys();
+        int index = 0;
+        for (Integer key : expected.keySet()) {
+            assertEquals(key, keys.get(index++));
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test
+    void GivenMap_WhenIteratingRange_ConfirmAscendingKeysInRange() {
+        for (int i = 0; i < 20; i += 2) {
+            map.add(i, Integer.toString(i));
+        }
+        StringBuilder keys = new StringBuilder();
+        for (SaxBinaryTree.Entry<Integer, String> entry : map.range(5, 12)) {
+            keys.append(entry.getKey()).append(' ');
+        }
+        assertEquals("6 8 10 ", keys.toString());
+        assertFalse(map.range(20, 30).iterator().hasNext());
+    }
+
+    @Test
+    void GivenConcurrentWriters_WhenAddingAndRemoving_ThenNoKeyIsLostOrDuplicated() throws InterruptedException {
+        MyConcurrentSkipList<Integer, Integer> shared = new MyConcurrentSkipList<>();
+        AtomicLong removedSum = new AtomicLong();
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; ++t) {
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                // every thread adds its own keys, and removes the odd keys of all threads
+                for (int i = offset; i < 8_000; i += threads.length) {
+                    shared.add(i, i);
+                }
+                for (int i = 1; i < 8_000; i += 2) {
+                    try {
+                        removedSum.addAndGet(shared.remove(i));
+                    } catch (KeyNotFoundException ignored) {
+                        // not added yet, or removed by another thread
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int i = 1; i < 8_000; i += 2) {
+            // an odd key survives when it was added after every thread tried to remove it
+            if (shared.contains(i)) removedSum.addAndGet(shared.remove(i));
+        }
+        assertEquals(4_000L * 4_000L, removedSum.get(), "each odd key is removed exactly once");
+        assertEquals(4_000, shared.size());
+        SaxList<Integer> keys = shared.getKeys();
+        for (int i = 0; i < keys.size(); ++i) {
+            assertEquals(2 * i, keys.get(i));
+        }
+    }
+
+    @Test
+    void GivenMap_WhenGeneratingGraphViz_ConfirmLevelEdges() {
+        map.add(2, "Two");
+        map.add(1, "One");
+        String graph = map.graphViz("test");
+        assertTrue(graph.startsWith("digraph test {"));
+        assertTrue(graph.contains("head -> \"1\" [label=\"0\"];"));
+        assertTrue(graph.contains("\"1\" -> \"2\" [label=\"0\"];"));
+    }
+}
@@ -0,0 +1,121 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.SaxGraph;
+import nl.saxion.cds.collection.SaxList;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MyContractionHierarchyTest {
+
+    private static double checkPath(SaxList<SaxGraph.DirectedEdge<Integer>> path, int from, int to,
+                                    MyGraph<Integer> graph) {
+        double total = 0;
+        Integer previous = from;
+        for (SaxGraph.DirectedEdge<Integer> edge : path) {
+            assertEquals(previous, edge.from());
+            assertTrue(graph.getEdges(edge.from()).contains(edge));
+            total += edge.weight();
+            previous = edge.to();
+        }
+        assertEquals(to, previous);
+        return total;
+    }
+
+    @Test
+    void GivenSmallGraph_WhenQuerying_ConfirmShortestPath() {
+        MyGraph<String> graph = new MyGraph<>();
+        for (String vertex : new String[]{"A", "B", "C", "D", "E"}) {
+            graph.addVertex(vertex);
+        }
+        graph.addEdge("A", "B", 1);
+        graph.addEdge("A", "C", 4);
+        graph.addEdge("B", "C", 2);
+        graph.addEdge("C", "D", 1);
+        graph.addEdge("B", "D", 5);
+        MyContractionHierarchy<String> hierarchy = new MyContractionHierarchy<>(graph.freeze());
+
+        assertEquals(4.0, hierarchy.distance("A", "D"));
+        SaxList<SaxGraph.DirectedEdge<String>> path = hierarchy.shortestPath("A", "D");
+        assertEquals(3, path.size());
+        assertEquals(new SaxGraph.DirectedEdge<>("A", "B", 1.0), path.get(0));
+        assertEquals(new SaxGraph.DirectedEdge<>("B", "C", 2.0), path.get(1));
+        assertEquals(new SaxGraph.DirectedEdge<>("C", "D", 1.0), path.get(2));
+        assertEquals(0, hierarchy.shortestPath("B", "B").size());
+        assertNull(hierarchy.shortestPath("A", "E"));
+        assertEquals(Double.POSITIVE_INFINITY, hierarchy.distance("D", "A"));
+        assertThrows(KeyNotFoundException.class, () -> hierarchy.distance("A", "X"));
+    }
+
+    @Test
+    void GivenRandomGraph_WhenQuerying_ConfirmSameDistancesAsDijkstra() {
+        MyGraph<Integer> graph = GraphFixtures.randomGraph(300, 1200, 11);
+        MyFrozenGraph<Integer> frozen = graph.freeze();
+        MyContractionHierarchy<Integer> hierarchy = new MyContractionHierarchy<>(frozen);
+        Random random = new Random(5);
+        for (int query = 0; query < 30; ++query) {
+            int from = random.nextInt(300);
+            double[] distances = frozen.distances(frozen.indexOf(from));
+            for (int to = 0; to < 300; ++to) {
+                assertEquals(distances[frozen.indexOf(to)], hierarchy.distance(from, to), 1e-9);
+            }
+            int to = random.nextInt(300);
+            SaxList<SaxGraph.DirectedEdge<Integer>> path = hierarchy.shortestPath(from, to);
+            if (distances[frozen.indexOf(to)] == Double.POSITIVE_INFINITY) {
+                assertNull(path);
+            } else {
+                assertEquals(distances[frozen.indexOf(to)], checkPath(path, from, to, graph), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void GivenZeroWeights_WhenQuerying_ConfirmSameDistancesAsDijkstra() {
+        MyGraph<Integer> graph = GraphFixtures.randomGraph(60, 180, 0, 2, 13);
+        MyFrozenGraph<Integer> frozen = graph.freeze();
+        MyContractionHierarchy<Integer> hierarchy = new MyContractionHierarchy<>(frozen);
+        for (int from = 0; from < 60; ++from) {
+            double[] distances = frozen.distances(frozen.indexOf(from));
+            for (int to = 0; to < 60; ++to) {
+                double distance = distances[frozen.indexOf(to)];
+                assertEquals(distance, hierarchy.distance(from, to), 1e-9);
+                SaxList<SaxGraph.DirectedEdge<Integer>> path = hierarchy.shortestPath(from, to);
+                if (distance == Double.POSITIVE_INFINITY) {
+                    assertNull(path);
+                } else {
+                    assertEquals(distance, checkPath(path, from, to, graph), 1e-9);
+                }
+            }
+        }
+    }
+
+    @Test
+    void GivenHierarchy_WhenSavedAndLoaded_ConfirmSameAnswers() throws IOException {
+        MyGraph<Integer> graph = GraphFixtures.randomGraph(100, 400, 2);
+        MyFrozenGraph<Integer> frozen = graph.freeze();
+        MyContractionHierarchy<Integer> hierarchy = new MyContractionHierarchy<>(frozen);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        hierarchy.save(bytes);
+
+        MyContractionHierarchy<Integer> loaded =
+                MyContractionHierarchy.load(new ByteArrayInputStream(bytes.toByteArray()), frozen);
+        assertEquals(hierarchy.shortcutCount(), loaded.shortcutCount());
+        for (int from = 0; from < 100; from += 7) {
+            for (int to = 0; to < 100; to += 3) {
+                assertEquals(hierarchy.distanceById(from, to), loaded.distanceById(from, to));
+            }
+        }
+
+        MyFrozenGraph<Integer> other = GraphFixtures.randomGraph(100, 400, 3).freeze();
+        assertThrows(IOException.class,
+                () -> MyContractionHierarchy.load(new ByteArrayInputStream(bytes.toByteArray()), other));
+        assertThrows(IOException.class,
+                () -> MyContractionHierarchy.load(new ByteArrayInputStream(new byte[]{1, 2, 3, 4}), frozen));
+    }
+}
@@ -0,0 +1,295 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.SaxGraph;
+import nl.saxion.cds.collection.SaxList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MyFrozenGraphTest {
+
+    private MyGraph<String> graph;
+
+    @BeforeEach
+    void setUp() {
+        graph = new MyGraph<>();
+        for (String vertex : new String[]{"A", "B", "C", "D", "E"}) {
+            graph.addVertex(vertex);
+        }
+        graph.addEdge("A", "B", 1);
+        graph.addEdge("A", "C", 4);
+        graph.addEdge("B", "C", 2);
+        graph.addEdge("C", "D", 1);
+        graph.addEdge("B", "D", 5);
+    }
+
+    @Test
+    void GivenGraph_WhenFreezing_ConfirmSameVerticesEdgesAndWeights() {
+        MyFrozenGraph<String> frozen = graph.freeze();
+        assertEquals(5, frozen.size());
+        assertEquals(5, frozen.edgeCount());
+        assertEquals(graph.getTotalWeight(), frozen.getTotalWeight());
+        assertEquals(graph.graphViz("G"), frozen.graphViz("G"));
+        int a = frozen.indexOf("A");
+        assertEquals("A", frozen.vertexAt(a));
+        assertEquals(2, frozen.endEdge(a) - frozen.firstEdge(a));
+        assertEquals("B", frozen.vertexAt(frozen.edgeTarget(frozen.firstEdge(a))));
+        assertEquals(1.0, frozen.edgeWeight(frozen.firstEdge(a)));
+        SaxList<SaxGraph.DirectedEdge<String>> edges = frozen.getEdges("B");
+        assertEquals(new SaxGraph.DirectedEdge<>("B", "C", 2.0), edges.get(0));
+        assertEquals(0, frozen.getEdges("E").size());
+        assertThrows(KeyNotFoundException.class, () -> frozen.getEdges("X"));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.addEdge("A", "E", 1));
+    }
+
+    @Test
+    void GivenFrozenGraph_WhenOriginalChanges_ConfirmFrozenGraphIsUnchanged() {
+        MyFrozenGraph<String> frozen = graph.freeze();
+        graph.addEdge("D", "E", 1);
+        assertEquals(5, frozen.edgeCount());
+        assertEquals(Double.POSITIVE_INFINITY, frozen.distances(frozen.indexOf("A"))[frozen.indexOf("E")]);
+    }
+
+    @Test
+    void GivenFrozenGraph_WhenUsingDijkstra_ConfirmShortestPathTree() {
+        MyFrozenGraph<String> frozen = graph.freeze();
+        double[] distances = frozen.distances(frozen.indexOf("A"));
+        assertEquals(0.0, distances[frozen.indexOf("A")]);
+        assertEquals(3.0, distances[frozen.indexOf("C")]);
+        assertEquals(4.0, distances[frozen.indexOf("D")]);
+
+        SaxGraph<String> tree = frozen.shortestPathsDijkstra("A");
+        assertEquals(4, tree.size());
+        assertEquals(4.0, tree.getTotalWeight());
+        assertEquals(1, tree.getEdges("A").size());
+        assertEquals("C", tree.getEdges("B").get(0).to());
+        assertEquals("D", tree.getEdges("C").get(0).to());
+    }
+
+    @Test
+    void GivenFrozenGraph_WhenUsingAStar_ConfirmShortestPathOrNull() {
+        MyFrozenGraph<String> frozen = graph.freeze();
+        SaxList<SaxGraph.DirectedEdge<String>> path = frozen.shortestPathAStar("A", "D", (from, to) -> 0.0);
+        assertEquals(3, path.size());
+        assertEquals(new SaxGraph.DirectedEdge<>("A", "B", 1.0), path.get(0));
+        assertEquals(new SaxGraph.DirectedEdge<>("C", "D", 1.0), path.get(2));
+        assertEquals(0, frozen.shortestPathAStar("A", "A", (from, to) -> 0.0).size());
+        assertNull(frozen.shortestPathAStar("A", "E", (from, to) -> 0.0));
+    }
+
+    @Test
+    void GivenFrozenGraph_WhenUsingBidirectionalSearch_ConfirmShortestPathOrNull() {
+        MyFrozenGraph<String> frozen = graph.freeze();
+        SaxList<SaxGraph.DirectedEdge<String>> path = frozen.shortestPathBidirectional("A", "D");
+        assertEquals(3, path.size());
+        assertEquals(new SaxGraph.DirectedEdge<>("A", "B", 1.0), path.get(0));
+        assertEquals(new SaxGraph.DirectedEdge<>("B", "C", 2.0), path.get(1));
+        assertEquals(new SaxGraph.DirectedEdge<>("C", "D", 1.0), path.get(2));
+        assertEquals(0, frozen.shortestPathBidirectional("C", "C").size());
+        assertNull(frozen.shortestPathBidirectional("A", "E"));
+        assertThrows(KeyNotFoundException.class, () -> frozen.shortestPathBidirectional("X", "A"));
+    }
+
+    @Test
+    void GivenFrozenGraph_WhenUsingSpanningTreeAndIterator_ConfirmSameResultAsMyGraph() {
+        graph.addEdgeBidirectional("D", "E", 3);
+        MyFrozenGraph<String> frozen = graph.freeze();
+        SaxGraph<String> expected = graph.minimumCostSpanningTree();
+        SaxGraph<String> actual = frozen.minimumCostSpanningTree();
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.getTotalWeight(), actual.getTotalWeight());
+
+        Iterator<String> expectedOrder = graph.iterator();
+        for (String vertex : frozen) {
+            assertEquals(expectedOrder.next(), vertex);
+        }
+        assertFalse(expectedOrder.hasNext());
+    }
+
+    @Test
+    void GivenRandomGraph_WhenSearching_ConfirmSameDistancesAsMyGraph() {
+        int n = 200;
+        MyGraph<Integer> randomGraph = GraphFixtures.randomGraph(n, 4 * n, 7);
+        MyFrozenGraph<Integer> frozen = randomGraph.freeze();
+        Random random = new Random(17);
+        for (int query = 0; query < 20; ++query) {
+            int from = random.nextInt(n);
+            int to = random.nextInt(n);
+            SaxList<SaxGraph.DirectedEdge<Integer>> expected = randomGraph.shortestPathAStar(from, to, (a, b) -> 0.0);
+            SaxList<SaxGraph.DirectedEdge<Integer>> actual = frozen.shortestPathAStar(from, to, (a, b) -> 0.0);
+            SaxList<SaxGraph.DirectedEdge<Integer>> bidirectional = frozen.shortestPathBidirectional(from, to);
+            double distance = frozen.distances(frozen.indexOf(from))[frozen.indexOf(to)];
+            if (expected == null) {
+                assertNull(actual);
+                assertNull(bidirectional);
+                assertEquals(Double.POSITIVE_INFINITY, distance);
+            } else {
+                assertEquals(weight(expected), weight(actual), 1e-9);
+                assertEquals(weight(expected), weight(bidirectional), 1e-9);
+                assertEquals(weight(expected), distance, 1e-9);
+            }
+        }
+    }
+
+    private static double weight(SaxList<SaxGraph.DirectedEdge<Integer>> path) {
+        double total = 0;
+        for (SaxGraph.DirectedEdge<Integer> edge : path) {
+            total += edge.weight();
+        }
+        return total;
+    }
+
+    @Test
+    void GivenRandomGraph_WhenComputingDistanceMatrixInParallel_ConfirmSameDistancesAsDijkstra() throws Exception {
+        int n = 300;
+        MyFrozenGraph<Integer> frozen = GraphFixtures.randomGraph(n, 3 * n, 8).freeze();
+        Random random = new Random(18);
+        int[] sources = new int[100];
+        int[] targets = new int[40];
+        for (int i = 0; i < sources.length; ++i) {
+            sources[i] = random.nextInt(n);
+        }
+        for (int i = 0; i < targets.length; ++i) {
+            targets[i] = random.nextInt(n);
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            double[] matrix = pool.submit(() -> frozen.distanceMatrix(sources, targets)).get();
+            for (int i = 0; i < sources.length; ++i) {
+                double[] distances = frozen.distances(sources[i]);
+                for (int j = 0; j < targets.length; ++j) {
+                    assertEquals(distances[targets[j]], matrix[i * targets.length + j]);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void GivenFrozenGraph_WhenBuildingShortestPathTree_ConfirmSameResultAsMyGraph() {
+        MyFrozenGraph<String> frozen = graph.freeze();
+        SaxGraph.ShortestPathTree<String> expected = graph.shortestPathTree("A");
+        SaxGraph.ShortestPathTree<String> actual = frozen.shortestPathTree("A");
+        assertEquals("A", actual.getRoot());
+        assertEquals(expected.size(), actual.size());
+        for (String vertex : new String[]{"A", "B", "C", "D", "E"}) {
+            assertEquals(expected.distanceTo(vertex), actual.distanceTo(vertex));
+        }
+        SaxList<SaxGraph.DirectedEdge<String>> path = actual.pathTo("D");
+        assertEquals(3, path.size());
+        assertEquals(new SaxGraph.DirectedEdge<>("B", "C", 2.0), path.get(1));
+        assertNull(actual.pathTo("E"));
+        assertEquals(graph.shortestPathsDijkstra("A").graphViz("T"), actual.toGraph().graphViz("T"));
+        assertThrows(KeyNotFoundException.class, () -> actual.pathTo("X"));
+    }
+
+    @Test
+    void GivenFrozenGraph_WhenSearchingWithEarlyTermination_ConfirmSameResultAsMyGraph() {
+        MyFrozenGraph<String> frozen = graph.freeze();
+        for (double maxDistance : new double[]{0, 1, 3, 3.5, 10}) {
+            SaxGraph.ShortestPathTree<String> expected = graph.shortestPathTreeWithin("A", maxDistance);
+            SaxGraph.ShortestPathTree<String> actual = frozen.shortestPathTreeWithin("A", maxDistance);
+            assertEquals(expected.size(), actual.size());
+            for (String vertex : new String[]{"A", "B", "C", "D", "E"}) {
+                assertEquals(expected.distanceTo(vertex), actual.distanceTo(vertex));
+            }
+            assertEquals(expected.toGraph().graphViz("T"), actual.toGraph().graphViz("T"));
+        }
+        SaxGraph.ShortestPathTree<String> nearest = frozen.nearestNodes("A", 3);
+        assertEquals(3, nearest.size());
+        assertEquals(3.0, nearest.distanceTo("C"));
+        assertEquals(Double.POSITIVE_INFINITY, nearest.distanceTo("D"));
+        assertNull(nearest.pathTo("D"));
+
+        MyArrayList<String> visited = new MyArrayList<>();
+        frozen.visitSettled("A", (node, distance) -> {
+            visited.addLast(node);
+            return distance < 3;
+        });
+        assertEquals(3, visited.size());
+        assertEquals("C", visited.get(2));
+
+        assertEquals(4.0, frozen.shortestDistance("A", "D"));
+        assertEquals(Double.POSITIVE_INFINITY, frozen.shortestDistance("D", "A"));
+        assertThrows(IllegalArgumentException.class, () -> frozen.shortestPathTreeWithin("A", Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> frozen.nearestNodes("A", 0));
+        assertThrows(KeyNotFoundException.class, () -> frozen.shortestDistance("X", "A"));
+    }
+
+    private static MyFrozenGraph<Integer> chain(int n) {
+        MyGraph<Integer> chain = new MyGraph<>();
+        for (int i = 0; i < n; ++i) {
+            chain.addVertex(i);
+        }
+        for (int i = 0; i + 1 < n; ++i) {
+            chain.addEdgeBidirectional(i, i + 1, 1 + i % 3);
+        }
+        return chain.freeze();
+    }
+
+    @Test
+    void GivenSmallAndLargeGraph_WhenSearchingBounded_ConfirmSameNumberOfReachedVertices() {
+        MyFrozenGraph<Integer> small = chain(20);
+        MyFrozenGraph<Integer> large = chain(200_000);
+        large.shortestPathTree(0); // the next searches must only reset what they reach
+
+        assertEquals(5, small.nearestNodes(0, 5).size());
+        int reachedSmall = small.getLastReachedCount();
+        assertEquals(5, large.nearestNodes(0, 5).size());
+        assertEquals(reachedSmall, large.getLastReachedCount());
+        assertEquals(6, reachedSmall);
+
+        SaxGraph.ShortestPathTree<Integer> expected = small.shortestPathTreeWithin(0, 10);
+        reachedSmall = small.getLastReachedCount();
+        SaxGraph.ShortestPathTree<Integer> actual = large.shortestPathTreeWithin(0, 10);
+        assertEquals(reachedSmall, large.getLastReachedCount());
+        assertEquals(6, actual.size());
+        assertEquals(expected.distanceTo(5), actual.distanceTo(5));
+        assertEquals(Double.POSITIVE_INFINITY, actual.distanceTo(6));
+
+        assertEquals(9.0, large.shortestDistance(0, 5));
+        assertEquals(6, large.getLastReachedCount()); // the target is settled, its edges are not relaxed
+    }
+
+    @Test
+    void GivenVisitorWhichSearchesAgain_WhenVisiting_ConfirmIndependentSearches() {
+        MyFrozenGraph<String> frozen = graph.freeze();
+        MyArrayList<Double> distances = new MyArrayList<>();
+        frozen.visitSettled("A", (node, distance) -> {
+            distances.addLast(distance);
+            distances.addLast(frozen.shortestDistance(node, "D"));
+            return true;
+        });
+        assertEquals(8, distances.size());
+        assertEquals(3.0, distances.get(4)); // C at distance 3
+        assertEquals(1.0, distances.get(5)); // from C to D
+        SaxGraph.ShortestPathTree<String> tree = frozen.shortestPathTree("B");
+        assertEquals(3, tree.size());
+        assertEquals(3.0, tree.distanceTo("D"));
+        assertEquals(Double.POSITIVE_INFINITY, tree.distanceTo("A"));
+    }
+
+    @Test
+    void GivenSearchOnOtherThread_WhenReadingSettledCount_ConfirmCountOfOwnSearch() throws InterruptedException {
+        MyFrozenGraph<Integer> frozen = chain(1000);
+        assertNotNull(frozen.shortestPathBidirectional(0, 3));
+        int settled = frozen.getLastSettledCount();
+        int[] other = new int[1];
+        Thread thread = new Thread(() -> {
+            frozen.shortestPathAStar(0, 999, (from, to) -> 0);
+            other[0] = frozen.getLastSettledCount();
+        });
+        thread.start();
+        thread.join();
+        assertEquals(1000, other[0]);
+        assertEquals(settled, frozen.getLastSettledCount());
+        assertTrue(settled < 10);
+    }
+}
@@ -8,6 +8,7 @@ import nl.saxion.cds.solution.util.MyGraph;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Random;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -260,5 +261,164 @@ class MyGraphTest<V> {
                 "}\n";
         assertEquals(expectedGraphViz, graph.graphViz("SelfLoopGraph"));
     }
-}
 
+    @Test
+    void GivenGraph_WhenUsingBidirectionalSearch_ConfirmShortestPath() {
+        graph.addVertex("A");
+        graph.addVertex("B");
+        graph.addVertex("C");
+        graph.addVertex("D");
+        graph.addVertex("E");
+        graph.addEdge("A", "B", 1);
+        graph.addEdge("A", "C", 4);
+        graph.addEdge("B", "C", 2);
+        graph.addEdge("C", "D", 1);
+        graph.addEdge("B", "D", 5);
+
+        SaxList<SaxGraph.DirectedEdge<String>> path = graph.shortestPathBidirectional("A", "D");
+        assertEquals(3, path.size());
+        assertEquals(new SaxGraph.DirectedEdge<>("A", "B", 1.0), path.get(0));
+        assertEquals(new SaxGraph.DirectedEdge<>("B", "C", 2.0), path.get(1));
+        assertEquals(new SaxGraph.DirectedEdge<>("C", "D", 1.0), path.get(2));
+        assertEquals(0, graph.shortestPathBidirectional("A", "A").size());
+        assertNull(graph.shortestPathBidirectional("A", "E"));
+        assertNull(graph.shortestPathBidirectional("D", "A"));
+        assertThrows(KeyNotFoundException.class, () -> graph.shortestPathBidirectional("A", "X"));
+
+        // the reverse index must follow changes of the graph
+        graph.addEdge("E", "A", 1);
+        graph.addEdge("D", "E", 1);
+        assertEquals(2, graph.shortestPathBidirectional("D", "A").size());
+        assertEquals(1, graph.shortestPathBidirectional("A", "B").size());
+    }
+
+    @Test
+    void GivenRandomGraph_WhenUsingBidirectionalSearch_ConfirmSameDistanceAsAStar() {
+        Random random = new Random(3);
+        MyGraph<Integer> randomGraph = new MyGraph<>();
+        int n = 150;
+        for (int i = 0; i < n; ++i) {
+            randomGraph.addVertex(i);
+        }
+        for (int i = 0; i < 3 * n; ++i) {
+            randomGraph.addEdge(random.nextInt(n), random.nextInt(n), 1 + random.nextInt(10));
+        }
+        for (int query = 0; query < 50; ++query) {
+            int from = random.nextInt(n);
+            int to = random.nextInt(n);
+            SaxList<SaxGraph.DirectedEdge<Integer>> expected = randomGraph.shortestPathAStar(from, to, (a, b) -> 0.0);
+            SaxList<SaxGraph.DirectedEdge<Integer>> actual = randomGraph.shortestPathBidirectional(from, to);
+            if (expected == null) {
+                assertNull(actual);
+                continue;
+            }
+            double expectedWeight = 0;
+            for (SaxGraph.DirectedEdge<Integer> edge : expected) {
+                expectedWeight += edge.weight();
+            }
+            double actualWeight = 0;
+            Integer previous = from;
+            for (SaxGraph.DirectedEdge<Integer> edge : actual) {
+                assertEquals(previous, edge.from());
+                actualWeight += edge.weight();
+                previous = edge.to();
+            }
+            assertEquals(to, previous);
+            assertEquals(expectedWeight, actualWeight, 1e-9);
+        }
+    }
+
+    @Test
+    void GivenGraph_WhenComputingDistanceMatrix_ConfirmDistancesPerSourceAndTarget() {
+        MyGraph<String> graph = new MyGraph<>();
+        for (String vertex : new String[]{"A", "B", "C", "D"}) {
+            graph.addVertex(vertex);
+        }
+        graph.addEdge("A", "B", 1);
+        graph.addEdge("B", "C", 2);
+        graph.addEdge("A", "C", 5);
+        MyArrayList<String> sources = new MyArrayList<>();
+        sources.addLast("A");
+        sources.addLast("C");
+        MyArrayList<String> targets = new MyArrayList<>();
+        targets.addLast("C");
+        targets.addLast("A");
+        targets.addLast("C");
+        targets.addLast("D");
+        double infinity = Double.POSITIVE_INFINITY;
+        assertArrayEquals(new double[]{3, 0, 3, infinity, 0, infinity, 0, infinity}, graph.distanceMatrix(sources, targets));
+        assertEquals(0, graph.distanceMatrix(new MyArrayList<>(), targets).length);
+        sources.addLast("X");
+        assertThrows(KeyNotFoundException.class, () -> graph.distanceMatrix(sources, targets));
+    }
+
+    @Test
+    void GivenGraph_WhenBuildingShortestPathTree_ConfirmDistancesPathsAndGraph() {
+        for (String vertex : new String[]{"A", "B", "C", "D", "E"}) {
+            graph.addVertex(vertex);
+        }
+        graph.addEdge("A", "B", 1);
+        graph.addEdge("A", "C", 4);
+        graph.addEdge("B", "C", 2);
+        graph.addEdge("C", "D", 1);
+
+        SaxGraph.ShortestPathTree<String> tree = graph.shortestPathTree("A");
+        assertEquals("A", tree.getRoot());
+        assertEquals(4, tree.size());
+        assertEquals(0.0, tree.distanceTo("A"));
+        assertEquals(3.0, tree.distanceTo("C"));
+        assertEquals(4.0, tree.distanceTo("D"));
+        assertEquals(Double.POSITIVE_INFINITY, tree.distanceTo("E"));
+        SaxList<SaxGraph.DirectedEdge<String>> path = tree.pathTo("D");
+        assertEquals(3, path.size());
+        assertEquals(new SaxGraph.DirectedEdge<>("A", "B", 1.0), path.get(0));
+        assertEquals(new SaxGraph.DirectedEdge<>("C", "D", 1.0), path.get(2));
+        assertEquals(0, tree.pathTo("A").size());
+        assertNull(tree.pathTo("E"));
+        assertThrows(KeyNotFoundException.class, () -> tree.distanceTo("X"));
+        assertThrows(KeyNotFoundException.class, () -> graph.shortestPathTree("X"));
+
+        SaxGraph<String> result = tree.toGraph();
+        assertEquals(4, result.size());
+        assertEquals(4.0, result.getTotalWeight());
+        assertEquals("C", result.getEdges("B").get(0).to());
+    }
+
+    @Test
+    void GivenGraph_WhenSearchingWithEarlyTermination_ConfirmOnlyNearNodesAreSettled() {
+        for (String vertex : new String[]{"A", "B", "C", "D", "E"}) {
+            graph.addVertex(vertex);
+        }
+        graph.addEdge("A", "B", 1);
+        graph.addEdge("A", "C", 4);
+        graph.addEdge("B", "C", 2);
+        graph.addEdge("C", "D", 1);
+
+        SaxGraph.ShortestPathTree<String> within = graph.shortestPathTreeWithin("A", 3);
+        assertEquals(3, within.size());
+        assertEquals(3.0, within.distanceTo("C"));
+        assertEquals(Double.POSITIVE_INFINITY, within.distanceTo("D"));
+        assertNull(within.pathTo("D"));
+        assertEquals(2, within.pathTo("C").size());
+
+        SaxGraph.ShortestPathTree<String> nearest = graph.nearestNodes("A", 2);
+        assertEquals(2, nearest.size());
+        assertEquals(1.0, nearest.distanceTo("B"));
+        assertEquals(Double.POSITIVE_INFINITY, nearest.distanceTo("C"));
+        assertEquals(4, graph.nearestNodes("A", 10).size());
+
+        StringBuilder visited = new StringBuilder();
+        graph.visitSettled("A", (node, distance) -> {
+            visited.append(node).append((int) distance);
+            return !node.equals("C");
+        });
+        assertEquals("A0B1C3", visited.toString());
+
+        assertEquals(4.0, graph.shortestDistance("A", "D"));
+        assertEquals(Double.POSITIVE_INFINITY, graph.shortestDistance("A", "E"));
+        assertThrows(IllegalArgumentException.class, () -> graph.shortestPathTreeWithin("A", -1));
+        assertThrows(IllegalArgumentException.class, () -> graph.nearestNodes("A", 0));
+        assertThrows(KeyNotFoundException.class, () -> graph.shortestDistance("A", "X"));
+        assertThrows(KeyNotFoundException.class, () -> graph.visitSettled("X", (node, distance) -> true));
+    }
+}
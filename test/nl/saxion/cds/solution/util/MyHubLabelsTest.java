@@ -0,0 +1,60 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.KeyNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MyHubLabelsTest {
+
+    @Test
+    void GivenSmallGraph_WhenQuerying_ConfirmDistances() throws KeyNotFoundException {
+        MyGraph<String> graph = new MyGraph<>();
+        graph.addEdgeBidirectional("A", "B", 2);
+        graph.addEdgeBidirectional("B", "C", 3);
+        graph.addEdgeBidirectional("A", "C", 10);
+        graph.addVertex("D");
+        graph.addEdge("C", "D", 1);
+        graph.addVertex("E");
+        MyHubLabels<String> labels = new MyHubLabels<>(graph.freeze());
+        assertEquals(0.0, labels.distance("A", "A"));
+        assertEquals(5.0, labels.distance("A", "C"));
+        assertEquals(6.0, labels.distance("A", "D"));
+        assertEquals(Double.POSITIVE_INFINITY, labels.distance("D", "A"));
+        assertEquals(Double.POSITIVE_INFINITY, labels.distance("A", "E"));
+        assertThrows(KeyNotFoundException.class, () -> labels.distance("A", "X"));
+    }
+
+    @Test
+    void GivenRandomGraph_WhenQuerying_ConfirmSameDistancesAsDijkstraForBothOrders() {
+        MyFrozenGraph<Integer> frozen = GraphFixtures.randomGraph(200, 700, 5).freeze();
+        MyHubLabels<Integer> byDegree = new MyHubLabels<>(frozen);
+        MyHubLabels<Integer> byRank = new MyHubLabels<>(new MyContractionHierarchy<>(frozen));
+        GraphFixtures.assertSameDistances(frozen, 1, byDegree::distanceById);
+        GraphFixtures.assertSameDistances(frozen, 1, byRank::distanceById);
+        assertTrue(byRank.averageLabelSize() < 50);
+        assertTrue(byRank.maximumLabelSize() >= byRank.averageLabelSize());
+    }
+
+    @Test
+    void GivenLabels_WhenSavedAndLoaded_ConfirmSameAnswers() throws IOException {
+        MyFrozenGraph<Integer> frozen = GraphFixtures.randomGraph(100, 400, 2).freeze();
+        MyHubLabels<Integer> labels = new MyHubLabels<>(frozen);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        labels.save(bytes);
+
+        MyHubLabels<Integer> loaded = MyHubLabels.load(new ByteArrayInputStream(bytes.toByteArray()), frozen);
+        assertEquals(labels.labelEntries(), loaded.labelEntries());
+        GraphFixtures.assertSameDistances(frozen, 1, loaded::distanceById);
+
+        MyFrozenGraph<Integer> other = GraphFixtures.randomGraph(100, 400, 3).freeze();
+        assertThrows(IOException.class,
+                () -> MyHubLabels.load(new ByteArrayInputStream(bytes.toByteArray()), other));
+        assertThrows(IOException.class,
+                () -> MyHubLabels.load(new ByteArrayInputStream(new byte[]{1, 2, 3, 4}), frozen));
+    }
+}
@@ -0,0 +1,72 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.SaxGraph;
+import nl.saxion.cds.collection.SaxList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MyLandmarksTest {
+
+    private static double weight(SaxList<SaxGraph.DirectedEdge<Integer>> path) {
+        double total = 0;
+        for (SaxGraph.DirectedEdge<Integer> edge : path) {
+            total += edge.weight();
+        }
+        return total;
+    }
+
+    @Test
+    void GivenInvalidCount_WhenCreating_ExpectIllegalArgumentException() {
+        MyFrozenGraph<Integer> frozen = GraphFixtures.grid(3, true, 1).freeze();
+        assertThrows(IllegalArgumentException.class, () -> new MyLandmarks<>(frozen, 0));
+        assertEquals(9, new MyLandmarks<>(frozen, 20).size());
+    }
+
+    @Test
+    void GivenRandomGraph_WhenEstimating_ConfirmLowerBoundOfDistance() {
+        MyFrozenGraph<Integer> frozen = GraphFixtures.randomGraph(100, 300, 1, 10, 4).freeze();
+        MyLandmarks<Integer> landmarks = new MyLandmarks<>(frozen, 4);
+        for (int from = 0; from < 100; ++from) {
+            double[] distances = frozen.distances(from);
+            for (int to = 0; to < 100; ++to) {
+                assertTrue(landmarks.estimateById(from, to) <= distances[to] + 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void GivenDisconnectedGraph_WhenEstimating_ConfirmUnreachableTargetIsInfinite() {
+        MyGraph<String> graph = new MyGraph<>();
+        graph.addEdgeBidirectional("A", "B", 1);
+        graph.addEdgeBidirectional("C", "D", 1);
+        MyLandmarks<String> landmarks = new MyLandmarks<>(graph.freeze(), 2);
+        assertNotEquals(landmarks.getLandmark(0).compareTo("C") < 0, landmarks.getLandmark(1).compareTo("C") < 0);
+        assertEquals(1.0, landmarks.estimate("A", "B"));
+        assertEquals(Double.POSITIVE_INFINITY, landmarks.estimate("A", "D"));
+        assertEquals(0.0, landmarks.estimate("C", "C"));
+    }
+
+    @Test
+    void GivenGrid_WhenUsingAStarWithLandmarks_ConfirmExactAndFewerSettledVertices() {
+        MyGraph<Integer> graph = GraphFixtures.grid(30, true, 9);
+        MyFrozenGraph<Integer> frozen = graph.freeze();
+        MyLandmarks<Integer> landmarks = new MyLandmarks<>(frozen, 8);
+        Random random = new Random(6);
+        long settledDijkstra = 0;
+        long settledLandmarks = 0;
+        for (int query = 0; query < 30; ++query) {
+            int from = random.nextInt(900);
+            int to = random.nextInt(900);
+            double distance = frozen.distances(from)[to];
+            assertEquals(distance, weight(frozen.shortestPathAStar(from, to, (a, b) -> 0.0)), 1e-9);
+            settledDijkstra += frozen.getLastSettledCount();
+            assertEquals(distance, weight(frozen.shortestPathAStar(from, to, landmarks)), 1e-9);
+            settledLandmarks += frozen.getLastSettledCount();
+            assertEquals(distance, weight(graph.shortestPathAStar(from, to, landmarks)), 1e-9);
+        }
+        assertTrue(settledLandmarks * 3 < settledDijkstra);
+    }
+}
@@ -0,0 +1,81 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyMpmcQueueTest {
+
+    @Test
+    void GivenEmptyQueue_WhenDequeuingOrPeeking_ThenThrowEmptyCollectionException() {
+        MyMpmcQueue<Integer> queue = new MyMpmcQueue<>(4);
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertThrows(EmptyCollectionException.class, queue::dequeue);
+        assertThrows(EmptyCollectionException.class, queue::peek);
+        assertThrows(IllegalArgumentException.class, () -> new MyMpmcQueue<Integer>(1));
+    }
+
+    @Test
+    void GivenFullQueue_WhenOffering_ThenRejectUntilSpaceIsFreed() {
+        MyMpmcQueue<String> queue = new MyMpmcQueue<>(2);
+        queue.enqueue("a");
+        queue.enqueue("b");
+        assertFalse(queue.offer("c"));
+        assertThrows(IllegalStateException.class, () -> queue.enqueue("c"));
+        assertEquals("a", queue.peek());
+        assertEquals("a", queue.dequeue());
+        assertTrue(queue.offer("c"));
+        assertEquals("digraph queue {\n\"b\" -> \"c\"\n}", queue.graphViz("queue"));
+        StringBuilder drained = new StringBuilder();
+        assertEquals(2, queue.drainTo(drained::append, 5));
+        assertEquals("bc", drained.toString());
+    }
+
+    @Test
+    void GivenManyProducersAndConsumers_WhenTransferring_ThenEveryElementIsReceivedOnce() throws InterruptedException {
+        MyMpmcQueue<Integer> queue = new MyMpmcQueue<>(128);
+        int producers = 4;
+        int consumers = 4;
+        int perProducer = 50_000;
+        AtomicLong sum = new AtomicLong();
+        AtomicInteger received = new AtomicInteger();
+        Thread[] threads = new Thread[producers + consumers];
+        for (int p = 0; p < producers; ++p) {
+            final int offset = p * perProducer;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < perProducer; ++i) {
+                    while (!queue.offer(offset + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+        }
+        for (int c = 0; c < consumers; ++c) {
+            threads[producers + c] = new Thread(() -> {
+                while (received.get() < producers * perProducer) {
+                    int drained = queue.drainTo(value -> sum.addAndGet(value), 32);
+                    if (drained == 0) {
+                        Thread.yield();
+                    } else {
+                        received.addAndGet(drained);
+                    }
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long total = (long) producers * perProducer;
+        assertEquals(total, received.get());
+        assertEquals(total * (total - 1) / 2, sum.get());
+        assertTrue(queue.isEmpty());
+    }
+}
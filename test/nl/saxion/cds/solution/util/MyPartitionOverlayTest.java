@@ -0,0 +1,89 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.KeyNotFoundException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MyPartitionOverlayTest {
+
+    private static MyPartitionOverlay<Integer> overlay(MyFrozenGraph<Integer> frozen, int width, int cellSize, int levels) {
+        // the left and right half of the grid are different regions
+        return new MyPartitionOverlay<>(frozen, id -> id % width, id -> id / width,
+                id -> (id % width < width / 2) ? "west" : "east", cellSize, levels);
+    }
+
+    @Test
+    void GivenInvalidArguments_WhenCreating_ExpectIllegalArgumentException() {
+        MyFrozenGraph<Integer> frozen = GraphFixtures.grid(3, false, 1).freeze();
+        assertThrows(IllegalArgumentException.class, () -> overlay(frozen, 3, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> overlay(frozen, 3, 2, 0));
+        MyPartitionOverlay<Integer> overlay = overlay(frozen, 3, 2, 1);
+        assertThrows(IllegalArgumentException.class, () -> overlay.customize(edge -> -1));
+    }
+
+    @Test
+    void GivenGrid_WhenPartitioning_ConfirmNestedCellsWithinRegions() {
+        MyFrozenGraph<Integer> frozen = GraphFixtures.grid(16, false, 2).freeze();
+        MyPartitionOverlay<Integer> overlay = overlay(frozen, 16, 8, 2);
+        assertEquals(3, overlay.levelCount());
+        assertEquals(2, overlay.cellCount(2));
+        assertEquals(32, overlay.cellCount(0));
+        for (int level = 0; level + 1 < overlay.levelCount(); ++level) {
+            assertTrue(overlay.cellCount(level) > overlay.cellCount(level + 1));
+            assertTrue(overlay.boundaryCount(level) >= overlay.boundaryCount(level + 1));
+            for (int a = 0; a < frozen.size(); ++a) {
+                for (int b = 0; b < frozen.size(); ++b) {
+                    if (overlay.cellOf(level, a) == overlay.cellOf(level, b)) {
+                        assertEquals(overlay.cellOf(level + 1, a), overlay.cellOf(level + 1, b));
+                    }
+                }
+            }
+        }
+        assertEquals(32, overlay.boundaryCount(2)); // columns 7 and 8
+    }
+
+    @Test
+    void GivenGrid_WhenQuerying_ConfirmSameDistancesAsDijkstra() throws KeyNotFoundException {
+        MyFrozenGraph<Integer> frozen = GraphFixtures.grid(12, false, 3).freeze();
+        MyPartitionOverlay<Integer> overlay = overlay(frozen, 12, 4, 3);
+        GraphFixtures.assertSameDistances(frozen, 3, overlay::distanceById);
+        assertEquals(0.0, overlay.distance(5, 5));
+        assertThrows(KeyNotFoundException.class, () -> overlay.distance(5, 1000));
+    }
+
+    @Test
+    void GivenChangedWeights_WhenCustomizing_ConfirmQueriesUseNewWeights() {
+        MyFrozenGraph<Integer> frozen = GraphFixtures.grid(12, false, 4).freeze();
+        MyPartitionOverlay<Integer> overlay = overlay(frozen, 12, 5, 2);
+        Random random = new Random(5);
+        double[] weights = new double[frozen.edgeCount()];
+        for (int edge = 0; edge < weights.length; ++edge) {
+            weights[edge] = (random.nextInt(8) == 0) ? Double.POSITIVE_INFINITY : 1 + random.nextInt(20);
+        }
+        overlay.customize(edge -> weights[edge]);
+
+        // the expected distances: a graph with the new weights, without the closed edges
+        MyGraph<Integer> changed = new MyGraph<>();
+        for (int id = 0; id < frozen.size(); ++id) {
+            changed.addVertex(id);
+        }
+        for (int id = 0; id < frozen.size(); ++id) {
+            for (int edge = frozen.firstEdge(id); edge < frozen.endEdge(id); ++edge) {
+                if (weights[edge] < Double.POSITIVE_INFINITY) changed.addEdge(id, frozen.edgeTarget(edge), weights[edge]);
+            }
+        }
+        MyFrozenGraph<Integer> expected = changed.freeze();
+        for (int from = 0; from < frozen.size(); from += 5) {
+            double[] distances = expected.distances(from);
+            for (int to = 0; to < frozen.size(); ++to) {
+                assertEquals(distances[to], overlay.distanceById(from, to), 1e-9);
+            }
+        }
+
+        overlay.customize(frozen::edgeWeight);
+        GraphFixtures.assertSameDistances(frozen, 3, overlay::distanceById);
+    }
+}
@@ -0,0 +1,133 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.DuplicateKeyException;
+import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.SaxList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MyPersistentBinaryTreeTest {
+
+    private MyPersistentBinaryTree<Integer, String> tree;
+
+    @BeforeEach
+    void setUp() {
+        tree = new MyPersistentBinaryTree<>();
+    }
+
+    @Test
+    void GivenEmptyTree_WhenCheckingIsEmpty_ConfirmTrue() {
+        assertTrue(tree.isEmpty());
+        assertEquals(0, tree.size());
+        assertNull(tree.get(1));
+        assertThrows(KeyNotFoundException.class, () -> tree.remove(1));
+    }
+
+    @Test
+    void GivenTree_WhenAddingDuplicateKey_ExpectDuplicateKeyException() {
+        tree.add(1, "One");
+        assertThrows(DuplicateKeyException.class, () -> tree.add(1, "Uno"));
+        assertThrows(DuplicateKeyException.class, () -> tree.with(1, "Uno"));
+        assertEquals("One", tree.get(1));
+    }
+
+    @Test
+    void GivenVersion_WhenCreatingNewVersions_ConfirmOldVersionIsUnchanged() {
+        MyPersistentBinaryTree<Integer, String> version1 = tree.with(2, "Two").with(1, "One").with(3, "Three");
+        MyPersistentBinaryTree<Integer, String> version2 = version1.with(4, "Four");
+        MyPersistentBinaryTree<Integer, String> version3 = version2.without(2);
+
+        assertTrue(tree.isEmpty());
+        assertEquals(3, version1.size());
+        assertFalse(version1.contains(4));
+        assertEquals(4, version2.size());
+        assertEquals("Two", version2.get(2));
+        assertEquals(3, version3.size());
+        assertFalse(version3.contains(2));
+        assertEquals("[ 1 3 4 ]", version3.getKeys().toString());
+        assertThrows(KeyNotFoundException.class, () -> version3.without(2));
+    }
+
+    @Test
+    void GivenSnapshot_WhenUpdatingTree_ConfirmSnapshotIsUnchanged() {
+        for (int i = 0; i < 10; ++i) {
+            tree.add(i, Integer.toString(i));
+        }
+        MyPersistentBinaryTree<Integer, String> snapshot = tree.snapshot();
+        assertEquals("5", tree.remove(5));
+        tree.add(10, "10");
+
+        assertEquals(10, snapshot.size());
+        assertTrue(snapshot.contains(5));
+        assertFalse(snapshot.contains(10));
+        assertFalse(tree.contains(5));
+        assertTrue(tree.contains(10));
+    }
+
+    @Test
+    void GivenRandomOperations_WhenComparingWithTreeMap_ConfirmSameContent() {
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 5000; ++i) {
+            int key = random.nextInt(500);
+            if (expected.containsKey(key)) {
+                assertEquals(expected.remove(key), tree.remove(key));
+            } else {
+                expected.put(key, Integer.toString(key));
+                tree.add(key, Integer.toString(key));
+            }
+        }
+        SaxList<Integer> keys = tree.getKeys();
+        assertEquals(expected.size(), tree.size());
+        int index = 0;
+        for (Integer key : expected.keySet()) {
+            assertEquals(key, keys.get(index++));
+        }
+    }
+
+    @Test
+    void GivenWriterThread_WhenReadingSnapshotsConcurrently_ConfirmEverySnapshotIsConsistent() throws InterruptedException {
+        MyPersistentBinaryTree<Integer, Integer> shared = new MyPersistentBinaryTree<>();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[4];
+        for (int t = 0; t < readers.length; ++t) {
+            readers[t] = new Thread(() -> {
+                while (!done.get()) {
+                    // keys are added in ascending order, so a snapshot of size n must contain exactly 0..n-1
+                    MyPersistentBinaryTree<Integer, Integer> snapshot = shared.snapshot();
+                    int size = snapshot.size();
+                    if (snapshot.contains(size) || (size > 0 && !snapshot.contains(size - 1))) {
+                        failure.set("Inconsistent snapshot of size " + size);
+                    }
+                }
+            });
+            readers[t].start();
+        }
+        for (int i = 0; i < 20_000; ++i) {
+            shared.add(i, i);
+        }
+        done.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get());
+        assertEquals(20_000, shared.size());
+    }
+
+    @Test
+    void GivenTree_WhenGeneratingGraphViz_ConfirmEdges() {
+        tree.add(2, "Two");
+        tree.add(1, "One");
+        String graph = tree.graphViz("test");
+        assertTrue(graph.startsWith("digraph test {"));
+        assertTrue(graph.contains("2 -> 1;"));
+    }
+}
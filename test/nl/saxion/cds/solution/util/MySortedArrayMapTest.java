@@ -0,0 +1,138 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.DuplicateKeyException;
+import nl.saxion.cds.collection.KeyNotFoundException;
+import nl.saxion.cds.collection.ListNotSortedException;
+import nl.saxion.cds.collection.SaxBinaryTree;
+import nl.saxion.cds.collection.SaxList;
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MySortedArrayMapTest {
+
+    @Test
+    public void GivenEmptyMap_WhenQuerying_ConfirmEmpty() {
+        for (MySortedArrayMap.Layout layout : MySortedArrayMap.Layout.values()) {
+            MySortedArrayMap<Integer, String> map = new MySortedArrayMap<>(layout);
+            assertTrue(map.isEmpty());
+            assertNull(map.get(1));
+            assertFalse(map.iterator().hasNext());
+            assertThrows(KeyNotFoundException.class, () -> map.remove(1));
+        }
+    }
+
+    @Test
+    public void GivenMap_WhenAddingDuplicateKey_ExpectDuplicateKeyException() {
+        for (MySortedArrayMap.Layout layout : MySortedArrayMap.Layout.values()) {
+            MySortedArrayMap<Integer, String> map = new MySortedArrayMap<>(layout);
+            map.add(1, "One");
+            assertThrows(DuplicateKeyException.class, () -> map.add(1, "Uno"));
+            map.flush();
+            assertThrows(DuplicateKeyException.class, () -> map.add(1, "Uno"));
+            assertEquals("One", map.get(1));
+        }
+    }
+
+    @Test
+    public void GivenSortedLists_WhenCreatingMap_ConfirmAllEntriesAndLayout() {
+        SaxList<Integer> keys = new MyArrayList<>();
+        SaxList<String> values = new MyArrayList<>();
+        for (int key = 0; key < 100; key += 2) {
+            keys.addLast(key);
+            values.addLast(Integer.toString(key));
+        }
+        for (MySortedArrayMap.Layout layout : MySortedArrayMap.Layout.values()) {
+            MySortedArrayMap<Integer, String> map = new MySortedArrayMap<>(keys, values, layout);
+            assertEquals(layout, map.getLayout());
+            assertEquals(50, map.size());
+            for (int key = 0; key < 100; ++key) {
+                assertEquals((key % 2 == 0) ? Integer.toString(key) : null, map.get(key));
+            }
+            assertEquals(keys.toString(), map.getKeys().toString());
+        }
+    }
+
+    @Test
+    public void GivenInvalidLists_WhenCreatingMap_ExpectExceptions() {
+        SaxList<Integer> keys = new MyArrayList<>();
+        SaxList<String> values = new MyArrayList<>();
+        keys.addLast(2);
+        keys.addLast(1);
+        values.addLast("Two");
+        assertThrows(IllegalArgumentException.class, () -> new MySortedArrayMap<>(keys, values, MySortedArrayMap.Layout.SORTED));
+        values.addLast("One");
+        assertThrows(ListNotSortedException.class, () -> new MySortedArrayMap<>(keys, values, MySortedArrayMap.Layout.SORTED));
+        keys.set(1, 2);
+        assertThrows(DuplicateKeyException.class, () -> new MySortedArrayMap<>(keys, values, MySortedArrayMap.Layout.EYTZINGER));
+    }
+
+    @Test
+    public void GivenRandomOperations_WhenComparingWithTreeMap_ConfirmSameContent() {
+        for (MySortedArrayMap.Layout layout : MySortedArrayMap.Layout.values()) {
+            MySortedArrayMap<Integer, String> map = new MySortedArrayMap<>(layout);
+            TreeMap<Integer, String> expected = new TreeMap<>();
+            Random random = new Random(11);
+            for (int i = 0; i < 20_000; ++i) {
+                int key = random.nextInt(2_000);
+                if (expected.containsKey(key)) {
+                    assertEquals(expected.remove(key), map.remove(key));
+                } else {
+                    expected.put(key, Integer.toString(key));
+                    map.add(key, Integer.toString(key));
+                }
+                if (i % 1000 == 0) {
+                    int from = random.nextInt(2_000);
+                    Iterator<Integer> keys = expected.subMap(from, from + 100).keySet().iterator();
+                    for (SaxBinaryTree.Entry<Integer, String> entry : map.range(from, from + 100)) {
+                        assertEquals(keys.next(), entry.getKey());
+                    }
+                    assertFalse(keys.hasNext());
+                }
+            }
+            assertEquals(expected.size(), map.size());
+            Iterator<Integer> keys = expected.keySet().iterator();
+            for (SaxBinaryTree.Entry<Integer, String> entry : map) {
+                Integer key = keys.next();
+                assertEquals(key, entry.getKey());
+                assertEquals(expected.get(key), entry.getValue());
+            }
+            assertFalse(keys.hasNext());
+        }
+    }
+
+    @Test
+    public void GivenIterator_WhenMapIsChanged_ExpectConcurrentModificationException() {
+        MySortedArrayMap<Integer, String> map = new MySortedArrayMap<>();
+        map.add(1, "One");
+        map.add(2, "Two");
+        Iterator<SaxBinaryTree.Entry<Integer, String>> iterator = map.iterator();
+        iterator.next();
+        map.remove(2);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    @Test
+    public void GivenMap_WhenGeneratingGraphViz_ConfirmBaseAndDelta() {
+        MySortedArrayMap<Integer, String> map = new MySortedArrayMap<>(MySortedArrayMap.Layout.EYTZINGER);
+        for (int key = 1; key <= 3; ++key) {
+            map.add(key, "v" + key);
+        }
+        map.flush();
+        map.remove(1);
+        map.add(4, "v4");
+        String expected = """
+                digraph test {
+                    node [shape=record];
+                    base [label="2: v2|(1)|3: v3"];
+                    delta [label="4: v4"];
+                }
+                """;
+        assertEquals(expected, map.graphViz("test"));
+    }
+}
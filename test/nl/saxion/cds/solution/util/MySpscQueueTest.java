@@ -0,0 +1,81 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MySpscQueueTest {
+
+    @Test
+    void GivenEmptyQueue_WhenDequeuingOrPeeking_ThenThrowEmptyCollectionException() {
+        MySpscQueue<Integer> queue = new MySpscQueue<>(4);
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertThrows(EmptyCollectionException.class, queue::dequeue);
+        assertThrows(EmptyCollectionException.class, queue::peek);
+        assertThrows(IllegalArgumentException.class, () -> queue.offer(null));
+        assertThrows(IllegalArgumentException.class, () -> new MySpscQueue<Integer>(0));
+    }
+
+    @Test
+    void GivenFullQueue_WhenOffering_ThenRejectUntilSpaceIsFreed() {
+        MySpscQueue<Integer> queue = new MySpscQueue<>(3);
+        assertEquals(4, queue.capacity());
+        for (int i = 0; i < 4; ++i) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+        assertThrows(IllegalStateException.class, () -> queue.enqueue(4));
+        assertEquals(0, queue.peek());
+        assertEquals(0, queue.dequeue());
+        assertTrue(queue.offer(4));
+        assertEquals(4, queue.size());
+        for (int i = 1; i <= 4; ++i) {
+            assertEquals(i, queue.poll());
+        }
+    }
+
+    @Test
+    void GivenQueue_WhenDraining_ThenPassAtMostMaxElementsInOrder() {
+        MySpscQueue<Integer> queue = new MySpscQueue<>(8);
+        for (int i = 0; i < 5; ++i) {
+            queue.enqueue(i);
+        }
+        StringBuilder drained = new StringBuilder();
+        assertEquals(3, queue.drainTo(drained::append, 3));
+        assertEquals(2, queue.drainTo(drained::append, 10));
+        assertEquals(0, queue.drainTo(drained::append, 10));
+        assertEquals("01234", drained.toString());
+    }
+
+    @Test
+    void GivenProducerAndConsumerThreads_WhenTransferring_ThenReceiveAllElementsInOrder() throws InterruptedException {
+        MySpscQueue<Integer> queue = new MySpscQueue<>(64);
+        int count = 200_000;
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            int expected = 0;
+            while (expected < count) {
+                Integer value = queue.poll();
+                if (value == null) {
+                    Thread.yield();
+                } else if (value != expected++) {
+                    failure.set("Expected " + (expected - 1) + " but was " + value);
+                    return;
+                }
+            }
+        });
+        consumer.start();
+        for (int i = 0; i < count; ++i) {
+            while (!queue.offer(i)) {
+                Thread.yield();
+            }
+        }
+        consumer.join();
+        assertNull(failure.get());
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,118 @@
+package nl.saxion.cds.solution.util;
+
+import nl.saxion.cds.collection.EmptyCollectionException;
+import nl.saxion.cds.collection.ValueNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MyUnrolledLinkedListTest {
+
+    private MyUnrolledLinkedList<Integer> list;
+
+    @BeforeEach
+    void setUp() {
+        list = new MyUnrolledLinkedList<>(4);
+    }
+
+    @Test
+    void GivenInvalidCapacity_WhenCreating_ExpectIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> new MyUnrolledLinkedList<Integer>(3));
+    }
+
+    @Test
+    void GivenEmptyList_WhenRemovingOrAccessing_ExpectExceptions() {
+        assertTrue(list.isEmpty());
+        assertThrows(EmptyCollectionException.class, list::removeFirst);
+        assertThrows(EmptyCollectionException.class, list::removeLast);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAt(1, 1));
+        assertThrows(ValueNotFoundException.class, () -> list.remove(1));
+        assertFalse(list.iterator().hasNext());
+    }
+
+    @Test
+    void GivenList_WhenAddingInTheMiddle_ConfirmNodesAreSplit() {
+        for (int i = 0; i < 4; ++i) {
+            list.addLast(i * 10);
+        }
+        list.addAt(1, 5);
+        assertEquals("[ 0 5 10 20 30 ]", list.toString());
+        String expected = """
+                digraph list {
+                    node [shape=record];
+                    node0 [label="0|5|10"];
+                    node0 -> node1;
+                    node1 [label="20|30"];
+                }""";
+        assertEquals(expected, list.graphViz("list"));
+    }
+
+    @Test
+    void GivenList_WhenRemoving_ConfirmNodesAreMergedOrBorrowFrom() {
+        for (int i = 0; i < 12; ++i) {
+            list.addLast(i);
+        }
+        list.removeAt(0);
+        list.removeAt(0); // the first node borrows from the second node
+        assertEquals(2, list.get(0));
+        list.remove(2);
+        list.remove(4); // nodes merge
+        assertTrue(list.contains(5));
+        assertFalse(list.contains(4));
+        assertEquals("[ 3 5 6 7 8 9 10 11 ]", list.toString());
+        assertEquals(11, list.removeLast());
+        assertEquals(3, list.removeFirst());
+        assertEquals(6, list.size());
+    }
+
+    @Test
+    void GivenRandomOperations_WhenComparingWithArrayList_ConfirmSameContent() {
+        for (int capacity : new int[]{4, 5, 64}) {
+            MyUnrolledLinkedList<Integer> unrolled = new MyUnrolledLinkedList<>(capacity);
+            ArrayList<Integer> expected = new ArrayList<>();
+            Random random = new Random(capacity);
+            for (int i = 0; i < 20_000; ++i) {
+                int index = expected.isEmpty() ? 0 : random.nextInt(expected.size());
+                switch (random.nextInt(7)) {
+                    case 0, 1 -> {
+                        unrolled.addAt(index, i);
+                        expected.add(index, i);
+                    }
+                    case 2 -> {
+                        unrolled.addFirst(i);
+                        expected.add(0, i);
+                    }
+                    case 3 -> {
+                        unrolled.addLast(i);
+                        expected.add(i);
+                    }
+                    case 4 -> {
+                        if (!expected.isEmpty()) assertEquals(expected.remove(index), unrolled.removeAt(index));
+                    }
+                    case 5 -> {
+                        if (!expected.isEmpty()) assertEquals(expected.remove(0), unrolled.removeFirst());
+                    }
+                    default -> {
+                        if (!expected.isEmpty()) assertEquals(expected.remove(expected.size() - 1), unrolled.removeLast());
+                    }
+                }
+                if (!expected.isEmpty()) {
+                    int probe = random.nextInt(expected.size());
+                    assertEquals(expected.get(probe), unrolled.get(probe));
+                    unrolled.set(probe, -i);
+                    expected.set(probe, -i);
+                }
+            }
+            assertEquals(expected.size(), unrolled.size());
+            int index = 0;
+            for (Integer value : unrolled) {
+                assertEquals(expected.get(index++), value);
+            }
+        }
+    }
+}
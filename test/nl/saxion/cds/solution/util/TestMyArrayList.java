@@ -6,6 +6,7 @@ import nl.saxion.cds.collection.ValueNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Comparator;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -246,4 +247,58 @@ public class TestMyArrayList {
         assertEquals(v, list3.get(i));
         assertEquals(SaxSearchable.NOT_FOUND, list3.linearSearch(-1));
     }
+
+    @Test
+    void GivenRandomList_WhenSelecting_ConfirmKthSmallestAndPartitioned() {
+        MyArrayList<Integer> numbers = new MyArrayList<>();
+        var random = new Random(42);
+        for (int i = 0; i < BIG_NUMBER_OF_ELEMENTS; ++i) {
+            numbers.addLast(random.nextInt(0, 100));
+        }
+        MyArrayList<Integer> sorted = new MyArrayList<>();
+        for (int value : numbers) sorted.addLast(value);
+        sorted.quickSort(Integer::compareTo);
+
+        int k = BIG_NUMBER_OF_ELEMENTS / 3;
+        assertEquals(sorted.get(k), numbers.select(Integer::compareTo, k));
+        for (int i = 0; i < k; ++i) assertTrue(numbers.get(i) <= numbers.get(k));
+        for (int i = k + 1; i < numbers.size(); ++i) assertTrue(numbers.get(i) >= numbers.get(k));
+        assertThrows(IndexOutOfBoundsException.class, () -> numbers.select(Integer::compareTo, BIG_NUMBER_OF_ELEMENTS));
+    }
+
+    @Test
+    void GivenManyDuplicates_WhenSelecting_ConfirmLinearNumberOfComparisons() {
+        MyArrayList<Integer> numbers = new MyArrayList<>();
+        var random = new Random(7);
+        for (int i = 0; i < BIG_NUMBER_OF_ELEMENTS; ++i) {
+            numbers.addLast(random.nextInt(0, 3));
+        }
+        long[] comparisons = {0};
+        Comparator<Integer> counting = (a, b) -> {
+            ++comparisons[0];
+            return Integer.compare(a, b);
+        };
+        int k = BIG_NUMBER_OF_ELEMENTS / 2;
+        int value = numbers.select(counting, k);
+        for (int i = 0; i < k; ++i) assertTrue(numbers.get(i) <= value);
+        for (int i = k + 1; i < numbers.size(); ++i) assertTrue(numbers.get(i) >= value);
+        // a heap sort fallback would take about 2 N log(N) comparisons
+        assertTrue(comparisons[0] < 4L * BIG_NUMBER_OF_ELEMENTS, "comparisons: " + comparisons[0]);
+    }
+
+    @Test
+    void GivenSortedList_WhenPartialSorting_ConfirmSmallestElementsInOrder() {
+        MyArrayList<Integer> numbers = new MyArrayList<>();
+        for (int i = BIG_NUMBER_OF_ELEMENTS; i > 0; --i) {
+            numbers.addLast(i);
+        }
+        numbers.partialSort(Integer::compareTo, 10);
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(i + 1, numbers.get(i));
+        }
+        assertEquals(BIG_NUMBER_OF_ELEMENTS, numbers.size());
+
+        numbers.partialSort(Integer::compareTo, BIG_NUMBER_OF_ELEMENTS);
+        assertTrue(numbers.isSorted(Integer::compareTo));
+    }
 }